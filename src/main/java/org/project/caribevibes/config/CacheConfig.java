@@ -48,6 +48,21 @@ public class CacheConfig {
         cacheManager.setCacheNames(java.util.Arrays.asList("users", "hotels", "destinations", "activities", 
                                   "roomTypes", "bookings", "experiences"));
         
+        // Totales orientativos de los listados paginados por cursor: basta con que sean recientes
+        cacheManager.registerCustomCache("listCounts", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .recordStats()
+                .build());
+        
+        // Calendarios de disponibilidad: la invalidación por cambios solo ocurre en la
+        // instancia que los hace, así que la expiración acota el desfase en las demás
+        cacheManager.registerCustomCache("roomTypeCalendars", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .recordStats()
+                .build());
+        
         return cacheManager;
     }
 
@@ -1,6 +1,7 @@
 package org.project.caribevibes.config;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -100,6 +101,35 @@ public class MetricsConfig {
                 .register(meterRegistry);
     }
 
+    /**
+     * Timer para medir la duración de cada ejecución del autocompletado de reservas.
+     * 
+     * @param meterRegistry Registro de métricas de Micrometer
+     * @return Timer para el autocompletado de reservas
+     */
+    @Bean
+    public Timer bookingAutoCompletionTimer(MeterRegistry meterRegistry) {
+        return Timer.builder("caribe_dreams.bookings.auto_completion.duration")
+                .description("Duración de cada ejecución del autocompletado de reservas")
+                .tag("type", "batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Distribución del número de reservas completadas en cada ejecución del autocompletado.
+     * 
+     * @param meterRegistry Registro de métricas de Micrometer
+     * @return DistributionSummary de reservas completadas por ejecución
+     */
+    @Bean
+    public DistributionSummary bookingAutoCompletionRows(MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("caribe_dreams.bookings.auto_completion.rows")
+                .description("Reservas completadas en cada ejecución del autocompletado")
+                .baseUnit("bookings")
+                .tag("type", "batch")
+                .register(meterRegistry);
+    }
+
     /**
      * Indicador de salud para la base de datos.
      * 
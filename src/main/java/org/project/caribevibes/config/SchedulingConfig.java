@@ -0,0 +1,23 @@
+package org.project.caribevibes.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuración de tareas programadas y asíncronas de la aplicación Caribe Vibes.
+ * 
+ * Habilita la ejecución de los métodos anotados con {@code @Scheduled},
+ * como los trabajos periódicos de conciliación de datos, y de los anotados con
+ * {@code @Async}, que se ejecutan en el pool de tareas de Spring Boot
+ * ({@code spring.task.execution}).
+ * 
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,12 +1,21 @@
 package org.project.caribevibes.controller;
 
+import jakarta.validation.Valid;
+import org.project.caribevibes.dto.request.BulkBookingStatusRequestDTO;
+import org.project.caribevibes.dto.response.BackgroundJobResponseDTO;
+import org.project.caribevibes.dto.response.BookingChangeFeedDTO;
 import org.project.caribevibes.dto.response.BookingResponseDTO;
+import org.project.caribevibes.dto.response.BulkBookingStatusResponseDTO;
+import org.project.caribevibes.dto.response.CursorPageDTO;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.service.contact.ContactService;
 import org.project.caribevibes.service.booking.BookingService;
+import org.project.caribevibes.service.booking.BookingChangeLog;
+import org.project.caribevibes.service.booking.BookingReservationService;
 import org.project.caribevibes.service.hotel.HotelService;
 import org.project.caribevibes.service.destination.DestinationService;
-import org.project.caribevibes.service.pdf.PdfService;
+import org.project.caribevibes.service.job.BackgroundJobService;
+import org.project.caribevibes.service.pdf.VoucherBatchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,13 +23,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -47,6 +62,12 @@ public class AdminController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingReservationService bookingReservationService;
+
+    @Autowired
+    private BookingChangeLog bookingChangeLog;
+
     @Autowired
     private HotelService hotelService;
 
@@ -54,7 +75,13 @@ public class AdminController {
     private DestinationService destinationService;
 
     @Autowired
-    private PdfService pdfService;
+    private VoucherDownloads voucherDownloads;
+
+    @Autowired
+    private VoucherBatchService voucherBatchService;
+
+    @Autowired
+    private BackgroundJobService backgroundJobService;
 
     /**
      * Obtiene estadísticas generales del sistema para el dashboard de administración.
@@ -171,6 +198,45 @@ public class AdminController {
         }
     }
 
+    /**
+     * Obtiene todas las reservas del sistema paginadas por cursor, de la más
+     * reciente a la más antigua. A diferencia de la paginación por número de
+     * página, el coste no crece al avanzar en el listado.
+     * 
+     * @param cursor Token devuelto como nextCursor por la página anterior (vacío para la primera)
+     * @param size Tamaño de página (default: 20, máximo 100)
+     * @param includeTotal Si se incluye el total de reservas (cacheado unos segundos)
+     * @return ResponseEntity con la página y el cursor de la siguiente
+     */
+    @GetMapping("/bookings/cursor")
+    public ResponseEntity<CursorPageDTO<BookingResponseDTO>> getBookingsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        logger.debug("Admin solicitando reservas por cursor - tamaño: {}", size);
+        return ResponseEntity.ok(bookingService.findBookingsForAdminByCursor(cursor, size, includeTotal));
+    }
+
+    /**
+     * Obtiene el siguiente lote del registro de cambios de reservas, en orden de secuencia,
+     * para que los consumidores externos se sincronicen sin recorrer todas las reservas.
+     * 
+     * @param since Último número de secuencia procesado (nextSince del lote anterior; 0 al empezar)
+     * @param size Tamaño máximo del lote (default: 500, máximo 1000)
+     * @param hotelId ID del hotel para filtrar (opcional)
+     * @return ResponseEntity con los cambios y el cursor del siguiente lote
+     */
+    @GetMapping("/bookings/changes")
+    public ResponseEntity<BookingChangeFeedDTO> getBookingChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int size,
+            @RequestParam(required = false) Long hotelId) {
+        
+        logger.debug("Admin solicitando cambios de reservas desde {} (hotel: {})", since, hotelId);
+        return ResponseEntity.ok(bookingChangeLog.findChanges(since, size, hotelId));
+    }
+
     /**
      * Obtiene una reserva específica por ID para administradores.
      * 
@@ -238,7 +304,7 @@ public class AdminController {
         logger.debug("Admin actualizando estado de reserva {} a: {}", id, status);
         
         try {
-            bookingService.updateBookingStatusByAdmin(id, status);
+            bookingReservationService.updateBookingStatusByAdmin(id, status);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Estado de reserva actualizado exitosamente");
@@ -257,6 +323,51 @@ public class AdminController {
         }
     }
 
+    /**
+     * Cambia el estado de varias reservas en una sola operación (por ejemplo, completar
+     * o registrar el check-out de las estancias del día).
+     * 
+     * Solo se aplican las transiciones del ciclo de vida normal de la reserva; las demás
+     * se devuelven como rechazadas sin afectar al resto del lote.
+     * 
+     * @param request Cambios de estado solicitados
+     * @return ResponseEntity con el resultado por reserva
+     */
+    @PostMapping("/bookings/status/bulk")
+    public ResponseEntity<BulkBookingStatusResponseDTO> bulkUpdateBookingStatus(
+            @Valid @RequestBody BulkBookingStatusRequestDTO request) {
+        
+        logger.debug("Admin actualizando estado de {} reservas en bloque", request.getTransitions().size());
+        return ResponseEntity.ok(bookingReservationService.bulkUpdateStatusByAdmin(request.getTransitions()));
+    }
+
+    /**
+     * Obtiene los trabajos en segundo plano que agotaron sus intentos, del más reciente
+     * al más antiguo.
+     * 
+     * @param size Número máximo de trabajos (default: 50, máximo 200)
+     * @return ResponseEntity con los trabajos fallidos
+     */
+    @GetMapping("/jobs/dead")
+    public ResponseEntity<List<BackgroundJobResponseDTO>> getDeadJobs(
+            @RequestParam(defaultValue = "50") int size) {
+        
+        logger.debug("Admin solicitando trabajos fallidos (tamaño: {})", size);
+        return ResponseEntity.ok(backgroundJobService.findDeadJobs(size));
+    }
+
+    /**
+     * Vuelve a encolar un trabajo fallido con sus intentos a cero.
+     * 
+     * @param id ID del trabajo
+     * @return ResponseEntity con el trabajo reencolado
+     */
+    @PostMapping("/jobs/{id}/retry")
+    public ResponseEntity<BackgroundJobResponseDTO> retryDeadJob(@PathVariable Long id) {
+        logger.info("Admin reencolando trabajo fallido ID: {}", id);
+        return ResponseEntity.ok(backgroundJobService.requeueDeadJob(id));
+    }
+
     /**
      * Endpoint temporal para completar una reserva (solo para pruebas).
      * 
@@ -268,7 +379,7 @@ public class AdminController {
         logger.debug("Completando reserva ID: {}", bookingId);
         
         try {
-            bookingService.completeBooking(bookingId);
+            bookingReservationService.completeBooking(bookingId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("message", "Reserva completada exitosamente");
@@ -289,10 +400,12 @@ public class AdminController {
      * Descarga el voucher PDF de una reserva específica
      * 
      * @param id ID de la reserva
-     * @return ResponseEntity con el archivo PDF del voucher
+     * @param request Petición, para la comprobación condicional ({@code If-None-Match})
+     * @return ResponseEntity con el archivo PDF del voucher, o 304 si no cambió
      */
     @GetMapping("/bookings/{id}/voucher")
-    public ResponseEntity<byte[]> downloadBookingVoucher(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadBookingVoucher(@PathVariable Long id,
+                                                                        ServletWebRequest request) {
         logger.debug("Admin descargando voucher para reserva ID: {}", id);
         
         try {
@@ -305,24 +418,43 @@ public class AdminController {
             
             Booking booking = bookingOpt.get();
             
-            // Generar el PDF del voucher
-            byte[] pdfContent = pdfService.generateBookingVoucher(booking);
-            
-            // Configurar headers para descarga
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", 
-                String.format("voucher-reserva-%d.pdf", id));
-            headers.setContentLength(pdfContent.length);
-            
-            logger.info("Voucher generado exitosamente para reserva ID: {}", id);
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfContent);
+            // Enviar el PDF del voucher (desde la cache si no cambió)
+            logger.info("Enviando voucher para reserva ID: {}", id);
+            return voucherDownloads.download(booking, request);
                     
         } catch (Exception e) {
             logger.error("Error al generar voucher para reserva {}: {}", id, e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Descarga en un ZIP los vouchers de las reservas de un hotel con llegada en un
+     * rango de fechas. Los vouchers se generan en paralelo y se envían a medida que
+     * están listos.
+     *
+     * @param hotelId ID del hotel
+     * @param from Primera fecha de check-in
+     * @param to Última fecha de check-in (por defecto, la misma que {@code from})
+     * @return ResponseEntity con el ZIP de los vouchers
+     */
+    @GetMapping("/bookings/vouchers")
+    public ResponseEntity<StreamingResponseBody> downloadBookingVouchers(
+            @RequestParam Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate until = to != null ? to : from;
+        logger.info("Admin descargando vouchers del hotel ID: {} ({} - {})", hotelId, from, until);
+
+        // Se valida antes de empezar a responder para poder devolver 400
+        List<Long> bookingIds = voucherBatchService.prepare(hotelId, from, until);
+
+        String filename = "vouchers-hotel-" + hotelId + "-" + from
+                + (until.equals(from) ? "" : "_" + until) + ".zip";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(out -> voucherBatchService.writeZip(bookingIds, out));
+    }
+}
@@ -1,7 +1,11 @@
 package org.project.caribevibes.controller;
 
+import org.project.caribevibes.dto.request.BatchBookingActivitiesRequestDTO;
 import org.project.caribevibes.dto.request.BookingRequestDTO;
+import org.project.caribevibes.dto.request.RoomHoldRequestDTO;
+import org.project.caribevibes.dto.response.BatchBookingActivitiesResponseDTO;
 import org.project.caribevibes.dto.response.BookingResponseDTO;
+import org.project.caribevibes.dto.response.RoomHoldResponseDTO;
 import org.project.caribevibes.dto.response.BookingActivityResponseDTO;
 import org.project.caribevibes.dto.response.UserBasicDTO;
 import org.project.caribevibes.dto.response.HotelBasicDTO;
@@ -9,13 +13,15 @@ import org.project.caribevibes.dto.response.RoomTypeBasicDTO;
 import org.project.caribevibes.dto.response.ActivityBasicDTO;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.booking.BookingActivity;
+import org.project.caribevibes.entity.booking.RoomHold;
 import org.project.caribevibes.entity.hotel.Hotel;
 import org.project.caribevibes.entity.hotel.RoomType;
 import org.project.caribevibes.entity.user.User;
 import org.project.caribevibes.service.booking.BookingService;
+import org.project.caribevibes.service.booking.BookingReservationService;
+import org.project.caribevibes.service.booking.RoomHoldService;
 import org.project.caribevibes.service.hotel.HotelService;
 import org.project.caribevibes.service.auth.AuthService;
-import org.project.caribevibes.service.pdf.PdfService;
 import org.project.caribevibes.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,10 +34,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import org.project.caribevibes.dto.request.AddActivityToBookingRequestDTO;
 
 import jakarta.validation.Valid;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -55,12 +64,18 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingReservationService bookingReservationService;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
     @Autowired
     private HotelService hotelService;    @Autowired
     private AuthService authService;
 
     @Autowired
-    private PdfService pdfService;
+    private VoucherDownloads voucherDownloads;
 
     /**
      * Obtiene todas las reservas activas (solo para administradores).
@@ -87,9 +102,7 @@ public class BookingController {
                    Sort.by(sortBy).ascending();
         
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Booking> bookings = bookingService.findAllActiveBookings(pageable);
-        
-        Page<BookingResponseDTO> bookingDTOs = bookings.map(this::convertToBookingResponseDTO);
+        Page<BookingResponseDTO> bookingDTOs = bookingService.findActiveBookingSummaries(pageable);
         
         logger.debug("Retornando {} reservas de {} total", bookingDTOs.getNumberOfElements(), bookingDTOs.getTotalElements());
         return ResponseEntity.ok(bookingDTOs);
@@ -117,9 +130,7 @@ public class BookingController {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario", "email", userEmail));
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("bookingDate").descending());
-        Page<Booking> bookings = bookingService.findBookingsByUser(currentUser.getId(), pageable);
-        
-        Page<BookingResponseDTO> bookingDTOs = bookings.map(this::convertToBookingResponseDTO);
+        Page<BookingResponseDTO> bookingDTOs = bookingService.findBookingSummariesByUser(currentUser.getId(), pageable);
         
         logger.debug("Retornando {} reservas para usuario: {}", bookingDTOs.getNumberOfElements(), userEmail);
         return ResponseEntity.ok(bookingDTOs);
@@ -205,9 +216,7 @@ public class BookingController {
                     status, page, size);
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("bookingDate").descending());
-        Page<Booking> bookings = bookingService.findBookingsByStatus(status, pageable);
-        
-        Page<BookingResponseDTO> bookingDTOs = bookings.map(this::convertToBookingResponseDTO);
+        Page<BookingResponseDTO> bookingDTOs = bookingService.findBookingSummariesByStatus(status, pageable);
         
         logger.debug("Encontradas {} reservas con estado: {}", bookingDTOs.getNumberOfElements(), status);
         return ResponseEntity.ok(bookingDTOs);
@@ -272,13 +281,63 @@ public class BookingController {
         booking.setNumRooms(bookingRequest.getNumRooms());
         booking.setSpecialRequests(bookingRequest.getSpecialRequests());
         
-        Booking createdBooking = bookingService.createBooking(booking);
+        // Con una retención activa el inventario ya está reservado para esta estancia
+        Booking createdBooking = bookingRequest.getHoldToken() != null
+                ? bookingReservationService.createBookingFromHold(booking, bookingRequest.getHoldToken())
+                : bookingReservationService.createBooking(booking);
         BookingResponseDTO bookingDTO = convertToBookingResponseDTO(createdBooking);
         
         logger.info("Reserva creada exitosamente con código: {}", createdBooking.getConfirmationCode());
         return ResponseEntity.status(201).body(bookingDTO);
     }
 
+    /**
+     * Retiene habitaciones temporalmente mientras el cliente completa la reserva.
+     * 
+     * @param holdRequest Datos de la estancia a retener
+     * @return ResponseEntity con el token y el vencimiento de la retención
+     */
+    @PostMapping("/holds")
+    @PreAuthorize("hasRole('CLIENT') or hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<RoomHoldResponseDTO> placeHold(@Valid @RequestBody RoomHoldRequestDTO holdRequest) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        logger.info("Creando retención de habitaciones para usuario: {}", userEmail);
+        
+        User currentUser = authService.findUserByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "email", userEmail));
+        RoomType roomType = hotelService.findRoomTypeById(holdRequest.getRoomTypeId())
+                .orElseThrow(() -> new ResourceNotFoundException("Tipo de habitación", "id", holdRequest.getRoomTypeId()));
+        
+        RoomHold hold = bookingReservationService.placeHold(currentUser.getId(), roomType,
+                holdRequest.getCheckInDate(), holdRequest.getCheckOutDate(), holdRequest.getNumRooms());
+        
+        RoomHoldResponseDTO holdDTO = new RoomHoldResponseDTO(hold.getHoldToken(), hold.getRoomTypeId(),
+                hold.getCheckInDate(), hold.getCheckOutDate(), hold.getNumberOfRooms(),
+                hold.getStatus().name(), hold.getExpiresAt());
+        return ResponseEntity.status(201).body(holdDTO);
+    }
+
+    /**
+     * Libera una retención de habitaciones antes de su vencimiento.
+     * 
+     * @param holdToken Token de la retención
+     * @return ResponseEntity con mensaje de confirmación
+     */
+    @DeleteMapping("/holds/{holdToken}")
+    @PreAuthorize("hasRole('CLIENT') or hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> releaseHold(@PathVariable String holdToken) {
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = authService.findUserByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "email", userEmail));
+        
+        boolean released = roomHoldService.releaseHold(holdToken, currentUser.getId());
+        
+        Map<String, String> response = Map.of(
+            "message", released ? "Retención liberada exitosamente" : "La retención ya no estaba activa"
+        );
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Confirma una reserva.
      * 
@@ -290,7 +349,7 @@ public class BookingController {
     public ResponseEntity<Map<String, String>> confirmBooking(@PathVariable Long id) {
         logger.info("Confirmando reserva con ID: {}", id);
         
-        boolean confirmed = bookingService.confirmBooking(id);
+        boolean confirmed = bookingReservationService.confirmBooking(id);
         if (!confirmed) {
             throw new ResourceNotFoundException("Reserva", "id", id);
         }
@@ -328,7 +387,7 @@ public class BookingController {
             throw new ResourceNotFoundException("Reserva", "id", id);
         }
         
-        boolean cancelled = bookingService.cancelBooking(id);
+        boolean cancelled = bookingReservationService.cancelBooking(id);
         if (!cancelled) {
             throw new IllegalArgumentException("No se puede cancelar esta reserva");
         }
@@ -370,13 +429,59 @@ public class BookingController {
             throw new ResourceNotFoundException("Reserva", "id", bookingId);
         }
         
-        BookingActivity bookingActivity = bookingService.addActivityToBooking(bookingId, request.getActivityId(), request.getQuantity());
+        BookingActivity bookingActivity = bookingReservationService.addActivityToBooking(bookingId, request.getActivityId(), request.getQuantity());
         BookingActivityResponseDTO activityDTO = convertToBookingActivityResponseDTO(bookingActivity);
         
         logger.info("Actividad agregada exitosamente a reserva ID: {}", bookingId);
         return ResponseEntity.status(201).body(activityDTO);
     }
 
+    /**
+     * Agrega y elimina varias actividades de una reserva en una sola petición.
+     * 
+     * @param bookingId ID de la reserva
+     * @param request DTO con las actividades a agregar y las actividades de reserva a eliminar
+     * @return ResponseEntity con las actividades agregadas y el nuevo precio de la reserva
+     */
+    @PostMapping("/{bookingId}/activities/batch")
+    @PreAuthorize("hasRole('CLIENT') or hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<BatchBookingActivitiesResponseDTO> updateBookingActivities(
+            @PathVariable Long bookingId,
+            @Valid @RequestBody BatchBookingActivitiesRequestDTO request) {
+        List<BatchBookingActivitiesRequestDTO.Item> additions =
+                request.getAdd() != null ? request.getAdd() : List.of();
+        List<Long> removals = request.getRemove() != null ? request.getRemove() : List.of();
+        logger.info("Modificando actividades de reserva ID: {} ({} altas, {} bajas)",
+                   bookingId, additions.size(), removals.size());
+        
+        // Verificar que el usuario puede modificar esta reserva
+        Booking booking = bookingService.findBookingById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva", "id", bookingId));
+        
+        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = authService.findUserByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario", "email", userEmail));
+        
+        if (!booking.getUser().getId().equals(currentUser.getId()) && 
+            !currentUser.getRoleNames().contains("ADMIN")) {
+            throw new ResourceNotFoundException("Reserva", "id", bookingId);
+        }
+        
+        List<BookingActivity> added = bookingReservationService.updateBookingActivities(bookingId, additions, removals);
+        Booking updatedBooking = bookingService.findBookingById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reserva", "id", bookingId));
+        
+        BatchBookingActivitiesResponseDTO response = new BatchBookingActivitiesResponseDTO(
+                bookingId,
+                added.stream().map(this::convertToBookingActivityResponseDTO).collect(Collectors.toList()),
+                new HashSet<>(removals).size(),
+                updatedBooking.getActivitiesPrice(),
+                updatedBooking.getTotalPrice());
+        
+        logger.info("Actividades de reserva ID: {} modificadas exitosamente", bookingId);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Obtiene las actividades de una reserva.
      * 
@@ -511,14 +616,20 @@ public class BookingController {
     }
 
     /**
-     * Genera y descarga el voucher PDF de una reserva específica.
+     * Descarga el voucher PDF de una reserva específica.
+     * 
+     * El voucher se sirve desde la cache de vouchers con su huella como ETag; si el
+     * cliente ya tiene la versión vigente ({@code If-None-Match}) se responde 304 sin
+     * generar ni leer el PDF. El PDF se envía en streaming (ver {@link VoucherDownloads}).
      * 
      * @param bookingId ID de la reserva
+     * @param request Petición, para la comprobación condicional
      * @return ResponseEntity con el archivo PDF
      */
     @GetMapping("/{bookingId}/voucher")
     @PreAuthorize("hasRole('CLIENT') or hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<byte[]> downloadVoucher(@PathVariable Long bookingId) {
+    public ResponseEntity<StreamingResponseBody> downloadVoucher(@PathVariable Long bookingId,
+                                                                 ServletWebRequest request) {
         logger.info("Generando voucher PDF para reserva ID: {}", bookingId);
         
         try {
@@ -538,15 +649,7 @@ public class BookingController {
                 throw new ResourceNotFoundException("Reserva", "id", bookingId);
             }
 
-            // Generar el voucher PDF
-            logger.info("Generando voucher PDF para reserva ID: {}", bookingId);
-            byte[] pdfBytes = pdfService.generateBookingVoucher(booking);
-            
-            // Configurar headers para la descarga
-            return ResponseEntity.ok()
-                    .header("Content-Type", "application/pdf")
-                    .header("Content-Disposition", "attachment; filename=\"voucher-reserva-" + bookingId + ".pdf\"")
-                    .body(pdfBytes);
+            return voucherDownloads.download(booking, request);
                     
         } catch (ResourceNotFoundException e) {
             logger.error("Reserva no encontrada: {}", bookingId);
@@ -2,6 +2,7 @@ package org.project.caribevibes.controller;
 
 import org.project.caribevibes.dto.request.ContactReplyRequestDTO;
 import org.project.caribevibes.dto.request.ContactRequestDTO;
+import org.project.caribevibes.dto.response.CursorPageDTO;
 import org.project.caribevibes.entity.contact.Contact;
 import org.project.caribevibes.service.contact.ContactService;
 import org.project.caribevibes.service.email.EmailService;
@@ -63,6 +64,7 @@ public class ContactController {
         contact.setPhoneNumber(contactRequest.getPhone()); // Corregido: usando getPhone()
         contact.setSubject(contactRequest.getSubject());
         contact.setMessage(contactRequest.getMessage());
+        contact.setInquiryType(contactRequest.getInquiryType());
         
         Contact createdContact = contactService.createContact(contact);
         
@@ -108,6 +110,26 @@ public class ContactController {
         return ResponseEntity.ok(contacts);
     }
 
+    /**
+     * Obtiene los mensajes de contacto paginados por cursor, del más reciente al
+     * más antiguo (solo para administradores).
+     * 
+     * @param cursor Token devuelto como nextCursor por la página anterior (vacío para la primera)
+     * @param size Tamaño de página (default: 20, máximo 100)
+     * @param includeTotal Si se incluye el total de mensajes (cacheado unos segundos)
+     * @return ResponseEntity con la página y el cursor de la siguiente
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageDTO<Contact>> getContactsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        logger.debug("Obteniendo mensajes de contacto por cursor - tamaño: {}", size);
+        return ResponseEntity.ok(contactService.findActiveContactsByCursor(cursor, size, includeTotal));
+    }
+
     /**
      * Obtiene un mensaje de contacto específico por su ID (solo para administradores).
      * 
@@ -254,7 +276,7 @@ public class ContactController {
     }
 
     /**
-     * Responde a un mensaje de contacto enviando un email (solo para administradores).
+     * Responde a un mensaje de contacto enviando un email en segundo plano (solo para administradores).
      * 
      * @param id ID del mensaje de contacto
      * @param replyRequest DTO con la información de la respuesta
@@ -274,14 +296,15 @@ public class ContactController {
                 throw new ResourceNotFoundException("Mensaje de contacto", "id", id);
             }
             
+            // El email se encola con la respuesta y se envía en segundo plano
             Map<String, Object> response = Map.of(
-                "message", "Respuesta enviada exitosamente por email",
+                "message", "Respuesta registrada; el email se enviará en segundo plano",
                 "status", "REPLIED",
-                "emailSent", true,
-                "adminCopySent", replyRequest.isSendCopyToAdmin()
+                "emailQueued", true,
+                "adminCopyQueued", replyRequest.isSendCopyToAdmin()
             );
             
-            logger.info("Respuesta por email enviada exitosamente para mensaje ID: {}", id);
+            logger.info("Respuesta por email encolada para mensaje ID: {}", id);
             return ResponseEntity.ok(response);
             
         } catch (RuntimeException e) {
@@ -291,7 +314,7 @@ public class ContactController {
                 "message", "Error al enviar la respuesta por email",
                 "error", e.getMessage(),
                 "status", "ERROR",
-                "emailSent", false
+                "emailQueued", false
             );
             
             return ResponseEntity.status(500).body(errorResponse);
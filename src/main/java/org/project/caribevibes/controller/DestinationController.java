@@ -2,10 +2,12 @@ package org.project.caribevibes.controller;
 
 import org.project.caribevibes.dto.request.CreateDestinationRequestDTO;
 import org.project.caribevibes.dto.request.UpdateDestinationRequestDTO;
+import org.project.caribevibes.dto.response.ActivityCapacityDTO;
 import org.project.caribevibes.dto.response.DestinationResponseDTO;
 import org.project.caribevibes.entity.destination.Destination;
 import org.project.caribevibes.entity.destination.Activity;
 import org.project.caribevibes.entity.destination.Experience;
+import org.project.caribevibes.service.destination.ActivityCapacityService;
 import org.project.caribevibes.service.destination.DestinationService;
 import org.project.caribevibes.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
@@ -15,11 +17,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +46,9 @@ public class DestinationController {
     @Autowired
     private DestinationService destinationService;
 
+    @Autowired
+    private ActivityCapacityService activityCapacityService;
+
     @Autowired
     private org.project.caribevibes.repository.destination.DestinationRepository destinationRepository;
 
@@ -233,6 +240,29 @@ public class DestinationController {
         return ResponseEntity.ok(activities);
     }
 
+    /**
+     * Obtiene los cupos libres por día de todas las actividades disponibles de un destino.
+     * 
+     * @param destinationId ID del destino
+     * @param from Primera fecha (yyyy-MM-dd)
+     * @param to Última fecha, exclusive (yyyy-MM-dd)
+     * @return ResponseEntity con los cupos libres de cada actividad en formato de arrays por día
+     */
+    @GetMapping("/{destinationId}/activities/capacity")
+    public ResponseEntity<List<ActivityCapacityDTO>> getActivitiesCapacityByDestination(
+            @PathVariable Long destinationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.debug("Obteniendo cupos de actividades para destino ID: {} del {} al {}", destinationId, from, to);
+        
+        // Verificar que el destino existe
+        destinationRepository.findById(destinationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Destino", "id", destinationId));
+
+        List<ActivityCapacityDTO> capacity = activityCapacityService.getDestinationCapacity(destinationId, from, to);
+        return ResponseEntity.ok(capacity);
+    }
+
     /**
      * Obtiene las experiencias de un destino.
      * 
@@ -278,6 +308,21 @@ public class DestinationController {
         return ResponseEntity.ok(activity);
     }
 
+    /**
+     * Obtiene los cupos libres de una actividad para una fecha.
+     * 
+     * @param activityId ID de la actividad
+     * @param date Fecha de la actividad (yyyy-MM-dd)
+     * @return ResponseEntity con los cupos libres del día
+     */
+    @GetMapping("/activities/{activityId}/capacity")
+    public ResponseEntity<ActivityCapacityDTO> getActivityCapacity(
+            @PathVariable Long activityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.debug("Obteniendo cupos de actividad ID: {} para {}", activityId, date);
+        return ResponseEntity.ok(activityCapacityService.getCapacity(activityId, date));
+    }
+
     /**
      * Obtiene una experiencia específica por su ID.
      * 
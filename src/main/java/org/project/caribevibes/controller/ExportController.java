@@ -0,0 +1,137 @@
+package org.project.caribevibes.controller;
+
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.contact.Contact;
+import org.project.caribevibes.service.export.DataExportService;
+import org.project.caribevibes.service.export.ExportFilter;
+import org.project.caribevibes.service.export.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador de exportaciones de datos para administradores.
+ *
+ * Las exportaciones se escriben en streaming ({@link StreamingResponseBody}) a medida
+ * que se leen de la base de datos, en CSV o NDJSON. Los filtros se validan antes de
+ * empezar la respuesta, de modo que un parámetro inválido devuelve un 400 normal.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    /**
+     * Exporta las reservas.
+     *
+     * @param format Formato: csv o ndjson (default: csv)
+     * @param from Fecha de reserva inicial (inclusive, opcional)
+     * @param to Fecha de reserva final (inclusive, opcional)
+     * @param hotelId ID del hotel (opcional)
+     * @param status Estado de la reserva (opcional)
+     * @return Respuesta en streaming con el fichero de exportación
+     */
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) String status) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        ExportFilter filter = ExportFilter.of(from, to, hotelId);
+        Booking.BookingStatus bookingStatus = ExportFilter.parseStatus(Booking.BookingStatus.class, status);
+
+        logger.info("Admin exportando reservas - formato: {}, desde: {}, hasta: {}, hotel: {}, estado: {}",
+                   exportFormat, from, to, hotelId, bookingStatus);
+        return attachment("reservas", exportFormat,
+                out -> dataExportService.exportBookings(filter, bookingStatus, exportFormat, out));
+    }
+
+    /**
+     * Exporta los mensajes de contacto activos.
+     *
+     * @param format Formato: csv o ndjson (default: csv)
+     * @param from Fecha de creación inicial (inclusive, opcional)
+     * @param to Fecha de creación final (inclusive, opcional)
+     * @param status Estado del mensaje (opcional)
+     * @return Respuesta en streaming con el fichero de exportación
+     */
+    @GetMapping("/contacts")
+    public ResponseEntity<StreamingResponseBody> exportContacts(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        ExportFilter filter = ExportFilter.of(from, to, null);
+        Contact.ContactStatus contactStatus = ExportFilter.parseStatus(Contact.ContactStatus.class, status);
+
+        logger.info("Admin exportando mensajes de contacto - formato: {}, desde: {}, hasta: {}, estado: {}",
+                   exportFormat, from, to, contactStatus);
+        return attachment("contactos", exportFormat,
+                out -> dataExportService.exportContacts(filter, contactStatus, exportFormat, out));
+    }
+
+    /**
+     * Exporta las reseñas de hoteles.
+     *
+     * @param format Formato: csv o ndjson (default: csv)
+     * @param from Fecha de creación inicial (inclusive, opcional)
+     * @param to Fecha de creación final (inclusive, opcional)
+     * @param hotelId ID del hotel (opcional)
+     * @return Respuesta en streaming con el fichero de exportación
+     */
+    @GetMapping("/reviews")
+    public ResponseEntity<StreamingResponseBody> exportReviews(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId) {
+
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        ExportFilter filter = ExportFilter.of(from, to, hotelId);
+
+        logger.info("Admin exportando reseñas - formato: {}, desde: {}, hasta: {}, hotel: {}",
+                   exportFormat, from, to, hotelId);
+        return attachment("resenas", exportFormat,
+                out -> dataExportService.exportReviews(filter, exportFormat, out));
+    }
+
+    /**
+     * Construye la respuesta de descarga con el nombre de fichero y el tipo de contenido.
+     */
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+                                                             StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+}
@@ -4,13 +4,19 @@ import org.project.caribevibes.dto.request.CreateHotelRequestDTO;
 import org.project.caribevibes.dto.request.UpdateHotelRequestDTO;
 import org.project.caribevibes.dto.request.CreateRoomTypeRequestDTO;
 import org.project.caribevibes.dto.request.UpdateRoomTypeRequestDTO;
+import org.project.caribevibes.dto.request.RoomRateRuleRequestDTO;
 import org.project.caribevibes.dto.response.HotelResponseDTO;
+import org.project.caribevibes.dto.response.HotelAvailabilityResponseDTO;
+import org.project.caribevibes.dto.response.RoomTypeCalendarDTO;
 import org.project.caribevibes.dto.response.RoomTypeResponseDTO;
+import org.project.caribevibes.dto.response.RoomRateRuleResponseDTO;
 import org.project.caribevibes.dto.response.DestinationBasicDTO;
 import org.project.caribevibes.dto.response.CountryBasicDTO;
 import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.entity.hotel.RoomRateRule;
 import org.project.caribevibes.entity.hotel.RoomType;
 import org.project.caribevibes.service.hotel.HotelService;
+import org.project.caribevibes.service.hotel.RoomRateService;
 import org.project.caribevibes.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,13 +25,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +57,9 @@ public class HotelController {
     @Autowired
     private HotelService hotelService;
 
+    @Autowired
+    private RoomRateService roomRateService;
+
     /**
      * Obtiene todos los hoteles activos con paginación.
      * 
@@ -206,6 +219,33 @@ public class HotelController {
         return ResponseEntity.ok(hotelDTOs);
     }
 
+    /**
+     * Busca hoteles de un destino con disponibilidad real para toda una estancia.
+     * 
+     * @param destinationId ID del destino
+     * @param checkIn Fecha de check-in (yyyy-MM-dd)
+     * @param checkOut Fecha de check-out (yyyy-MM-dd)
+     * @param guests Número de huéspedes (default: 1)
+     * @param rooms Número de habitaciones (default: 1)
+     * @return ResponseEntity con hoteles y tipos de habitación disponibles, ordenados por precio
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<HotelAvailabilityResponseDTO>> searchAvailability(
+            @RequestParam Long destinationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int guests,
+            @RequestParam(defaultValue = "1") int rooms) {
+        
+        logger.debug("Buscando disponibilidad en destino ID: {} del {} al {}", destinationId, checkIn, checkOut);
+        
+        List<HotelAvailabilityResponseDTO> results =
+                hotelService.searchAvailability(destinationId, checkIn, checkOut, guests, rooms);
+        
+        logger.debug("Encontrados {} hoteles con disponibilidad en destino ID: {}", results.size(), destinationId);
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Obtiene los hoteles mejor valorados.
      * 
@@ -242,9 +282,13 @@ public class HotelController {
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", hotelId));
         
         List<RoomType> roomTypes = hotelService.findRoomTypesByHotel(hotelId);
-        List<RoomTypeResponseDTO> roomTypeDTOs = roomTypes.stream()
-                .map(this::convertToRoomTypeResponseDTO)
-                .collect(Collectors.toList());
+        Map<Long, Integer> availableTonight = hotelService.findAvailableRoomsTonight(roomTypes);
+        List<RoomTypeResponseDTO> roomTypeDTOs = new ArrayList<>(roomTypes.size());
+        for (RoomType roomType : roomTypes) {
+            RoomTypeResponseDTO dto = convertToRoomTypeResponseDTO(roomType);
+            dto.setAvailableRooms(availableTonight.get(dto.getId()));
+            roomTypeDTOs.add(dto);
+        }
         
         logger.debug("Encontrados {} tipos de habitaciones para hotel ID: {}", roomTypeDTOs.size(), hotelId);
         return ResponseEntity.ok(roomTypeDTOs);
@@ -264,11 +308,32 @@ public class HotelController {
                 .orElseThrow(() -> new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId));
         
         RoomTypeResponseDTO roomTypeDTO = convertToRoomTypeResponseDTO(roomType);
+        roomTypeDTO.setAvailableRooms(hotelService.findAvailableRoomsTonight(List.of(roomType)).get(roomType.getId()));
         logger.debug("Tipo de habitación encontrado: {}", roomType.getName());
         
         return ResponseEntity.ok(roomTypeDTO);
     }
 
+    /**
+     * Obtiene el calendario de disponibilidad y precio por noche de un tipo de habitación.
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (yyyy-MM-dd, default: hoy)
+     * @param to Última noche, exclusive (yyyy-MM-dd, default: hoy + 365 días)
+     * @return ResponseEntity con el calendario en formato de arrays por noche
+     */
+    @GetMapping("/room-types/{roomTypeId}/calendar")
+    public ResponseEntity<RoomTypeCalendarDTO> getRoomTypeCalendar(
+            @PathVariable Long roomTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        
+        logger.debug("Obteniendo calendario del tipo de habitación ID: {}", roomTypeId);
+        
+        RoomTypeCalendarDTO calendar = hotelService.getRoomTypeCalendar(roomTypeId, from, to);
+        return ResponseEntity.ok(calendar);
+    }
+
     /**
      * Crea un nuevo hotel (solo para administradores).
      * 
@@ -423,6 +488,70 @@ public class HotelController {
         return ResponseEntity.ok("Tipo de habitación eliminado exitosamente");
     }
 
+    /**
+     * Obtiene las reglas de tarifa vigentes de un tipo de habitación (solo para administradores).
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @return ResponseEntity con las reglas de tarifa
+     */
+    @GetMapping("/room-types/{roomTypeId}/rate-rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RoomRateRuleResponseDTO>> getRoomRateRules(@PathVariable Long roomTypeId) {
+        logger.debug("Obteniendo reglas de tarifa del tipo de habitación ID: {}", roomTypeId);
+        
+        List<RoomRateRuleResponseDTO> rules = roomRateService.findRules(roomTypeId).stream()
+                .map(this::convertToRoomRateRuleResponseDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(rules);
+    }
+
+    /**
+     * Crea una regla de tarifa para un tipo de habitación (solo para administradores).
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @param request Datos de la regla
+     * @return ResponseEntity con la regla creada
+     */
+    @PostMapping("/room-types/{roomTypeId}/rate-rules")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RoomRateRuleResponseDTO> createRoomRateRule(@PathVariable Long roomTypeId,
+                                                                      @Valid @RequestBody RoomRateRuleRequestDTO request) {
+        logger.info("Creando regla de tarifa para tipo de habitación ID: {}", roomTypeId);
+        
+        RoomRateRule rule = roomRateService.createRule(roomTypeId, request);
+        return ResponseEntity.status(201).body(convertToRoomRateRuleResponseDTO(rule));
+    }
+
+    /**
+     * Elimina una regla de tarifa de un tipo de habitación (solo para administradores).
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @param ruleId ID de la regla
+     * @return ResponseEntity con mensaje de confirmación
+     */
+    @DeleteMapping("/room-types/{roomTypeId}/rate-rules/{ruleId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> deleteRoomRateRule(@PathVariable Long roomTypeId, @PathVariable Long ruleId) {
+        logger.info("Eliminando regla de tarifa ID: {} del tipo de habitación ID: {}", ruleId, roomTypeId);
+        
+        if (!roomRateService.deleteRule(roomTypeId, ruleId)) {
+            throw new ResourceNotFoundException("Regla de tarifa", "id", ruleId);
+        }
+        return ResponseEntity.ok("Regla de tarifa eliminada exitosamente");
+    }
+
+    /**
+     * Convierte una entidad RoomRateRule a RoomRateRuleResponseDTO.
+     * 
+     * @param rule Entidad RoomRateRule
+     * @return DTO de respuesta de la regla
+     */
+    private RoomRateRuleResponseDTO convertToRoomRateRuleResponseDTO(RoomRateRule rule) {
+        return new RoomRateRuleResponseDTO(rule.getId(), rule.getRoomTypeId(), rule.getName(),
+                rule.getRuleType().name(), rule.getStartDate(), rule.getEndDate(),
+                rule.getPricePerNight(), rule.getPriceMultiplier(), rule.getPriority());
+    }
+
     /**
      * Convierte una entidad Hotel a HotelResponseDTO.
      * 
@@ -0,0 +1,54 @@
+package org.project.caribevibes.controller;
+
+import org.project.caribevibes.dto.response.QuoteResponseDTO;
+import org.project.caribevibes.service.hotel.RoomRateCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador REST para cotizaciones de estancias.
+ * 
+ * Las cotizaciones se calculan sobre los calendarios de tarifas en memoria, sin
+ * crear reservas ni consultar la base de datos.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteController.class);
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    /**
+     * Cotiza una estancia en un tipo de habitación.
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in (yyyy-MM-dd)
+     * @param checkOut Fecha de check-out (yyyy-MM-dd)
+     * @param rooms Número de habitaciones (default: 1)
+     * @return ResponseEntity con la tarifa de cada noche y el total de la estancia
+     */
+    @GetMapping
+    public ResponseEntity<QuoteResponseDTO> quote(
+            @RequestParam Long roomTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int rooms) {
+        
+        logger.debug("Cotizando tipo de habitación ID: {} del {} al {} para {} habitaciones",
+                    roomTypeId, checkIn, checkOut, rooms);
+        
+        return ResponseEntity.ok(roomRateCalendar.quote(roomTypeId, checkIn, checkOut, rooms));
+    }
+}
@@ -0,0 +1,93 @@
+package org.project.caribevibes.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.service.pdf.PdfService;
+import org.project.caribevibes.service.pdf.VoucherCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Construye las respuestas de descarga de vouchers sin cargar el PDF en memoria.
+ *
+ * Con la cache de vouchers activa el PDF se envía desde su fichero: si el contenedor
+ * admite sendfile (Tomcat con el conector NIO) la copia la hace el sistema operativo
+ * directamente del fichero al socket; si no, se copia en streaming. Con la cache
+ * desactivada el voucher se escribe en la respuesta (chunked) a medida que se genera.
+ * En todos los casos se responde 304 si el cliente ya tiene la versión vigente.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class VoucherDownloads {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoucherDownloads.class);
+
+    // Atributos de petición con los que Tomcat envía un fichero con sendfile
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private VoucherCache voucherCache;
+
+    @Autowired
+    private PdfService pdfService;
+
+    /**
+     * Construye la respuesta de descarga del voucher de una reserva.
+     *
+     * @param booking Reserva (ya autorizada)
+     * @param request Petición, para la comprobación condicional y sendfile
+     * @return Respuesta con el PDF, o null si ya se respondió 304
+     * @throws IOException si el voucher no se puede guardar en la cache
+     */
+    public ResponseEntity<StreamingResponseBody> download(Booking booking, ServletWebRequest request) throws IOException {
+        String etag = voucherCache.etag(booking);
+        // También añade el ETag a la respuesta
+        if (request.checkNotModified(etag)) {
+            logger.debug("Voucher de la reserva ID: {} sin cambios", booking.getId());
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("voucher-reserva-" + booking.getId() + ".pdf").build());
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+        if (!voucherCache.isEnabled()) {
+            return ResponseEntity.ok().headers(headers)
+                    .body(out -> pdfService.writeBookingVoucher(booking, out));
+        }
+
+        VoucherCache.CachedVoucher voucher = voucherCache.get(booking);
+        headers.setContentLength(voucher.size());
+
+        HttpServletRequest servletRequest = request.getRequest();
+        if (Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat envía el fichero tras completar la respuesta sin cuerpo
+            servletRequest.setAttribute(SENDFILE_FILENAME_ATTR, voucher.file().toFile().getCanonicalPath());
+            servletRequest.setAttribute(SENDFILE_START_ATTR, 0L);
+            servletRequest.setAttribute(SENDFILE_END_ATTR, voucher.size());
+            return ResponseEntity.ok().headers(headers).build();
+        }
+        return ResponseEntity.ok().headers(headers)
+                .body(out -> Files.copy(voucher.file(), out));
+    }
+}
@@ -5,6 +5,7 @@ import org.project.caribevibes.dto.hotel.UpdateHotelReviewDTO;
 import org.project.caribevibes.dto.hotel.HotelReviewResponseDTO;
 import org.project.caribevibes.dto.hotel.HotelReviewStatsDTO;
 import org.project.caribevibes.dto.hotel.ReviewableBookingDTO;
+import org.project.caribevibes.dto.response.CursorPageDTO;
 import org.project.caribevibes.entity.hotel.HotelReview;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.user.User;
@@ -168,6 +169,28 @@ public class HotelReviewController {
         return ResponseEntity.ok(responseDTOs);
     }
 
+    /**
+     * Obtiene las reseñas de un hotel paginadas por cursor, de la más reciente a la más antigua.
+     * 
+     * @param hotelId ID del hotel
+     * @param cursor Token devuelto como nextCursor por la página anterior (vacío para la primera)
+     * @param size Tamaño de página (default: 10, máximo 100)
+     * @param includeTotal Si se incluye el total de reseñas (cacheado unos segundos)
+     * @return ResponseEntity con la página y el cursor de la siguiente
+     */
+    @GetMapping("/hotel/{hotelId}/cursor")
+    public ResponseEntity<CursorPageDTO<HotelReviewResponseDTO>> getHotelReviewsByCursor(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        logger.debug("Obteniendo reseñas por cursor para hotel ID: {}", hotelId);
+
+        CursorPageDTO<HotelReview> reviews = reviewService.getHotelReviewsByCursor(hotelId, cursor, size, includeTotal);
+        return ResponseEntity.ok(reviews.map(this::convertToResponseDTO));
+    }
+
     /**
      * Obtiene las estadísticas de reseñas de un hotel.
      * 
@@ -0,0 +1,23 @@
+package org.project.caribevibes.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección de una actividad de reserva con los datos resumidos de la actividad,
+ * para cargar las actividades de varias reservas en una sola consulta.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record BookingActivitySummaryView(
+        Long bookingId,
+        Long id,
+        Integer quantity,
+        BigDecimal pricePerPerson,
+        BigDecimal totalPrice,
+        Long activityId,
+        String activityName,
+        String activityDescription,
+        BigDecimal activityPrice) {
+}
@@ -0,0 +1,34 @@
+package org.project.caribevibes.dto.projection;
+
+import org.project.caribevibes.entity.booking.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la exportación de reservas.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record BookingExportView(
+        Long id,
+        String confirmationCode,
+        LocalDateTime bookingDate,
+        Booking.BookingStatus status,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Integer numGuests,
+        Integer numRooms,
+        BigDecimal accommodationPrice,
+        BigDecimal activitiesPrice,
+        BigDecimal totalPrice,
+        Long userId,
+        String userEmail,
+        Long hotelId,
+        String hotelName,
+        Long roomTypeId,
+        String roomTypeName) {
+}
@@ -0,0 +1,45 @@
+package org.project.caribevibes.dto.projection;
+
+import org.project.caribevibes.entity.booking.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una reserva con los datos resumidos de su usuario, hotel,
+ * destino del hotel y tipo de habitación, obtenida en una sola consulta.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record BookingSummaryView(
+        Long id,
+        String confirmationCode,
+        LocalDateTime bookingDate,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Integer numGuests,
+        Integer numRooms,
+        BigDecimal totalPrice,
+        Booking.BookingStatus status,
+        String specialRequests,
+        Long userId,
+        String userFirstName,
+        String userLastName,
+        String userEmail,
+        Long hotelId,
+        String hotelName,
+        String hotelAddress,
+        Integer hotelStars,
+        String hotelImageUrl,
+        Long destinationId,
+        String destinationName,
+        String destinationLocation,
+        String destinationImageUrl,
+        Long roomTypeId,
+        String roomTypeName,
+        BigDecimal roomTypePricePerNight,
+        Integer roomTypeCapacity) {
+}
@@ -0,0 +1,27 @@
+package org.project.caribevibes.dto.projection;
+
+import org.project.caribevibes.entity.booking.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Proyección de los datos de una reserva necesarios para validar y aplicar un
+ * cambio de estado en bloque: estado actual, estancia ocupada en el ledger y los
+ * datos que se copian al registro de cambios.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record BookingTransitionView(
+        Long id,
+        Booking.BookingStatus status,
+        Long hotelId,
+        String confirmationCode,
+        BigDecimal totalPrice,
+        Long roomTypeId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Integer numRooms) {
+}
@@ -0,0 +1,25 @@
+package org.project.caribevibes.dto.projection;
+
+import org.project.caribevibes.entity.contact.Contact;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la exportación de mensajes de contacto.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record ContactExportView(
+        Long id,
+        LocalDateTime createdAt,
+        String name,
+        String email,
+        String phoneNumber,
+        Contact.InquiryType inquiryType,
+        Contact.ContactStatus status,
+        String subject,
+        String message,
+        LocalDateTime respondedAt) {
+}
@@ -0,0 +1,23 @@
+package org.project.caribevibes.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la exportación de reseñas de hoteles.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record HotelReviewExportView(
+        Long id,
+        LocalDateTime createdAt,
+        Long hotelId,
+        String hotelName,
+        Long userId,
+        String guestName,
+        Long bookingId,
+        Integer rating,
+        String title,
+        String comment) {
+}
@@ -0,0 +1,17 @@
+package org.project.caribevibes.dto.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de una noche del ledger de inventario con sus habitaciones reservadas
+ * y su revisión, leída directamente de la base de datos tras modificarla.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record RoomInventoryNightView(
+        LocalDate stayDate,
+        Integer bookedRooms,
+        Long revision) {
+}
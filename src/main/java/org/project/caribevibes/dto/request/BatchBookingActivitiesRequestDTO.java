@@ -0,0 +1,51 @@
+package org.project.caribevibes.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO de request para agregar y eliminar varias actividades de una reserva en una sola operación
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingActivitiesRequestDTO {
+
+    @Valid
+    @Size(max = 50, message = "No se pueden agregar más de 50 actividades a la vez")
+    private List<Item> add = new ArrayList<>();
+
+    @Size(max = 50, message = "No se pueden eliminar más de 50 actividades a la vez")
+    private List<@NotNull Long> remove = new ArrayList<>(); // IDs de actividades de la reserva
+
+    /**
+     * Actividad a agregar a la reserva
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "El ID de la actividad es obligatorio")
+        private Long activityId;
+
+        @NotNull(message = "La cantidad es obligatoria")
+        @Positive(message = "La cantidad debe ser mayor a 0")
+        private Integer quantity;
+
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate scheduledDate; // Por defecto, la fecha de check-in de la reserva
+    }
+}
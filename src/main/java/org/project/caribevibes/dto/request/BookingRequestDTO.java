@@ -46,6 +46,9 @@ public class BookingRequestDTO {
     @Size(max = 1000, message = "Las solicitudes especiales no pueden exceder 1000 caracteres")
     private String specialRequests;
 
+    @Size(max = 36, message = "El token de retención no es válido")
+    private String holdToken; // Opcional: retención de habitaciones obtenida antes del checkout
+
     /**
      * Constructor por defecto.
      */
@@ -132,6 +135,14 @@ public class BookingRequestDTO {
         this.specialRequests = specialRequests;
     }
 
+    public String getHoldToken() {
+        return holdToken;
+    }
+
+    public void setHoldToken(String holdToken) {
+        this.holdToken = holdToken;
+    }
+
     @Override
     public String toString() {
         return "BookingRequestDTO{" +
@@ -0,0 +1,43 @@
+package org.project.caribevibes.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO de request para cambiar el estado de varias reservas en una sola operación
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingStatusRequestDTO {
+
+    @Valid
+    @NotEmpty(message = "Debe indicar al menos una reserva")
+    @Size(max = 500, message = "No se pueden cambiar más de 500 reservas a la vez")
+    private List<Item> transitions = new ArrayList<>();
+
+    /**
+     * Cambio de estado de una reserva
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotNull(message = "El ID de la reserva es obligatorio")
+        private Long bookingId;
+
+        @NotBlank(message = "El estado es obligatorio")
+        private String status;
+    }
+}
@@ -1,6 +1,7 @@
 package org.project.caribevibes.dto.request;
 
 import jakarta.validation.constraints.*;
+import org.project.caribevibes.entity.contact.Contact;
 
 /**
  * DTO de request para crear un mensaje de contacto.
@@ -35,6 +36,11 @@ public class ContactRequestDTO {
     @Size(min = 10, max = 2000, message = "El mensaje debe tener entre 10 y 2000 caracteres")
     private String message;
 
+    /**
+     * Tipo de consulta (opcional, por defecto consulta general)
+     */
+    private Contact.InquiryType inquiryType;
+
     /**
      * Constructor por defecto.
      */
@@ -99,6 +105,14 @@ public class ContactRequestDTO {
         this.message = message;
     }
 
+    public Contact.InquiryType getInquiryType() {
+        return inquiryType;
+    }
+
+    public void setInquiryType(Contact.InquiryType inquiryType) {
+        this.inquiryType = inquiryType;
+    }
+
     @Override
     public String toString() {
         return "ContactRequestDTO{" +
@@ -0,0 +1,40 @@
+package org.project.caribevibes.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de request para retener habitaciones temporalmente durante el checkout
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldRequestDTO {
+
+    @NotNull(message = "El ID del tipo de habitación es obligatorio")
+    private Long roomTypeId;
+
+    @NotNull(message = "La fecha de check-in es obligatoria")
+    @Future(message = "La fecha de check-in debe ser futura")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate checkInDate;
+
+    @NotNull(message = "La fecha de check-out es obligatoria")
+    @Future(message = "La fecha de check-out debe ser futura")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate checkOutDate;
+
+    @NotNull(message = "El número de habitaciones es obligatorio")
+    @Min(value = 1, message = "Debe retener al menos 1 habitación")
+    @Max(value = 10, message = "No se pueden retener más de 10 habitaciones")
+    private Integer numRooms;
+}
@@ -0,0 +1,48 @@
+package org.project.caribevibes.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de request para crear una regla de tarifa de un tipo de habitación
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomRateRuleRequestDTO {
+
+    @NotBlank(message = "El nombre de la regla es obligatorio")
+    @Size(max = 100, message = "El nombre no puede exceder 100 caracteres")
+    private String name;
+
+    @NotNull(message = "El tipo de regla es obligatorio")
+    @Pattern(regexp = "SEASON|DATE_RANGE", message = "El tipo de regla debe ser SEASON o DATE_RANGE")
+    private String ruleType;
+
+    @NotNull(message = "La fecha de inicio es obligatoria")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate; // En temporadas solo cuentan mes y día
+
+    @NotNull(message = "La fecha de fin es obligatoria")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate; // Inclusive
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "El precio debe ser mayor a 0")
+    private BigDecimal pricePerNight;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "El multiplicador debe ser mayor a 0")
+    @DecimalMax(value = "10.0", message = "El multiplicador no puede superar 10")
+    private BigDecimal priceMultiplier;
+
+    private Integer priority; // Por defecto 0
+}
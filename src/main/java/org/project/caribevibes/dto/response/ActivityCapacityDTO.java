@@ -0,0 +1,30 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con los cupos libres de una actividad en un rango de fechas.
+ * 
+ * El array está indexado por día: la posición {@code i} corresponde a la fecha
+ * {@code from + i días}. Es null si la actividad no tiene capacidad máxima.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityCapacityDTO {
+
+    private Long activityId;
+    private String activityName;
+    private LocalDate from;
+    private LocalDate to; // Exclusive
+    private Integer maxCapacity;
+    private int[] remainingSpots;
+}
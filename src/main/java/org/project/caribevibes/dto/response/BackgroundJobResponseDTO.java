@@ -0,0 +1,31 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para un trabajo de la cola persistente de trabajos en segundo plano
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackgroundJobResponseDTO {
+
+    private Long id;
+    private String queue;
+    private String type;
+    private String status;
+    private Integer attempts;
+    private Integer maxAttempts;
+    private LocalDateTime runAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
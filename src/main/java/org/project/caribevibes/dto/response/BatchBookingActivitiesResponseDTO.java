@@ -0,0 +1,27 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de respuesta para la modificación en bloque de las actividades de una reserva
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingActivitiesResponseDTO {
+
+    private Long bookingId;
+    private List<BookingActivityResponseDTO> added;
+    private Integer removed;
+    private BigDecimal activitiesPrice;
+    private BigDecimal totalPrice;
+}
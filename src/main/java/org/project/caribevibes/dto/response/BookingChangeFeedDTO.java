@@ -0,0 +1,24 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para un lote del registro de cambios de reservas
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChangeFeedDTO {
+
+    private List<BookingChangeResponseDTO> changes;
+    private Long nextSince; // Valor de 'since' para pedir el siguiente lote
+    private boolean hasMore; // true si ya hay más cambios disponibles
+}
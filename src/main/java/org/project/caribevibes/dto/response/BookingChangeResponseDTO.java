@@ -0,0 +1,30 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para un cambio del registro de cambios de reservas
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChangeResponseDTO {
+
+    private Long sequence;
+    private Long bookingId;
+    private Long hotelId;
+    private String confirmationCode;
+    private String changeType;
+    private String status;
+    private BigDecimal totalPrice;
+    private LocalDateTime changedAt;
+}
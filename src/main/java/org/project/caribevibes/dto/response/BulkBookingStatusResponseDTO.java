@@ -0,0 +1,38 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para el cambio de estado en bloque de reservas
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingStatusResponseDTO {
+
+    private Integer updated;
+    private Integer rejected;
+    private List<Result> results; // En el mismo orden que la solicitud
+
+    /**
+     * Resultado del cambio de estado de una reserva
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+
+        private Long bookingId;
+        private String previousStatus;
+        private String status;
+        private String result; // UPDATED, UNCHANGED, NOT_FOUND o INVALID_TRANSITION
+    }
+}
@@ -0,0 +1,89 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.project.caribevibes.util.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO de una página de un listado paginado por cursor.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Tamaño máximo de página admitido
+     */
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Elementos de la página
+     */
+    private List<T> content;
+
+    /**
+     * Tamaño de página solicitado
+     */
+    private int size;
+
+    /**
+     * Token para pedir la página siguiente (null si es la última)
+     */
+    private String nextCursor;
+
+    /**
+     * Total de elementos del listado; solo si se pidió, y puede venir de un conteo
+     * cacheado durante unos segundos
+     */
+    private Long totalElements;
+
+    /**
+     * Arma una página a partir de las filas leídas. La consulta debe pedir
+     * {@code size + 1} filas: si llega la fila extra, hay una página siguiente.
+     *
+     * @param rows Filas leídas (como máximo size + 1)
+     * @param size Tamaño de página
+     * @param cursorOf Posición de una fila
+     * @param totalElements Total de elementos, o null si no se pidió
+     * @return Página con el cursor de la siguiente
+     */
+    public static <T> CursorPageDTO<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf,
+                                          Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(size - 1)).encode() : null;
+        return new CursorPageDTO<>(List.copyOf(content), size, nextCursor, totalElements);
+    }
+
+    /**
+     * Verifica un tamaño de página solicitado.
+     *
+     * @param size Tamaño de página
+     * @throws IllegalArgumentException si está fuera de rango
+     */
+    public static void validateSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_SIZE);
+        }
+    }
+
+    /**
+     * Convierte los elementos de la página conservando el cursor y el total.
+     *
+     * @param mapper Conversión de cada elemento
+     * @return Página convertida
+     */
+    public <R> CursorPageDTO<R> map(Function<T, R> mapper) {
+        return new CursorPageDTO<>(content.stream().map(mapper).toList(), size, nextCursor, totalElements);
+    }
+}
@@ -0,0 +1,33 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO de respuesta para la búsqueda de disponibilidad de hoteles en un destino
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelAvailabilityResponseDTO {
+
+    private Long hotelId;
+    private String hotelName;
+    private String address;
+    private Integer stars;
+    private BigDecimal rating;
+    private String imageUrl;
+    private Long nights;
+    private BigDecimal lowestTotalPrice;
+    
+    // Tipos de habitación con disponibilidad, ordenados por precio
+    private List<RoomTypeAvailabilityDTO> roomTypes;
+}
@@ -0,0 +1,32 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con la cotización de una estancia.
+ * 
+ * El array de tarifas está indexado por noche: la posición {@code i} corresponde
+ * a la noche {@code checkInDate + i días} y es el precio de una habitación.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteResponseDTO {
+
+    private Long roomTypeId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer numRooms;
+    private Integer nights;
+    private BigDecimal[] nightlyRates;
+    private BigDecimal totalPrice; // Precio de la estancia para las habitaciones solicitadas
+}
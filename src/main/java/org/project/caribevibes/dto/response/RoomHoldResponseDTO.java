@@ -0,0 +1,29 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta para una retención temporal de habitaciones
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHoldResponseDTO {
+
+    private String holdToken; // Debe enviarse en BookingRequestDTO.holdToken al reservar
+    private Long roomTypeId;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private Integer numRooms;
+    private String status;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta para una regla de tarifa de un tipo de habitación
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomRateRuleResponseDTO {
+
+    private Long id;
+    private Long roomTypeId;
+    private String name;
+    private String ruleType;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private BigDecimal pricePerNight;
+    private BigDecimal priceMultiplier;
+    private Integer priority;
+}
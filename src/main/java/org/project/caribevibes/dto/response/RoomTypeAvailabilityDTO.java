@@ -0,0 +1,27 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de respuesta con la disponibilidad de un tipo de habitación para una estancia
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeAvailabilityDTO {
+
+    private Long roomTypeId;
+    private String name;
+    private Integer capacity;
+    private BigDecimal pricePerNight;
+    private Integer availableRooms; // Mínimo de habitaciones libres en todas las noches de la estancia
+    private BigDecimal totalPrice; // Precio de la estancia para las habitaciones solicitadas
+}
@@ -0,0 +1,31 @@
+package org.project.caribevibes.dto.response;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de respuesta con el calendario de disponibilidad y precio de un tipo de habitación.
+ * 
+ * Los arrays están indexados por noche: la posición {@code i} corresponde a la
+ * noche {@code from + i días}.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeCalendarDTO {
+
+    private Long roomTypeId;
+    private LocalDate from;
+    private LocalDate to; // Exclusive
+    private Integer totalRooms;
+    private int[] availableRooms;
+    private BigDecimal[] prices;
+}
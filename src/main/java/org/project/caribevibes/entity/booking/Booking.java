@@ -174,6 +174,13 @@ public class Booking {
     @Builder.Default
     private Boolean isActive = true; // Field name changed to isActive to match repository queries like findByIsActiveTrue
 
+    /**
+     * Versión para control de concurrencia optimista
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      */
     public enum BookingStatus {
@@ -216,6 +223,23 @@ public class Booking {
         public String getDisplayName() {
             return displayName;
         }
+
+        /**
+         * Indica si una reserva en este estado puede pasar al estado indicado
+         * siguiendo el ciclo de vida normal de la estancia.
+         * 
+         * @param target Estado destino
+         * @return true si la transición está permitida
+         */
+        public boolean canTransitionTo(BookingStatus target) {
+            return switch (this) {
+                case PENDING -> target == CONFIRMED || target == CANCELLED;
+                case CONFIRMED -> target == CHECKED_IN || target == COMPLETED || target == CANCELLED;
+                case CHECKED_IN -> target == CHECKED_OUT || target == COMPLETED;
+                case CHECKED_OUT -> target == COMPLETED;
+                case CANCELLED, COMPLETED -> false;
+            };
+        }
     }
 
     /**
@@ -294,6 +318,18 @@ public class Booking {
         totalPrice = accommodationTotal.add(activitiesTotal);
     }
 
+    /**
+     * Ajusta el subtotal de actividades en un delta y recalcula el precio total
+     * sin recorrer las actividades de la reserva
+     *
+     * @param delta Importe a sumar (negativo para restar)
+     */
+    public void adjustActivitiesPrice(BigDecimal delta) {
+        BigDecimal activitiesTotal = activitiesPrice != null ? activitiesPrice : BigDecimal.ZERO;
+        activitiesPrice = activitiesTotal.add(delta);
+        updateTotalPrice();
+    }
+
     /**
      * Verifica si las fechas de la reserva son válidas
      * 
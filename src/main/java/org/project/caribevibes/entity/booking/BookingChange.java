@@ -0,0 +1,121 @@
+package org.project.caribevibes.entity.booking;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un cambio registrado en una reserva.
+ *
+ * El registro es de solo inserción: cada alta, modificación o cambio de estado de
+ * una reserva agrega una fila en la misma transacción que el cambio. El ID es una
+ * secuencia creciente que los consumidores externos usan como cursor para
+ * sincronizarse de forma incremental.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "booking_changes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingChange {
+
+    /**
+     * Identificador del cambio (en orden de inserción, no de confirmación)
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Número de secuencia del cambio en el registro, asignado después de confirmarse
+     * su transacción (null mientras no se ha numerado)
+     */
+    @Column(name = "feed_sequence", unique = true)
+    private Long feedSequence;
+
+    /**
+     * ID de la reserva modificada
+     */
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    /**
+     * ID del hotel de la reserva
+     */
+    @Column(name = "hotel_id")
+    private Long hotelId;
+
+    /**
+     * Código de confirmación de la reserva
+     */
+    @Column(name = "confirmation_code", length = 20)
+    private String confirmationCode;
+
+    /**
+     * Tipo de cambio
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    /**
+     * Estado de la reserva después del cambio
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Booking.BookingStatus status;
+
+    /**
+     * Precio total de la reserva después del cambio
+     */
+    @Column(name = "total_price", precision = 12, scale = 2)
+    private BigDecimal totalPrice;
+
+    /**
+     * Momento del cambio
+     */
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    /**
+     * Tipos de cambio de una reserva
+     */
+    public enum ChangeType {
+        /**
+         * Reserva creada
+         */
+        CREATED,
+
+        /**
+         * Estancia, huéspedes, actividades o precio modificados
+         */
+        UPDATED,
+
+        /**
+         * Reserva confirmada
+         */
+        CONFIRMED,
+
+        /**
+         * Reserva cancelada
+         */
+        CANCELLED,
+
+        /**
+         * Reserva completada
+         */
+        COMPLETED,
+
+        /**
+         * Estado cambiado por un administrador
+         */
+        STATUS_CHANGED
+    }
+}
@@ -0,0 +1,38 @@
+package org.project.caribevibes.entity.booking;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entidad que representa una secuencia compartida para los códigos de confirmación.
+ *
+ * Cada instancia de la aplicación reserva bloques consecutivos de valores
+ * avanzando {@code nextValue} con una sola actualización, y reparte los valores
+ * del bloque en memoria. Como cada bloque pertenece a una sola instancia, los
+ * códigos no se repiten entre nodos.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "confirmation_code_sequences")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmationCodeSequence {
+
+    /**
+     * Nombre de la secuencia
+     */
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    /**
+     * Primer valor todavía no reservado por ninguna instancia
+     */
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,115 @@
+package org.project.caribevibes.entity.booking;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una retención temporal de habitaciones durante el checkout.
+ *
+ * Mientras está activa, la retención ocupa inventario en el ledger por noche igual
+ * que una reserva. Si no se convierte en reserva antes de {@code expiresAt}, se
+ * marca como expirada y sus habitaciones se liberan.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "room_holds")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHold {
+
+    /**
+     * Identificador único de la retención
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Token público con el que el cliente referencia la retención
+     */
+    @Column(name = "hold_token", nullable = false, unique = true, length = 36)
+    private String holdToken;
+
+    /**
+     * ID del usuario que realizó la retención
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * ID del tipo de habitación retenido
+     */
+    @Column(name = "room_type_id", nullable = false)
+    private Long roomTypeId;
+
+    /**
+     * Fecha de check-in de la estancia retenida
+     */
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDate checkInDate;
+
+    /**
+     * Fecha de check-out de la estancia retenida
+     */
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDate checkOutDate;
+
+    /**
+     * Número de habitaciones retenidas
+     */
+    @Column(name = "number_of_rooms", nullable = false)
+    private Integer numberOfRooms;
+
+    /**
+     * Estado de la retención
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private HoldStatus status = HoldStatus.ACTIVE;
+
+    /**
+     * Momento en que vence la retención
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Momento de creación de la retención
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Enumeración para los estados de una retención
+     */
+    public enum HoldStatus {
+        /**
+         * Retención vigente que ocupa inventario
+         */
+        ACTIVE,
+
+        /**
+         * Retención convertida en reserva (el inventario pasa a la reserva)
+         */
+        CONVERTED,
+
+        /**
+         * Retención liberada por el cliente
+         */
+        RELEASED,
+
+        /**
+         * Retención vencida sin convertirse
+         */
+        EXPIRED
+    }
+}
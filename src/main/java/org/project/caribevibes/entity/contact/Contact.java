@@ -115,6 +115,13 @@ public class Contact {
     @Column(name = "response_message", columnDefinition = "TEXT")
     private String responseMessage;
 
+    /**
+     * Fecha en que se notificó al administrador (individualmente o en un resumen);
+     * nula mientras el contacto espera al siguiente resumen
+     */
+    @Column(name = "admin_notified_at")
+    private LocalDateTime adminNotifiedAt;
+
     /**
      * Indica si el mensaje está activo o ha sido eliminado lógicamente
      */
@@ -0,0 +1,70 @@
+package org.project.caribevibes.entity.destination;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Entidad que representa el cupo de una actividad para una fecha concreta.
+ *
+ * Cada fila guarda la capacidad de la actividad ese día y los participantes ya
+ * reservados. Agregar o eliminar participantes es una actualización condicional
+ * sobre una sola fila, de modo que verificar el cupo no requiere agregar la
+ * tabla de actividades de reserva.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "activity_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_activity_slots_date",
+                                             columnNames = {"activity_id", "slot_date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySlot {
+
+    /**
+     * Identificador único del cupo
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la actividad (columna simple para no cargar la entidad Activity al actualizar)
+     */
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    /**
+     * Fecha de la actividad
+     */
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    /**
+     * Capacidad máxima de participantes ese día (null si la actividad no tiene límite)
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * Participantes reservados ese día
+     */
+    @Column(name = "booked_participants", nullable = false)
+    @Builder.Default
+    private Integer bookedParticipants = 0;
+
+    /**
+     * Calcula los cupos libres del día
+     *
+     * @return Cupos disponibles (nunca negativo) o null si no hay límite
+     */
+    public Integer getRemainingSpots() {
+        return capacity != null ? Math.max(0, capacity - bookedParticipants) : null;
+    }
+}
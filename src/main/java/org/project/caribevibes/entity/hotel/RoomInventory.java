@@ -0,0 +1,89 @@
+package org.project.caribevibes.entity.hotel;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa el inventario de un tipo de habitación para una noche concreta.
+ *
+ * Cada fila del ledger guarda cuántas habitaciones de un tipo existen y cuántas
+ * están comprometidas por reservas para la noche {@code stayDate}. Las reservas
+ * se aplican como actualizaciones condicionales sobre las filas de sus noches,
+ * de modo que verificar disponibilidad no requiere agregar la tabla de reservas.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "room_inventory",
+       uniqueConstraints = @UniqueConstraint(name = "uk_room_inventory_night",
+                                             columnNames = {"room_type_id", "stay_date"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomInventory {
+
+    /**
+     * Identificador único de la fila de inventario
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del tipo de habitación (se guarda como columna simple para que las
+     * actualizaciones del ledger no necesiten cargar la entidad RoomType)
+     */
+    @Column(name = "room_type_id", nullable = false)
+    private Long roomTypeId;
+
+    /**
+     * Noche a la que corresponde el inventario (fecha de llegada de esa noche)
+     */
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    /**
+     * Número total de habitaciones del tipo para esa noche
+     */
+    @Column(name = "total_rooms", nullable = false)
+    private Integer totalRooms;
+
+    /**
+     * Número de habitaciones comprometidas por reservas para esa noche
+     */
+    @Column(name = "booked_rooms", nullable = false)
+    @Builder.Default
+    private Integer bookedRooms = 0;
+
+    /**
+     * Contador de cambios de las habitaciones reservadas: cada reserva o liberación
+     * lo incrementa, de modo que las vistas en memoria pueden descartar cambios
+     * más antiguos que el valor que ya tienen
+     */
+    @Column(name = "revision", nullable = false)
+    @Builder.Default
+    private Long revision = 0L;
+
+    /**
+     * Momento (según el reloj de la base de datos) del último cambio de las
+     * habitaciones reservadas; las demás instancias lo usan para leer solo las
+     * noches modificadas desde su última sincronización
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Calcula las habitaciones que quedan libres para la noche
+     *
+     * @return Habitaciones disponibles (nunca negativo)
+     */
+    public int getRemainingRooms() {
+        return Math.max(0, totalRooms - bookedRooms);
+    }
+}
@@ -0,0 +1,148 @@
+package org.project.caribevibes.entity.hotel;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+
+/**
+ * Entidad que representa una regla de tarifa por noche de un tipo de habitación.
+ *
+ * Una regla fija el precio de las noches que cubre, ya sea con un precio absoluto
+ * o con un multiplicador sobre el precio base del tipo de habitación. Las reglas
+ * de temporada se repiten cada año (solo cuentan mes y día, y pueden cruzar el fin
+ * de año); las de rango de fechas aplican una sola vez y prevalecen sobre las de
+ * temporada. Dentro del mismo tipo, gana la regla de mayor prioridad.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "room_rate_rules")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomRateRule {
+
+    /**
+     * Identificador único de la regla
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del tipo de habitación al que aplica la regla
+     */
+    @Column(name = "room_type_id", nullable = false)
+    private Long roomTypeId;
+
+    /**
+     * Nombre descriptivo de la regla (por ejemplo, "Temporada alta")
+     */
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Tipo de regla
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false, length = 20)
+    private RuleType ruleType;
+
+    /**
+     * Primera noche cubierta (inclusive); en temporadas solo cuentan mes y día
+     */
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /**
+     * Última noche cubierta (inclusive); en temporadas solo cuentan mes y día
+     */
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    /**
+     * Precio por noche fijo (excluyente con el multiplicador)
+     */
+    @Column(name = "price_per_night", precision = 10, scale = 2)
+    private BigDecimal pricePerNight;
+
+    /**
+     * Multiplicador sobre el precio base (excluyente con el precio fijo)
+     */
+    @Column(name = "price_multiplier", precision = 5, scale = 3)
+    private BigDecimal priceMultiplier;
+
+    /**
+     * Prioridad entre reglas del mismo tipo (mayor prevalece)
+     */
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private Integer priority = 0;
+
+    /**
+     * Indica si la regla está vigente
+     */
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    /**
+     * Momento de creación de la regla
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Verifica si la regla cubre una noche
+     *
+     * @param night Noche a verificar
+     * @return true si la regla aplica a esa noche
+     */
+    public boolean covers(LocalDate night) {
+        if (ruleType == RuleType.DATE_RANGE) {
+            return !night.isBefore(startDate) && !night.isAfter(endDate);
+        }
+        MonthDay day = MonthDay.from(night);
+        MonthDay start = MonthDay.from(startDate);
+        MonthDay end = MonthDay.from(endDate);
+        return start.isAfter(end)
+                ? !day.isBefore(start) || !day.isAfter(end) // Temporada que cruza el fin de año
+                : !day.isBefore(start) && !day.isAfter(end);
+    }
+
+    /**
+     * Calcula el precio de una noche cubierta por la regla
+     *
+     * @param basePrice Precio base del tipo de habitación
+     * @return Precio de la noche
+     */
+    public BigDecimal apply(BigDecimal basePrice) {
+        if (pricePerNight != null) {
+            return pricePerNight;
+        }
+        return basePrice.multiply(priceMultiplier).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Enumeración para los tipos de regla de tarifa
+     */
+    public enum RuleType {
+        /**
+         * Temporada que se repite cada año
+         */
+        SEASON,
+
+        /**
+         * Rango de fechas concreto (eventos, festivos); prevalece sobre las temporadas
+         */
+        DATE_RANGE
+    }
+}
@@ -119,6 +119,13 @@ public class RoomType {
     @Builder.Default
     private ViewType viewType = ViewType.CITY;
 
+    /**
+     * Versión para control de concurrencia optimista
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /**
      * Enumeración para los tipos de cama disponibles
      */
@@ -0,0 +1,111 @@
+package org.project.caribevibes.entity.job;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un trabajo en segundo plano de la cola persistente.
+ *
+ * Los trabajos se encolan en la misma transacción que la escritura de negocio que
+ * los origina y los procesan los workers de su cola. Un trabajo fallido se
+ * reprograma con espera exponencial hasta agotar sus intentos, y entonces queda
+ * como {@link JobStatus#DEAD} para revisión manual.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "background_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackgroundJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Cola que procesa el trabajo
+     */
+    @Column(name = "queue", nullable = false, length = 50)
+    private String queue;
+
+    /**
+     * Tipo del trabajo; determina el manejador que lo ejecuta
+     */
+    @Column(name = "type", nullable = false, length = 100)
+    private String type;
+
+    /**
+     * Datos del trabajo serializados en JSON
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Estado del trabajo
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    /**
+     * Intentos realizados (incluido el que esté en curso)
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    /**
+     * Intentos permitidos antes de pasar a la cola de fallidos
+     */
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts;
+
+    /**
+     * Momento a partir del cual el trabajo puede ejecutarse
+     */
+    @Column(name = "run_at", nullable = false)
+    private LocalDateTime runAt;
+
+    /**
+     * Worker que ejecuta el trabajo (null si no está en curso)
+     */
+    @Column(name = "locked_by", length = 150)
+    private String lockedBy;
+
+    /**
+     * Momento en que el worker tomó el trabajo
+     */
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    /**
+     * Último error del trabajo
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Momento en que el trabajo terminó con éxito o pasó a la cola de fallidos
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Estados de un trabajo en segundo plano
+     */
+    public enum JobStatus {
+        PENDING,    // Pendiente de ejecutar (o de reintentar)
+        RUNNING,    // En ejecución por un worker
+        SUCCEEDED,  // Ejecutado con éxito
+        DEAD        // Intentos agotados; requiere revisión
+    }
+}
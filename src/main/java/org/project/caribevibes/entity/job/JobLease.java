@@ -0,0 +1,64 @@
+package org.project.caribevibes.entity.job;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa el lease de un trabajo programado.
+ *
+ * Solo la instancia que posee un lease vigente ejecuta el trabajo. Cada adquisición
+ * incrementa {@code fencingToken}, de modo que una instancia que perdió el lease
+ * (por ejemplo, tras una pausa larga) no puede confirmar escrituras protegidas con
+ * su token anterior.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    /**
+     * Nombre del trabajo
+     */
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    /**
+     * Instancia que posee el lease (null si está liberado)
+     */
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    /**
+     * Token de la adquisición vigente; crece con cada adquisición
+     */
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    /**
+     * Momento en que vence el lease si no se renueva
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Momento de la adquisición vigente
+     */
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    /**
+     * Última escritura protegida confirmada con el token vigente
+     */
+    @Column(name = "fenced_at")
+    private LocalDateTime fencedAt;
+}
@@ -0,0 +1,23 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.BookingActivity;
+
+import java.util.List;
+
+/**
+ * Operaciones de inserción en bloque para las actividades de reserva.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface BookingActivityBatchRepository {
+
+    /**
+     * Inserta varias actividades de reserva en un único lote JDBC y asigna a cada
+     * una el ID generado.
+     * 
+     * @param bookingActivities Actividades nuevas con reserva y actividad asignadas
+     */
+    void batchInsert(List<BookingActivity> bookingActivities);
+}
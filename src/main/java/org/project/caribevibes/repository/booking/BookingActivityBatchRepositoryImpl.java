@@ -0,0 +1,72 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.BookingActivity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación JDBC de {@link BookingActivityBatchRepository}.
+ * 
+ * Las actividades de reserva usan IDs autoincrementales, con los que Hibernate no
+ * agrupa inserciones; por eso el lote se envía directamente con {@link JdbcTemplate}
+ * dentro de la transacción en curso.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class BookingActivityBatchRepositoryImpl implements BookingActivityBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO booking_activities (booking_id, activity_id, scheduled_date, quantity, " +
+            "price_per_person, total_price, status, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<BookingActivity> bookingActivities) {
+        if (bookingActivities.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BookingActivity bookingActivity = bookingActivities.get(i);
+                        ps.setLong(1, bookingActivity.getBooking().getId());
+                        ps.setLong(2, bookingActivity.getActivity().getId());
+                        ps.setDate(3, Date.valueOf(bookingActivity.getScheduledDate()));
+                        ps.setInt(4, bookingActivity.getQuantity());
+                        ps.setBigDecimal(5, bookingActivity.getPricePerPerson());
+                        ps.setBigDecimal(6, bookingActivity.getTotalPrice());
+                        ps.setString(7, bookingActivity.getStatus().name());
+                        ps.setBoolean(8, bookingActivity.getIsActive());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookingActivities.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookingActivities.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            bookingActivities.get(i).setId(id.longValue());
+        }
+    }
+}
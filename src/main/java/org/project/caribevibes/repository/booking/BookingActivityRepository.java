@@ -1,5 +1,6 @@
 package org.project.caribevibes.repository.booking;
 
+import org.project.caribevibes.dto.projection.BookingActivitySummaryView;
 import org.project.caribevibes.entity.booking.BookingActivity;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.destination.Activity;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +26,8 @@ import java.util.Optional;
  * @since 2025
  */
 @Repository
-public interface BookingActivityRepository extends JpaRepository<BookingActivity, Long> {
+public interface BookingActivityRepository extends JpaRepository<BookingActivity, Long>,
+                                                   BookingActivityBatchRepository {
 
     /**
      * Obtiene todas las actividades de una reserva específica
@@ -145,7 +148,9 @@ public interface BookingActivityRepository extends JpaRepository<BookingActivity
      * @param activityId ID de la actividad
      * @param scheduledDate Fecha programada
      * @return Número total de participantes
+     * @deprecated Usar los cupos por fecha de {@code ActivityCapacityService}, que no suman la tabla
      */
+    @Deprecated
     @Query("SELECT SUM(ba.quantity) FROM BookingActivity ba " +
            "WHERE ba.activity.id = :activityId " +
            "AND ba.scheduledDate = :scheduledDate " +
@@ -160,7 +165,9 @@ public interface BookingActivityRepository extends JpaRepository<BookingActivity
      * @param scheduledDate Fecha programada
      * @param requestedParticipants Número de participantes solicitados
      * @return true si hay capacidad disponible
+     * @deprecated Usar los cupos por fecha de {@code ActivityCapacityService}, que no suman la tabla
      */
+    @Deprecated
     @Query("SELECT CASE WHEN " +
            "(SELECT a.maxCapacity FROM Activity a WHERE a.id = :activityId) - " +
            "COALESCE((SELECT SUM(ba.quantity) FROM BookingActivity ba " +
@@ -244,4 +251,27 @@ public interface BookingActivityRepository extends JpaRepository<BookingActivity
     List<BookingActivity> findByBookingIdAndIsActiveTrue(Long bookingId);
 
     
+
+    /**
+     * Busca las actividades activas de una reserva entre un conjunto de IDs.
+     * 
+     * @param bookingId ID de la reserva
+     * @param ids IDs de las actividades de reserva
+     * @return Actividades de reserva activas encontradas
+     */
+    List<BookingActivity> findByBookingIdAndIdInAndIsActiveTrue(Long bookingId, Collection<Long> ids);
+
+    /**
+     * Obtiene el resumen de las actividades activas de varias reservas en una sola consulta
+     * 
+     * @param bookingIds IDs de las reservas
+     * @return Resúmenes de actividades ordenados por reserva e ID
+     */
+    @Query("SELECT new org.project.caribevibes.dto.projection.BookingActivitySummaryView(" +
+           "ba.booking.id, ba.id, ba.quantity, ba.pricePerPerson, ba.totalPrice, " +
+           "a.id, a.name, a.description, a.price) " +
+           "FROM BookingActivity ba JOIN ba.activity a " +
+           "WHERE ba.booking.id IN :bookingIds AND ba.isActive = true " +
+           "ORDER BY ba.booking.id, ba.id")
+    List<BookingActivitySummaryView> findActiveSummariesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 }
@@ -0,0 +1,34 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.BookingChange;
+
+import java.util.List;
+
+/**
+ * Operaciones de inserción en bloque para el registro de cambios de reservas.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface BookingChangeBatchRepository {
+
+    /**
+     * Inserta varios cambios de reservas en un único lote JDBC.
+     * 
+     * @param changes Cambios nuevos
+     */
+    void batchInsert(List<BookingChange> changes);
+
+    /**
+     * Numera, en orden de ID, los cambios confirmados que aún no tienen número de
+     * secuencia, a continuación del mayor número asignado. Si otra transacción numera
+     * los mismos cambios a la vez, una de las dos falla y debe deshacerse.
+     * 
+     * @param limit Número máximo de cambios a numerar
+     * @return Número de cambios numerados
+     * @throws org.springframework.dao.DataAccessException si otra transacción numeró
+     *         los mismos cambios o los mismos números
+     */
+    int assignFeedSequences(int limit);
+}
@@ -0,0 +1,89 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.BookingChange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementación JDBC de {@link BookingChangeBatchRepository}.
+ * 
+ * Los cambios usan IDs autoincrementales, con los que Hibernate no agrupa
+ * inserciones; por eso el lote se envía directamente con {@link JdbcTemplate}
+ * dentro de la transacción en curso.
+ * 
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class BookingChangeBatchRepositoryImpl implements BookingChangeBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO booking_changes (booking_id, hotel_id, confirmation_code, change_type, " +
+            "status, total_price, changed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String MAX_SEQUENCE_SQL =
+            "SELECT COALESCE(MAX(feed_sequence), 0) FROM booking_changes";
+
+    private static final String UNSEQUENCED_SQL =
+            "SELECT id FROM booking_changes WHERE feed_sequence IS NULL ORDER BY id LIMIT ?";
+
+    private static final String ASSIGN_SQL =
+            "UPDATE booking_changes SET feed_sequence = ? WHERE id = ? AND feed_sequence IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(List<BookingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BookingChange change = changes.get(i);
+                ps.setLong(1, change.getBookingId());
+                if (change.getHotelId() != null) {
+                    ps.setLong(2, change.getHotelId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setString(3, change.getConfirmationCode());
+                ps.setString(4, change.getChangeType().name());
+                ps.setString(5, change.getStatus().name());
+                ps.setBigDecimal(6, change.getTotalPrice());
+                ps.setTimestamp(7, Timestamp.valueOf(change.getChangedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    @Override
+    public int assignFeedSequences(int limit) {
+        long lastSequence = jdbcTemplate.queryForObject(MAX_SEQUENCE_SQL, Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(UNSEQUENCED_SQL, Long.class, limit);
+
+        // Se actualiza fila a fila para comprobar cada una: si otra transacción la
+        // numeró entretanto, el índice único o la condición lo detectan
+        for (Long id : ids) {
+            if (jdbcTemplate.update(ASSIGN_SQL, ++lastSequence, id) != 1) {
+                throw new OptimisticLockingFailureException(
+                        "El cambio " + id + " ya fue numerado por otra transacción");
+            }
+        }
+        return ids.size();
+    }
+}
@@ -0,0 +1,48 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.BookingChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para el registro de cambios de reservas.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface BookingChangeRepository extends JpaRepository<BookingChange, Long>,
+                                                 BookingChangeBatchRepository {
+
+    /**
+     * Obtiene los cambios posteriores a un número de secuencia, en orden de secuencia.
+     * Los cambios que aún no tienen número no se devuelven.
+     *
+     * @param since Último número de secuencia ya procesado
+     * @param limit Número máximo de cambios
+     * @return Cambios en orden de secuencia
+     */
+    @Query("SELECT c FROM BookingChange c WHERE c.feedSequence > :since ORDER BY c.feedSequence")
+    List<BookingChange> findChangesAfter(@Param("since") Long since, Limit limit);
+
+    /**
+     * Obtiene los cambios de un hotel posteriores a un número de secuencia, en orden de secuencia.
+     * Los cambios que aún no tienen número no se devuelven.
+     *
+     * @param hotelId ID del hotel
+     * @param since Último número de secuencia ya procesado
+     * @param limit Número máximo de cambios
+     * @return Cambios en orden de secuencia
+     */
+    @Query("SELECT c FROM BookingChange c WHERE c.hotelId = :hotelId AND c.feedSequence > :since " +
+           "ORDER BY c.feedSequence")
+    List<BookingChange> findHotelChangesAfter(@Param("hotelId") Long hotelId,
+                                              @Param("since") Long since,
+                                              Limit limit);
+}
@@ -1,21 +1,32 @@
 package org.project.caribevibes.repository.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.project.caribevibes.dto.projection.BookingSummaryView;
+import org.project.caribevibes.dto.projection.BookingExportView;
+import org.project.caribevibes.dto.projection.BookingTransitionView;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.user.User;
 import org.project.caribevibes.entity.hotel.Hotel;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la gestión de reservas en el sistema Caribe Vibes.
@@ -311,6 +322,129 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Page<Booking> findByCheckInDateBetweenAndStatusAndIsActiveTrue(
             LocalDate startDate, LocalDate endDate, Booking.BookingStatus status, Pageable pageable);
 
+    /**
+     * Consulta base de las proyecciones de listado: la reserva con los datos
+     * resumidos de usuario, hotel, destino y tipo de habitación en una sola sentencia
+     */
+    String SUMMARY_SELECT = "SELECT new org.project.caribevibes.dto.projection.BookingSummaryView(" +
+           "b.id, b.confirmationCode, b.bookingDate, b.checkInDate, b.checkOutDate, " +
+           "b.numberOfGuests, b.numberOfRooms, b.totalPrice, b.status, b.specialRequests, " +
+           "u.id, u.firstName, u.lastName, u.email, " +
+           "h.id, h.name, h.address, h.stars, h.imageUrl, " +
+           "d.id, d.name, d.location, d.imageUrl, " +
+           "rt.id, rt.name, rt.pricePerNight, rt.capacity) " +
+           "FROM Booking b LEFT JOIN b.user u LEFT JOIN b.hotel h " +
+           "LEFT JOIN h.destination d LEFT JOIN b.roomType rt ";
+
+    /**
+     * Obtiene el resumen de las reservas activas paginadas
+     * 
+     * @param pageable Configuración de paginación
+     * @return Página de resúmenes de reservas activas
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE b.isActive = true",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.isActive = true")
+    Page<BookingSummaryView> findActiveSummaries(Pageable pageable);
+
+    /**
+     * Obtiene el resumen de las reservas activas de un usuario paginadas
+     * 
+     * @param userId ID del usuario
+     * @param pageable Configuración de paginación
+     * @return Página de resúmenes de reservas del usuario
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE b.user.id = :userId AND b.isActive = true",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId AND b.isActive = true")
+    Page<BookingSummaryView> findActiveSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Obtiene el resumen de las reservas activas con un estado paginadas
+     * 
+     * @param status Estado de la reserva
+     * @param pageable Configuración de paginación
+     * @return Página de resúmenes de reservas con el estado especificado
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE b.status = :status AND b.isActive = true",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.status = :status AND b.isActive = true")
+    Page<BookingSummaryView> findActiveSummariesByStatus(@Param("status") Booking.BookingStatus status,
+                                                         Pageable pageable);
+
+    /**
+     * Obtiene el resumen de todas las reservas, incluidas las inactivas, paginadas
+     * 
+     * @param pageable Configuración de paginación
+     * @return Página de resúmenes de reservas
+     */
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(b) FROM Booking b")
+    Page<BookingSummaryView> findAllSummaries(Pageable pageable);
+
+    /**
+     * Obtiene la primera página del resumen de todas las reservas por fecha de reserva
+     * descendente (paginación por clave)
+     * 
+     * @param limit Número máximo de filas
+     * @return Resúmenes de las reservas más recientes
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummaryView> findSummariesFirst(Limit limit);
+
+    /**
+     * Obtiene el resumen de las reservas anteriores a una posición (bookingDate, id)
+     * por fecha de reserva descendente (paginación por clave)
+     * 
+     * @param bookingDate Fecha de reserva de la última fila entregada
+     * @param id ID de la última fila entregada
+     * @param limit Número máximo de filas
+     * @return Resúmenes de las reservas siguientes
+     */
+    @Query(SUMMARY_SELECT + "WHERE b.bookingDate < :bookingDate " +
+           "OR (b.bookingDate = :bookingDate AND b.id < :id) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummaryView> findSummariesBefore(@Param("bookingDate") LocalDateTime bookingDate,
+                                                 @Param("id") Long id,
+                                                 Limit limit);
+
+    /**
+     * Cuenta todas las reservas para los listados; el resultado se cachea unos
+     * segundos porque solo se usa como total orientativo
+     * 
+     * @return Número de reservas
+     */
+    @Cacheable(value = "listCounts", key = "'bookings'")
+    @Query("SELECT COUNT(b) FROM Booking b")
+    long countForListing();
+
+    /**
+     * Recorre las reservas para exportarlas, leyendo las filas de la base de datos por
+     * bloques a medida que se consumen. Los filtros nulos no se aplican.
+     * Debe consumirse (y cerrarse) dentro de una transacción.
+     * 
+     * @param from Fecha de reserva mínima (inclusive)
+     * @param to Fecha de reserva máxima (exclusive)
+     * @param hotelId ID del hotel
+     * @param status Estado de la reserva
+     * @return Flujo de filas de exportación ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.project.caribevibes.dto.projection.BookingExportView(" +
+           "b.id, b.confirmationCode, b.bookingDate, b.status, b.checkInDate, b.checkOutDate, " +
+           "b.numberOfGuests, b.numberOfRooms, b.accommodationPrice, b.activitiesPrice, b.totalPrice, " +
+           "u.id, u.email, h.id, h.name, rt.id, rt.name) " +
+           "FROM Booking b LEFT JOIN b.user u LEFT JOIN b.hotel h LEFT JOIN b.roomType rt " +
+           "WHERE (:from IS NULL OR b.bookingDate >= :from) " +
+           "AND (:to IS NULL OR b.bookingDate < :to) " +
+           "AND (:hotelId IS NULL OR h.id = :hotelId) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "ORDER BY b.id")
+    Stream<BookingExportView> streamForExport(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("hotelId") Long hotelId,
+                                              @Param("status") Booking.BookingStatus status);
+
     /**
      * Cuenta el número de habitaciones reservadas para un tipo de habitación en un período específico
      * 
@@ -384,10 +518,146 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * Este método está diseñado para uso administrativo donde se necesita cambiar
      * el estado de reservas sin que fallen las validaciones de fechas.
      * 
+     * La actualización solo se aplica si la versión coincide con la leída por el
+     * llamador e incrementa la versión, de modo que compite correctamente con
+     * las modificaciones hechas a través de la entidad.
+     * 
      * @param id ID de la reserva a actualizar
      * @param status Nuevo estado de la reserva
+     * @param version Versión de la reserva leída por el llamador
+     * @return Número de filas actualizadas (0 si la reserva cambió entretanto)
      */
     @Modifying
-    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :id")
-    void updateBookingStatusByAdmin(@Param("id") Long id, @Param("status") Booking.BookingStatus status);
-}
\ No newline at end of file
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+           "WHERE b.id = :id AND b.version = :version")
+    int updateBookingStatusByAdmin(@Param("id") Long id,
+                                   @Param("status") Booking.BookingStatus status,
+                                   @Param("version") Long version);
+
+    /**
+     * Obtiene el mayor ID de reserva, para recorrer la tabla por rangos.
+     * 
+     * @return Mayor ID de reserva o 0 si no hay reservas
+     */
+    @Query("SELECT COALESCE(MAX(b.id), 0) FROM Booking b")
+    Long findMaxBookingId();
+
+    /**
+     * Encuentra, dentro de un rango de IDs, las reservas activas cuyos subtotales
+     * desnormalizados no cuadran con sus actividades activas.
+     * 
+     * Cada fila contiene el ID de la reserva, su versión y la suma real de las
+     * actividades activas. Se omiten las reservas sin subtotal de alojamiento.
+     * 
+     * @param fromId Primer ID del rango (inclusive)
+     * @param toId Último ID del rango (inclusive)
+     * @return Filas [id, version, suma de actividades] de las reservas descuadradas
+     */
+    @Query("SELECT b.id, b.version, COALESCE(SUM(ba.totalPrice), 0) FROM Booking b " +
+           "LEFT JOIN BookingActivity ba ON ba.booking = b AND ba.isActive = true " +
+           "WHERE b.id BETWEEN :fromId AND :toId " +
+           "AND b.isActive = true AND b.accommodationPrice IS NOT NULL " +
+           "GROUP BY b.id, b.version, b.accommodationPrice, b.activitiesPrice, b.totalPrice " +
+           "HAVING COALESCE(b.activitiesPrice, 0) <> COALESCE(SUM(ba.totalPrice), 0) " +
+           "OR b.totalPrice <> b.accommodationPrice + COALESCE(SUM(ba.totalPrice), 0)")
+    List<Object[]> findBookingsWithMismatchedTotals(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Corrige los subtotales desnormalizados de una reserva si no cambió desde que se verificó.
+     * 
+     * @param id ID de la reserva
+     * @param activitiesPrice Suma real de las actividades activas
+     * @param version Versión leída durante la verificación
+     * @return Número de filas actualizadas (0 si la reserva cambió entretanto)
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.activitiesPrice = :activitiesPrice, " +
+           "b.totalPrice = b.accommodationPrice + :activitiesPrice, b.version = b.version + 1 " +
+           "WHERE b.id = :id AND b.version = :version")
+    int correctActivitiesPrice(@Param("id") Long id,
+                               @Param("activitiesPrice") BigDecimal activitiesPrice,
+                               @Param("version") Long version);
+
+    /**
+     * Obtiene con una sola consulta el estado y la estancia de varias reservas para
+     * validar un cambio de estado en bloque.
+     *
+     * @param ids IDs de las reservas
+     * @return Proyecciones de las reservas existentes
+     */
+    @Query("SELECT new org.project.caribevibes.dto.projection.BookingTransitionView(" +
+           "b.id, b.status, h.id, b.confirmationCode, b.totalPrice, rt.id, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfRooms) " +
+           "FROM Booking b LEFT JOIN b.hotel h LEFT JOIN b.roomType rt WHERE b.id IN :ids")
+    List<BookingTransitionView> findTransitionViews(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Obtiene, en orden de ID a partir de {@code afterId}, las reservas en alguno de
+     * los estados indicados cuya fecha de check-out es anterior a {@code today}.
+     *
+     * @param statuses Estados candidatos
+     * @param today Fecha de referencia
+     * @param afterId Último ID procesado
+     * @param limit Tamaño del bloque
+     * @return Proyecciones de las reservas del bloque
+     */
+    @Query("SELECT new org.project.caribevibes.dto.projection.BookingTransitionView(" +
+           "b.id, b.status, h.id, b.confirmationCode, b.totalPrice, rt.id, " +
+           "b.checkInDate, b.checkOutDate, b.numberOfRooms) " +
+           "FROM Booking b LEFT JOIN b.hotel h LEFT JOIN b.roomType rt " +
+           "WHERE b.status IN :statuses AND b.checkOutDate < :today AND b.id > :afterId ORDER BY b.id")
+    List<BookingTransitionView> findPastCheckoutTransitionViews(
+            @Param("statuses") Collection<Booking.BookingStatus> statuses,
+            @Param("today") LocalDate today,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * Cambia el estado de varias reservas en una sola sentencia, solo para las que
+     * siguen en alguno de los estados de origen validados.
+     *
+     * @param ids IDs de las reservas
+     * @param sources Estados de origen permitidos
+     * @param status Nuevo estado
+     * @param deactivate true para marcar además las reservas como inactivas (cancelación)
+     * @return Número de filas actualizadas (menor que ids si alguna cambió entretanto)
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1, " +
+           "b.isActive = CASE WHEN :deactivate = true THEN false ELSE b.isActive END " +
+           "WHERE b.id IN :ids AND b.status IN :sources")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("sources") Collection<Booking.BookingStatus> sources,
+                           @Param("status") Booking.BookingStatus status,
+                           @Param("deactivate") boolean deactivate);
+
+    /**
+     * Obtiene los IDs de las reservas activas y no canceladas de un hotel con llegada en
+     * un rango de fechas, para generar sus vouchers en bloque.
+     *
+     * @param hotelId ID del hotel
+     * @param startDate Primera fecha de check-in (inclusive)
+     * @param endDate Última fecha de check-in (inclusive)
+     * @param limit Número máximo de reservas
+     * @return IDs ordenados por fecha de llegada
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.hotel.id = :hotelId AND b.isActive = true " +
+           "AND b.status <> org.project.caribevibes.entity.booking.Booking.BookingStatus.CANCELLED " +
+           "AND b.checkInDate BETWEEN :startDate AND :endDate ORDER BY b.checkInDate, b.id")
+    List<Long> findVoucherBookingIds(@Param("hotelId") Long hotelId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     Limit limit);
+
+    /**
+     * Busca una reserva con todo lo que se imprime en su voucher (hotel, tipo de
+     * habitación, usuario y actividades) en una sola consulta, para poder generarlo
+     * fuera de la sesión que la cargó.
+     *
+     * @param id ID de la reserva
+     * @return Reserva con sus relaciones inicializadas
+     */
+    @EntityGraph(attributePaths = {"hotel", "roomType", "user", "activities", "activities.activity"})
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findWithVoucherDetailsById(@Param("id") Long id);
+}
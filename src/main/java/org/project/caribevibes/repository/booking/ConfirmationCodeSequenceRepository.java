@@ -0,0 +1,41 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.ConfirmationCodeSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para las secuencias de códigos de confirmación.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface ConfirmationCodeSequenceRepository extends JpaRepository<ConfirmationCodeSequence, String> {
+
+    /**
+     * Avanza una secuencia reservando un bloque de valores. La fila queda bloqueada
+     * hasta el final de la transacción, así que la lectura posterior de
+     * {@link #findNextValue} devuelve el final del bloque reservado.
+     *
+     * @param name Nombre de la secuencia
+     * @param blockSize Número de valores a reservar
+     * @return 1 si se reservó, 0 si la secuencia no existe
+     */
+    @Modifying
+    @Query("UPDATE ConfirmationCodeSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("blockSize") long blockSize);
+
+    /**
+     * Obtiene el siguiente valor libre de una secuencia
+     *
+     * @param name Nombre de la secuencia
+     * @return Siguiente valor no reservado
+     */
+    @Query("SELECT s.nextValue FROM ConfirmationCodeSequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+}
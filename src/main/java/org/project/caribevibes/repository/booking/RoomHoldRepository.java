@@ -0,0 +1,53 @@
+package org.project.caribevibes.repository.booking;
+
+import org.project.caribevibes.entity.booking.RoomHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para las retenciones temporales de habitaciones.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface RoomHoldRepository extends JpaRepository<RoomHold, Long> {
+
+    /**
+     * Busca una retención por su token público
+     *
+     * @param holdToken Token de la retención
+     * @return Retención encontrada o Optional vacío
+     */
+    Optional<RoomHold> findByHoldToken(String holdToken);
+
+    /**
+     * Obtiene las retenciones en un estado dado
+     *
+     * @param status Estado de la retención
+     * @return Lista de retenciones
+     */
+    List<RoomHold> findByStatus(RoomHold.HoldStatus status);
+
+    /**
+     * Cambia el estado de una retención solo si sigue en el estado esperado, de modo
+     * que conversión, liberación y vencimiento concurrentes no se apliquen dos veces.
+     *
+     * @param id ID de la retención
+     * @param expected Estado esperado
+     * @param status Nuevo estado
+     * @return Número de filas actualizadas (0 si la retención ya cambió de estado)
+     */
+    @Modifying
+    @Query("UPDATE RoomHold h SET h.status = :status WHERE h.id = :id AND h.status = :expected")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expected") RoomHold.HoldStatus expected,
+                         @Param("status") RoomHold.HoldStatus status);
+}
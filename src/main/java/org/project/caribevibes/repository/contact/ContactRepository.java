@@ -1,16 +1,25 @@
 package org.project.caribevibes.repository.contact;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.project.caribevibes.dto.projection.ContactExportView;
 import org.project.caribevibes.entity.contact.Contact;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la gestión de mensajes de contacto en el sistema Caribe Vibes.
@@ -98,6 +107,66 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
      */
     Page<Contact> findAllByActiveTrue(Pageable pageable);
 
+    /**
+     * Obtiene la primera página de mensajes activos por fecha descendente (paginación por clave)
+     * 
+     * @param limit Número máximo de filas
+     * @return Mensajes más recientes
+     */
+    List<Contact> findByActiveTrueOrderByCreatedAtDescIdDesc(Limit limit);
+
+    /**
+     * Obtiene los mensajes activos anteriores a una posición (createdAt, id)
+     * por fecha descendente (paginación por clave)
+     * 
+     * @param createdAt Fecha de la última fila entregada
+     * @param id ID de la última fila entregada
+     * @param limit Número máximo de filas
+     * @return Mensajes siguientes
+     */
+    @Query("SELECT c FROM Contact c WHERE c.active = true " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Contact> findActiveBefore(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Limit limit);
+
+    /**
+     * Cuenta los mensajes activos para los listados; el resultado se cachea unos
+     * segundos porque solo se usa como total orientativo
+     * 
+     * @return Número de mensajes activos
+     */
+    @Cacheable(value = "listCounts", key = "'contacts'")
+    @Query("SELECT COUNT(c) FROM Contact c WHERE c.active = true")
+    long countActiveForListing();
+
+    /**
+     * Recorre los mensajes activos para exportarlos, leyendo las filas de la base de datos
+     * por bloques a medida que se consumen. Los filtros nulos no se aplican.
+     * Debe consumirse (y cerrarse) dentro de una transacción.
+     * 
+     * @param from Fecha de creación mínima (inclusive)
+     * @param to Fecha de creación máxima (exclusive)
+     * @param status Estado del mensaje
+     * @return Flujo de filas de exportación ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.project.caribevibes.dto.projection.ContactExportView(" +
+           "c.id, c.createdAt, c.name, c.email, c.phoneNumber, c.inquiryType, c.status, " +
+           "c.subject, c.message, c.respondedAt) " +
+           "FROM Contact c WHERE c.active = true " +
+           "AND (:from IS NULL OR c.createdAt >= :from) " +
+           "AND (:to IS NULL OR c.createdAt < :to) " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "ORDER BY c.id")
+    Stream<ContactExportView> streamForExport(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              @Param("status") Contact.ContactStatus status);
+
     /**
      * Obtiene mensajes por estado y activos con paginación
      */
@@ -266,4 +335,26 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
            "LOWER(c.message) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "ORDER BY c.createdAt DESC")
     List<Contact> searchMessages(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Obtiene los mensajes pendientes de notificar al administrador, del más antiguo
+     * al más reciente
+     * 
+     * @param limit Número máximo de mensajes
+     * @return Mensajes que esperan al siguiente resumen
+     */
+    @Query("SELECT c FROM Contact c WHERE c.adminNotifiedAt IS NULL ORDER BY c.id ASC")
+    List<Contact> findPendingAdminNotification(Limit limit);
+
+    /**
+     * Marca mensajes como notificados al administrador si aún no lo estaban
+     * 
+     * @param ids IDs de los mensajes
+     * @param notifiedAt Fecha de la notificación
+     * @return Número de mensajes marcados
+     */
+    @Modifying
+    @Query("UPDATE Contact c SET c.adminNotifiedAt = :notifiedAt " +
+           "WHERE c.id IN :ids AND c.adminNotifiedAt IS NULL")
+    int markAdminNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") LocalDateTime notifiedAt);
 }
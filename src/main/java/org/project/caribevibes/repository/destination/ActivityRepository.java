@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -189,4 +190,12 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
      * @return Número total de actividades disponibles
      */
     long countByIsAvailableTrue();
+
+    /**
+     * Busca las actividades disponibles entre un conjunto de IDs.
+     * 
+     * @param ids IDs de las actividades
+     * @return Actividades disponibles encontradas
+     */
+    List<Activity> findByIdInAndIsAvailableTrue(Collection<Long> ids);
 }
@@ -0,0 +1,122 @@
+package org.project.caribevibes.repository.destination;
+
+import org.project.caribevibes.entity.destination.ActivitySlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para los cupos por fecha de las actividades.
+ *
+ * Todas las consultas trabajan sobre el índice único (activity_id, slot_date).
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface ActivitySlotRepository extends JpaRepository<ActivitySlot, Long> {
+
+    /**
+     * Obtiene el cupo de una actividad para una fecha
+     *
+     * @param activityId ID de la actividad
+     * @param slotDate Fecha de la actividad
+     * @return Cupo si ya existe
+     */
+    Optional<ActivitySlot> findByActivityIdAndSlotDate(Long activityId, LocalDate slotDate);
+
+    /**
+     * Obtiene los cupos de varias actividades en un rango de fechas
+     *
+     * @param activityIds IDs de las actividades
+     * @param from Primera fecha (inclusive)
+     * @param to Última fecha (exclusive)
+     * @return Cupos existentes en el rango
+     */
+    @Query("SELECT s FROM ActivitySlot s WHERE s.activityId IN :activityIds " +
+           "AND s.slotDate >= :from AND s.slotDate < :to")
+    List<ActivitySlot> findSlots(@Param("activityIds") Collection<Long> activityIds,
+                                 @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    /**
+     * Reserva participantes en un cupo solo si caben en su capacidad
+     *
+     * @param activityId ID de la actividad
+     * @param slotDate Fecha de la actividad
+     * @param participants Participantes a reservar
+     * @return 1 si se reservó, 0 si no hay cupo suficiente
+     */
+    @Modifying
+    @Query("UPDATE ActivitySlot s SET s.bookedParticipants = s.bookedParticipants + :participants " +
+           "WHERE s.activityId = :activityId AND s.slotDate = :slotDate " +
+           "AND (s.capacity IS NULL OR s.bookedParticipants + :participants <= s.capacity)")
+    int reserve(@Param("activityId") Long activityId,
+                @Param("slotDate") LocalDate slotDate,
+                @Param("participants") int participants);
+
+    /**
+     * Libera participantes de un cupo
+     *
+     * @param activityId ID de la actividad
+     * @param slotDate Fecha de la actividad
+     * @param participants Participantes a liberar
+     * @return Número de cupos actualizados
+     */
+    @Modifying
+    @Query("UPDATE ActivitySlot s SET s.bookedParticipants = " +
+           "CASE WHEN s.bookedParticipants >= :participants THEN s.bookedParticipants - :participants ELSE 0 END " +
+           "WHERE s.activityId = :activityId AND s.slotDate = :slotDate")
+    int release(@Param("activityId") Long activityId,
+                @Param("slotDate") LocalDate slotDate,
+                @Param("participants") int participants);
+
+    /**
+     * Cuenta los cupos de una actividad a partir de una fecha
+     *
+     * @param activityId ID de la actividad
+     * @param from Primera fecha considerada (inclusive)
+     * @return Número de cupos existentes
+     */
+    @Query("SELECT COUNT(s) FROM ActivitySlot s WHERE s.activityId = :activityId AND s.slotDate >= :from")
+    long countSlotsFrom(@Param("activityId") Long activityId,
+                        @Param("from") LocalDate from);
+
+    /**
+     * Actualiza la capacidad de los cupos de una actividad a partir de una fecha. Los
+     * cupos con más participantes reservados que la nueva capacidad no se modifican,
+     * por lo que el llamador debe comparar el resultado con {@link #countSlotsFrom}.
+     *
+     * @param activityId ID de la actividad
+     * @param from Primera fecha afectada (inclusive)
+     * @param capacity Nueva capacidad (null si no hay límite)
+     * @return Número de cupos actualizados
+     */
+    @Modifying
+    @Query("UPDATE ActivitySlot s SET s.capacity = :capacity " +
+           "WHERE s.activityId = :activityId AND s.slotDate >= :from " +
+           "AND (:capacity IS NULL OR s.bookedParticipants <= :capacity)")
+    int updateCapacityFrom(@Param("activityId") Long activityId,
+                           @Param("from") LocalDate from,
+                           @Param("capacity") Integer capacity);
+
+    /**
+     * Obtiene el máximo de participantes reservados en un día a partir de una fecha
+     *
+     * @param activityId ID de la actividad
+     * @param from Primera fecha considerada (inclusive)
+     * @return Máximo de participantes reservados o null si no hay cupos
+     */
+    @Query("SELECT MAX(s.bookedParticipants) FROM ActivitySlot s " +
+           "WHERE s.activityId = :activityId AND s.slotDate >= :from")
+    Integer findMaxBookedParticipantsFrom(@Param("activityId") Long activityId,
+                                          @Param("from") LocalDate from);
+}
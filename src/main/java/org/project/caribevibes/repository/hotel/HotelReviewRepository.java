@@ -1,16 +1,24 @@
 package org.project.caribevibes.repository.hotel;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.project.caribevibes.dto.projection.HotelReviewExportView;
 import org.project.caribevibes.entity.hotel.HotelReview;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para operaciones de base de datos de reseñas de hoteles.
@@ -32,6 +40,71 @@ public interface HotelReviewRepository extends JpaRepository<HotelReview, Long>
     @Query("SELECT hr FROM HotelReview hr WHERE hr.hotel.id = :hotelId ORDER BY hr.createdAt DESC")
     Page<HotelReview> findByHotelIdOrderByCreatedAtDesc(@Param("hotelId") Long hotelId, Pageable pageable);
 
+    /**
+     * Encuentra la primera página de reseñas de un hotel por fecha descendente
+     * (paginación por clave).
+     * 
+     * @param hotelId ID del hotel
+     * @param limit Número máximo de filas
+     * @return Reseñas más recientes
+     */
+    @Query("SELECT hr FROM HotelReview hr WHERE hr.hotel.id = :hotelId ORDER BY hr.createdAt DESC, hr.id DESC")
+    List<HotelReview> findByHotelIdFirst(@Param("hotelId") Long hotelId, Limit limit);
+
+    /**
+     * Encuentra las reseñas de un hotel anteriores a una posición (createdAt, id)
+     * por fecha descendente (paginación por clave).
+     * 
+     * @param hotelId ID del hotel
+     * @param createdAt Fecha de la última fila entregada
+     * @param id ID de la última fila entregada
+     * @param limit Número máximo de filas
+     * @return Reseñas siguientes
+     */
+    @Query("SELECT hr FROM HotelReview hr WHERE hr.hotel.id = :hotelId " +
+           "AND (hr.createdAt < :createdAt OR (hr.createdAt = :createdAt AND hr.id < :id)) " +
+           "ORDER BY hr.createdAt DESC, hr.id DESC")
+    List<HotelReview> findByHotelIdBefore(@Param("hotelId") Long hotelId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    /**
+     * Cuenta las reseñas de un hotel para los listados; el resultado se cachea
+     * unos segundos porque solo se usa como total orientativo.
+     * 
+     * @param hotelId ID del hotel
+     * @return Número de reseñas del hotel
+     */
+    @Cacheable(value = "listCounts", key = "'reviews:' + #p0")
+    @Query("SELECT COUNT(hr) FROM HotelReview hr WHERE hr.hotel.id = :hotelId")
+    long countByHotelIdForListing(@Param("hotelId") Long hotelId);
+
+    /**
+     * Recorre las reseñas para exportarlas, leyendo las filas de la base de datos por
+     * bloques a medida que se consumen. Los filtros nulos no se aplican.
+     * Debe consumirse (y cerrarse) dentro de una transacción.
+     * 
+     * @param from Fecha de creación mínima (inclusive)
+     * @param to Fecha de creación máxima (exclusive)
+     * @param hotelId ID del hotel
+     * @return Flujo de filas de exportación ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.project.caribevibes.dto.projection.HotelReviewExportView(" +
+           "hr.id, hr.createdAt, h.id, h.name, u.id, hr.guestName, bk.id, hr.rating, hr.title, hr.comment) " +
+           "FROM HotelReview hr LEFT JOIN hr.hotel h LEFT JOIN hr.user u LEFT JOIN hr.booking bk " +
+           "WHERE (:from IS NULL OR hr.createdAt >= :from) " +
+           "AND (:to IS NULL OR hr.createdAt < :to) " +
+           "AND (:hotelId IS NULL OR h.id = :hotelId) " +
+           "ORDER BY hr.id")
+    Stream<HotelReviewExportView> streamForExport(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("hotelId") Long hotelId);
+
     /**
      * Encuentra todas las reseñas de un usuario específico.
      * 
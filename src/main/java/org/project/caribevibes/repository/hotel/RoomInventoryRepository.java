@@ -0,0 +1,210 @@
+package org.project.caribevibes.repository.hotel;
+
+import org.project.caribevibes.dto.projection.RoomInventoryNightView;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para el ledger de inventario por noche de los tipos de habitación.
+ *
+ * Todas las consultas trabajan sobre el índice único (room_type_id, stay_date),
+ * por lo que su coste depende del número de noches de la estancia y no del
+ * histórico de reservas.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, Long> {
+
+    /**
+     * Obtiene las filas de inventario de un tipo de habitación en un rango de noches
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive, normalmente la fecha de check-out)
+     * @return Filas de inventario ordenadas por noche
+     */
+    @Query("SELECT ri FROM RoomInventory ri WHERE ri.roomTypeId = :roomTypeId " +
+           "AND ri.stayDate >= :from AND ri.stayDate < :to ORDER BY ri.stayDate ASC")
+    List<RoomInventory> findNights(@Param("roomTypeId") Long roomTypeId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    /**
+     * Obtiene las filas de inventario de varios tipos de habitación en un rango de noches
+     *
+     * @param roomTypeIds IDs de los tipos de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Filas de inventario existentes en el rango
+     */
+    @Query("SELECT ri FROM RoomInventory ri WHERE ri.roomTypeId IN :roomTypeIds " +
+           "AND ri.stayDate >= :from AND ri.stayDate < :to")
+    List<RoomInventory> findNightsForRoomTypes(@Param("roomTypeIds") Collection<Long> roomTypeIds,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+    /**
+     * Lee de la base de datos las habitaciones reservadas y la revisión de las noches
+     * de un rango, sin pasar por las entidades ya cargadas en la sesión (que no reflejan
+     * las actualizaciones en bloque)
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Noches del rango ordenadas por fecha
+     */
+    @Query("SELECT new org.project.caribevibes.dto.projection.RoomInventoryNightView(" +
+           "ri.stayDate, ri.bookedRooms, ri.revision) FROM RoomInventory ri " +
+           "WHERE ri.roomTypeId = :roomTypeId AND ri.stayDate >= :from AND ri.stayDate < :to " +
+           "ORDER BY ri.stayDate ASC")
+    List<RoomInventoryNightView> findNightViews(@Param("roomTypeId") Long roomTypeId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    /**
+     * Obtiene el inventario de varios tipos de habitación para una noche concreta
+     *
+     * @param roomTypeIds IDs de los tipos de habitación
+     * @param stayDate Noche consultada
+     * @return Filas de inventario existentes para esa noche
+     */
+    List<RoomInventory> findByRoomTypeIdInAndStayDate(Collection<Long> roomTypeIds, LocalDate stayDate);
+
+    /**
+     * Obtiene las filas de inventario con habitaciones reservadas, o que las tuvieron,
+     * en un rango de noches
+     *
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Filas de inventario con al menos una habitación reservada o algún cambio
+     */
+    @Query("SELECT ri FROM RoomInventory ri WHERE ri.stayDate >= :from AND ri.stayDate < :to " +
+           "AND (ri.bookedRooms > 0 OR ri.revision > 0)")
+    List<RoomInventory> findBookedNightsBetween(@Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    /**
+     * Obtiene las filas de inventario de un rango de noches cuyas habitaciones
+     * reservadas cambiaron a partir de un momento dado
+     *
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @param since Momento del cambio más antiguo incluido (reloj de la base de datos)
+     * @return Filas de inventario modificadas
+     */
+    @Query("SELECT ri FROM RoomInventory ri WHERE ri.updatedAt >= :since " +
+           "AND ri.stayDate >= :from AND ri.stayDate < :to")
+    List<RoomInventory> findChangedSince(@Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("since") LocalDateTime since);
+
+    /**
+     * Reserva habitaciones en todas las noches del rango con una única actualización
+     * condicional. Solo se modifican las noches que tienen cupo suficiente, por lo
+     * que el llamador debe comparar el número de filas afectadas con el número de noches.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @param rooms Habitaciones a reservar
+     * @return Número de noches actualizadas
+     */
+    @Modifying
+    @Query("UPDATE RoomInventory ri SET ri.bookedRooms = ri.bookedRooms + :rooms, ri.revision = ri.revision + 1, " +
+           "ri.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE ri.roomTypeId = :roomTypeId AND ri.stayDate >= :from AND ri.stayDate < :to " +
+           "AND ri.bookedRooms + :rooms <= ri.totalRooms")
+    int reserveNights(@Param("roomTypeId") Long roomTypeId,
+                      @Param("from") LocalDate from,
+                      @Param("to") LocalDate to,
+                      @Param("rooms") int rooms);
+
+    /**
+     * Libera habitaciones en todas las noches del rango que las tienen reservadas.
+     * Las noches con menos habitaciones reservadas que las liberadas no se modifican,
+     * por lo que el llamador debe comparar el resultado con {@link #countNights}.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @param rooms Habitaciones a liberar
+     * @return Número de noches actualizadas
+     */
+    @Modifying
+    @Query("UPDATE RoomInventory ri SET ri.bookedRooms = ri.bookedRooms - :rooms, ri.revision = ri.revision + 1, " +
+           "ri.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE ri.roomTypeId = :roomTypeId AND ri.stayDate >= :from AND ri.stayDate < :to " +
+           "AND ri.bookedRooms >= :rooms")
+    int releaseNights(@Param("roomTypeId") Long roomTypeId,
+                      @Param("from") LocalDate from,
+                      @Param("to") LocalDate to,
+                      @Param("rooms") int rooms);
+
+    /**
+     * Cuenta las filas de inventario de un tipo de habitación en un rango de noches
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Número de noches con fila en el ledger
+     */
+    @Query("SELECT COUNT(ri) FROM RoomInventory ri WHERE ri.roomTypeId = :roomTypeId " +
+           "AND ri.stayDate >= :from AND ri.stayDate < :to")
+    long countNights(@Param("roomTypeId") Long roomTypeId,
+                     @Param("from") LocalDate from,
+                     @Param("to") LocalDate to);
+
+    /**
+     * Cuenta las filas de inventario de un tipo de habitación a partir de una fecha
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche considerada (inclusive)
+     * @return Número de noches con fila en el ledger
+     */
+    @Query("SELECT COUNT(ri) FROM RoomInventory ri WHERE ri.roomTypeId = :roomTypeId " +
+           "AND ri.stayDate >= :from")
+    long countNightsFrom(@Param("roomTypeId") Long roomTypeId,
+                         @Param("from") LocalDate from);
+
+    /**
+     * Actualiza el total de habitaciones de las noches a partir de una fecha. Las
+     * noches con más habitaciones reservadas que el nuevo total no se modifican, por
+     * lo que el llamador debe comparar el resultado con {@link #countNightsFrom}.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche afectada (inclusive)
+     * @param totalRooms Nuevo total de habitaciones
+     * @return Número de noches actualizadas
+     */
+    @Modifying
+    @Query("UPDATE RoomInventory ri SET ri.totalRooms = :totalRooms " +
+           "WHERE ri.roomTypeId = :roomTypeId AND ri.stayDate >= :from " +
+           "AND ri.bookedRooms <= :totalRooms")
+    int updateTotalRoomsFrom(@Param("roomTypeId") Long roomTypeId,
+                             @Param("from") LocalDate from,
+                             @Param("totalRooms") int totalRooms);
+
+    /**
+     * Obtiene el máximo de habitaciones comprometidas en una noche a partir de una fecha
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche considerada (inclusive)
+     * @return Máximo de habitaciones reservadas o null si no hay filas
+     */
+    @Query("SELECT MAX(ri.bookedRooms) FROM RoomInventory ri " +
+           "WHERE ri.roomTypeId = :roomTypeId AND ri.stayDate >= :from")
+    Integer findMaxBookedRoomsFrom(@Param("roomTypeId") Long roomTypeId,
+                                   @Param("from") LocalDate from);
+}
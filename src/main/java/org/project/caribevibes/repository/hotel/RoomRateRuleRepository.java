@@ -0,0 +1,43 @@
+package org.project.caribevibes.repository.hotel;
+
+import org.project.caribevibes.entity.hotel.RoomRateRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para las reglas de tarifa de los tipos de habitación.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface RoomRateRuleRepository extends JpaRepository<RoomRateRule, Long> {
+
+    /**
+     * Obtiene las reglas vigentes de un tipo de habitación
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @return Reglas vigentes
+     */
+    List<RoomRateRule> findByRoomTypeIdAndIsActiveTrue(Long roomTypeId);
+
+    /**
+     * Obtiene las reglas vigentes de todos los tipos de habitación
+     *
+     * @return Reglas vigentes
+     */
+    List<RoomRateRule> findByIsActiveTrue();
+
+    /**
+     * Busca una regla vigente de un tipo de habitación
+     *
+     * @param id ID de la regla
+     * @param roomTypeId ID del tipo de habitación
+     * @return Regla si existe y está vigente
+     */
+    Optional<RoomRateRule> findByIdAndRoomTypeIdAndIsActiveTrue(Long id, Long roomTypeId);
+}
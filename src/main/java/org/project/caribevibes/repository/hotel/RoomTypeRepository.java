@@ -227,4 +227,25 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
      * @return Optional con el tipo de habitación si existe, está activo y pertenece al hotel
      */
     Optional<RoomType> findByIdAndHotelIdAndIsActiveTrue(Long id, Long hotelId);
+
+    /**
+     * Obtiene todos los tipos de habitación activos junto con su hotel y destino,
+     * para construir el índice de ocupación en memoria
+     * 
+     * @return Lista de tipos de habitación activos con hotel y destino cargados
+     */
+    @Query("SELECT rt FROM RoomType rt JOIN FETCH rt.hotel h JOIN FETCH h.destination " +
+           "WHERE rt.isActive = true")
+    List<RoomType> findAllActiveWithHotel();
+
+    /**
+     * Obtiene los tipos de habitación activos de un destino junto con su hotel, para
+     * buscar disponibilidad mientras el índice de ocupación no está cargado
+     *
+     * @param destinationId ID del destino
+     * @return Lista de tipos de habitación activos con hotel y destino cargados
+     */
+    @Query("SELECT rt FROM RoomType rt JOIN FETCH rt.hotel h JOIN FETCH h.destination d " +
+           "WHERE rt.isActive = true AND d.id = :destinationId")
+    List<RoomType> findActiveByDestinationWithHotel(@Param("destinationId") Long destinationId);
 }
@@ -0,0 +1,180 @@
+package org.project.caribevibes.repository.job;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.project.caribevibes.entity.job.BackgroundJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la cola persistente de trabajos en segundo plano.
+ *
+ * Los cambios de estado son actualizaciones condicionadas al estado y al worker
+ * actuales, de modo que un trabajo nunca lo ejecutan dos workers a la vez aunque
+ * la base de datos no admita {@code SKIP LOCKED}.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    /**
+     * Busca los siguientes trabajos listos de una cola bloqueando sus filas con
+     * {@code FOR UPDATE SKIP LOCKED}: los workers concurrentes se saltan las filas
+     * que otro worker está tomando en lugar de esperarlas.
+     *
+     * @param queue Cola
+     * @param now Momento actual
+     * @param limit Número máximo de trabajos
+     * @return Trabajos pendientes cuyo momento de ejecución ya llegó, del más antiguo al más reciente
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM BackgroundJob j WHERE j.queue = :queue " +
+           "AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.PENDING " +
+           "AND j.runAt <= :now ORDER BY j.runAt, j.id")
+    List<BackgroundJob> findReadyForUpdateSkipLocked(@Param("queue") String queue,
+                                                     @Param("now") LocalDateTime now,
+                                                     Limit limit);
+
+    /**
+     * Marca un trabajo pendiente como en ejecución por un worker y cuenta el intento.
+     *
+     * @param id ID del trabajo
+     * @param worker Worker que lo toma
+     * @param now Momento actual
+     * @return 1 si se tomó, 0 si otro worker lo tomó antes
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BackgroundJob j SET j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.RUNNING, " +
+           "j.lockedBy = :worker, j.lockedAt = :now, j.attempts = j.attempts + 1 " +
+           "WHERE j.id = :id AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("worker") String worker, @Param("now") LocalDateTime now);
+
+    /**
+     * Marca como exitoso un trabajo en ejecución por el worker indicado.
+     *
+     * @param id ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @param now Momento actual
+     * @return 1 si se actualizó, 0 si el trabajo ya no pertenecía al worker
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.SUCCEEDED, " +
+           "j.lockedBy = NULL, j.finishedAt = :now, j.lastError = NULL " +
+           "WHERE j.id = :id AND j.lockedBy = :worker " +
+           "AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.RUNNING")
+    int markSucceeded(@Param("id") Long id, @Param("worker") String worker, @Param("now") LocalDateTime now);
+
+    /**
+     * Devuelve a pendiente un trabajo fallido para reintentarlo más tarde.
+     *
+     * @param id ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @param runAt Momento del siguiente intento
+     * @param error Error del intento
+     * @return 1 si se actualizó, 0 si el trabajo ya no pertenecía al worker
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.PENDING, " +
+           "j.lockedBy = NULL, j.runAt = :runAt, j.lastError = :error " +
+           "WHERE j.id = :id AND j.lockedBy = :worker " +
+           "AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.RUNNING")
+    int reschedule(@Param("id") Long id,
+                   @Param("worker") String worker,
+                   @Param("runAt") LocalDateTime runAt,
+                   @Param("error") String error);
+
+    /**
+     * Pasa a la cola de fallidos un trabajo que agotó sus intentos.
+     *
+     * @param id ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @param now Momento actual
+     * @param error Error del último intento
+     * @return 1 si se actualizó, 0 si el trabajo ya no pertenecía al worker
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.DEAD, " +
+           "j.lockedBy = NULL, j.finishedAt = :now, j.lastError = :error " +
+           "WHERE j.id = :id AND j.lockedBy = :worker " +
+           "AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.RUNNING")
+    int markDead(@Param("id") Long id,
+                 @Param("worker") String worker,
+                 @Param("now") LocalDateTime now,
+                 @Param("error") String error);
+
+    /**
+     * Recupera los trabajos en ejecución de workers que dejaron de responder (por
+     * ejemplo, una instancia que murió): vuelven a pendiente, o a la cola de fallidos
+     * si ya agotaron sus intentos.
+     *
+     * @param lockedBefore Momento límite de la toma del trabajo
+     * @param now Momento actual
+     * @return Número de trabajos recuperados
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = CASE WHEN j.attempts >= j.maxAttempts " +
+           "THEN org.project.caribevibes.entity.job.BackgroundJob.JobStatus.DEAD " +
+           "ELSE org.project.caribevibes.entity.job.BackgroundJob.JobStatus.PENDING END, " +
+           "j.lockedBy = NULL, j.runAt = :now, j.lastError = 'Worker sin respuesta' " +
+           "WHERE j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.RUNNING " +
+           "AND j.lockedAt < :lockedBefore")
+    int recoverStale(@Param("lockedBefore") LocalDateTime lockedBefore, @Param("now") LocalDateTime now);
+
+    /**
+     * Vuelve a encolar un trabajo de la cola de fallidos con sus intentos a cero.
+     *
+     * @param id ID del trabajo
+     * @param now Momento actual
+     * @return 1 si se reencoló, 0 si el trabajo no está en la cola de fallidos
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BackgroundJob j SET j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.PENDING, " +
+           "j.attempts = 0, j.runAt = :now, j.finishedAt = NULL " +
+           "WHERE j.id = :id AND j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.DEAD")
+    int requeueDead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Elimina los trabajos exitosos terminados antes de un momento dado.
+     *
+     * @param finishedBefore Momento límite
+     * @return Número de trabajos eliminados
+     */
+    @Modifying
+    @Query("DELETE FROM BackgroundJob j WHERE j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.SUCCEEDED " +
+           "AND j.finishedAt < :finishedBefore")
+    int deleteSucceededBefore(@Param("finishedBefore") LocalDateTime finishedBefore);
+
+    /**
+     * Busca los trabajos de la cola de fallidos, del más reciente al más antiguo.
+     *
+     * @param limit Número máximo de trabajos
+     * @return Trabajos fallidos
+     */
+    @Query("SELECT j FROM BackgroundJob j WHERE j.status = org.project.caribevibes.entity.job.BackgroundJob.JobStatus.DEAD " +
+           "ORDER BY j.finishedAt DESC, j.id DESC")
+    List<BackgroundJob> findDead(Limit limit);
+
+    /**
+     * Cuenta los trabajos por cola y estado, con el momento de ejecución más antiguo.
+     *
+     * @param statuses Estados a incluir
+     * @return Filas [cola, estado, número de trabajos, run_at más antiguo]
+     */
+    @Query("SELECT j.queue, j.status, COUNT(j), MIN(j.runAt) FROM BackgroundJob j " +
+           "WHERE j.status IN :statuses GROUP BY j.queue, j.status")
+    List<Object[]> summarizeByQueue(@Param("statuses") Collection<BackgroundJob.JobStatus> statuses);
+}
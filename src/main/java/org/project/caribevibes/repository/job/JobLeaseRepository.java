@@ -0,0 +1,112 @@
+package org.project.caribevibes.repository.job;
+
+import org.project.caribevibes.entity.job.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para los leases de trabajos programados.
+ *
+ * Todas las operaciones son actualizaciones condicionadas, de modo que dos
+ * instancias nunca obtienen el mismo lease a la vez.
+ *
+ * @author Sistema Caribe Vibes
+ * @version 1.0
+ * @since 2025
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Adquiere un lease vencido o liberado, incrementando su token.
+     *
+     * @param name Nombre del trabajo
+     * @param owner Instancia que lo adquiere
+     * @param now Momento actual
+     * @param expiresAt Vencimiento del nuevo lease
+     * @return 1 si se adquirió, 0 si otra instancia lo posee o no existe
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.fencingToken = l.fencingToken + 1, " +
+           "l.expiresAt = :expiresAt, l.acquiredAt = :now WHERE l.name = :name AND l.expiresAt <= :now")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Crea el lease de un trabajo ya adquirido por una instancia. Es una inserción
+     * directa: si otra instancia lo crea a la vez, falla por clave duplicada en lugar
+     * de sobrescribir su lease.
+     *
+     * @param name Nombre del trabajo
+     * @param owner Instancia que lo adquiere
+     * @param now Momento actual
+     * @param expiresAt Vencimiento del lease
+     * @return Número de filas insertadas
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_leases (name, owner, fencing_token, expires_at, acquired_at) " +
+                   "VALUES (:name, :owner, 1, :expiresAt, :now)", nativeQuery = true)
+    int create(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("now") LocalDateTime now,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Extiende un lease todavía vigente de su poseedor.
+     *
+     * @param name Nombre del trabajo
+     * @param owner Instancia que lo posee
+     * @param fencingToken Token de la adquisición
+     * @param now Momento actual
+     * @param expiresAt Nuevo vencimiento
+     * @return 1 si se renovó, 0 si el lease venció o lo adquirió otra instancia
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner " +
+           "AND l.fencingToken = :fencingToken AND l.expiresAt > :now")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("fencingToken") Long fencingToken,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Libera un lease para que otra instancia pueda adquirirlo de inmediato.
+     *
+     * @param name Nombre del trabajo
+     * @param owner Instancia que lo posee
+     * @param fencingToken Token de la adquisición
+     * @param now Momento actual
+     * @return 1 si se liberó, 0 si ya no pertenecía a la instancia
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = NULL, l.expiresAt = :now WHERE l.name = :name " +
+           "AND l.owner = :owner AND l.fencingToken = :fencingToken")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("fencingToken") Long fencingToken,
+                @Param("now") LocalDateTime now);
+
+    /**
+     * Comprueba el token dentro de la transacción de una escritura protegida. La fila
+     * queda bloqueada hasta el final de esa transacción, así que otra instancia no
+     * puede adquirir el lease hasta que la escritura se confirme o se revierta.
+     *
+     * @param name Nombre del trabajo
+     * @param fencingToken Token de la adquisición
+     * @param now Momento actual
+     * @return 1 si el token sigue vigente, 0 si otra instancia adquirió el lease
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.fencedAt = :now WHERE l.name = :name AND l.fencingToken = :fencingToken")
+    int fence(@Param("name") String name,
+              @Param("fencingToken") Long fencingToken,
+              @Param("now") LocalDateTime now);
+}
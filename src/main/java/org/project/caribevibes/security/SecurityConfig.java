@@ -1,5 +1,6 @@
 package org.project.caribevibes.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -68,10 +69,15 @@ public class SecurityConfig {
             
             // Configurar autorización de endpoints
             .authorizeHttpRequests(auth -> auth
+                // El despacho asíncrono solo escribe la respuesta de una petición ya autorizada
+                // (exportaciones en streaming); el contexto JWT no se conserva entre despachos
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Endpoints públicos - no requieren autenticación
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/destinations/**").permitAll()
                 .requestMatchers("/api/hotels/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/quotes").permitAll() // Cotizaciones sin efectos secundarios
                 .requestMatchers("/api/experiences/**").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/contact").permitAll() // Solo POST para crear contacto
                 .requestMatchers("/api/contact/health").permitAll() // Health check público
@@ -0,0 +1,108 @@
+package org.project.caribevibes.service.booking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import org.project.caribevibes.service.job.JobCoordinator;
+import org.project.caribevibes.service.job.JobLeaseGrant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Trabajo periódico que completa las reservas cuya fecha de check-out ya pasó.
+ *
+ * Las reservas confirmadas, en check-in o con check-out registrado se recorren por
+ * bloques de IDs crecientes (keyset) y cada bloque se completa en su propia
+ * transacción con una actualización condicionada al estado leído, liberando el
+ * inventario y registrando los cambios.
+ *
+ * Si otra instancia completa alguna reserva del bloque al mismo tiempo, la
+ * actualización condicionada lo detecta, la transacción del bloque se revierte
+ * (incluida la liberación de inventario) y el bloque se vuelve a leer, de modo que
+ * ninguna reserva se completa ni libera dos veces. Además, el trabajo solo se
+ * ejecuta en la instancia que posee su lease, y cada bloque comprueba el token del
+ * lease dentro de su transacción.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class BookingAutoCompletionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingAutoCompletionJob.class);
+
+    /**
+     * Nombre del lease del trabajo
+     */
+    static final String JOB_NAME = "booking-auto-completion";
+
+    @Autowired
+    private BookingReservationService bookingReservationService;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private Timer bookingAutoCompletionTimer;
+
+    @Autowired
+    private DistributionSummary bookingAutoCompletionRows;
+
+    @Value("${app.booking.auto-completion-chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Completa por bloques todas las reservas con el check-out vencido.
+     */
+    @Scheduled(cron = "${app.booking.auto-completion-cron:0 10 * * * *}")
+    public void completePastCheckouts() {
+        jobCoordinator.runExclusive(JOB_NAME, lease -> bookingAutoCompletionTimer.record(() -> {
+            int completed = run(LocalDate.now(), lease);
+            bookingAutoCompletionRows.record(completed);
+        }));
+    }
+
+    /**
+     * Recorre las reservas candidatas hasta agotar los bloques, perder el lease o
+     * encontrar un error.
+     *
+     * @param today Fecha de referencia
+     * @param lease Lease del trabajo
+     * @return Número de reservas completadas
+     */
+    int run(LocalDate today, JobLeaseGrant lease) {
+        long startedAt = System.currentTimeMillis();
+        long afterId = 0;
+        int scanned = 0;
+        int completed = 0;
+        while (!lease.isLost()) {
+            BookingService.AutoCompletionChunk chunk;
+            try {
+                chunk = bookingReservationService.completePastCheckoutBookings(afterId, today, chunkSize, lease);
+            } catch (RuntimeException e) {
+                // El resto de reservas se completará en la próxima ejecución
+                if (lease.isLost()) {
+                    logger.warn("Autocompletado detenido: {}", e.getMessage());
+                } else {
+                    logger.error("Error al completar reservas a partir del ID {}: {}", afterId, e.getMessage(), e);
+                }
+                break;
+            }
+            if (chunk.lastId() == null) {
+                break;
+            }
+            scanned += chunk.scanned();
+            completed += chunk.completed();
+            afterId = chunk.lastId();
+        }
+        logger.info("Autocompletado de reservas finalizado: {} reservas completadas de {} leídas en {} ms",
+                   completed, scanned, System.currentTimeMillis() - startedAt);
+        return completed;
+    }
+}
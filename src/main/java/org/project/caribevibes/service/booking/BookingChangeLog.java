@@ -0,0 +1,144 @@
+package org.project.caribevibes.service.booking;
+
+import org.project.caribevibes.dto.response.BookingChangeFeedDTO;
+import org.project.caribevibes.dto.response.BookingChangeResponseDTO;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.booking.BookingChange;
+import org.project.caribevibes.repository.booking.BookingChangeRepository;
+import org.project.caribevibes.service.pdf.VoucherCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Registro de cambios de reservas para sincronización incremental.
+ *
+ * Los cambios se insertan en la transacción de la operación que los produce, así que
+ * solo quedan visibles si la operación se confirma. Los consumidores leen en orden de
+ * secuencia a partir del último número procesado.
+ *
+ * Como las transacciones pueden confirmarse en un orden distinto al de sus IDs, el
+ * número de secuencia no es el ID: {@link BookingChangeSequencingJob} lo asigna después,
+ * solo a los cambios ya confirmados y siempre por encima del mayor número asignado. Un
+ * cambio que se confirma tarde, por mucho que tarde, recibe un número mayor que los que
+ * ya se entregaron y nunca queda por detrás del cursor de un consumidor.
+ *
+ * Todo cambio registrado invalida además el voucher en cache de la reserva.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class BookingChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingChangeLog.class);
+
+    /**
+     * Número máximo de cambios por lote
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    @Autowired
+    private BookingChangeRepository bookingChangeRepository;
+
+    @Autowired
+    private VoucherCache voucherCache;
+
+    /**
+     * Registra un cambio de una reserva con su estado actual.
+     *
+     * @param booking Reserva modificada (ya persistida)
+     * @param changeType Tipo de cambio
+     */
+    public void record(Booking booking, BookingChange.ChangeType changeType) {
+        record(booking, changeType, booking.getStatus());
+    }
+
+    /**
+     * Registra un cambio de una reserva con el estado indicado, para los cambios
+     * aplicados con actualizaciones directas que no modifican la entidad cargada.
+     *
+     * @param booking Reserva modificada
+     * @param changeType Tipo de cambio
+     * @param status Estado de la reserva después del cambio
+     */
+    public void record(Booking booking, BookingChange.ChangeType changeType, Booking.BookingStatus status) {
+        bookingChangeRepository.save(BookingChange.builder()
+                .bookingId(booking.getId())
+                .hotelId(booking.getHotel() != null ? booking.getHotel().getId() : null)
+                .confirmationCode(booking.getConfirmationCode())
+                .changeType(changeType)
+                .status(status)
+                .totalPrice(booking.getTotalPrice())
+                .changedAt(LocalDateTime.now())
+                .build());
+        voucherCache.evictBookingsAfterCommit(List.of(booking.getId()));
+    }
+
+    /**
+     * Registra varios cambios en un único lote JDBC.
+     *
+     * @param changes Cambios a registrar
+     */
+    public void recordAll(List<BookingChange> changes) {
+        bookingChangeRepository.batchInsert(changes);
+        voucherCache.evictBookingsAfterCommit(changes.stream().map(BookingChange::getBookingId).toList());
+    }
+
+    /**
+     * Numera un lote de cambios confirmados pendientes de número de secuencia.
+     *
+     * @param limit Número máximo de cambios a numerar
+     * @return Número de cambios numerados
+     * @throws org.springframework.dao.DataAccessException si otra instancia numeró los
+     *         mismos cambios a la vez (la transacción se deshace)
+     */
+    public int assignSequences(int limit) {
+        return bookingChangeRepository.assignFeedSequences(limit);
+    }
+
+    /**
+     * Obtiene el siguiente lote de cambios posteriores a un número de secuencia.
+     *
+     * @param since Último número de secuencia procesado (0 para empezar desde el principio)
+     * @param size Tamaño máximo del lote
+     * @param hotelId ID del hotel para filtrar (opcional)
+     * @return Lote de cambios en orden de secuencia
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     */
+    @Transactional(readOnly = true)
+    public BookingChangeFeedDTO findChanges(long since, int size, Long hotelId) {
+        if (since < 0) {
+            throw new IllegalArgumentException("El cursor 'since' no puede ser negativo");
+        }
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("El tamaño del lote debe estar entre 1 y " + MAX_BATCH_SIZE);
+        }
+
+        Limit limit = Limit.of(size + 1);
+        List<BookingChange> rows = hotelId != null
+                ? bookingChangeRepository.findHotelChangesAfter(hotelId, since, limit)
+                : bookingChangeRepository.findChangesAfter(since, limit);
+
+        boolean hasMore = rows.size() > size;
+        List<BookingChange> changes = hasMore ? rows.subList(0, size) : rows;
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getFeedSequence();
+
+        logger.debug("Registro de cambios desde {}: {} cambios (hotel: {})", since, changes.size(), hotelId);
+        return new BookingChangeFeedDTO(changes.stream().map(this::toResponseDTO).toList(), nextSince, hasMore);
+    }
+
+    private BookingChangeResponseDTO toResponseDTO(BookingChange change) {
+        return new BookingChangeResponseDTO(change.getFeedSequence(), change.getBookingId(), change.getHotelId(),
+                change.getConfirmationCode(), change.getChangeType().name(), change.getStatus().name(),
+                change.getTotalPrice(), change.getChangedAt());
+    }
+}
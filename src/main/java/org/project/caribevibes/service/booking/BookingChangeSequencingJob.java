@@ -0,0 +1,57 @@
+package org.project.caribevibes.service.booking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trabajo periódico que asigna número de secuencia a los cambios de reservas ya
+ * confirmados, haciéndolos visibles en el registro de cambios.
+ *
+ * Cada lote lee el mayor número asignado y numera a continuación los cambios
+ * confirmados que no lo tienen, en su propia transacción. Se ejecuta en todas las
+ * instancias sin lease: si dos numeran a la vez, el índice único de la secuencia hace
+ * fallar a una de ellas, que deshace su lote y lo reintenta en la siguiente ejecución.
+ * Así ningún número se confirma por debajo de otro ya visible.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class BookingChangeSequencingJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingChangeSequencingJob.class);
+
+    /**
+     * Número máximo de cambios numerados por transacción
+     */
+    static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private BookingChangeLog bookingChangeLog;
+
+    /**
+     * Numera todos los cambios confirmados pendientes.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.change-feed.sequence-interval-ms:1000}")
+    public void assignSequences() {
+        int total = 0;
+        try {
+            int assigned;
+            do {
+                assigned = bookingChangeLog.assignSequences(BATCH_SIZE);
+                total += assigned;
+            } while (assigned == BATCH_SIZE);
+        } catch (DataAccessException e) {
+            // Otra instancia numeró los mismos cambios; el resto queda para la siguiente ejecución
+            logger.debug("Numeración del registro de cambios interrumpida: {}", e.getMessage());
+        }
+        if (total > 0) {
+            logger.debug("Registro de cambios: {} cambios numerados", total);
+        }
+    }
+}
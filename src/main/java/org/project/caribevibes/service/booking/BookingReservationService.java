@@ -0,0 +1,358 @@
+package org.project.caribevibes.service.booking;
+
+import org.project.caribevibes.dto.request.BatchBookingActivitiesRequestDTO;
+import org.project.caribevibes.dto.request.BulkBookingStatusRequestDTO;
+import org.project.caribevibes.dto.response.BulkBookingStatusResponseDTO;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.booking.BookingActivity;
+import org.project.caribevibes.entity.booking.RoomHold;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.service.hotel.RoomInventoryService;
+import org.project.caribevibes.service.job.JobLeaseGrant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Servicio de entrada para las operaciones de reserva que compiten por inventario.
+ *
+ * Cada operación se ejecuta en su propia transacción de {@link BookingService}.
+ * Los conflictos de concurrencia (versión optimista obsoleta, bloqueo de fila
+ * agotado o alta simultánea de una fila con clave única, como una noche del
+ * ledger) hacen que la transacción se revierta y se reintente un número acotado
+ * de veces, sin serializar reservas de tipos de habitación distintos. Las demás
+ * violaciones de integridad (NOT NULL, claves foráneas) son errores y se propagan
+ * sin reintentar.
+ *
+ * La creación de las noches del ledger se hace antes de la transacción de la
+ * reserva y bajo un bloqueo por tipo de habitación (lock striping), de modo que
+ * los clientes de una misma instancia no compitan insertando las mismas filas.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class BookingReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingReservationService.class);
+
+    /**
+     * Número máximo de intentos por operación
+     */
+    static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * Espera base entre reintentos (se multiplica por el número de intento)
+     */
+    private static final long BACKOFF_MILLIS = 20;
+
+    /**
+     * Número de bloqueos para repartir los tipos de habitación
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] inventoryLocks = new ReentrantLock[LOCK_STRIPES];
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomInventoryService roomInventoryService;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    public BookingReservationService() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            inventoryLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Crea una nueva reserva reintentando ante conflictos de concurrencia.
+     *
+     * @param booking Reserva a crear
+     * @return Reserva creada
+     * @throws IllegalArgumentException si los datos no son válidos o no hay disponibilidad
+     */
+    public Booking createBooking(Booking booking) {
+        RoomType roomType = booking.getRoomType();
+        if (roomType != null && roomType.getId() != null &&
+            booking.getCheckInDate() != null && booking.getCheckOutDate() != null &&
+            booking.getCheckInDate().isBefore(booking.getCheckOutDate())) {
+            ensureNights(roomType, booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+
+        return withRetry("crear reserva", () -> {
+            // Un intento fallido puede haber asignado ID y versión antes del rollback
+            booking.setId(null);
+            booking.setVersion(null);
+            return bookingService.createBooking(booking);
+        });
+    }
+
+    /**
+     * Crea una reserva a partir de una retención de habitaciones, reintentando ante
+     * conflictos de concurrencia. No toca el ledger: el inventario ya está retenido.
+     *
+     * @param booking Reserva a crear
+     * @param holdToken Token de la retención
+     * @return Reserva creada
+     * @throws IllegalArgumentException si la retención no existe, no coincide o ha expirado
+     */
+    public Booking createBookingFromHold(Booking booking, String holdToken) {
+        return withRetry("crear reserva desde retención", () -> {
+            booking.setId(null);
+            booking.setVersion(null);
+            return bookingService.createBookingFromHold(booking, holdToken);
+        });
+    }
+
+    /**
+     * Crea una retención temporal de habitaciones reintentando ante conflictos de concurrencia.
+     *
+     * @param userId ID del usuario
+     * @param roomType Tipo de habitación (solo se usa su ID y total de habitaciones)
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @return Retención creada
+     * @throws IllegalArgumentException si los datos no son válidos o no hay disponibilidad
+     */
+    public RoomHold placeHold(Long userId, RoomType roomType, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        if (checkIn.isBefore(checkOut)) {
+            ensureNights(roomType, checkIn, checkOut);
+        }
+        return withRetry("retener habitaciones", () ->
+                roomHoldService.placeHold(userId, roomType.getId(), checkIn, checkOut, rooms));
+    }
+
+    /**
+     * Confirma una reserva reintentando ante conflictos de concurrencia.
+     *
+     * @param id ID de la reserva
+     * @return true si se confirmó exitosamente
+     */
+    public boolean confirmBooking(Long id) {
+        return withRetry("confirmar reserva " + id, () -> bookingService.confirmBooking(id));
+    }
+
+    /**
+     * Cancela una reserva reintentando ante conflictos de concurrencia.
+     *
+     * @param id ID de la reserva
+     * @return true si se canceló exitosamente
+     */
+    public boolean cancelBooking(Long id) {
+        return withRetry("cancelar reserva " + id, () -> bookingService.cancelBooking(id));
+    }
+
+    /**
+     * Completa una reserva reintentando ante conflictos de concurrencia.
+     *
+     * @param id ID de la reserva
+     * @return true si se completó exitosamente
+     */
+    public boolean completeBooking(Long id) {
+        return withRetry("completar reserva " + id, () -> bookingService.completeBooking(id));
+    }
+
+    /**
+     * Actualiza el estado de una reserva como administrador reintentando ante
+     * conflictos de concurrencia.
+     *
+     * @param id ID de la reserva
+     * @param status Nuevo estado
+     */
+    public void updateBookingStatusByAdmin(Long id, String status) {
+        withRetry("actualizar estado de reserva " + id, () -> {
+            bookingService.updateBookingStatusByAdmin(id, status);
+            return null;
+        });
+    }
+
+    /**
+     * Cambia el estado de varias reservas como administrador reintentando el lote
+     * completo si alguna reserva cambió durante la operación.
+     *
+     * @param transitions Cambios de estado solicitados
+     * @return Resultado por reserva
+     */
+    public BulkBookingStatusResponseDTO bulkUpdateStatusByAdmin(List<BulkBookingStatusRequestDTO.Item> transitions) {
+        return withRetry("actualizar estado de " + transitions.size() + " reservas",
+                () -> bookingService.bulkUpdateStatusByAdmin(transitions));
+    }
+
+    /**
+     * Completa un bloque de reservas con el check-out vencido reintentando el bloque si
+     * otra operación u otra instancia modificó alguna de sus reservas.
+     *
+     * @param afterId Último ID procesado
+     * @param today Fecha de referencia
+     * @param chunkSize Tamaño del bloque
+     * @param lease Lease del trabajo que procesa el bloque
+     * @return Resultado del bloque
+     */
+    public BookingService.AutoCompletionChunk completePastCheckoutBookings(long afterId, LocalDate today,
+                                                                           int chunkSize, JobLeaseGrant lease) {
+        return withRetry("completar reservas a partir del ID " + afterId,
+                () -> bookingService.completePastCheckoutBookings(afterId, today, chunkSize, lease));
+    }
+
+    /**
+     * Actualiza las fechas, habitaciones y datos de una reserva reintentando ante
+     * conflictos de concurrencia.
+     *
+     * @param id ID de la reserva
+     * @param bookingDetails Detalles actualizados de la reserva
+     * @return Reserva actualizada o Optional vacío si no existe
+     */
+    public Optional<Booking> updateBooking(Long id, Booking bookingDetails) {
+        return withRetry("actualizar reserva " + id, () -> bookingService.updateBooking(id, bookingDetails));
+    }
+
+    /**
+     * Elimina una actividad de una reserva reintentando si otra operación modificó la
+     * reserva al mismo tiempo.
+     *
+     * @param bookingActivityId ID de la actividad de reserva
+     * @return true si se eliminó, false si no existe o ya estaba inactiva
+     */
+    public boolean removeActivityFromBooking(Long bookingActivityId) {
+        return withRetry("eliminar actividad de reserva " + bookingActivityId,
+                () -> bookingService.removeActivityFromBooking(bookingActivityId));
+    }
+
+    /**
+     * Agrega una actividad a una reserva reintentando si otra operación modificó la
+     * reserva (y por tanto sus subtotales) al mismo tiempo.
+     *
+     * @param bookingId ID de la reserva
+     * @param activityId ID de la actividad
+     * @param quantity Número de personas
+     * @return Actividad de la reserva creada
+     */
+    public BookingActivity addActivityToBooking(Long bookingId, Long activityId, Integer quantity) {
+        return withRetry("agregar actividad a reserva " + bookingId,
+                () -> bookingService.addActivityToBooking(bookingId, activityId, quantity));
+    }
+
+    /**
+     * Agrega y elimina varias actividades de una reserva en una sola transacción,
+     * reintentando ante modificaciones concurrentes de la reserva.
+     *
+     * @param bookingId ID de la reserva
+     * @param additions Actividades a agregar
+     * @param removals IDs de las actividades de la reserva a eliminar
+     * @return Actividades de reserva creadas
+     */
+    public List<BookingActivity> updateBookingActivities(Long bookingId,
+                                                         List<BatchBookingActivitiesRequestDTO.Item> additions,
+                                                         List<Long> removals) {
+        return withRetry("modificar actividades de reserva " + bookingId,
+                () -> bookingService.updateBookingActivities(bookingId, additions, removals));
+    }
+
+    /**
+     * Crea las noches del ledger de una estancia bajo el bloqueo de su tipo de habitación.
+     *
+     * @param roomType Tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     */
+    private void ensureNights(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        ReentrantLock lock = inventoryLocks[Math.floorMod(roomType.getId().hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            roomInventoryService.ensureNights(roomType, checkIn, checkOut);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
+            // Otra instancia creó las mismas noches; la transacción de la reserva las completará
+            logger.debug("Noches de inventario creadas concurrentemente para tipo de habitación ID: {}",
+                        roomType.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ejecuta una operación transaccional reintentándola ante conflictos de concurrencia.
+     *
+     * @param operation Descripción de la operación para los logs
+     * @param action Operación a ejecutar
+     * @return Resultado de la operación
+     * @throws BusinessException si se agotan los reintentos
+     */
+    private <T> T withRetry(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (e instanceof DataIntegrityViolationException && !isDuplicateKey(e)) {
+                    throw e;
+                }
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.warn("Conflicto de concurrencia al {} tras {} intentos: {}",
+                               operation, attempt, e.getMessage());
+                    throw new BusinessException(
+                            "La operación no pudo completarse por alta concurrencia, inténtelo de nuevo",
+                            "BOOKING_CONCURRENCY_CONFLICT");
+                }
+                logger.debug("Conflicto de concurrencia al {} (intento {}), reintentando", operation, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Indica si una violación de integridad es una clave única duplicada, es decir,
+     * una carrera con otra transacción que insertó la misma fila.
+     *
+     * @param e Excepción de acceso a datos
+     * @return true si la causa es una clave duplicada
+     */
+    static boolean isDuplicateKey(RuntimeException e) {
+        if (e instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                // 23505: clave única (estándar, H2); 1062/1586: entrada duplicada (MySQL)
+                if ("23505".equals(sqlException.getSQLState())
+                        || sqlException.getErrorCode() == 1062 || sqlException.getErrorCode() == 1586) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Espera antes del siguiente intento.
+     *
+     * @param attempt Número del intento fallido
+     */
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(BACKOFF_MILLIS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Operación de reserva interrumpida", "BOOKING_INTERRUPTED");
+        }
+    }
+}
@@ -1,34 +1,66 @@
 package org.project.caribevibes.service.booking;
 
+import org.project.caribevibes.dto.request.BatchBookingActivitiesRequestDTO;
+import org.project.caribevibes.dto.request.BulkBookingStatusRequestDTO;
+import org.project.caribevibes.dto.projection.BookingActivitySummaryView;
+import org.project.caribevibes.dto.projection.BookingSummaryView;
+import org.project.caribevibes.dto.projection.BookingTransitionView;
+import org.project.caribevibes.dto.response.ActivityBasicDTO;
+import org.project.caribevibes.dto.response.BookingActivityResponseDTO;
 import org.project.caribevibes.dto.response.BookingResponseDTO;
+import org.project.caribevibes.dto.response.BulkBookingStatusResponseDTO;
+import org.project.caribevibes.dto.response.CursorPageDTO;
+import org.project.caribevibes.dto.response.DestinationBasicDTO;
 import org.project.caribevibes.dto.response.UserBasicDTO;
 import org.project.caribevibes.dto.response.HotelBasicDTO;
 import org.project.caribevibes.dto.response.RoomTypeBasicDTO;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.booking.BookingActivity;
+import org.project.caribevibes.entity.booking.BookingChange;
 import org.project.caribevibes.entity.destination.Activity;
 import org.project.caribevibes.entity.hotel.Hotel;
 import org.project.caribevibes.entity.hotel.RoomType;
 import org.project.caribevibes.entity.user.User;
+import org.project.caribevibes.exception.BusinessException;
 import org.project.caribevibes.repository.booking.BookingRepository;
 import org.project.caribevibes.repository.booking.BookingActivityRepository;
 import org.project.caribevibes.repository.destination.ActivityRepository;
 import org.project.caribevibes.repository.hotel.HotelRepository;
 import org.project.caribevibes.repository.hotel.RoomTypeRepository;
 import org.project.caribevibes.repository.user.UserRepository;
+import org.project.caribevibes.service.destination.ActivityCapacityService;
+import org.project.caribevibes.service.hotel.RoomInventoryService;
+import org.project.caribevibes.service.hotel.RoomRateCalendar;
+import org.project.caribevibes.service.job.JobLeaseGrant;
+import org.project.caribevibes.service.job.JobLeaseService;
+import org.project.caribevibes.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio para la gestión de reservas y actividades de reservas.
@@ -50,6 +82,12 @@ public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    /**
+     * Estados que se completan automáticamente una vez pasada la fecha de check-out
+     */
+    private static final Set<Booking.BookingStatus> AUTO_COMPLETION_SOURCES = EnumSet.of(
+            Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.CHECKED_IN, Booking.BookingStatus.CHECKED_OUT);
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -68,6 +106,27 @@ public class BookingService {
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private RoomInventoryService roomInventoryService;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    @Autowired
+    private ActivityCapacityService activityCapacityService;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    @Autowired
+    private ConfirmationCodeAllocator confirmationCodeAllocator;
+
+    @Autowired
+    private BookingChangeLog bookingChangeLog;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
     /**
      * Obtiene todas las reservas activas paginadas.
      * 
@@ -110,6 +169,48 @@ public class BookingService {
         return bookingRepository.findByStatusAndIsActiveTrue(status, pageable);
     }
 
+    /**
+     * Obtiene el listado de las reservas activas con sus actividades.
+     * 
+     * @param pageable Configuración de paginación
+     * @return Página de reservas activas
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> findActiveBookingSummaries(Pageable pageable) {
+        logger.debug("Obteniendo listado de reservas activas - página: {}, tamaño: {}", 
+                    pageable.getPageNumber(), pageable.getPageSize());
+        return toBookingResponsePage(bookingRepository.findActiveSummaries(pageable));
+    }
+
+    /**
+     * Obtiene el listado de las reservas de un usuario con sus actividades.
+     * 
+     * @param userId ID del usuario
+     * @param pageable Configuración de paginación
+     * @return Página de reservas del usuario
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> findBookingSummariesByUser(Long userId, Pageable pageable) {
+        logger.debug("Obteniendo listado de reservas para usuario ID: {} - página: {}, tamaño: {}", 
+                    userId, pageable.getPageNumber(), pageable.getPageSize());
+        return toBookingResponsePage(bookingRepository.findActiveSummariesByUserId(userId, pageable));
+    }
+
+    /**
+     * Obtiene el listado de las reservas con un estado y sus actividades.
+     * 
+     * @param statusStr Estado de la reserva (PENDING, CONFIRMED, CANCELLED, COMPLETED)
+     * @param pageable Configuración de paginación
+     * @return Página de reservas con el estado especificado
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingResponseDTO> findBookingSummariesByStatus(String statusStr, Pageable pageable) {
+        logger.debug("Obteniendo listado de reservas con estado: {} - página: {}, tamaño: {}", 
+                    statusStr, pageable.getPageNumber(), pageable.getPageSize());
+        Booking.BookingStatus status = Booking.BookingStatus.valueOf(statusStr);
+        return toBookingResponsePage(bookingRepository.findActiveSummariesByStatus(status, pageable));
+    }
+
     /**
      * Obtiene las reservas en un rango de fechas.
      * 
@@ -148,6 +249,48 @@ public class BookingService {
         logger.info("Creando nueva reserva para usuario ID: {} y hotel ID: {}", 
                    booking.getUser().getId(), booking.getHotel().getId());
 
+        RoomType roomType = validateBookingReferences(booking);
+
+        // Validar disponibilidad de fechas
+        validateStayDates(booking.getCheckInDate(), booking.getCheckOutDate());
+
+        // Reservar las habitaciones en el ledger de inventario (falla si alguna noche no tiene cupo)
+        roomInventoryService.reserve(roomType, booking.getCheckInDate(), booking.getCheckOutDate(),
+                                     booking.getNumRooms());
+
+        return saveNewBooking(booking);
+    }
+
+    /**
+     * Crea una nueva reserva a partir de una retención de habitaciones activa.
+     * 
+     * Las habitaciones ya están reservadas en el ledger por la retención, por lo
+     * que no se vuelve a comprobar la disponibilidad.
+     * 
+     * @param booking Reserva a crear
+     * @param holdToken Token de la retención
+     * @return Reserva creada
+     * @throws IllegalArgumentException si los datos no son válidos o la retención no está activa
+     */
+    public Booking createBookingFromHold(Booking booking, String holdToken) {
+        logger.info("Creando reserva desde retención {} para usuario ID: {}", 
+                   holdToken, booking.getUser().getId());
+
+        validateBookingReferences(booking);
+        roomHoldService.convertHold(holdToken, booking.getUser().getId(), booking.getRoomType().getId(),
+                                    booking.getCheckInDate(), booking.getCheckOutDate(), booking.getNumRooms());
+
+        return saveNewBooking(booking);
+    }
+
+    /**
+     * Valida que el usuario, el hotel y el tipo de habitación de una reserva existen y están activos.
+     * 
+     * @param booking Reserva a validar
+     * @return Tipo de habitación de la reserva
+     * @throws IllegalArgumentException si alguno no existe o no está activo
+     */
+    private RoomType validateBookingReferences(Booking booking) {
         // Validar que el usuario existe y está activo
         User user = userRepository.findById(booking.getUser().getId())
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
@@ -168,31 +311,20 @@ public class BookingService {
         if (!roomType.getIsActive()) {
             throw new IllegalArgumentException("Tipo de habitación no está activo");
         }
+        return roomType;
+    }
 
-        // Validar disponibilidad de fechas
-        if (booking.getCheckInDate().isAfter(booking.getCheckOutDate())) {
-            throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
-        }
-
-        if (booking.getCheckInDate().isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("La fecha de check-in no puede ser en el pasado");
-        }
-
-        // Verificar disponibilidad de habitaciones
-        boolean isAvailable = checkRoomAvailability(
-                booking.getRoomType().getId(),
-                booking.getCheckInDate(),
-                booking.getCheckOutDate(),
-                booking.getNumRooms()
-        );
-
-        if (!isAvailable) {
-            throw new IllegalArgumentException("No hay suficientes habitaciones disponibles para las fechas seleccionadas");
-        }
-
-        // Calcular el precio total
-        BigDecimal totalPrice = calculateTotalPrice(booking);
-        booking.setTotalPrice(totalPrice);
+    /**
+     * Completa los valores por defecto de una reserva nueva y la guarda.
+     * 
+     * @param booking Reserva con el inventario ya reservado
+     * @return Reserva guardada
+     */
+    private Booking saveNewBooking(Booking booking) {
+        // Calcular el precio: una reserva nueva aún no tiene actividades
+        booking.setAccommodationPrice(calculateAccommodationPrice(booking));
+        booking.setActivitiesPrice(BigDecimal.ZERO);
+        booking.updateTotalPrice();
 
         // Establecer valores por defecto
         booking.setBookingDate(LocalDateTime.now());
@@ -200,9 +332,10 @@ public class BookingService {
         booking.setIsActive(true); // Changed from setActive to setIsActive
 
         // Generar código de confirmación único
-        booking.setConfirmationCode(generateConfirmationCode());
+        booking.setConfirmationCode(confirmationCodeAllocator.nextCode());
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingChangeLog.record(savedBooking, BookingChange.ChangeType.CREATED);
         logger.info("Reserva creada exitosamente con ID: {} y código: {}", 
                    savedBooking.getId(), savedBooking.getConfirmationCode());
         
@@ -225,17 +358,37 @@ public class BookingService {
                     if (existingBooking.getStatus() != Booking.BookingStatus.CANCELLED &&
                         existingBooking.getStatus() != Booking.BookingStatus.COMPLETED) {
 
+                        boolean stayChanged = !existingBooking.getCheckInDate().equals(bookingDetails.getCheckInDate()) ||
+                                              !existingBooking.getCheckOutDate().equals(bookingDetails.getCheckOutDate()) ||
+                                              !existingBooking.getNumRooms().equals(bookingDetails.getNumRooms());
+                        if (stayChanged && holdsInventory(existingBooking.getStatus())) {
+                            if (!bookingDetails.getCheckInDate().isBefore(bookingDetails.getCheckOutDate())) {
+                                throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
+                            }
+                            // Liberar la estancia anterior antes de reservar la nueva para que
+                            // las noches compartidas puedan reutilizar sus propias habitaciones
+                            releaseInventory(existingBooking);
+                            roomInventoryService.reserve(existingBooking.getRoomType(),
+                                                         bookingDetails.getCheckInDate(),
+                                                         bookingDetails.getCheckOutDate(),
+                                                         bookingDetails.getNumRooms());
+                        }
+
                         existingBooking.setCheckInDate(bookingDetails.getCheckInDate());
                         existingBooking.setCheckOutDate(bookingDetails.getCheckOutDate());
                         existingBooking.setNumGuests(bookingDetails.getNumGuests());
                         existingBooking.setNumRooms(bookingDetails.getNumRooms());
                         existingBooking.setSpecialRequests(bookingDetails.getSpecialRequests());
                         
-                        // Recalcular precio total
-                        BigDecimal newTotalPrice = calculateTotalPrice(existingBooking);
-                        existingBooking.setTotalPrice(newTotalPrice);
+                        // Recalcular el alojamiento solo si cambió la estancia, para no alterar el
+                        // precio acordado al editar otros datos; el subtotal de actividades no cambia
+                        if (stayChanged || existingBooking.getAccommodationPrice() == null) {
+                            existingBooking.setAccommodationPrice(calculateAccommodationPrice(existingBooking));
+                            existingBooking.updateTotalPrice();
+                        }
                         
                         Booking updatedBooking = bookingRepository.save(existingBooking);
+                        bookingChangeLog.record(updatedBooking, BookingChange.ChangeType.UPDATED);
                         logger.info("Reserva actualizada exitosamente: {}", updatedBooking.getConfirmationCode());
                         return updatedBooking;
                     } else {
@@ -260,6 +413,7 @@ public class BookingService {
                     if (booking.getStatus() == Booking.BookingStatus.PENDING) {
                         booking.setStatus(Booking.BookingStatus.CONFIRMED);
                         bookingRepository.save(booking);
+                        bookingChangeLog.record(booking, BookingChange.ChangeType.CONFIRMED);
                         logger.info("Reserva confirmada exitosamente: {}", booking.getConfirmationCode());
                         return true;
                     } else {
@@ -284,9 +438,13 @@ public class BookingService {
                 .map(booking -> {
                     if (booking.getStatus() != Booking.BookingStatus.COMPLETED &&
                         booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+                        if (holdsInventory(booking.getStatus())) {
+                            releaseInventory(booking);
+                        }
                         booking.setStatus(Booking.BookingStatus.CANCELLED);
                         booking.setIsActive(false);
                         bookingRepository.save(booking);
+                        bookingChangeLog.record(booking, BookingChange.ChangeType.CANCELLED);
                         logger.info("Reserva cancelada exitosamente: {}", booking.getConfirmationCode());
                         return true;
                     } else {
@@ -310,8 +468,10 @@ public class BookingService {
         return bookingRepository.findByIdAndIsActiveTrue(id)
                 .map(booking -> {
                     if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+                        releaseInventory(booking);
                         booking.setStatus(Booking.BookingStatus.COMPLETED);
                         bookingRepository.save(booking);
+                        bookingChangeLog.record(booking, BookingChange.ChangeType.COMPLETED);
                         logger.info("Reserva completada exitosamente: {}", booking.getConfirmationCode());
                         return true;
                     } else {
@@ -351,15 +511,131 @@ public class BookingService {
         bookingActivity.setScheduledDate(booking.getCheckInDate()); // Establecer la fecha programada
         bookingActivity.setIsActive(true); // Establecemos la actividad como activa
 
+        // Reservar el cupo de la actividad para la fecha
+        activityCapacityService.reserve(activity, bookingActivity.getScheduledDate(), quantity);
+
         BookingActivity savedBookingActivity = bookingActivityRepository.save(bookingActivity);
         
         // Actualizar el precio total de la reserva
-        updateBookingTotalPrice(booking);
+        adjustActivitiesPrice(booking, savedBookingActivity.getTotalPrice());
         
         logger.info("Actividad agregada exitosamente con ID: {}", savedBookingActivity.getId());
         return savedBookingActivity;
     }
     
+    /**
+     * Agrega y elimina varias actividades de una reserva en una sola transacción.
+     * 
+     * Las actividades se resuelven con una única consulta, el cupo se reserva con una
+     * actualización por actividad y fecha, las altas se insertan en un lote JDBC y el
+     * precio de la reserva se ajusta una sola vez con el delta neto.
+     * 
+     * @param bookingId ID de la reserva
+     * @param additions Actividades a agregar
+     * @param removals IDs de las actividades de la reserva a eliminar
+     * @return Actividades de reserva creadas
+     * @throws IllegalArgumentException si la reserva, alguna actividad o alguna fecha no es válida
+     * @throws BusinessException si alguna actividad no tiene capacidad suficiente
+     */
+    public List<BookingActivity> updateBookingActivities(Long bookingId,
+                                                         List<BatchBookingActivitiesRequestDTO.Item> additions,
+                                                         List<Long> removals) {
+        logger.info("Modificando actividades de reserva ID: {} ({} altas, {} bajas)",
+                   bookingId, additions.size(), removals.size());
+
+        Booking booking = bookingRepository.findByIdAndIsActiveTrue(bookingId)
+                .orElseThrow(() -> new IllegalArgumentException("Reserva no encontrada"));
+
+        // Bajas: eliminación lógica de las actividades de esta reserva
+        BigDecimal delta = BigDecimal.ZERO;
+        if (!removals.isEmpty()) {
+            Set<Long> removalIds = new HashSet<>(removals);
+            List<BookingActivity> removed =
+                    bookingActivityRepository.findByBookingIdAndIdInAndIsActiveTrue(bookingId, removalIds);
+            if (removed.size() != removalIds.size()) {
+                throw new IllegalArgumentException("Actividad de reserva no encontrada");
+            }
+            for (BookingActivity bookingActivity : removed) {
+                bookingActivity.setIsActive(false);
+                delta = delta.subtract(bookingActivity.getTotalPrice());
+            }
+            for (Map.Entry<ActivitySlotKey, Integer> slot : participantsBySlot(removed).entrySet()) {
+                activityCapacityService.release(slot.getKey().activity().getId(), slot.getKey().date(), slot.getValue());
+            }
+        }
+
+        // Altas: resolver todas las actividades con una sola consulta
+        List<BookingActivity> added = new ArrayList<>(additions.size());
+        if (!additions.isEmpty()) {
+            Set<Long> activityIds = additions.stream()
+                    .map(BatchBookingActivitiesRequestDTO.Item::getActivityId)
+                    .collect(Collectors.toSet());
+            Map<Long, Activity> activities = activityRepository.findByIdInAndIsAvailableTrue(activityIds).stream()
+                    .collect(Collectors.toMap(Activity::getId, Function.identity()));
+
+            for (BatchBookingActivitiesRequestDTO.Item item : additions) {
+                Activity activity = activities.get(item.getActivityId());
+                if (activity == null) {
+                    throw new IllegalArgumentException("Actividad no encontrada");
+                }
+                LocalDate scheduledDate = item.getScheduledDate() != null
+                        ? item.getScheduledDate() : booking.getCheckInDate();
+                if (scheduledDate.isBefore(booking.getCheckInDate()) ||
+                    scheduledDate.isAfter(booking.getCheckOutDate())) {
+                    throw new IllegalArgumentException("La fecha de la actividad debe estar dentro de la estancia");
+                }
+
+                BookingActivity bookingActivity = new BookingActivity();
+                bookingActivity.setBooking(booking);
+                bookingActivity.setActivity(activity);
+                bookingActivity.setQuantity(item.getQuantity());
+                bookingActivity.setPricePerPerson(activity.getPrice());
+                bookingActivity.setScheduledDate(scheduledDate);
+                bookingActivity.setStatus(BookingActivity.ActivityStatus.SCHEDULED);
+                bookingActivity.setIsActive(true);
+                bookingActivity.calculateTotalPrice(); // El lote JDBC no pasa por @PrePersist
+                added.add(bookingActivity);
+                delta = delta.add(bookingActivity.getTotalPrice());
+            }
+
+            for (Map.Entry<ActivitySlotKey, Integer> slot : participantsBySlot(added).entrySet()) {
+                activityCapacityService.reserve(slot.getKey().activity(), slot.getKey().date(), slot.getValue());
+            }
+            bookingActivityRepository.batchInsert(added);
+        }
+
+        // Actualizar el precio total de la reserva una sola vez
+        adjustActivitiesPrice(booking, delta);
+
+        logger.info("Actividades de reserva ID: {} modificadas - nuevo total: ${}", bookingId, booking.getTotalPrice());
+        return added;
+    }
+
+    /**
+     * Agrupa los participantes de varias actividades de reserva por actividad y fecha,
+     * en orden de actividad y fecha para que las transacciones concurrentes bloqueen
+     * los cupos siempre en el mismo orden.
+     * 
+     * @param bookingActivities Actividades de reserva
+     * @return Participantes por actividad y fecha
+     */
+    private Map<ActivitySlotKey, Integer> participantsBySlot(List<BookingActivity> bookingActivities) {
+        Map<ActivitySlotKey, Integer> participants = new TreeMap<>(
+                Comparator.comparing((ActivitySlotKey key) -> key.activity().getId())
+                          .thenComparing(ActivitySlotKey::date));
+        for (BookingActivity bookingActivity : bookingActivities) {
+            participants.merge(new ActivitySlotKey(bookingActivity.getActivity(), bookingActivity.getScheduledDate()),
+                               bookingActivity.getQuantity(), Integer::sum);
+        }
+        return participants;
+    }
+
+    /**
+     * Actividad y fecha de un cupo.
+     */
+    private record ActivitySlotKey(Activity activity, LocalDate date) {
+    }
+
     /**
      * Obtiene las actividades de una reserva.
      * 
@@ -386,9 +662,13 @@ public class BookingService {
                     if (Boolean.TRUE.equals(bookingActivity.getIsActive())) {
                         bookingActivity.setIsActive(false); // Realizamos eliminación lógica
                         bookingActivityRepository.save(bookingActivity); // Guardamos el cambio
+                        activityCapacityService.release(bookingActivity.getActivity().getId(),
+                                                        bookingActivity.getScheduledDate(),
+                                                        bookingActivity.getQuantity());
                         
                         // Actualizar el precio total de la reserva
-                        updateBookingTotalPrice(bookingActivity.getBooking());
+                        adjustActivitiesPrice(bookingActivity.getBooking(),
+                                              bookingActivity.getTotalPrice().negate());
                         
                         logger.info("Actividad de reserva eliminada exitosamente");
                         return true;
@@ -401,85 +681,112 @@ public class BookingService {
     }
 
     /**
-     * Verifica la disponibilidad de habitaciones para las fechas especificadas.
+     * Valida que las fechas de una estancia sean coherentes.
      * 
-     * @param roomTypeId ID del tipo de habitación
      * @param checkInDate Fecha de check-in
      * @param checkOutDate Fecha de check-out
-     * @param numRooms Número de habitaciones requeridas
-     * @return true si hay disponibilidad, false en caso contrario
+     * @throws IllegalArgumentException si las fechas no son válidas
      */
-    private boolean checkRoomAvailability(Long roomTypeId, LocalDate checkInDate, 
-                                        LocalDate checkOutDate, Integer numRooms) {
-        logger.debug("Verificando disponibilidad para tipo de habitación ID: {} del {} al {} para {} habitaciones", 
-                    roomTypeId, checkInDate, checkOutDate, numRooms);
-        
-        Integer bookedRooms = bookingRepository.countBookedRooms(roomTypeId, checkInDate, checkOutDate);
-        RoomType roomType = roomTypeRepository.findById(roomTypeId).orElse(null);
-        
-        if (roomType == null) {
-            return false;
+    private void validateStayDates(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkInDate.isBefore(checkOutDate)) {
+            throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
         }
-        
-        Integer availableRooms = roomType.getTotalRooms() - (bookedRooms != null ? bookedRooms : 0);
-        boolean isAvailable = availableRooms >= numRooms;
-        
-        logger.debug("Habitaciones disponibles: {}, requeridas: {}, disponible: {}", 
-                    availableRooms, numRooms, isAvailable);
-        
-        return isAvailable;
+
+        if (checkInDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("La fecha de check-in no puede ser en el pasado");
+        }
+    }
+
+    /**
+     * Indica si una reserva en el estado dado mantiene habitaciones comprometidas
+     * en el ledger de inventario.
+     * 
+     * @param status Estado de la reserva
+     * @return true si el estado ocupa inventario
+     */
+    private boolean holdsInventory(Booking.BookingStatus status) {
+        return status == Booking.BookingStatus.PENDING ||
+               status == Booking.BookingStatus.CONFIRMED ||
+               status == Booking.BookingStatus.CHECKED_IN;
+    }
+
+    /**
+     * Libera en el ledger las habitaciones de toda la estancia de una reserva.
+     * 
+     * @param booking Reserva cuyas noches se liberan
+     */
+    private void releaseInventory(Booking booking) {
+        roomInventoryService.release(booking.getRoomType().getId(), booking.getCheckInDate(),
+                                     booking.getCheckOutDate(), booking.getNumRooms());
     }
 
     /**
-     * Calcula el precio total de una reserva.
+     * Calcula el precio del alojamiento de una reserva (sin actividades).
      * 
      * @param booking Reserva para calcular el precio
-     * @return Precio total calculado
+     * @return Suma de la tarifa de cada noche (según las reglas de tarifa vigentes en la
+     *         base de datos) por habitaciones
      */
-    private BigDecimal calculateTotalPrice(Booking booking) {
-        // Calcular noches
-        long nights = booking.getCheckInDate().until(booking.getCheckOutDate()).getDays();
-        
-        // Precio base: habitaciones * noches * precio por noche
-        BigDecimal basePrice = booking.getRoomType().getPricePerNight()
-                .multiply(BigDecimal.valueOf(booking.getNumRooms()))
-                .multiply(BigDecimal.valueOf(nights));
-        
-        // Sumar actividades si las hay (para reservas nuevas, el ID puede ser null)
-        BigDecimal activitiesPrice = BigDecimal.ZERO;
-        if (booking.getId() != null) {
-            activitiesPrice = bookingActivityRepository.findByBookingIdAndIsActiveTrue(booking.getId())
-                    .stream()
-                    .map(BookingActivity::getTotalPrice)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-        }
-        
-        return basePrice.add(activitiesPrice);
+    private BigDecimal calculateAccommodationPrice(Booking booking) {
+        return roomRateCalendar.currentStayPrice(booking.getRoomType().getId(), booking.getCheckInDate(),
+                                                 booking.getCheckOutDate(), booking.getNumRooms());
     }
 
     /**
-     * Actualiza el precio total de una reserva.
+     * Ajusta el subtotal de actividades de una reserva en un delta dentro de la
+     * transacción en curso, sin recargar sus actividades. La versión de la reserva
+     * protege el ajuste frente a modificaciones concurrentes.
      * 
      * @param booking Reserva a actualizar
+     * @param delta Importe a sumar (negativo al eliminar una actividad)
      */
-    private void updateBookingTotalPrice(Booking booking) {
-        BigDecimal newTotalPrice = calculateTotalPrice(booking);
-        booking.setTotalPrice(newTotalPrice);
+    private void adjustActivitiesPrice(Booking booking, BigDecimal delta) {
+        if (booking.getAccommodationPrice() == null) {
+            // Reservas anteriores a los subtotales desnormalizados
+            booking.setAccommodationPrice(calculateAccommodationPrice(booking));
+        }
+        booking.adjustActivitiesPrice(delta);
         bookingRepository.save(booking);
+        bookingChangeLog.record(booking, BookingChange.ChangeType.UPDATED);
         logger.debug("Precio total actualizado para reserva ID: {} - nuevo total: ${}", 
-                    booking.getId(), newTotalPrice);
+                    booking.getId(), booking.getTotalPrice());
+    }
+
+    /**
+     * Verifica en bloque los subtotales desnormalizados de un rango de reservas y
+     * corrige los que no cuadran con sus actividades activas.
+     * 
+     * @param fromId Primer ID del rango (inclusive)
+     * @param toId Último ID del rango (inclusive)
+     * @return Número de reservas corregidas
+     */
+    public int reconcileTotals(Long fromId, Long toId) {
+        int corrected = 0;
+        for (Object[] row : bookingRepository.findBookingsWithMismatchedTotals(fromId, toId)) {
+            Long bookingId = (Long) row[0];
+            BigDecimal activitiesPrice = (BigDecimal) row[2];
+            if (bookingRepository.correctActivitiesPrice(bookingId, activitiesPrice, (Long) row[1]) == 1) {
+                bookingRepository.findById(bookingId).ifPresent(booking ->
+                        bookingChangeLog.record(booking, BookingChange.ChangeType.UPDATED));
+                logger.warn("Subtotales descuadrados corregidos para reserva ID: {} - actividades: ${}",
+                           bookingId, activitiesPrice);
+                corrected++;
+            } else {
+                // La reserva cambió durante la verificación; se revisará en la próxima ejecución
+                logger.debug("Reserva ID: {} modificada durante la conciliación", bookingId);
+            }
+        }
+        return corrected;
     }
 
     /**
-     * Genera un código de confirmación único para la reserva.
+     * Obtiene el mayor ID de reserva existente.
      * 
-     * @return Código de confirmación generado
+     * @return Mayor ID de reserva o 0 si no hay reservas
      */
-    private String generateConfirmationCode() {
-        String prefix = "CB"; // Caribe Vibes
-        String timestamp = String.valueOf(System.currentTimeMillis()).substring(7);
-        String random = String.valueOf((int)(Math.random() * 9000) + 1000);
-        return prefix + timestamp + random;
+    @Transactional(readOnly = true)
+    public long findMaxBookingId() {
+        return bookingRepository.findMaxBookingId();
     }
 
     /**
@@ -536,8 +843,33 @@ public class BookingService {
         logger.debug("Admin obteniendo todas las reservas - página: {}, tamaño: {}", 
                     pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Booking> bookings = bookingRepository.findAll(pageable);
-        return bookings.map(this::convertToBookingResponseDTO);
+        return toBookingResponsePage(bookingRepository.findAllSummaries(pageable));
+    }
+
+    /**
+     * Obtiene todas las reservas del sistema para administradores paginadas por cursor
+     * sobre (fecha de reserva, ID), de la más reciente a la más antigua.
+     * 
+     * @param cursor Token de la página siguiente (null para la primera)
+     * @param size Tamaño de página
+     * @param includeTotal Si se debe incluir el total (cacheado unos segundos)
+     * @return Página de reservas con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BookingResponseDTO> findBookingsForAdminByCursor(String cursor, int size,
+                                                                          boolean includeTotal) {
+        CursorPageDTO.validateSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        logger.debug("Admin obteniendo reservas por cursor - posición: {}, tamaño: {}", position, size);
+
+        List<BookingSummaryView> rows = position == null
+                ? bookingRepository.findSummariesFirst(Limit.of(size + 1))
+                : bookingRepository.findSummariesBefore(position.timestamp(), position.id(), Limit.of(size + 1));
+        Long total = includeTotal ? bookingRepository.countForListing() : null;
+
+        return CursorPageDTO.of(toBookingResponseDTOs(rows), size,
+                dto -> new KeysetCursor(dto.getBookingDate(), dto.getId()), total);
     }
 
     /**
@@ -589,16 +921,304 @@ public class BookingService {
         Booking booking = bookingRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Reserva no encontrada con ID: " + id));
         
+        Booking.BookingStatus bookingStatus;
         try {
-            Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-            
-            // Usar EntityManager con validación deshabilitada para operaciones de admin
-            bookingRepository.updateBookingStatusByAdmin(id, bookingStatus);
-            
-            logger.info("Estado de reserva {} actualizado a {} por administrador", id, status);
+            bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Estado de reserva inválido: " + status);
         }
+        
+        // Mantener el ledger de inventario al entrar o salir de un estado que ocupa habitaciones
+        boolean heldBefore = holdsInventory(booking.getStatus());
+        boolean holdsAfter = holdsInventory(bookingStatus);
+        if (heldBefore && !holdsAfter) {
+            releaseInventory(booking);
+        } else if (!heldBefore && holdsAfter) {
+            roomInventoryService.reserve(booking.getRoomType(), booking.getCheckInDate(),
+                                         booking.getCheckOutDate(), booking.getNumRooms());
+        }
+        
+        // Usar EntityManager con validación deshabilitada para operaciones de admin
+        int updated = bookingRepository.updateBookingStatusByAdmin(id, bookingStatus, booking.getVersion());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(Booking.class, id);
+        }
+        bookingChangeLog.record(booking, BookingChange.ChangeType.STATUS_CHANGED, bookingStatus);
+        
+        logger.info("Estado de reserva {} actualizado a {} por administrador", id, status);
+    }
+
+    /**
+     * Cambia el estado de varias reservas (solo para administradores).
+     * 
+     * Las transiciones se validan con una sola consulta según el ciclo de vida de la
+     * reserva y se aplican con una actualización por estado destino. Las reservas que
+     * dejan de ocupar habitaciones las liberan en el ledger, y los cambios se
+     * registran en un único lote. Si otra operación cambia alguna reserva entre la
+     * validación y la actualización, se lanza un conflicto para reintentar el lote.
+     * 
+     * @param transitions Cambios de estado solicitados
+     * @return Resultado por reserva, en el orden de la solicitud
+     * @throws IllegalArgumentException si algún estado no es válido o una reserva se repite
+     */
+    public BulkBookingStatusResponseDTO bulkUpdateStatusByAdmin(List<BulkBookingStatusRequestDTO.Item> transitions) {
+        logger.info("Admin actualizando estado de {} reservas en bloque", transitions.size());
+
+        Map<Long, Booking.BookingStatus> targets = new LinkedHashMap<>();
+        for (BulkBookingStatusRequestDTO.Item item : transitions) {
+            Booking.BookingStatus target;
+            try {
+                target = Booking.BookingStatus.valueOf(item.getStatus().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Estado de reserva inválido: " + item.getStatus());
+            }
+            if (targets.put(item.getBookingId(), target) != null) {
+                throw new IllegalArgumentException("La reserva " + item.getBookingId() + " aparece más de una vez");
+            }
+        }
+
+        Map<Long, BookingTransitionView> bookings = bookingRepository.findTransitionViews(targets.keySet()).stream()
+                .collect(Collectors.toMap(BookingTransitionView::id, Function.identity()));
+
+        // Validar todas las transiciones y agruparlas por estado destino
+        Map<Booking.BookingStatus, List<BookingTransitionView>> accepted = new EnumMap<>(Booking.BookingStatus.class);
+        List<BulkBookingStatusResponseDTO.Result> results = new ArrayList<>(targets.size());
+        for (Map.Entry<Long, Booking.BookingStatus> entry : targets.entrySet()) {
+            BookingTransitionView booking = bookings.get(entry.getKey());
+            Booking.BookingStatus target = entry.getValue();
+            String result;
+            if (booking == null) {
+                result = "NOT_FOUND";
+            } else if (booking.status() == target) {
+                result = "UNCHANGED";
+            } else if (!booking.status().canTransitionTo(target)) {
+                result = "INVALID_TRANSITION";
+            } else {
+                accepted.computeIfAbsent(target, status -> new ArrayList<>()).add(booking);
+                result = "UPDATED";
+            }
+            results.add(new BulkBookingStatusResponseDTO.Result(entry.getKey(),
+                    booking != null ? booking.status().name() : null, target.name(), result));
+        }
+
+        int updated = applyTransitions(accepted, BookingChange.ChangeType.STATUS_CHANGED);
+
+        logger.info("Estado de {} de {} reservas actualizado en bloque por administrador",
+                   updated, targets.size());
+        return new BulkBookingStatusResponseDTO(updated, targets.size() - updated, results);
+    }
+
+    /**
+     * Completa un bloque de reservas cuya fecha de check-out ya pasó y siguen
+     * confirmadas, en check-in o con check-out registrado.
+     * 
+     * Las reservas se recorren por ID a partir de {@code afterId} (keyset), y el bloque
+     * se completa con una actualización y un lote del registro de cambios. El token del
+     * lease del trabajo se comprueba en la misma transacción.
+     * 
+     * @param afterId Último ID procesado en el bloque anterior (0 para empezar)
+     * @param today Fecha de referencia; se completan las reservas con check-out anterior
+     * @param chunkSize Número máximo de reservas del bloque
+     * @param lease Lease del trabajo que procesa el bloque
+     * @return Resultado del bloque con el último ID leído
+     * @throws BusinessException si otra instancia adquirió el lease
+     */
+    public AutoCompletionChunk completePastCheckoutBookings(long afterId, LocalDate today, int chunkSize,
+                                                            JobLeaseGrant lease) {
+        jobLeaseService.assertHeld(lease);
+        List<BookingTransitionView> bookings = bookingRepository.findPastCheckoutTransitionViews(
+                AUTO_COMPLETION_SOURCES, today, afterId, Limit.of(chunkSize));
+        if (bookings.isEmpty()) {
+            return new AutoCompletionChunk(0, 0, null);
+        }
+
+        Map<Booking.BookingStatus, List<BookingTransitionView>> accepted = new EnumMap<>(Booking.BookingStatus.class);
+        accepted.put(Booking.BookingStatus.COMPLETED, bookings);
+        int completed = applyTransitions(accepted, BookingChange.ChangeType.COMPLETED);
+
+        Long lastId = bookings.get(bookings.size() - 1).id();
+        logger.debug("Bloque de autocompletado hasta reserva ID {}: {} reservas completadas", lastId, completed);
+        return new AutoCompletionChunk(bookings.size(), completed, lastId);
+    }
+
+    /**
+     * Resultado de un bloque de autocompletado.
+     * 
+     * @param scanned Reservas leídas
+     * @param completed Reservas completadas
+     * @param lastId Último ID leído (null si el bloque estaba vacío)
+     */
+    public record AutoCompletionChunk(int scanned, int completed, Long lastId) {
+    }
+
+    /**
+     * Aplica cambios de estado ya validados: libera el inventario de las estancias que
+     * dejan de ocupar habitaciones, actualiza las reservas con una sentencia por estado
+     * destino y registra los cambios en un único lote.
+     * 
+     * @param accepted Reservas validadas agrupadas por estado destino
+     * @param changeType Tipo de cambio para el registro de cambios
+     * @return Número de reservas actualizadas
+     * @throws ObjectOptimisticLockingFailureException si alguna reserva cambió desde la validación
+     */
+    private int applyTransitions(Map<Booking.BookingStatus, List<BookingTransitionView>> accepted,
+                                 BookingChange.ChangeType changeType) {
+        // Liberar las estancias que dejan de ocupar inventario, siempre en el mismo orden
+        List<BookingTransitionView> releases = new ArrayList<>();
+        accepted.forEach((target, group) -> group.stream()
+                .filter(booking -> holdsInventory(booking.status()) && !holdsInventory(target))
+                .forEach(releases::add));
+        releases.sort(Comparator.comparing(BookingTransitionView::roomTypeId)
+                                .thenComparing(BookingTransitionView::checkInDate));
+        for (BookingTransitionView booking : releases) {
+            roomInventoryService.release(booking.roomTypeId(), booking.checkInDate(),
+                                         booking.checkOutDate(), booking.numRooms());
+        }
+
+        // Una actualización por estado destino y un lote de entradas del registro de cambios
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingChange> changes = new ArrayList<>();
+        for (Map.Entry<Booking.BookingStatus, List<BookingTransitionView>> entry : accepted.entrySet()) {
+            List<Long> ids = entry.getValue().stream().map(BookingTransitionView::id).toList();
+            Set<Booking.BookingStatus> sources = EnumSet.noneOf(Booking.BookingStatus.class);
+            entry.getValue().forEach(booking -> sources.add(booking.status()));
+
+            // Como en cancelBooking, una reserva cancelada deja de estar activa
+            int updated = bookingRepository.transitionStatuses(ids, sources, entry.getKey(),
+                    entry.getKey() == Booking.BookingStatus.CANCELLED);
+            if (updated != ids.size()) {
+                throw new ObjectOptimisticLockingFailureException(Booking.class, ids);
+            }
+            for (BookingTransitionView booking : entry.getValue()) {
+                changes.add(BookingChange.builder()
+                        .bookingId(booking.id())
+                        .hotelId(booking.hotelId())
+                        .confirmationCode(booking.confirmationCode())
+                        .changeType(changeType)
+                        .status(entry.getKey())
+                        .totalPrice(booking.totalPrice())
+                        .changedAt(now)
+                        .build());
+            }
+        }
+        bookingChangeLog.recordAll(changes);
+        return changes.size();
+    }
+
+    /**
+     * Arma una página de respuestas a partir de las proyecciones de reservas.
+     * 
+     * @param summaries Página de proyecciones de reservas
+     * @return Página de DTOs de respuesta
+     */
+    private Page<BookingResponseDTO> toBookingResponsePage(Page<BookingSummaryView> summaries) {
+        return new PageImpl<>(toBookingResponseDTOs(summaries.getContent()),
+                              summaries.getPageable(), summaries.getTotalElements());
+    }
+
+    /**
+     * Convierte proyecciones de reservas a DTOs de respuesta, cargando las actividades
+     * de todas ellas con una sola consulta.
+     * 
+     * @param summaries Proyecciones de reservas
+     * @return DTOs de respuesta en el mismo orden
+     */
+    private List<BookingResponseDTO> toBookingResponseDTOs(List<BookingSummaryView> summaries) {
+        List<Long> bookingIds = summaries.stream()
+                .map(BookingSummaryView::id)
+                .collect(Collectors.toList());
+        Map<Long, List<BookingActivityResponseDTO>> activitiesByBooking = bookingIds.isEmpty()
+                ? Map.of()
+                : bookingActivityRepository.findActiveSummariesByBookingIds(bookingIds).stream()
+                        .collect(Collectors.groupingBy(BookingActivitySummaryView::bookingId,
+                                 Collectors.mapping(this::toBookingActivityResponseDTO, Collectors.toList())));
+
+        return summaries.stream()
+                .map(summary -> toBookingResponseDTO(summary, activitiesByBooking.get(summary.id())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Convierte una proyección de reserva a BookingResponseDTO.
+     * 
+     * @param summary Proyección de la reserva
+     * @param activities Actividades de la reserva (null si no tiene)
+     * @return DTO de respuesta de reserva
+     */
+    private BookingResponseDTO toBookingResponseDTO(BookingSummaryView summary,
+                                                    List<BookingActivityResponseDTO> activities) {
+        BookingResponseDTO dto = new BookingResponseDTO();
+        dto.setId(summary.id());
+        dto.setConfirmationCode(summary.confirmationCode());
+        dto.setBookingDate(summary.bookingDate());
+        dto.setCheckInDate(summary.checkInDate());
+        dto.setCheckOutDate(summary.checkOutDate());
+        dto.setNumGuests(summary.numGuests());
+        dto.setNumRooms(summary.numRooms());
+        dto.setTotalPrice(summary.totalPrice());
+        dto.setStatus(summary.status() != null ? summary.status().name() : null);
+        dto.setSpecialRequests(summary.specialRequests());
+
+        if (summary.userId() != null) {
+            UserBasicDTO userDto = new UserBasicDTO();
+            userDto.setId(summary.userId());
+            userDto.setFirstName(summary.userFirstName());
+            userDto.setLastName(summary.userLastName());
+            userDto.setEmail(summary.userEmail());
+            dto.setUser(userDto);
+        }
+
+        if (summary.hotelId() != null) {
+            HotelBasicDTO hotelDto = new HotelBasicDTO();
+            hotelDto.setId(summary.hotelId());
+            hotelDto.setName(summary.hotelName());
+            hotelDto.setAddress(summary.hotelAddress());
+            hotelDto.setStars(summary.hotelStars());
+            hotelDto.setImageUrl(summary.hotelImageUrl());
+            if (summary.destinationId() != null) {
+                DestinationBasicDTO destinationDto = new DestinationBasicDTO();
+                destinationDto.setId(summary.destinationId());
+                destinationDto.setName(summary.destinationName());
+                destinationDto.setLocation(summary.destinationLocation());
+                destinationDto.setImageUrl(summary.destinationImageUrl());
+                hotelDto.setDestination(destinationDto);
+            }
+            dto.setHotel(hotelDto);
+        }
+
+        if (summary.roomTypeId() != null) {
+            RoomTypeBasicDTO roomTypeDto = new RoomTypeBasicDTO();
+            roomTypeDto.setId(summary.roomTypeId());
+            roomTypeDto.setName(summary.roomTypeName());
+            roomTypeDto.setMaxOccupancy(summary.roomTypeCapacity());
+            roomTypeDto.setPricePerNight(summary.roomTypePricePerNight());
+            dto.setRoomType(roomTypeDto);
+        }
+
+        dto.setActivities(activities);
+        return dto;
+    }
+
+    /**
+     * Convierte una proyección de actividad de reserva a BookingActivityResponseDTO.
+     * 
+     * @param summary Proyección de la actividad de reserva
+     * @return DTO de respuesta de la actividad de reserva
+     */
+    private BookingActivityResponseDTO toBookingActivityResponseDTO(BookingActivitySummaryView summary) {
+        BookingActivityResponseDTO dto = new BookingActivityResponseDTO();
+        dto.setId(summary.id());
+        dto.setQuantity(summary.quantity());
+        dto.setPricePerPerson(summary.pricePerPerson());
+        dto.setTotalPrice(summary.totalPrice());
+
+        ActivityBasicDTO activityDto = new ActivityBasicDTO();
+        activityDto.setId(summary.activityId());
+        activityDto.setName(summary.activityName());
+        activityDto.setDescription(summary.activityDescription());
+        activityDto.setPrice(summary.activityPrice());
+        dto.setActivity(activityDto);
+        return dto;
     }
 
     /**
@@ -0,0 +1,72 @@
+package org.project.caribevibes.service.booking;
+
+import org.project.caribevibes.service.job.JobCoordinator;
+import org.project.caribevibes.service.job.JobLeaseGrant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trabajo periódico que verifica los subtotales desnormalizados de las reservas.
+ *
+ * Las altas y bajas de actividades ajustan {@code activitiesPrice} y {@code totalPrice}
+ * por deltas; este trabajo recorre la tabla de reservas por rangos de IDs y, con una
+ * consulta agregada por rango, corrige las reservas cuyos subtotales no cuadran con
+ * sus actividades activas. Cada rango se procesa en su propia transacción.
+ *
+ * Solo lo ejecuta la instancia que posee su lease; las correcciones además están
+ * condicionadas a la versión de cada reserva, así que un poseedor desplazado no
+ * puede sobrescribir cambios posteriores.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class BookingTotalsReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingTotalsReconciliationJob.class);
+
+    /**
+     * Número de IDs de reserva verificados por transacción
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Nombre del lease del trabajo
+     */
+    private static final String JOB_NAME = "booking-totals-reconciliation";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    /**
+     * Verifica todas las reservas por rangos y corrige las descuadradas.
+     */
+    @Scheduled(cron = "${app.booking.totals-reconciliation-cron:0 30 3 * * *}")
+    public void reconcile() {
+        jobCoordinator.runExclusive(JOB_NAME, this::reconcileAll);
+    }
+
+    /**
+     * Recorre los rangos de IDs mientras esta instancia conserve el lease.
+     */
+    private void reconcileAll(JobLeaseGrant lease) {
+        long maxId = bookingService.findMaxBookingId();
+        int corrected = 0;
+        for (long fromId = 1; fromId <= maxId && !lease.isLost(); fromId += CHUNK_SIZE) {
+            try {
+                corrected += bookingService.reconcileTotals(fromId, fromId + CHUNK_SIZE - 1);
+            } catch (RuntimeException e) {
+                logger.error("Error al conciliar totales de reservas {}-{}: {}",
+                            fromId, fromId + CHUNK_SIZE - 1, e.getMessage(), e);
+            }
+        }
+        logger.info("Conciliación de totales de reservas finalizada: {} reservas corregidas", corrected);
+    }
+}
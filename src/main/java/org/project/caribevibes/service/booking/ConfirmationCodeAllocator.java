@@ -0,0 +1,177 @@
+package org.project.caribevibes.service.booking;
+
+import jakarta.annotation.PreDestroy;
+import org.project.caribevibes.util.ConfirmationCodes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asigna códigos de confirmación únicos entre todas las instancias de la aplicación.
+ *
+ * Cada instancia reserva bloques de la secuencia compartida y reparte sus valores
+ * con un contador atómico, de modo que generar un código no consulta la base de
+ * datos ni toma bloqueos. Al consumir tres cuartas partes de un bloque se reserva
+ * el siguiente en segundo plano; así las reservas casi nunca esperan ni ocupan una
+ * segunda conexión mientras su propia transacción sigue abierta.
+ *
+ * Los valores de un bloque que no llegan a usarse (por reinicio o por reservas
+ * revertidas) se pierden, pero nunca se reutilizan.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ConfirmationCodeAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmationCodeAllocator.class);
+
+    /**
+     * Nombre de la secuencia de códigos de reserva
+     */
+    static final String SEQUENCE_NAME = "booking";
+
+    private static final int MAX_RESERVE_ATTEMPTS = 3;
+
+    @Autowired
+    private ConfirmationCodeSequenceService confirmationCodeSequenceService;
+
+    @Value("${app.booking.confirmation-code-block-size:1000}")
+    private int blockSize;
+
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "confirmation-code-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Block current = Block.EMPTY;
+
+    private volatile CompletableFuture<Block> nextBlock;
+
+    /**
+     * Reserva el primer bloque al arrancar para que la primera reserva no espere.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        prefetch();
+    }
+
+    @PreDestroy
+    public void stop() {
+        prefetcher.shutdownNow();
+    }
+
+    /**
+     * Genera un nuevo código de confirmación.
+     *
+     * @return Código de confirmación único
+     */
+    public String nextCode() {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                // Solo un hilo obtiene exactamente este valor, así que se pide un único bloque
+                if (value == block.prefetchAt) {
+                    prefetch();
+                }
+                return ConfirmationCodes.encode(value);
+            }
+            refill(block);
+        }
+    }
+
+    /**
+     * Sustituye el bloque agotado por el siguiente, usando el reservado en segundo
+     * plano si lo hay. Solo un hilo hace el cambio; el resto reintenta con el nuevo bloque.
+     *
+     * @param exhausted Bloque que se agotó
+     */
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            CompletableFuture<Block> pending = nextBlock;
+            nextBlock = null;
+            Block block = null;
+            if (pending != null) {
+                try {
+                    block = pending.join();
+                } catch (CompletionException e) {
+                    logger.warn("No se pudo reservar por adelantado un bloque de códigos: {}", e.getMessage());
+                }
+            }
+            current = block != null ? block : reserveBlock();
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Pide en segundo plano la reserva del siguiente bloque si no hay una en curso.
+     */
+    private void prefetch() {
+        refillLock.lock();
+        try {
+            if (nextBlock == null) {
+                nextBlock = CompletableFuture.supplyAsync(this::reserveBlock, prefetcher);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /**
+     * Reserva un bloque de la secuencia compartida.
+     *
+     * @return Bloque reservado
+     */
+    private Block reserveBlock() {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long start = confirmationCodeSequenceService.reserveBlock(SEQUENCE_NAME, blockSize);
+                return new Block(start, start + blockSize, start + blockSize * 3L / 4);
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia creó la secuencia al mismo tiempo
+                if (attempt >= MAX_RESERVE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Bloque de valores reservado por esta instancia: [next, end).
+     */
+    private static final class Block {
+        static final Block EMPTY = new Block(0, 0, -1);
+
+        final AtomicLong next;
+        final long end;
+        final long prefetchAt;
+
+        Block(long start, long end, long prefetchAt) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.project.caribevibes.service.booking;
+
+import org.project.caribevibes.entity.booking.ConfirmationCodeSequence;
+import org.project.caribevibes.repository.booking.ConfirmationCodeSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio que reserva bloques de la secuencia de códigos de confirmación.
+ *
+ * Cada reserva se confirma en su propia transacción: si la reserva de un bloque
+ * se revirtiera junto con la transacción de quien lo pidió, otra instancia podría
+ * recibir el mismo bloque.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class ConfirmationCodeSequenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmationCodeSequenceService.class);
+
+    @Autowired
+    private ConfirmationCodeSequenceRepository confirmationCodeSequenceRepository;
+
+    /**
+     * Reserva un bloque de valores de una secuencia, creándola si todavía no existe.
+     *
+     * @param name Nombre de la secuencia
+     * @param blockSize Número de valores a reservar
+     * @return Primer valor del bloque; el bloque es [inicio, inicio + blockSize)
+     * @throws org.springframework.dao.DataIntegrityViolationException si otra instancia
+     *         creó la secuencia al mismo tiempo (basta con reintentar)
+     */
+    public long reserveBlock(String name, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("El tamaño del bloque debe ser mayor a cero");
+        }
+
+        if (confirmationCodeSequenceRepository.advance(name, blockSize) == 0) {
+            confirmationCodeSequenceRepository.saveAndFlush(ConfirmationCodeSequence.builder()
+                    .name(name)
+                    .nextValue(1L + blockSize)
+                    .build());
+            logger.info("Secuencia de códigos de confirmación '{}' creada", name);
+            return 1L;
+        }
+
+        long start = confirmationCodeSequenceRepository.findNextValue(name) - blockSize;
+        logger.debug("Bloque de códigos de confirmación reservado en '{}': [{}, {})",
+                    name, start, start + blockSize);
+        return start;
+    }
+}
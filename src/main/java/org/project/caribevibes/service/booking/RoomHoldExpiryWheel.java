@@ -0,0 +1,111 @@
+package org.project.caribevibes.service.booking;
+
+import jakarta.annotation.PreDestroy;
+import org.project.caribevibes.entity.booking.RoomHold;
+import org.project.caribevibes.util.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Programa el vencimiento de las retenciones de habitaciones en memoria.
+ *
+ * Usa una {@link HierarchicalTimingWheel} con ticks de un segundo avanzada por un
+ * único hilo, de modo que los vencimientos no requieren consultar la base de datos
+ * periódicamente. Al arrancar se reprograman las retenciones activas persistidas;
+ * las que vencieron mientras la aplicación estaba detenida se liberan de inmediato.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class RoomHoldExpiryWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomHoldExpiryWheel.class);
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final long RETRY_DELAY_MILLIS = 30_000;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    private final HierarchicalTimingWheel<Long> wheel =
+            new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, System.currentTimeMillis());
+
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "room-hold-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Reprograma las retenciones activas y arranca el avance de la rueda.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<RoomHold> activeHolds = roomHoldService.findActiveHolds();
+        activeHolds.forEach(hold -> schedule(hold.getId(), hold.getExpiresAt()));
+        logger.info("Rueda de vencimiento de retenciones iniciada con {} retenciones activas", activeHolds.size());
+
+        ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Programa el vencimiento de una retención recién creada, tras el commit.
+     *
+     * @param event Retención creada
+     */
+    @TransactionalEventListener
+    public void onHoldPlaced(RoomHoldPlacedEvent event) {
+        schedule(event.holdId(), event.expiresAt());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Programa una retención; si ya está vencida se libera en el siguiente tick.
+     */
+    private void schedule(Long holdId, LocalDateTime expiresAt) {
+        long expiresAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.schedule(holdId, expiresAtMillis)) {
+            ticker.execute(() -> expire(holdId));
+        }
+    }
+
+    /**
+     * Avanza la rueda y vence las retenciones cumplidas.
+     */
+    private void tick() {
+        try {
+            wheel.advance(System.currentTimeMillis()).forEach(this::expire);
+        } catch (RuntimeException e) {
+            logger.error("Error al avanzar la rueda de vencimiento de retenciones: {}", e.getMessage(), e);
+        }
+    }
+
+    private void expire(Long holdId) {
+        try {
+            roomHoldService.expireHold(holdId);
+        } catch (RuntimeException e) {
+            // El vencimiento es idempotente, así que se reintenta más tarde
+            logger.warn("No se pudo vencer la retención ID {}: {}", holdId, e.getMessage());
+            wheel.schedule(holdId, System.currentTimeMillis() + RETRY_DELAY_MILLIS);
+        }
+    }
+}
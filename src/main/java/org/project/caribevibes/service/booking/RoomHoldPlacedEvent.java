@@ -0,0 +1,17 @@
+package org.project.caribevibes.service.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado al crear una retención temporal de habitaciones, para
+ * programar su vencimiento una vez confirmada la transacción.
+ *
+ * @param holdId ID de la retención
+ * @param expiresAt Momento de vencimiento
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record RoomHoldPlacedEvent(Long holdId, LocalDateTime expiresAt) {
+}
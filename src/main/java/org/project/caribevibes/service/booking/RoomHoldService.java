@@ -0,0 +1,202 @@
+package org.project.caribevibes.service.booking;
+
+import org.project.caribevibes.entity.booking.RoomHold;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.repository.booking.RoomHoldRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.project.caribevibes.service.hotel.RoomInventoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Servicio para las retenciones temporales de habitaciones del proceso de checkout.
+ *
+ * Una retención reserva habitaciones en el ledger de inventario durante unos minutos.
+ * Al convertirla en reserva el inventario pasa directamente a la reserva sin volver
+ * a comprobar disponibilidad; si vence o el cliente la libera, las habitaciones se
+ * devuelven al ledger. Todos los cambios de estado son actualizaciones condicionales,
+ * por lo que una conversión y un vencimiento simultáneos solo tienen efecto una vez.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class RoomHoldService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomHoldService.class);
+
+    @Autowired
+    private RoomHoldRepository roomHoldRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomInventoryService roomInventoryService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.booking.holds.ttl-minutes:10}")
+    private int holdTtlMinutes;
+
+    /**
+     * Crea una retención de habitaciones para un usuario.
+     *
+     * @param userId ID del usuario
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @return Retención creada
+     * @throws IllegalArgumentException si los datos no son válidos o no hay disponibilidad
+     */
+    public RoomHold placeHold(Long userId, Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        logger.info("Creando retención de {} habitaciones del tipo ID: {} para usuario ID: {}",
+                   rooms, roomTypeId, userId);
+
+        RoomType roomType = roomTypeRepository.findById(roomTypeId)
+                .orElseThrow(() -> new IllegalArgumentException("Tipo de habitación no encontrado"));
+        if (!roomType.getIsActive()) {
+            throw new IllegalArgumentException("Tipo de habitación no está activo");
+        }
+        if (!checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("La fecha de check-in no puede ser en el pasado");
+        }
+
+        roomInventoryService.reserve(roomType, checkIn, checkOut, rooms);
+
+        LocalDateTime now = LocalDateTime.now();
+        RoomHold hold = roomHoldRepository.save(RoomHold.builder()
+                .holdToken(UUID.randomUUID().toString())
+                .userId(userId)
+                .roomTypeId(roomTypeId)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .numberOfRooms(rooms)
+                .status(RoomHold.HoldStatus.ACTIVE)
+                .expiresAt(now.plusMinutes(holdTtlMinutes))
+                .createdAt(now)
+                .build());
+
+        eventPublisher.publishEvent(new RoomHoldPlacedEvent(hold.getId(), hold.getExpiresAt()));
+        logger.info("Retención {} creada, vence a las {}", hold.getHoldToken(), hold.getExpiresAt());
+        return hold;
+    }
+
+    /**
+     * Convierte una retención activa en reserva. El inventario ya retenido pasa a la
+     * reserva, por lo que no se vuelve a comprobar disponibilidad.
+     *
+     * @param holdToken Token de la retención
+     * @param userId ID del usuario que reserva
+     * @param roomTypeId ID del tipo de habitación de la reserva
+     * @param checkIn Fecha de check-in de la reserva
+     * @param checkOut Fecha de check-out de la reserva
+     * @param rooms Número de habitaciones de la reserva
+     * @throws IllegalArgumentException si la retención no existe, no coincide o ya no está activa
+     */
+    public void convertHold(String holdToken, Long userId, Long roomTypeId,
+                            LocalDate checkIn, LocalDate checkOut, int rooms) {
+        RoomHold hold = findOwnedHold(holdToken, userId);
+
+        if (!hold.getRoomTypeId().equals(roomTypeId) ||
+            !hold.getCheckInDate().equals(checkIn) ||
+            !hold.getCheckOutDate().equals(checkOut) ||
+            hold.getNumberOfRooms() != rooms) {
+            throw new IllegalArgumentException("La reserva no coincide con la retención de habitaciones");
+        }
+        if (hold.getStatus() != RoomHold.HoldStatus.ACTIVE || hold.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("La retención de habitaciones ha expirado o ya no está activa");
+        }
+
+        int updated = roomHoldRepository.transitionStatus(hold.getId(),
+                RoomHold.HoldStatus.ACTIVE, RoomHold.HoldStatus.CONVERTED);
+        if (updated == 0) {
+            throw new IllegalArgumentException("La retención de habitaciones ha expirado o ya no está activa");
+        }
+        logger.info("Retención {} convertida en reserva", holdToken);
+    }
+
+    /**
+     * Libera una retención activa a petición del cliente.
+     *
+     * @param holdToken Token de la retención
+     * @param userId ID del usuario propietario
+     * @return true si se liberó, false si ya no estaba activa
+     */
+    public boolean releaseHold(String holdToken, Long userId) {
+        RoomHold hold = findOwnedHold(holdToken, userId);
+        boolean released = endHold(hold, RoomHold.HoldStatus.RELEASED);
+        if (released) {
+            logger.info("Retención {} liberada por el usuario ID: {}", holdToken, userId);
+        }
+        return released;
+    }
+
+    /**
+     * Vence una retención si sigue activa, devolviendo sus habitaciones al ledger.
+     *
+     * @param holdId ID de la retención
+     * @return true si se venció, false si ya se había convertido, liberado o vencido
+     */
+    public boolean expireHold(Long holdId) {
+        return roomHoldRepository.findById(holdId)
+                .map(hold -> {
+                    boolean expired = endHold(hold, RoomHold.HoldStatus.EXPIRED);
+                    if (expired) {
+                        logger.info("Retención {} vencida, {} habitaciones liberadas",
+                                   hold.getHoldToken(), hold.getNumberOfRooms());
+                    }
+                    return expired;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Obtiene las retenciones activas, para reprogramar sus vencimientos al arrancar.
+     *
+     * @return Lista de retenciones activas
+     */
+    @Transactional(readOnly = true)
+    public List<RoomHold> findActiveHolds() {
+        return roomHoldRepository.findByStatus(RoomHold.HoldStatus.ACTIVE);
+    }
+
+    /**
+     * Cierra una retención activa con el estado indicado y libera su inventario.
+     */
+    private boolean endHold(RoomHold hold, RoomHold.HoldStatus status) {
+        int updated = roomHoldRepository.transitionStatus(hold.getId(), RoomHold.HoldStatus.ACTIVE, status);
+        if (updated == 0) {
+            return false;
+        }
+        roomInventoryService.release(hold.getRoomTypeId(), hold.getCheckInDate(), hold.getCheckOutDate(),
+                                     hold.getNumberOfRooms());
+        return true;
+    }
+
+    /**
+     * Busca una retención verificando que pertenece al usuario.
+     */
+    private RoomHold findOwnedHold(String holdToken, Long userId) {
+        return roomHoldRepository.findByHoldToken(holdToken)
+                .filter(hold -> hold.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Retención de habitaciones no encontrada"));
+    }
+}
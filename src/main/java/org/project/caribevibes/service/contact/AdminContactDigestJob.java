@@ -0,0 +1,73 @@
+package org.project.caribevibes.service.contact;
+
+import org.project.caribevibes.service.job.JobCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Trabajo periódico que agrupa los nuevos mensajes de contacto en resúmenes para el
+ * administrador en lugar de enviar un email por mensaje.
+ *
+ * Una ventana se cierra al reunir {@code max-contacts} mensajes o cuando su mensaje
+ * más antiguo lleva {@code window-minutes} esperando; cada ventana cerrada se envía
+ * como un único email. Ante un pico de mensajes se cierran seguidas todas las
+ * ventanas completas. Las consultas de tipos críticos no pasan por aquí: se
+ * notifican al crearse.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class AdminContactDigestJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminContactDigestJob.class);
+
+    /**
+     * Nombre del lease del trabajo
+     */
+    static final String JOB_NAME = "admin-contact-digest";
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Value("${app.contact.admin-digest.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.contact.admin-digest.window-minutes:5}")
+    private long windowMinutes;
+
+    @Value("${app.contact.admin-digest.max-contacts:50}")
+    private int maxContacts;
+
+    /**
+     * Cierra las ventanas de resumen que ya están completas.
+     */
+    @Scheduled(fixedDelayString = "${app.contact.admin-digest.check-interval-ms:30000}")
+    public void closeDueWindows() {
+        if (!enabled) {
+            return;
+        }
+        jobCoordinator.runExclusive(JOB_NAME, lease -> {
+            int sent;
+            do {
+                try {
+                    sent = contactService.closeAdminDigestWindow(maxContacts, Duration.ofMinutes(windowMinutes), lease);
+                } catch (RuntimeException e) {
+                    // Los mensajes siguen pendientes y entrarán en la próxima ejecución
+                    logger.error("Error al cerrar la ventana del resumen de contactos: {}", e.getMessage(), e);
+                    break;
+                }
+            } while (sent == maxContacts && !lease.isLost());
+        });
+    }
+}
@@ -1,22 +1,35 @@
 package org.project.caribevibes.service.contact;
 
 import org.project.caribevibes.dto.request.ContactReplyRequestDTO;
+import org.project.caribevibes.dto.response.CursorPageDTO;
 import org.project.caribevibes.entity.contact.Contact;
 import org.project.caribevibes.repository.contact.ContactRepository;
+import org.project.caribevibes.service.email.AdminContactDigestEmailJob;
+import org.project.caribevibes.service.email.AdminNewContactEmailJob;
+import org.project.caribevibes.service.email.AdminNotificationEmailJob;
+import org.project.caribevibes.service.email.ContactReplyEmailJob;
 import org.project.caribevibes.service.email.EmailService;
+import org.project.caribevibes.service.job.BackgroundJobService;
+import org.project.caribevibes.service.job.JobLeaseGrant;
+import org.project.caribevibes.service.job.JobLeaseService;
+import org.project.caribevibes.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
 
 /**
  * Servicio para la gestión de mensajes de contacto.
@@ -41,7 +54,21 @@ public class ContactService {
     private ContactRepository contactRepository;
 
     @Autowired
-    private EmailService emailService;
+    private BackgroundJobService backgroundJobService;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    /**
+     * Longitud máxima del extracto de cada mensaje en el resumen al administrador
+     */
+    private static final int DIGEST_EXCERPT_LENGTH = 200;
+
+    @Value("${app.contact.admin-digest.enabled:true}")
+    private boolean adminDigestEnabled;
+
+    @Value("${app.contact.admin-digest.critical-types:COMPLAINT,CANCELLATION}")
+    private Set<Contact.InquiryType> criticalInquiryTypes;
 
     /**
      * Obtiene todos los mensajes de contacto activos paginados.
@@ -56,6 +83,30 @@ public class ContactService {
         return contactRepository.findAllByActiveTrue(pageable);
     }
 
+    /**
+     * Obtiene los mensajes de contacto activos paginados por cursor sobre
+     * (fecha de creación, ID), del más reciente al más antiguo.
+     * 
+     * @param cursor Token de la página siguiente (null para la primera)
+     * @param size Tamaño de página
+     * @param includeTotal Si se debe incluir el total (cacheado unos segundos)
+     * @return Página de mensajes con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Contact> findActiveContactsByCursor(String cursor, int size, boolean includeTotal) {
+        CursorPageDTO.validateSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        logger.debug("Obteniendo mensajes de contacto por cursor - posición: {}, tamaño: {}", position, size);
+
+        List<Contact> rows = position == null
+                ? contactRepository.findByActiveTrueOrderByCreatedAtDescIdDesc(Limit.of(size + 1))
+                : contactRepository.findActiveBefore(position.timestamp(), position.id(), Limit.of(size + 1));
+        Long total = includeTotal ? contactRepository.countActiveForListing() : null;
+
+        return CursorPageDTO.of(rows, size, contact -> new KeysetCursor(contact.getCreatedAt(), contact.getId()), total);
+    }
+
     /**
      * Obtiene los mensajes de contacto por estado.
      * 
@@ -137,11 +188,25 @@ public class ContactService {
                    contact.getEmail(), contact.getSubject());
 
         // Establecer valores por defecto
-        contact.setCreatedAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        contact.setCreatedAt(now);
         contact.setStatus(Contact.ContactStatus.NEW);
         contact.setActive(true);
+        if (contact.getInquiryType() == null) {
+            contact.setInquiryType(Contact.InquiryType.GENERAL);
+        }
+
+        // Las consultas críticas se notifican al momento; el resto espera al resumen
+        boolean notifyNow = !adminDigestEnabled || criticalInquiryTypes.contains(contact.getInquiryType());
+        contact.setAdminNotifiedAt(notifyNow ? now : null);
 
         Contact savedContact = contactRepository.save(contact);
+        if (notifyNow) {
+            backgroundJobService.enqueue(EmailService.JOB_QUEUE, AdminNewContactEmailJob.TYPE,
+                    new AdminNewContactEmailJob.Payload(savedContact.getId(), savedContact.getName(),
+                            savedContact.getEmail(), savedContact.getSubject(), savedContact.getMessage(),
+                            savedContact.getInquiryType().getDisplayName()));
+        }
         logger.info("Mensaje de contacto creado exitosamente con ID: {}", savedContact.getId());
         
         return savedContact;
@@ -374,50 +439,36 @@ public class ContactService {
     }
 
     /**
-     * Responde a un mensaje de contacto enviando un email y marcándolo como respondido.
+     * Responde a un mensaje de contacto: lo marca como respondido y encola, en la misma
+     * transacción, el email de respuesta (y la copia al administrador si se solicita).
+     * Los emails se envían en segundo plano y se reintentan si el servidor SMTP falla.
      * 
      * @param id ID del mensaje de contacto
      * @param replyRequest DTO con la información de la respuesta
-     * @return true si se envió la respuesta exitosamente, false si no existe el contacto
-     * @throws RuntimeException si ocurre un error al enviar el email
+     * @return true si se registró la respuesta, false si no existe el contacto
      */
     public boolean replyToContact(Long id, ContactReplyRequestDTO replyRequest) {
         logger.info("Respondiendo a mensaje de contacto con ID: {}", id);
         
         return contactRepository.findByIdAndActiveTrue(id)
                 .map(contact -> {
-                    try {
-                        // Preparar datos para el email
-                        String adminName = replyRequest.getAdminName() != null && !replyRequest.getAdminName().trim().isEmpty() 
-                                         ? replyRequest.getAdminName() 
-                                         : "Equipo de Caribe Vibes";
-                        
-                        // Enviar email de respuesta y esperar el resultado
-                        CompletableFuture<Boolean> emailResult = emailService.sendContactReply(
-                            contact.getEmail(),
-                            contact.getName(),
-                            contact.getSubject(),
-                            replyRequest.getReplyMessage(),
-                            adminName
-                        );
-                        
-                        // Esperar a que se complete el envío de email (máximo 10 segundos)
-                        Boolean emailSent = emailResult.get(10, java.util.concurrent.TimeUnit.SECONDS);
-                        
-                        if (!emailSent) {
-                            throw new RuntimeException("Error al enviar el email de respuesta");
-                        }
-                        
-                        // Solo marcar como respondido si el email se envió exitosamente
-                        contact.setStatus(Contact.ContactStatus.RESPONDED);
-                        contact.setResponseMessage(replyRequest.getReplyMessage());
-                        contact.setRespondedAt(LocalDateTime.now());
-                        contactRepository.save(contact);
-                        
-                        // Enviar copia al admin si se solicita
-                        if (replyRequest.isSendCopyToAdmin()) {
-                            try {
-                                emailService.sendAdminNotification(
+                    String adminName = replyRequest.getAdminName() != null && !replyRequest.getAdminName().trim().isEmpty() 
+                                     ? replyRequest.getAdminName() 
+                                     : "Equipo de Caribe Vibes";
+                    
+                    contact.setStatus(Contact.ContactStatus.RESPONDED);
+                    contact.setResponseMessage(replyRequest.getReplyMessage());
+                    contact.setRespondedAt(LocalDateTime.now());
+                    contactRepository.save(contact);
+                    
+                    backgroundJobService.enqueue(EmailService.JOB_QUEUE, ContactReplyEmailJob.TYPE,
+                            new ContactReplyEmailJob.Payload(contact.getId(), contact.getEmail(), contact.getName(),
+                                    contact.getSubject(), replyRequest.getReplyMessage(), adminName));
+                    
+                    // Enviar copia al admin si se solicita
+                    if (replyRequest.isSendCopyToAdmin()) {
+                        backgroundJobService.enqueue(EmailService.JOB_QUEUE, AdminNotificationEmailJob.TYPE,
+                                new AdminNotificationEmailJob.Payload(
                                     "Respuesta enviada - Contacto #" + id,
                                     String.format("Se ha enviado una respuesta al contacto:\n\n" +
                                                 "Cliente: %s (%s)\n" +
@@ -427,22 +478,60 @@ public class ContactService {
                                                 "Respondido por: %s",
                                                 contact.getName(), contact.getEmail(),
                                                 contact.getSubject(), contact.getMessage(),
-                                                replyRequest.getReplyMessage(), adminName)
-                                );
-                            } catch (Exception e) {
-                                logger.warn("No se pudo enviar la copia al admin: {}", e.getMessage());
-                                // No fallar la operación principal por esto
-                            }
-                        }
-                        
-                        logger.info("Respuesta enviada exitosamente al contacto: {}", contact.getEmail());
-                        return true;
-                        
-                    } catch (Exception e) {
-                        logger.error("Error al enviar respuesta al contacto con ID {}: {}", id, e.getMessage(), e);
-                        throw new RuntimeException("Error al enviar la respuesta por email: " + e.getMessage(), e);
+                                                replyRequest.getReplyMessage(), adminName)));
                     }
+                    
+                    logger.info("Respuesta registrada y encolada para el contacto: {}", contact.getEmail());
+                    return true;
                 })
                 .orElse(false);
     }
+
+    /**
+     * Cierra la ventana del resumen de nuevos contactos para el administrador si ya
+     * está completa: cuando reúne {@code maxContacts} mensajes pendientes o cuando el
+     * más antiguo lleva esperando {@code window}. Los mensajes de la ventana se marcan
+     * como notificados y su resumen se encola en la misma transacción.
+     * 
+     * @param maxContacts Número máximo de mensajes por resumen
+     * @param window Espera máxima del mensaje más antiguo
+     * @param lease Lease del trabajo que cierra las ventanas
+     * @return Número de mensajes incluidos en el resumen, o 0 si la ventana sigue abierta
+     * @throws ObjectOptimisticLockingFailureException si algún mensaje se notificó mientras tanto
+     */
+    public int closeAdminDigestWindow(int maxContacts, Duration window, JobLeaseGrant lease) {
+        jobLeaseService.assertHeld(lease);
+
+        List<Contact> pending = contactRepository.findPendingAdminNotification(Limit.of(maxContacts));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (pending.size() < maxContacts && pending.get(0).getCreatedAt().isAfter(now.minus(window))) {
+            return 0;
+        }
+
+        List<Long> ids = pending.stream().map(Contact::getId).toList();
+        if (contactRepository.markAdminNotified(ids, now) != ids.size()) {
+            throw new ObjectOptimisticLockingFailureException(Contact.class, ids);
+        }
+        List<AdminContactDigestEmailJob.Entry> entries = pending.stream()
+                .map(contact -> new AdminContactDigestEmailJob.Entry(contact.getId(), contact.getName(),
+                        contact.getEmail(), contact.getSubject(),
+                        contact.getInquiryType() != null ? contact.getInquiryType().getDisplayName() : null,
+                        excerpt(contact.getMessage()), contact.getCreatedAt()))
+                .toList();
+        backgroundJobService.enqueue(EmailService.JOB_QUEUE, AdminContactDigestEmailJob.TYPE,
+                new AdminContactDigestEmailJob.Payload(entries));
+
+        logger.info("Resumen de {} mensajes de contacto encolado para el administrador", ids.size());
+        return ids.size();
+    }
+
+    private static String excerpt(String message) {
+        if (message == null || message.length() <= DIGEST_EXCERPT_LENGTH) {
+            return message;
+        }
+        return message.substring(0, DIGEST_EXCERPT_LENGTH) + "…";
+    }
 }
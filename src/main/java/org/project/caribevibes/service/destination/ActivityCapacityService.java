@@ -0,0 +1,197 @@
+package org.project.caribevibes.service.destination;
+
+import org.project.caribevibes.dto.response.ActivityCapacityDTO;
+import org.project.caribevibes.entity.destination.Activity;
+import org.project.caribevibes.entity.destination.ActivitySlot;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.repository.destination.ActivityRepository;
+import org.project.caribevibes.repository.destination.ActivitySlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio para los cupos por fecha de las actividades.
+ *
+ * Mantiene una fila por actividad y fecha con la capacidad y los participantes
+ * reservados. Reservar o liberar participantes es una actualización condicional
+ * de esa fila, y los cupos libres se obtienen leyéndola en lugar de sumar las
+ * actividades de reserva.
+ *
+ * Las filas se crean bajo demanda la primera vez que se reserva una fecha, tomando
+ * como capacidad el valor actual de {@link Activity#getMaxCapacity()}. Si dos
+ * transacciones crean la misma fila a la vez, una falla por la clave única y el
+ * llamador debe reintentarla.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class ActivityCapacityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityCapacityService.class);
+
+    /**
+     * Número máximo de días consultables de una vez
+     */
+    public static final int MAX_RANGE_DAYS = 92;
+
+    @Autowired
+    private ActivitySlotRepository activitySlotRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    /**
+     * Reserva participantes de una actividad para una fecha.
+     *
+     * @param activity Actividad
+     * @param date Fecha de la actividad
+     * @param participants Participantes a reservar
+     * @throws BusinessException si no hay cupo suficiente
+     */
+    public void reserve(Activity activity, LocalDate date, int participants) {
+        if (activitySlotRepository.findByActivityIdAndSlotDate(activity.getId(), date).isEmpty()) {
+            activitySlotRepository.saveAndFlush(ActivitySlot.builder()
+                    .activityId(activity.getId())
+                    .slotDate(date)
+                    .capacity(activity.getMaxCapacity())
+                    .bookedParticipants(0)
+                    .build());
+        }
+
+        if (activitySlotRepository.reserve(activity.getId(), date, participants) != 1) {
+            logger.debug("Cupo rechazado: {} participantes para actividad ID: {} el {}",
+                        participants, activity.getId(), date);
+            throw new BusinessException("No hay cupo suficiente para la actividad " + activity.getName() +
+                                        " el " + date, "ACTIVITY_CAPACITY_EXCEEDED");
+        }
+    }
+
+    /**
+     * Libera participantes de una actividad para una fecha.
+     *
+     * @param activityId ID de la actividad
+     * @param date Fecha de la actividad
+     * @param participants Participantes a liberar
+     */
+    public void release(Long activityId, LocalDate date, int participants) {
+        activitySlotRepository.release(activityId, date, participants);
+    }
+
+    /**
+     * Cambia la capacidad de una actividad para las fechas futuras. Si una reserva
+     * confirmada tras la comprobación previa deja algún día por encima de la nueva
+     * capacidad, se lanza una excepción y la transacción se revierte.
+     *
+     * @param activity Actividad (con la capacidad anterior)
+     * @param maxCapacity Nueva capacidad (null si no hay límite)
+     * @throws BusinessException si la nueva capacidad es menor que lo ya reservado algún día
+     */
+    public void resize(Activity activity, Integer maxCapacity) {
+        LocalDate today = LocalDate.now();
+        if (maxCapacity != null) {
+            Integer maxBooked = activitySlotRepository.findMaxBookedParticipantsFrom(activity.getId(), today);
+            if (maxBooked != null && maxBooked > maxCapacity) {
+                throw new BusinessException(
+                        "No se puede reducir la capacidad a " + maxCapacity +
+                        " participantes: hay fechas con " + maxBooked + " participantes reservados",
+                        "ACTIVITY_CAPACITY_BELOW_BOOKED");
+            }
+        }
+        // El UPDATE no toca los días que una reserva concurrente dejó por encima de la nueva capacidad
+        int updated = activitySlotRepository.updateCapacityFrom(activity.getId(), today, maxCapacity);
+        if (updated != activitySlotRepository.countSlotsFrom(activity.getId(), today)) {
+            throw new BusinessException(
+                    "No se puede reducir la capacidad a " + maxCapacity +
+                    " participantes: hay fechas con más participantes reservados",
+                    "ACTIVITY_CAPACITY_BELOW_BOOKED");
+        }
+        logger.info("Capacidad de la actividad ID: {} ajustada a {} ({} fechas)",
+                   activity.getId(), maxCapacity, updated);
+    }
+
+    /**
+     * Obtiene los cupos libres de una actividad en una fecha con una sola lectura.
+     *
+     * @param activityId ID de la actividad
+     * @param date Fecha de la actividad
+     * @return Cupos libres de ese día
+     * @throws ResourceNotFoundException si la actividad no existe
+     */
+    @Transactional(readOnly = true)
+    public ActivityCapacityDTO getCapacity(Long activityId, LocalDate date) {
+        Activity activity = activityRepository.findById(activityId)
+                .orElseThrow(() -> new ResourceNotFoundException("Actividad", "id", activityId));
+
+        int[] remaining = null;
+        if (activity.getMaxCapacity() != null) {
+            remaining = new int[] {activitySlotRepository.findByActivityIdAndSlotDate(activityId, date)
+                    .map(ActivitySlot::getRemainingSpots)
+                    .orElse(activity.getMaxCapacity())};
+        }
+        return new ActivityCapacityDTO(activity.getId(), activity.getName(), date, date.plusDays(1),
+                                       activity.getMaxCapacity(), remaining);
+    }
+
+    /**
+     * Obtiene los cupos libres de todas las actividades disponibles de un destino en
+     * un rango de fechas, con una consulta para las actividades y otra para los cupos.
+     *
+     * @param destinationId ID del destino
+     * @param from Primera fecha (inclusive)
+     * @param to Última fecha (exclusive)
+     * @return Cupos libres por actividad y día
+     * @throws IllegalArgumentException si el rango no es válido
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityCapacityDTO> getDestinationCapacity(Long destinationId, LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("La fecha 'from' debe ser anterior a la fecha 'to'");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+        if (days > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("El rango no puede superar " + MAX_RANGE_DAYS + " días");
+        }
+
+        List<Activity> activities = activityRepository.findByDestinationIdAndIsAvailableTrue(destinationId);
+        Map<Long, int[]> remainingByActivity = new HashMap<>();
+        for (Activity activity : activities) {
+            if (activity.getMaxCapacity() != null) {
+                int[] remaining = new int[days];
+                Arrays.fill(remaining, activity.getMaxCapacity());
+                remainingByActivity.put(activity.getId(), remaining);
+            }
+        }
+
+        if (!remainingByActivity.isEmpty()) {
+            for (ActivitySlot slot : activitySlotRepository.findSlots(remainingByActivity.keySet(), from, to)) {
+                Integer remaining = slot.getRemainingSpots();
+                if (remaining != null) {
+                    remainingByActivity.get(slot.getActivityId())
+                            [(int) ChronoUnit.DAYS.between(from, slot.getSlotDate())] = remaining;
+                }
+            }
+        }
+
+        List<ActivityCapacityDTO> capacity = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            capacity.add(new ActivityCapacityDTO(activity.getId(), activity.getName(), from, to,
+                                                 activity.getMaxCapacity(), remainingByActivity.get(activity.getId())));
+        }
+        return capacity;
+    }
+}
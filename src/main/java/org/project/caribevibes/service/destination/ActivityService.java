@@ -7,6 +7,7 @@ import org.project.caribevibes.entity.destination.Destination;
 import org.project.caribevibes.repository.destination.ActivityRepository;
 import org.project.caribevibes.repository.destination.DestinationRepository;
 import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.service.pdf.VoucherCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -37,6 +39,12 @@ public class ActivityService {
     @Autowired
     private DestinationRepository destinationRepository;
 
+    @Autowired
+    private ActivityCapacityService activityCapacityService;
+
+    @Autowired
+    private VoucherCache voucherCache;
+
     /**
      * Obtiene todas las actividades (incluyendo inactivas) con paginación para administradores.
      * 
@@ -137,10 +145,14 @@ public class ActivityService {
                         }
                     }
                     
+                    if (!Objects.equals(activity.getMaxCapacity(), updateActivityDTO.getMaxCapacity())) {
+                        activityCapacityService.resize(activity, updateActivityDTO.getMaxCapacity());
+                    }
                     activity.setMaxCapacity(updateActivityDTO.getMaxCapacity());
                     activity.setIsAvailable(updateActivityDTO.getIsAvailable()); // isAvailable en lugar de active
                     
                     Activity savedActivity = activityRepository.save(activity);
+                    voucherCache.evictActivityAfterCommit(id);
                     logger.info("Actividad actualizada exitosamente: {}", savedActivity.getName());
                     
                     return savedActivity;
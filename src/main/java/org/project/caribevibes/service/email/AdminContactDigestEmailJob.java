@@ -0,0 +1,66 @@
+package org.project.caribevibes.service.email;
+
+import org.project.caribevibes.service.job.BackgroundJobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Trabajo en segundo plano que envía al administrador el resumen de los mensajes de
+ * contacto recibidos en una ventana.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class AdminContactDigestEmailJob implements BackgroundJobHandler<AdminContactDigestEmailJob.Payload> {
+
+    /**
+     * Tipo del trabajo
+     */
+    public static final String TYPE = "email.admin-contact-digest";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Payload> payloadType() {
+        return Payload.class;
+    }
+
+    @Override
+    public void handle(Payload payload) throws Exception {
+        emailService.deliverAdminContactDigest(payload.contacts());
+    }
+
+    /**
+     * Datos del envío.
+     *
+     * @param contacts Mensajes de la ventana, del más antiguo al más reciente
+     */
+    public record Payload(List<Entry> contacts) {
+    }
+
+    /**
+     * Mensaje de contacto dentro del resumen.
+     *
+     * @param contactId ID del mensaje de contacto
+     * @param contactName Nombre del contacto
+     * @param contactEmail Email del contacto
+     * @param subject Asunto del mensaje
+     * @param inquiryType Tipo de consulta (nombre visible)
+     * @param excerpt Comienzo del mensaje
+     * @param createdAt Fecha de recepción
+     */
+    public record Entry(Long contactId, String contactName, String contactEmail, String subject,
+                        String inquiryType, String excerpt, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.project.caribevibes.service.email;
+
+import org.project.caribevibes.service.job.BackgroundJobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trabajo en segundo plano que avisa al administrador de un nuevo mensaje de
+ * contacto sin esperar al resumen (consultas críticas o resumen desactivado).
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class AdminNewContactEmailJob implements BackgroundJobHandler<AdminNewContactEmailJob.Payload> {
+
+    /**
+     * Tipo del trabajo
+     */
+    public static final String TYPE = "email.admin-new-contact";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Payload> payloadType() {
+        return Payload.class;
+    }
+
+    @Override
+    public void handle(Payload payload) throws Exception {
+        emailService.deliverAdminNewContact(payload.contactName(), payload.contactEmail(), payload.subject(),
+                payload.message(), payload.contactId(), payload.inquiryType());
+    }
+
+    /**
+     * Datos del envío.
+     *
+     * @param contactId ID del mensaje de contacto
+     * @param contactName Nombre del contacto
+     * @param contactEmail Email del contacto
+     * @param subject Asunto del mensaje
+     * @param message Contenido del mensaje
+     * @param inquiryType Tipo de consulta (nombre visible)
+     */
+    public record Payload(Long contactId, String contactName, String contactEmail,
+                          String subject, String message, String inquiryType) {
+    }
+}
@@ -0,0 +1,48 @@
+package org.project.caribevibes.service.email;
+
+import org.project.caribevibes.service.job.BackgroundJobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trabajo en segundo plano que envía una notificación de texto al administrador.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class AdminNotificationEmailJob implements BackgroundJobHandler<AdminNotificationEmailJob.Payload> {
+
+    /**
+     * Tipo del trabajo
+     */
+    public static final String TYPE = "email.admin-notification";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Payload> payloadType() {
+        return Payload.class;
+    }
+
+    @Override
+    public void handle(Payload payload) {
+        emailService.deliverAdminNotification(payload.subject(), payload.message());
+    }
+
+    /**
+     * Datos del envío.
+     *
+     * @param subject Asunto del email
+     * @param message Contenido del mensaje
+     */
+    public record Payload(String subject, String message) {
+    }
+}
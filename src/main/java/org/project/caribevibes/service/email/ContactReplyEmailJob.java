@@ -0,0 +1,55 @@
+package org.project.caribevibes.service.email;
+
+import org.project.caribevibes.service.job.BackgroundJobHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trabajo en segundo plano que envía la respuesta de un administrador a un
+ * mensaje de contacto.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class ContactReplyEmailJob implements BackgroundJobHandler<ContactReplyEmailJob.Payload> {
+
+    /**
+     * Tipo del trabajo
+     */
+    public static final String TYPE = "email.contact-reply";
+
+    @Autowired
+    private EmailService emailService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Payload> payloadType() {
+        return Payload.class;
+    }
+
+    @Override
+    public void handle(Payload payload) throws Exception {
+        emailService.deliverContactReply(payload.contactEmail(), payload.contactName(),
+                payload.originalSubject(), payload.replyMessage(), payload.adminName());
+    }
+
+    /**
+     * Datos del envío.
+     *
+     * @param contactId ID del mensaje de contacto
+     * @param contactEmail Email del contacto
+     * @param contactName Nombre del contacto
+     * @param originalSubject Asunto original del contacto
+     * @param replyMessage Mensaje de respuesta
+     * @param adminName Nombre del administrador que responde
+     */
+    public record Payload(Long contactId, String contactEmail, String contactName,
+                          String originalSubject, String replyMessage, String adminName) {
+    }
+}
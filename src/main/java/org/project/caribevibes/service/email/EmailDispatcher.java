@@ -0,0 +1,352 @@
+package org.project.caribevibes.service.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.project.caribevibes.util.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canal de envío de emails con cola acotada y conexiones SMTP reutilizadas.
+ *
+ * Los hilos de petición solo encolan el mensaje y reciben un {@link CompletableFuture}.
+ * Un grupo dedicado de hilos de envío toma los mensajes por lotes y los envía por una
+ * conexión SMTP ({@link Transport}) por hilo, que se mantiene abierta entre lotes y se
+ * cierra tras un periodo sin envíos. Los fallos de conexión se reintentan con espera
+ * exponencial; tras varios fallos consecutivos el {@link CircuitBreaker} se abre y los
+ * mensajes se rechazan de inmediato hasta que una llamada de prueba confirme que el
+ * servidor volvió. Los rechazos de destinatarios no se reintentan ni cuentan como caída.
+ *
+ * La cola vive en memoria: los envíos que deban sobrevivir a un reinicio se encolan
+ * como trabajos en segundo plano, que esperan el resultado de {@link #send(MimeMessage)}.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final long POLL_MILLIS = 1000;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.email.dispatch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.email.dispatch.senders:2}")
+    private int senders;
+
+    @Value("${app.email.dispatch.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.email.dispatch.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.email.dispatch.retry-base-ms:500}")
+    private long retryBaseMillis;
+
+    @Value("${app.email.dispatch.idle-close-seconds:30}")
+    private long idleCloseSeconds;
+
+    @Value("${app.email.dispatch.send-timeout-seconds:60}")
+    private long sendTimeoutSeconds;
+
+    @Value("${app.email.dispatch.breaker-failures:5}")
+    private int breakerFailures;
+
+    @Value("${app.email.dispatch.breaker-open-seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Value("${app.email.dispatch.drain-seconds:20}")
+    private long drainSeconds;
+
+    private BlockingQueue<OutboundEmail> queue;
+
+    private ExecutorService senderPool;
+
+    private CircuitBreaker breaker;
+
+    private Counter sentCounter;
+
+    private Counter failedCounter;
+
+    private final AtomicLong connectionsOpened = new AtomicLong();
+
+    private volatile boolean running;
+
+    /**
+     * Crea la cola y arranca los hilos de envío.
+     */
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        breaker = new CircuitBreaker(breakerFailures, TimeUnit.SECONDS.toMillis(breakerOpenSeconds));
+
+        sentCounter = Counter.builder("caribe_dreams.email.sent")
+                .description("Emails entregados al servidor SMTP")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("caribe_dreams.email.sent")
+                .description("Emails entregados al servidor SMTP")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        Gauge.builder("caribe_dreams.email.queue.size", queue, BlockingQueue::size)
+                .description("Emails pendientes de envío en la cola en memoria")
+                .register(meterRegistry);
+        Gauge.builder("caribe_dreams.email.circuit.open", breaker, b -> b.isOpen() ? 1 : 0)
+                .description("1 si el circuito del servidor SMTP está abierto")
+                .register(meterRegistry);
+
+        running = true;
+        AtomicInteger sequence = new AtomicInteger();
+        senderPool = Executors.newFixedThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "email-sender-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < senders; i++) {
+            senderPool.execute(this::runSender);
+        }
+    }
+
+    /**
+     * Encola un mensaje para su envío sin bloquear al llamante.
+     *
+     * @param message Mensaje a enviar
+     * @return Resultado del envío; falla con {@link MailSendException} si la cola está llena,
+     *         el servidor SMTP no está disponible o se agotan los reintentos
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (!running) {
+            fail(result, new MailSendException("El envío de emails se está deteniendo"));
+        } else if (breaker.isOpen()) {
+            fail(result, new MailSendException("Servidor SMTP no disponible (circuito abierto)"));
+        } else if (!queue.offer(new OutboundEmail(message, result))) {
+            fail(result, new MailSendException("La cola de envío de emails está llena"));
+        }
+        return result;
+    }
+
+    /**
+     * Envía un mensaje por el canal y espera el resultado.
+     *
+     * @param message Mensaje a enviar
+     * @throws MailException si el envío falla o no termina a tiempo
+     */
+    public void send(MimeMessage message) {
+        try {
+            submit(message).get(sendTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MailException mailException) {
+                throw mailException;
+            }
+            throw new MailSendException("Error al enviar email: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new MailSendException("El envío del email no terminó en " + sendTimeoutSeconds + " s");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Envío de email interrumpido");
+        }
+    }
+
+    /**
+     * @return Conexiones SMTP abiertas desde el arranque
+     */
+    public long getConnectionsOpened() {
+        return connectionsOpened.get();
+    }
+
+    /**
+     * @return Estado del circuito del servidor SMTP
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Deja de aceptar mensajes y espera a que se envíen los ya encolados.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        senderPool.shutdown();
+        try {
+            if (!senderPool.awaitTermination(drainSeconds, TimeUnit.SECONDS)) {
+                logger.warn("Quedaron {} emails sin enviar al detener la aplicación", queue.size());
+                senderPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            senderPool.shutdownNow();
+        }
+        OutboundEmail pending;
+        while ((pending = queue.poll()) != null) {
+            fail(pending.result(), new MailSendException("El envío de emails se detuvo"));
+        }
+    }
+
+    /**
+     * Bucle de un hilo de envío: toma lotes de la cola y los envía por su conexión.
+     */
+    private void runSender() {
+        SmtpConnection connection = new SmtpConnection();
+        try {
+            while (running || !queue.isEmpty()) {
+                OutboundEmail first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    connection.closeIfIdle(TimeUnit.SECONDS.toMillis(idleCloseSeconds));
+                    continue;
+                }
+                List<OutboundEmail> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (OutboundEmail email : batch) {
+                    deliver(connection, email);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Envía un mensaje reintentando los fallos de conexión mientras el circuito lo permita.
+     */
+    private void deliver(SmtpConnection connection, OutboundEmail email) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.tryAcquire()) {
+                fail(email.result(), new MailSendException("Servidor SMTP no disponible (circuito abierto)"));
+                return;
+            }
+            try {
+                connection.send(email.message());
+                breaker.recordSuccess();
+                sentCounter.increment();
+                email.result().complete(null);
+                return;
+            } catch (SendFailedException e) {
+                // El servidor respondió: rechazó destinatarios o remitente, no es una caída
+                breaker.recordSuccess();
+                fail(email.result(), new MailSendException("Destinatarios rechazados: " + e.getMessage(), e));
+                return;
+            } catch (MessagingException | RuntimeException e) {
+                connection.close();
+                breaker.recordFailure();
+                if (attempt >= maxAttempts) {
+                    logger.warn("No se pudo enviar el email tras {} intentos: {}", attempt, e.getMessage());
+                    fail(email.result(), e instanceof MailException mailException ? mailException
+                            : new MailSendException("Error al enviar email: " + e.getMessage(), e));
+                    return;
+                }
+                logger.debug("Fallo de conexión SMTP (intento {}), reintentando: {}", attempt, e.getMessage());
+                Thread.sleep(retryBaseMillis << (attempt - 1));
+            }
+        }
+    }
+
+    private void fail(CompletableFuture<Void> result, MailException error) {
+        if (failedCounter != null) {
+            failedCounter.increment();
+        }
+        result.completeExceptionally(error);
+    }
+
+    /**
+     * Conexión SMTP de un hilo de envío, abierta bajo demanda y reutilizada entre mensajes.
+     */
+    private final class SmtpConnection {
+        private Transport transport;
+        private long lastUsedMillis;
+
+        void send(MimeMessage message) throws MessagingException {
+            if (!(mailSender instanceof JavaMailSenderImpl impl)) {
+                // Sin acceso a la sesión: el JavaMailSender abre una conexión por envío
+                mailSender.send(message);
+                return;
+            }
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+
+            if (transport != null && transport.isConnected()) {
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                    lastUsedMillis = System.currentTimeMillis();
+                    return;
+                } catch (SendFailedException e) {
+                    throw e;
+                } catch (MessagingException e) {
+                    // El servidor pudo cerrar la conexión reutilizada: se repite con una nueva
+                    logger.debug("Conexión SMTP reutilizada no válida, reconectando: {}", e.getMessage());
+                }
+            }
+            close();
+            Transport opened = impl.getSession().getTransport(impl.getProtocol() != null ? impl.getProtocol() : "smtp");
+            opened.connect(impl.getHost(), impl.getPort(), impl.getUsername(), impl.getPassword());
+            transport = opened;
+            connectionsOpened.incrementAndGet();
+
+            transport.sendMessage(message, message.getAllRecipients());
+            lastUsedMillis = System.currentTimeMillis();
+        }
+
+        void closeIfIdle(long idleMillis) {
+            if (transport != null && System.currentTimeMillis() - lastUsedMillis >= idleMillis) {
+                close();
+            }
+        }
+
+        void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    logger.debug("Error al cerrar la conexión SMTP: {}", e.getMessage());
+                }
+                transport = null;
+            }
+        }
+    }
+
+    private record OutboundEmail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+}
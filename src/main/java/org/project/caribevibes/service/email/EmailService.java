@@ -3,22 +3,29 @@ package org.project.caribevibes.service.email;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio para el envío de emails a través de SMTP.
  * 
  * Este servicio maneja el envío de emails usando Maileroo como proveedor SMTP,
- * incluyendo respuestas a contactos, notificaciones y confirmaciones.
+ * incluyendo respuestas a contactos, notificaciones y confirmaciones. Los mensajes
+ * se construyen en el hilo del llamante y se entregan a través del
+ * {@link EmailDispatcher}: los métodos que devuelven {@link CompletableFuture} solo
+ * encolan, y los síncronos esperan el resultado del envío. Los cuerpos HTML salen de
+ * las plantillas precompiladas de {@link EmailTemplateRenderer}.
  * 
  * @author Caribe Vibes Team
  * @version 1.0
@@ -29,8 +36,19 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class EmailService {
 
+    /**
+     * Cola de trabajos en segundo plano de los envíos de email
+     */
+    public static final String JOB_QUEUE = "email";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
     private final JavaMailSender mailSender;
 
+    private final EmailDispatcher emailDispatcher;
+
+    private final EmailTemplateRenderer emailTemplateRenderer;
+
     @Value("${app.email.from}")
     private String fromEmail;
 
@@ -48,25 +66,22 @@ public class EmailService {
      * @param text Contenido del email en texto plano
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendSimpleEmail(String to, String subject, String text) {
         try {
-            log.info("Enviando email simple a: {} con asunto: {}", to, subject);
-            
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            
-            mailSender.send(message);
+            log.info("Encolando email simple a: {} con asunto: {}", to, subject);
             
-            log.info("Email simple enviado exitosamente. Detalles: [Para: {}] [Desde: {}] [Nombre Remitente: {}] [Admin: {}] [Asunto: {}]", 
-                to, fromEmail, fromName, adminEmail, subject);
-            return CompletableFuture.completedFuture(true);
+            return emailDispatcher.submit(buildTextMessage(to, subject, text)).handle((sent, error) -> {
+                if (error != null) {
+                    log.error("Error al enviar email simple a: {} - Error: {}", to, error.getMessage());
+                    return false;
+                }
+                log.info("Email simple enviado exitosamente. Detalles: [Para: {}] [Desde: {}] [Nombre Remitente: {}] [Admin: {}] [Asunto: {}]", 
+                    to, fromEmail, fromName, adminEmail, subject);
+                return true;
+            });
             
         } catch (Exception e) {
-            log.error("Error al enviar email simple a: {} - Error: {}", to, e.getMessage(), e);
+            log.error("Error al preparar email simple a: {} - Error: {}", to, e.getMessage(), e);
             return CompletableFuture.completedFuture(false);
         }
     }
@@ -79,26 +94,21 @@ public class EmailService {
      * @param htmlContent Contenido del email en HTML
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendHtmlEmail(String to, String subject, String htmlContent) {
         try {
-            log.info("Enviando email HTML a: {} con asunto: {}", to, subject);
-            
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            
-            helper.setFrom(fromEmail, fromName);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
+            log.info("Encolando email HTML a: {} con asunto: {}", to, subject);
             
-            mailSender.send(message);
-            
-            log.info("Email HTML enviado exitosamente a: {}", to);
-            return CompletableFuture.completedFuture(true);
+            return emailDispatcher.submit(buildHtmlMessage(to, subject, htmlContent)).handle((sent, error) -> {
+                if (error != null) {
+                    log.error("Error al enviar email HTML a: {} - Error: {}", to, error.getMessage());
+                    return false;
+                }
+                log.info("Email HTML enviado exitosamente a: {}", to);
+                return true;
+            });
             
         } catch (MessagingException | UnsupportedEncodingException e) {
-            log.error("Error al enviar email HTML a: {} - Error: {}", to, e.getMessage(), e);
+            log.error("Error al preparar email HTML a: {} - Error: {}", to, e.getMessage(), e);
             return CompletableFuture.completedFuture(false);
         }
     }
@@ -113,7 +123,6 @@ public class EmailService {
      * @param adminName Nombre del administrador que responde
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendContactReply(
             String contactEmail, 
             String contactName, 
@@ -143,7 +152,6 @@ public class EmailService {
      * @param subject Asunto del mensaje original
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendContactConfirmation(
             String contactEmail, 
             String contactName, 
@@ -173,7 +181,6 @@ public class EmailService {
      * @param contactId ID del contacto en la base de datos
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> notifyAdminNewContact(
             String contactName,
             String contactEmail,
@@ -185,7 +192,7 @@ public class EmailService {
             log.info("Notificando al admin sobre nuevo contacto de: {}", contactEmail);
             
             String adminSubject = "🔔 Nuevo mensaje de contacto: " + subject;
-            String htmlContent = buildAdminNotificationHtml(contactName, contactEmail, subject, message, contactId);
+            String htmlContent = buildAdminNotificationHtml(contactName, contactEmail, subject, message, contactId, null);
             
             return sendHtmlEmail(adminEmail, adminSubject, htmlContent);
             
@@ -195,177 +202,182 @@ public class EmailService {
         }
     }
 
+    /**
+     * Envía la respuesta a un contacto de forma síncrona, propagando los errores para
+     * que la cola de trabajos en segundo plano reintente el envío.
+     * 
+     * @param contactEmail Email del contacto original
+     * @param contactName Nombre del contacto
+     * @param originalSubject Asunto original del contacto
+     * @param replyMessage Mensaje de respuesta del administrador
+     * @param adminName Nombre del administrador que responde
+     * @throws MessagingException si el mensaje no puede construirse
+     * @throws UnsupportedEncodingException si el nombre del remitente no es válido
+     * @throws org.springframework.mail.MailException si el servidor SMTP rechaza el envío
+     */
+    public void deliverContactReply(
+            String contactEmail, 
+            String contactName, 
+            String originalSubject, 
+            String replyMessage,
+            String adminName) throws MessagingException, UnsupportedEncodingException {
+        
+        log.info("Respondiendo a contacto: {} sobre: {}", contactEmail, originalSubject);
+        
+        String subject = "Re: " + originalSubject + " - Respuesta de Caribe Vibes";
+        deliverHtmlEmail(contactEmail, subject,
+                         buildContactReplyHtml(contactName, replyMessage, adminName, originalSubject));
+    }
+
+    /**
+     * Avisa al administrador de un nuevo mensaje de contacto de forma síncrona,
+     * propagando los errores para que la cola de trabajos reintente el envío.
+     * 
+     * @param contactName Nombre del contacto
+     * @param contactEmail Email del contacto
+     * @param subject Asunto del mensaje
+     * @param message Contenido del mensaje
+     * @param contactId ID del contacto en la base de datos
+     * @param inquiryType Tipo de consulta (nombre visible, puede ser null)
+     * @throws MessagingException si el mensaje no puede construirse
+     * @throws UnsupportedEncodingException si el nombre del remitente no es válido
+     * @throws org.springframework.mail.MailException si el servidor SMTP rechaza el envío
+     */
+    public void deliverAdminNewContact(
+            String contactName,
+            String contactEmail,
+            String subject,
+            String message,
+            Long contactId,
+            String inquiryType) throws MessagingException, UnsupportedEncodingException {
+        
+        log.info("Notificando al admin sobre nuevo contacto de: {}", contactEmail);
+        
+        deliverHtmlEmail(adminEmail, "🔔 Nuevo mensaje de contacto: " + subject,
+                         buildAdminNotificationHtml(contactName, contactEmail, subject, message, contactId, inquiryType));
+    }
+
+    /**
+     * Envía al administrador el resumen de los mensajes de contacto de una ventana de
+     * forma síncrona, propagando los errores para que la cola de trabajos reintente el envío.
+     * 
+     * @param contacts Mensajes del resumen, del más antiguo al más reciente
+     * @throws MessagingException si el mensaje no puede construirse
+     * @throws UnsupportedEncodingException si el nombre del remitente no es válido
+     * @throws org.springframework.mail.MailException si el servidor SMTP rechaza el envío
+     */
+    public void deliverAdminContactDigest(List<AdminContactDigestEmailJob.Entry> contacts)
+            throws MessagingException, UnsupportedEncodingException {
+        if (contacts == null || contacts.isEmpty()) {
+            return;
+        }
+        log.info("Enviando al admin el resumen de {} mensajes de contacto", contacts.size());
+        
+        String subject = "🔔 Resumen: " + contacts.size() + " nuevos mensajes de contacto";
+        deliverHtmlEmail(adminEmail, subject, buildAdminContactDigestHtml(contacts));
+    }
+
+    /**
+     * Envía una notificación simple al administrador de forma síncrona.
+     * 
+     * @param subject Asunto del email
+     * @param message Contenido del mensaje
+     * @throws RuntimeException si hay error al enviar el email
+     */
+    public void deliverAdminNotification(String subject, String message) {
+        sendEmail(adminEmail, subject, message);
+    }
+
+    /**
+     * Construye y envía un email HTML esperando el resultado, propagando los errores.
+     */
+    private void deliverHtmlEmail(String to, String subject, String htmlContent)
+            throws MessagingException, UnsupportedEncodingException {
+        emailDispatcher.send(buildHtmlMessage(to, subject, htmlContent));
+    }
+
+    /**
+     * Construye un mensaje HTML con el remitente configurado.
+     */
+    private MimeMessage buildHtmlMessage(String to, String subject, String htmlContent)
+            throws MessagingException, UnsupportedEncodingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        
+        helper.setFrom(fromEmail, fromName);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlContent, true);
+        return message;
+    }
+
+    /**
+     * Construye un mensaje de texto plano con el remitente configurado.
+     */
+    private MimeMessage buildTextMessage(String to, String subject, String text) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        
+        helper.setFrom(fromEmail);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(text);
+        return message;
+    }
+
     /**
      * Construye el contenido HTML para respuesta a contacto.
      */
     private String buildContactReplyHtml(String contactName, String replyMessage, String adminName, String originalSubject) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>Respuesta - Caribe Vibes</title>
-                <style>
-                    .email-container { max-width: 600px; margin: 0 auto; font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; }
-                    .header { background: linear-gradient(135deg, #0077be, #4fb3d9); color: white; padding: 30px; text-align: center; }
-                    .logo { font-size: 28px; font-weight: bold; margin-bottom: 10px; }
-                    .content { padding: 30px; background: #fff; }
-                    .message-box { background: #f8f9fa; border-left: 4px solid #0077be; padding: 20px; margin: 20px 0; }
-                    .footer { background: #f8f9fa; padding: 20px; text-align: center; color: #666; }
-                    .btn { display: inline-block; background: #ff6b35; color: white; padding: 12px 24px; text-decoration: none; border-radius: 6px; }
-                </style>
-            </head>
-            <body>
-                <div class="email-container">
-                    <div class="header">
-                        <div class="logo">🏝️ Caribe Vibes</div>
-                        <p>Tu Puerta al Paraíso Caribeño</p>
-                    </div>
-                    
-                    <div class="content">
-                        <h2>Hola %s,</h2>
-                        
-                        <p>Gracias por contactarnos. Hemos revisado tu consulta sobre "<strong>%s</strong>" y queremos responderte:</p>
-                        
-                        <div class="message-box">
-                            <h3>📧 Respuesta de nuestro equipo:</h3>
-                            <p>%s</p>
-                        </div>
-                        
-                        <p>Esperamos que esta información te sea útil. Si tienes más preguntas, no dudes en contactarnos nuevamente.</p>
-                        
-                        <div style="text-align: center; margin: 30px 0;">
-                            <a href="https://caribevibes.com/contact" class="btn">Contactar Nuevamente</a>
-                        </div>
-                        
-                        <p><strong>Atentamente,</strong><br>
-                        %s<br>
-                        <em>Equipo de Soporte - Caribe Vibes</em></p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>🌴 <strong>Caribe Vibes</strong> - Creando experiencias inolvidables en el Caribe</p>
-                        <p>📧 soporte@caribevibes.com | 📞 +57 (301) 234-5678 | 🌐 www.caribevibes.com</p>
-                        <p><small>Este es un email automático, por favor no responder directamente.</small></p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, contactName, originalSubject, replyMessage.replace("\n", "<br>"), adminName);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contactName", contactName);
+        variables.put("originalSubject", originalSubject);
+        variables.put("replyLines", EmailTemplateRenderer.lines(replyMessage));
+        variables.put("adminName", adminName);
+        return emailTemplateRenderer.render(EmailTemplateRenderer.CONTACT_REPLY, variables);
     }
 
     /**
      * Construye el contenido HTML para confirmación de contacto.
      */
     private String buildContactConfirmationHtml(String contactName, String subject) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <meta name="viewport" content="width=device-width, initial-scale=1.0">
-                <title>Mensaje Recibido - Caribe Vibes</title>
-                <style>
-                    .email-container { max-width: 600px; margin: 0 auto; font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; }
-                    .header { background: linear-gradient(135deg, #0077be, #4fb3d9); color: white; padding: 30px; text-align: center; }
-                    .logo { font-size: 28px; font-weight: bold; margin-bottom: 10px; }
-                    .content { padding: 30px; background: #fff; }
-                    .info-box { background: #e3f2fd; border-radius: 8px; padding: 20px; margin: 20px 0; }
-                    .footer { background: #f8f9fa; padding: 20px; text-align: center; color: #666; }
-                </style>
-            </head>
-            <body>
-                <div class="email-container">
-                    <div class="header">
-                        <div class="logo">🏝️ Caribe Vibes</div>
-                        <p>Tu Puerta al Paraíso Caribeño</p>
-                    </div>
-                    
-                    <div class="content">
-                        <h2>¡Hola %s!</h2>
-                        
-                        <p>✅ <strong>Hemos recibido tu mensaje exitosamente.</strong></p>
-                        
-                        <div class="info-box">
-                            <h3>📝 Detalles de tu consulta:</h3>
-                            <p><strong>Asunto:</strong> %s</p>
-                            <p><strong>Fecha:</strong> %s</p>
-                        </div>
-                        
-                        <p>Nuestro equipo de expertos en el Caribe revisará tu consulta y te responderemos en un <strong>plazo máximo de 24 horas</strong>.</p>
-                        
-                        <p>Mientras tanto, te invitamos a explorar nuestros increíbles destinos y experiencias en nuestra página web.</p>
-                        
-                        <p><strong>¡Gracias por elegir Caribe Vibes!</strong><br>
-                        <em>Equipo de Atención al Cliente</em></p>
-                    </div>
-                    
-                    <div class="footer">
-                        <p>🌴 <strong>Caribe Vibes</strong> - Creando experiencias inolvidables en el Caribe</p>
-                        <p>📧 soporte@caribevibes.com | 📞 +57 (301) 234-5678 | 🌐 www.caribevibes.com</p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, contactName, subject, java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contactName", contactName);
+        variables.put("subject", subject);
+        variables.put("receivedAt", LocalDateTime.now().format(DATE_FORMAT));
+        return emailTemplateRenderer.render(EmailTemplateRenderer.CONTACT_CONFIRMATION, variables);
     }
 
     /**
      * Construye el contenido HTML para notificación a admin.
      */
-    private String buildAdminNotificationHtml(String contactName, String contactEmail, String subject, String message, Long contactId) {
-        return String.format("""
-            <!DOCTYPE html>
-            <html>
-            <head>
-                <meta charset="UTF-8">
-                <title>Nuevo Contacto - Admin Panel</title>
-                <style>
-                    .email-container { max-width: 600px; margin: 0 auto; font-family: Arial, sans-serif; }
-                    .header { background: #dc3545; color: white; padding: 20px; text-align: center; }
-                    .content { padding: 20px; background: #fff; }
-                    .contact-info { background: #f8f9fa; border: 1px solid #dee2e6; border-radius: 6px; padding: 15px; margin: 15px 0; }
-                    .message-content { background: #fff3cd; border: 1px solid #ffeaa7; border-radius: 6px; padding: 15px; margin: 15px 0; }
-                    .action-btn { display: inline-block; background: #007bff; color: white; padding: 10px 20px; text-decoration: none; border-radius: 4px; margin: 10px 5px; }
-                </style>
-            </head>
-            <body>
-                <div class="email-container">
-                    <div class="header">
-                        <h2>🔔 Nuevo Mensaje de Contacto</h2>
-                        <p>Panel de Administración - Caribe Vibes</p>
-                    </div>
-                    
-                    <div class="content">
-                        <h3>📋 Información del Contacto:</h3>
-                        
-                        <div class="contact-info">
-                            <p><strong>👤 Nombre:</strong> %s</p>
-                            <p><strong>📧 Email:</strong> %s</p>
-                            <p><strong>📝 Asunto:</strong> %s</p>
-                            <p><strong>🆔 ID Contacto:</strong> #%d</p>
-                            <p><strong>📅 Fecha:</strong> %s</p>
-                        </div>
-                        
-                        <h3>💬 Mensaje:</h3>
-                        <div class="message-content">
-                            <p>%s</p>
-                        </div>
-                        
-                        <div style="text-align: center; margin: 20px 0;">
-                            <a href="http://localhost:4200/admin/contacts?id=%d" class="action-btn">📧 Responder Ahora</a>
-                            <a href="http://localhost:4200/admin/contacts" class="action-btn">📋 Ver Todos los Contactos</a>
-                        </div>
-                        
-                        <p><small><em>Este es un email de notificación automática del sistema.</em></small></p>
-                    </div>
-                </div>
-            </body>
-            </html>
-            """, contactName, contactEmail, subject, contactId, 
-            java.time.LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
-            message.replace("\n", "<br>"), contactId);
+    private String buildAdminNotificationHtml(String contactName, String contactEmail, String subject, String message,
+                                              Long contactId, String inquiryType) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contactName", contactName);
+        variables.put("contactEmail", contactEmail);
+        variables.put("subject", subject);
+        variables.put("contactId", contactId);
+        variables.put("receivedAt", LocalDateTime.now().format(DATE_FORMAT));
+        variables.put("messageLines", EmailTemplateRenderer.lines(message));
+        variables.put("inquiryType", inquiryType);
+        return emailTemplateRenderer.render(EmailTemplateRenderer.ADMIN_NOTIFICATION, variables);
+    }
+
+    /**
+     * Construye el contenido HTML del resumen de contactos para el admin.
+     */
+    private String buildAdminContactDigestHtml(List<AdminContactDigestEmailJob.Entry> contacts) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contacts", contacts);
+        variables.put("count", contacts.size());
+        variables.put("firstReceivedAt", formatDate(contacts.get(0).createdAt()));
+        variables.put("lastReceivedAt", formatDate(contacts.get(contacts.size() - 1).createdAt()));
+        return emailTemplateRenderer.render(EmailTemplateRenderer.ADMIN_CONTACT_DIGEST, variables);
+    }
+
+    private static String formatDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_FORMAT) : "";
     }
 
     /**
@@ -375,7 +387,6 @@ public class EmailService {
      * @param message Contenido del mensaje
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendAdminNotification(String subject, String message) {
         try {
             log.info("Enviando notificación al admin: {}", subject);
@@ -431,7 +442,6 @@ public class EmailService {
      * @param testEmail Email de destino para la prueba
      * @return CompletableFuture<Boolean> true si se envió exitosamente
      */
-    @Async
     public CompletableFuture<Boolean> sendTestEmailAsync(String testEmail) {
         try {
             log.info("Enviando email de prueba asíncrono a: {}", testEmail);
@@ -452,7 +462,7 @@ public class EmailService {
                 Sistema Caribe Vibes
                 """;
             
-            // Usar directamente sendSimpleEmail (que ya es asíncrono)
+            // Usar directamente sendSimpleEmail (que solo encola el envío)
             return sendSimpleEmail(testEmail, subject, content);
             
         } catch (Exception e) {
@@ -473,13 +483,7 @@ public class EmailService {
         try {
             log.info("Enviando email síncrono a: {} con asunto: {}", to, subject);
             
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            
-            mailSender.send(message);
+            emailDispatcher.send(buildTextMessage(to, subject, text));
             
             log.info("Email síncrono enviado exitosamente a: {}", to);
             
@@ -0,0 +1,196 @@
+package org.project.caribevibes.service.email;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renderizador de las plantillas HTML de los emails.
+ *
+ * Las plantillas viven en {@code templates/email/} y comparten el fragmento de
+ * diseño {@code layout.html}. Usa un motor Thymeleaf propio con la caché de plantillas
+ * sin caducidad y las expresiones SpEL compiladas: cada plantilla se analiza una sola
+ * vez (al arrancar) y los envíos solo recorren el árbol ya analizado. Los valores se
+ * escapan siempre como HTML.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+@Slf4j
+public class EmailTemplateRenderer {
+
+    /**
+     * Respuesta de un administrador a un contacto
+     */
+    public static final String CONTACT_REPLY = "contact-reply";
+
+    /**
+     * Confirmación de recepción de un contacto
+     */
+    public static final String CONTACT_CONFIRMATION = "contact-confirmation";
+
+    /**
+     * Aviso al administrador de un nuevo contacto
+     */
+    public static final String ADMIN_NOTIFICATION = "admin-notification";
+
+    /**
+     * Resumen de los nuevos contactos de una ventana para el administrador
+     */
+    public static final String ADMIN_CONTACT_DIGEST = "admin-contact-digest";
+
+    private static final List<String> TEMPLATES =
+            List.of(CONTACT_REPLY, CONTACT_CONFIRMATION, ADMIN_NOTIFICATION, ADMIN_CONTACT_DIGEST);
+
+    private static final Locale LOCALE = Locale.forLanguageTag("es");
+
+    /**
+     * Capacidad inicial del buffer de cada hilo (los emails rondan los 3-4 KB)
+     */
+    private static final int INITIAL_BUFFER_CAPACITY = 8 * 1024;
+
+    /**
+     * Capacidad a partir de la cual el buffer no se conserva para no retener memoria
+     */
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 64 * 1024;
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final ThreadLocal<StringBuilderWriter> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilderWriter(INITIAL_BUFFER_CAPACITY));
+
+    public EmailTemplateRenderer() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/email/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        templateEngine.setEnableSpringELCompiler(true);
+    }
+
+    /**
+     * Analiza todas las plantillas al arrancar para que el primer envío no pague el
+     * coste y para detectar plantillas rotas antes de que llegue el primer email.
+     */
+    @PostConstruct
+    public void precompile() {
+        for (String template : TEMPLATES) {
+            render(template, Map.of());
+        }
+        log.info("Plantillas de email precompiladas: {}", TEMPLATES);
+    }
+
+    /**
+     * Renderiza una plantilla sobre el buffer reutilizable del hilo actual.
+     *
+     * @param template Nombre de la plantilla (ver constantes)
+     * @param variables Variables de la plantilla
+     * @return HTML renderizado
+     */
+    public String render(String template, Map<String, Object> variables) {
+        StringBuilderWriter buffer = buffers.get();
+        buffer.reset();
+        try {
+            render(template, variables, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                buffers.remove();
+            }
+        }
+    }
+
+    /**
+     * Renderiza una plantilla directamente sobre un {@link Writer}.
+     *
+     * @param template Nombre de la plantilla (ver constantes)
+     * @param variables Variables de la plantilla
+     * @param out Destino del HTML
+     */
+    public void render(String template, Map<String, Object> variables, Writer out) {
+        templateEngine.process(template, new Context(LOCALE, variables), out);
+    }
+
+    /**
+     * Divide un texto en líneas para mostrarlo con saltos de línea en las plantillas
+     * sin desactivar el escape de HTML.
+     *
+     * @param text Texto (puede ser null)
+     * @return Líneas del texto
+     */
+    public static List<String> lines(String text) {
+        return text == null ? List.of() : text.lines().toList();
+    }
+
+    /**
+     * {@link Writer} sobre un {@link StringBuilder} que se vacía entre usos sin liberar
+     * su capacidad. No es seguro para uso concurrente: cada hilo tiene el suyo.
+     */
+    private static final class StringBuilderWriter extends Writer {
+
+        private final StringBuilder builder;
+
+        StringBuilderWriter(int capacity) {
+            this.builder = new StringBuilder(capacity);
+        }
+
+        void reset() {
+            builder.setLength(0);
+        }
+
+        int capacity() {
+            return builder.capacity();
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            builder.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            builder.append(str, off, off + len);
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            builder.append(csq);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.project.caribevibes.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.project.caribevibes.dto.projection.BookingExportView;
+import org.project.caribevibes.dto.projection.ContactExportView;
+import org.project.caribevibes.dto.projection.HotelReviewExportView;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.contact.Contact;
+import org.project.caribevibes.repository.booking.BookingRepository;
+import org.project.caribevibes.repository.contact.ContactRepository;
+import org.project.caribevibes.repository.hotel.HotelReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de exportación de datos para administradores.
+ *
+ * Cada exportación recorre un {@link Stream} de proyecciones planas leído con un
+ * cursor de la base de datos (fetch size) y escribe cada fila en la respuesta en
+ * cuanto llega, así que la memoria usada no depende del número de filas. Las
+ * proyecciones no son entidades, de modo que el contexto de persistencia tampoco crece.
+ *
+ * Los métodos se invocan desde el hilo de la respuesta en streaming, por lo que
+ * abren su propia transacción de solo lectura durante toda la descarga.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional(readOnly = true)
+public class DataExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private HotelReviewRepository reviewRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Exporta las reservas filtradas por fecha de reserva, hotel y estado.
+     *
+     * @param filter Rango de fechas de reserva y hotel
+     * @param status Estado de la reserva (null para todos)
+     * @param format Formato de exportación
+     * @param out Flujo de la respuesta
+     * @return Número de filas exportadas
+     * @throws IOException si falla la escritura
+     */
+    public long exportBookings(ExportFilter filter, Booking.BookingStatus status, ExportFormat format,
+                               OutputStream out) throws IOException {
+        try (Stream<BookingExportView> rows = bookingRepository.streamForExport(
+                filter.from(), filter.to(), filter.hotelId(), status)) {
+            return write("reservas", rows, BookingExportView.class, format, out);
+        }
+    }
+
+    /**
+     * Exporta los mensajes de contacto activos filtrados por fecha de creación y estado.
+     *
+     * @param filter Rango de fechas de creación (el hotel no aplica)
+     * @param status Estado del mensaje (null para todos)
+     * @param format Formato de exportación
+     * @param out Flujo de la respuesta
+     * @return Número de filas exportadas
+     * @throws IOException si falla la escritura
+     */
+    public long exportContacts(ExportFilter filter, Contact.ContactStatus status, ExportFormat format,
+                               OutputStream out) throws IOException {
+        try (Stream<ContactExportView> rows = contactRepository.streamForExport(
+                filter.from(), filter.to(), status)) {
+            return write("mensajes de contacto", rows, ContactExportView.class, format, out);
+        }
+    }
+
+    /**
+     * Exporta las reseñas filtradas por fecha de creación y hotel.
+     *
+     * @param filter Rango de fechas de creación y hotel
+     * @param format Formato de exportación
+     * @param out Flujo de la respuesta
+     * @return Número de filas exportadas
+     * @throws IOException si falla la escritura
+     */
+    public long exportReviews(ExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<HotelReviewExportView> rows = reviewRepository.streamForExport(
+                filter.from(), filter.to(), filter.hotelId())) {
+            return write("reseñas", rows, HotelReviewExportView.class, format, out);
+        }
+    }
+
+    /**
+     * Escribe todas las filas de un flujo en la respuesta.
+     */
+    private <T extends Record> long write(String name, Stream<T> rows, Class<T> type, ExportFormat format,
+                                          OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        ExportWriter<T> writer = new ExportWriter<>(out, format, type, objectMapper);
+        try {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+            }
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Exportación de {} interrumpida tras {} filas: {}", name, writer.getRows(), e.getMessage());
+            throw e;
+        }
+        logger.info("Exportación de {} completada: {} filas en {} ms ({})",
+                   name, writer.getRows(), System.currentTimeMillis() - startedAt, format);
+        return writer.getRows();
+    }
+}
@@ -0,0 +1,54 @@
+package org.project.caribevibes.service.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros comunes de las exportaciones. Los valores nulos no filtran.
+ *
+ * @param from Instante mínimo (inclusive)
+ * @param to Instante máximo (exclusive)
+ * @param hotelId ID del hotel
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record ExportFilter(LocalDateTime from, LocalDateTime to, Long hotelId) {
+
+    /**
+     * Crea un filtro a partir de un rango de días.
+     *
+     * @param from Primer día (inclusive)
+     * @param to Último día (inclusive)
+     * @param hotelId ID del hotel
+     * @return Filtro con el rango convertido a instantes
+     * @throws IllegalArgumentException si el rango está invertido
+     */
+    public static ExportFilter of(LocalDate from, LocalDate to, Long hotelId) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha 'from' no puede ser posterior a la fecha 'to'");
+        }
+        return new ExportFilter(from != null ? from.atStartOfDay() : null,
+                                to != null ? to.plusDays(1).atStartOfDay() : null,
+                                hotelId);
+    }
+
+    /**
+     * Convierte un filtro de estado opcional.
+     *
+     * @param type Enumeración del estado
+     * @param value Valor recibido (null o vacío para no filtrar)
+     * @return Estado, o null si no se indicó
+     * @throws IllegalArgumentException si el estado no existe
+     */
+    public static <E extends Enum<E>> E parseStatus(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado no válido para la exportación: " + value);
+        }
+    }
+}
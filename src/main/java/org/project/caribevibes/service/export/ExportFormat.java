@@ -0,0 +1,53 @@
+package org.project.caribevibes.service.export;
+
+/**
+ * Formatos de exportación de datos.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public enum ExportFormat {
+
+    /**
+     * Valores separados por comas con fila de cabecera
+     */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /**
+     * Un objeto JSON por línea
+     */
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Obtiene el formato a partir del parámetro de la petición.
+     *
+     * @param value Nombre del formato (csv o ndjson, sin distinguir mayúsculas)
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException si el formato no existe
+     */
+    public static ExportFormat fromParam(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+    }
+}
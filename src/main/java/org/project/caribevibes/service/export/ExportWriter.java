@@ -0,0 +1,130 @@
+package org.project.caribevibes.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe filas de exportación (records) en CSV o NDJSON directamente sobre la respuesta.
+ *
+ * Las columnas del CSV son los componentes del record en su orden de declaración.
+ * Solo se mantiene en memoria el búfer de escritura; cada {@value #FLUSH_EVERY} filas
+ * se vacía hacia el cliente para que la descarga avance mientras se lee la base de datos.
+ *
+ * @param <T> Tipo de las filas
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class ExportWriter<T extends Record> implements Flushable {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final RecordComponent[] components;
+    private final ObjectMapper objectMapper;
+    private long rows;
+
+    /**
+     * Crea el escritor y, en CSV, escribe la cabecera.
+     *
+     * @param out Flujo de salida (no se cierra)
+     * @param format Formato de exportación
+     * @param type Tipo de las filas
+     * @param objectMapper Mapper JSON para NDJSON
+     * @throws IOException si falla la escritura
+     */
+    public ExportWriter(OutputStream out, ExportFormat format, Class<T> type, ObjectMapper objectMapper)
+            throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.components = type.getRecordComponents();
+        this.objectMapper = objectMapper;
+
+        if (format == ExportFormat.CSV) {
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(components[i].getName());
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    /**
+     * Escribe una fila.
+     *
+     * @param row Fila a escribir
+     * @throws IOException si falla la escritura (por ejemplo, si el cliente cortó la descarga)
+     */
+    public void write(T row) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } else {
+            for (int i = 0; i < components.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(valueOf(row, components[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        if (++rows % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * @return Número de filas escritas
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Escribe un valor CSV, entre comillas si contiene separadores. Los textos que
+     * empiezan como una fórmula se prefijan con un apóstrofo para que las hojas de
+     * cálculo no los evalúen.
+     */
+    private void writeCsvValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    private Object valueOf(T row, RecordComponent component) {
+        try {
+            return component.getAccessor().invoke(row);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("No se pudo leer la columna " + component.getName(), e);
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package org.project.caribevibes.service.hotel;
 
+import org.project.caribevibes.dto.response.CursorPageDTO;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.hotel.HotelReview;
 import org.project.caribevibes.repository.booking.BookingRepository;
 import org.project.caribevibes.repository.hotel.HotelReviewRepository;
 import org.project.caribevibes.exception.ResourceNotFoundException;
 import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -121,6 +124,33 @@ public class HotelReviewService {
         return reviewRepository.findByHotelIdOrderByCreatedAtDesc(hotelId, pageable);
     }
 
+    /**
+     * Obtiene las reseñas de un hotel paginadas por cursor sobre (fecha de creación, ID),
+     * de la más reciente a la más antigua.
+     * 
+     * @param hotelId ID del hotel
+     * @param cursor Token de la página siguiente (null para la primera)
+     * @param size Tamaño de página
+     * @param includeTotal Si se debe incluir el total (cacheado unos segundos)
+     * @return Página de reseñas con el cursor de la siguiente
+     * @throws IllegalArgumentException si el cursor o el tamaño no son válidos
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<HotelReview> getHotelReviewsByCursor(Long hotelId, String cursor, int size,
+                                                              boolean includeTotal) {
+        CursorPageDTO.validateSize(size);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        logger.debug("Obteniendo reseñas por cursor para hotel ID: {} - posición: {}", hotelId, position);
+
+        List<HotelReview> rows = position == null
+                ? reviewRepository.findByHotelIdFirst(hotelId, Limit.of(size + 1))
+                : reviewRepository.findByHotelIdBefore(hotelId, position.timestamp(), position.id(),
+                                                       Limit.of(size + 1));
+        Long total = includeTotal ? reviewRepository.countByHotelIdForListing(hotelId) : null;
+
+        return CursorPageDTO.of(rows, size, review -> new KeysetCursor(review.getCreatedAt(), review.getId()), total);
+    }
+
     /**
      * Obtiene las reseñas de un usuario.
      * 
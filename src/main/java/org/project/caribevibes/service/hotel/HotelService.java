@@ -4,6 +4,8 @@ import org.project.caribevibes.dto.request.CreateHotelRequestDTO;
 import org.project.caribevibes.dto.request.UpdateHotelRequestDTO;
 import org.project.caribevibes.dto.request.CreateRoomTypeRequestDTO;
 import org.project.caribevibes.dto.request.UpdateRoomTypeRequestDTO;
+import org.project.caribevibes.dto.response.HotelAvailabilityResponseDTO;
+import org.project.caribevibes.dto.response.RoomTypeCalendarDTO;
 import org.project.caribevibes.entity.hotel.Hotel;
 import org.project.caribevibes.entity.hotel.RoomType;
 import org.project.caribevibes.entity.destination.Destination;
@@ -20,11 +22,14 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -53,7 +58,21 @@ public class HotelService {
     private RoomTypeRepository roomTypeRepository;
 
     @Autowired
-    private DestinationRepository destinationRepository;    /**
+    private DestinationRepository destinationRepository;
+
+    @Autowired
+    private RoomInventoryService roomInventoryService;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomTypeCalendarService roomTypeCalendarService;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    /**
      * Obtiene todos los hoteles activos paginados.
      * 
      * @param pageable Configuración de paginación
@@ -174,6 +193,7 @@ public class HotelService {
                     existingHotel.setCancellationPolicy(hotelDetails.getCancellationPolicy());
 
                     Hotel updatedHotel = hotelRepository.save(existingHotel);
+                    roomOccupancyIndex.refreshHotel(updatedHotel);
                     logger.info("Hotel actualizado exitosamente: {}", updatedHotel.getName());
                     return updatedHotel;
                 });
@@ -191,6 +211,7 @@ public class HotelService {
                 .map(hotel -> {
                     hotel.setIsActive(false);
                     hotelRepository.save(hotel);
+                    roomOccupancyIndex.refreshHotel(hotel);
                     logger.info("Hotel desactivado exitosamente: {}", hotel.getName());
                     return true;
                 })
@@ -232,6 +253,9 @@ public class HotelService {
                    roomType.getName(), roomType.getHotel().getId());
         roomType.setIsActive(true);
         RoomType savedRoomType = roomTypeRepository.save(roomType);
+        roomOccupancyIndex.refreshRoomType(savedRoomType);
+        roomRateCalendar.refreshAfterCommit(savedRoomType.getId());
+        roomTypeCalendarService.evictAfterCommit(savedRoomType.getId());
         logger.info("Tipo de habitación creado exitosamente con ID: {}", savedRoomType.getId());
         return savedRoomType;
     }
@@ -253,10 +277,16 @@ public class HotelService {
                     existingRoomType.setRoomSize(roomTypeDetails.getRoomSize());
                     existingRoomType.setPricePerNight(roomTypeDetails.getPricePerNight());
                     existingRoomType.setViewType(roomTypeDetails.getViewType());
-                    existingRoomType.setTotalRooms(roomTypeDetails.getTotalRooms());
-                    existingRoomType.setAvailableRooms(roomTypeDetails.getAvailableRooms());
+                    if (roomTypeDetails.getTotalRooms() != null) {
+                        roomInventoryService.resize(existingRoomType, roomTypeDetails.getTotalRooms());
+                        existingRoomType.setTotalRooms(roomTypeDetails.getTotalRooms());
+                    }
+                    existingRoomType.setAvailableRooms(roomInventoryService.availableTonight(existingRoomType));
                     
                     RoomType updatedRoomType = roomTypeRepository.save(existingRoomType);
+                    roomOccupancyIndex.refreshRoomType(updatedRoomType);
+                    roomRateCalendar.refreshAfterCommit(updatedRoomType.getId());
+                    roomTypeCalendarService.evictAfterCommit(updatedRoomType.getId());
                     logger.info("Tipo de habitación actualizado exitosamente: {}", updatedRoomType.getName());
                     return updatedRoomType;
                 });
@@ -274,6 +304,9 @@ public class HotelService {
                 .map(roomType -> {
                     roomType.setIsActive(false);
                     roomTypeRepository.save(roomType);
+                    roomOccupancyIndex.refreshRoomType(roomType);
+                    roomRateCalendar.refreshAfterCommit(roomType.getId());
+                    roomTypeCalendarService.evictAfterCommit(roomType.getId());
                     logger.info("Tipo de habitación desactivado exitosamente: {}", roomType.getName());
                     return true;
                 })
@@ -406,6 +439,7 @@ public class HotelService {
                     hotel.setIsActive(updateHotelDTO.getActive());
                     
                     Hotel savedHotel = hotelRepository.save(hotel);
+                    roomOccupancyIndex.refreshHotel(savedHotel);
                     logger.info("Hotel actualizado exitosamente: {}", savedHotel.getName());
                     
                     return savedHotel;
@@ -437,6 +471,9 @@ public class HotelService {
         roomType.setIsActive(createRoomTypeDTO.getActive());
         
         RoomType savedRoomType = roomTypeRepository.save(roomType);
+        roomOccupancyIndex.refreshRoomType(savedRoomType);
+        roomRateCalendar.refreshAfterCommit(savedRoomType.getId());
+        roomTypeCalendarService.evictAfterCommit(savedRoomType.getId());
         logger.info("Tipo de habitación creado exitosamente con ID: {}", savedRoomType.getId());
         
         return savedRoomType;
@@ -459,9 +496,18 @@ public class HotelService {
                     roomType.setDescription(updateRoomTypeDTO.getDescription());
                     roomType.setPricePerNight(updateRoomTypeDTO.getPrice());
                     roomType.setCapacity(updateRoomTypeDTO.getCapacity());
-                    roomType.setAvailableRooms(updateRoomTypeDTO.getAvailableRooms());
+                    // Las habitaciones indicadas definen el inventario; la disponibilidad
+                    // real se deriva del ledger por noche
+                    if (updateRoomTypeDTO.getAvailableRooms() != null) {
+                        roomInventoryService.resize(roomType, updateRoomTypeDTO.getAvailableRooms());
+                        roomType.setTotalRooms(updateRoomTypeDTO.getAvailableRooms());
+                    }
+                    roomType.setAvailableRooms(roomInventoryService.availableTonight(roomType));
                     
                     RoomType savedRoomType = roomTypeRepository.save(roomType);
+                    roomOccupancyIndex.refreshRoomType(savedRoomType);
+                    roomRateCalendar.refreshAfterCommit(savedRoomType.getId());
+                    roomTypeCalendarService.evictAfterCommit(savedRoomType.getId());
                     logger.info("Tipo de habitación actualizado exitosamente: {}", savedRoomType.getName());
                     
                     return savedRoomType;
@@ -482,6 +528,9 @@ public class HotelService {
                 .map(roomType -> {
                     roomType.setIsActive(false);
                     roomTypeRepository.save(roomType);
+                    roomOccupancyIndex.refreshRoomType(roomType);
+                    roomRateCalendar.refreshAfterCommit(roomType.getId());
+                    roomTypeCalendarService.evictAfterCommit(roomType.getId());
                     logger.info("Tipo de habitación eliminado exitosamente: {}", roomType.getName());
                     return true;
                 })
@@ -499,4 +548,47 @@ public class HotelService {
         logger.debug("Buscando tipo de habitación con ID: {}", roomTypeId);
         return roomTypeRepository.findByIdAndIsActiveTrue(roomTypeId);
     }
+
+    /**
+     * Obtiene las habitaciones disponibles esta noche según el ledger de inventario.
+     * 
+     * @param roomTypes Tipos de habitación a consultar
+     * @return Mapa ID de tipo de habitación → habitaciones disponibles hoy
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> findAvailableRoomsTonight(List<RoomType> roomTypes) {
+        return roomInventoryService.availableTonight(roomTypes);
+    }
+
+    /**
+     * Busca hoteles de un destino con disponibilidad para toda una estancia.
+     * 
+     * @param destinationId ID del destino
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param guests Número de huéspedes
+     * @param rooms Número de habitaciones
+     * @return Hoteles con tipos de habitación disponibles, ordenados por precio
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // Se resuelve en memoria, sin conexión a BD
+    public List<HotelAvailabilityResponseDTO> searchAvailability(Long destinationId, LocalDate checkIn,
+                                                                 LocalDate checkOut, int guests, int rooms) {
+        logger.debug("Buscando disponibilidad en destino ID: {} del {} al {} para {} huéspedes y {} habitaciones",
+                    destinationId, checkIn, checkOut, guests, rooms);
+        return roomOccupancyIndex.search(destinationId, checkIn, checkOut, guests, rooms);
+    }
+
+    /**
+     * Obtiene el calendario de disponibilidad y precio por noche de un tipo de habitación.
+     * 
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive), o null para hoy
+     * @param to Última noche (exclusive), o null para el final del calendario
+     * @return Calendario del rango solicitado
+     */
+    @Transactional(readOnly = true)
+    public RoomTypeCalendarDTO getRoomTypeCalendar(Long roomTypeId, LocalDate from, LocalDate to) {
+        logger.debug("Obteniendo calendario del tipo de habitación ID: {} del {} al {}", roomTypeId, from, to);
+        return roomTypeCalendarService.getCalendar(roomTypeId, from, to);
+    }
 }
@@ -0,0 +1,26 @@
+package org.project.caribevibes.service.hotel;
+
+import org.project.caribevibes.dto.projection.RoomInventoryNightView;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Evento publicado cuando se reservan o liberan habitaciones en el ledger de inventario.
+ *
+ * Los componentes que mantienen vistas derivadas de la ocupación (índice de búsqueda,
+ * calendarios cacheados) lo escuchan tras la confirmación de la transacción.
+ *
+ * @param roomTypeId ID del tipo de habitación
+ * @param checkIn Primera noche afectada
+ * @param checkOut Fecha de check-out (exclusive)
+ * @param delta Habitaciones reservadas (positivo) o liberadas (negativo)
+ * @param nights Habitaciones reservadas y revisión de cada noche tras el cambio
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record RoomInventoryChangedEvent(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int delta,
+                                        List<RoomInventoryNightView> nights) {
+}
@@ -0,0 +1,253 @@
+package org.project.caribevibes.service.hotel;
+
+import org.project.caribevibes.dto.projection.RoomInventoryNightView;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio para la gestión del ledger de inventario por noche.
+ *
+ * Mantiene una fila por tipo de habitación y noche con el total de habitaciones
+ * y las habitaciones comprometidas. Reservar o liberar una estancia consiste en
+ * una actualización indexada de sus noches, y la disponibilidad se obtiene leyendo
+ * esas mismas filas en lugar de contar reservas solapadas.
+ *
+ * Cada reserva o liberación incrementa la revisión de sus noches y publica un
+ * {@link RoomInventoryChangedEvent} con el estado resultante para que las vistas
+ * derivadas de la ocupación se actualicen tras el commit.
+ *
+ * Las filas se crean bajo demanda la primera vez que una estancia toca una noche,
+ * tomando como total el valor actual de {@link RoomType#getTotalRooms()}.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class RoomInventoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomInventoryService.class);
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Crea las filas de inventario que falten para las noches de una estancia.
+     *
+     * @param roomType Tipo de habitación
+     * @param checkIn Fecha de check-in (primera noche)
+     * @param checkOut Fecha de check-out (exclusive)
+     */
+    public void ensureNights(RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        List<RoomInventory> existing = roomInventoryRepository.findNights(roomType.getId(), checkIn, checkOut);
+        if (existing.size() == nightsBetween(checkIn, checkOut)) {
+            return;
+        }
+
+        Set<LocalDate> existingNights = new HashSet<>();
+        existing.forEach(night -> existingNights.add(night.getStayDate()));
+
+        int totalRooms = roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0;
+        List<RoomInventory> missing = new ArrayList<>();
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            if (!existingNights.contains(night)) {
+                missing.add(RoomInventory.builder()
+                        .roomTypeId(roomType.getId())
+                        .stayDate(night)
+                        .totalRooms(totalRooms)
+                        .bookedRooms(0)
+                        .build());
+            }
+        }
+
+        roomInventoryRepository.saveAllAndFlush(missing);
+        logger.debug("Creadas {} noches de inventario para tipo de habitación ID: {}",
+                    missing.size(), roomType.getId());
+    }
+
+    /**
+     * Reserva habitaciones para todas las noches de una estancia.
+     *
+     * La reserva se aplica con una única actualización condicional; si alguna
+     * noche no tiene cupo suficiente se lanza una excepción y la transacción
+     * del llamador se revierte completa.
+     *
+     * @param roomType Tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @throws IllegalArgumentException si no hay disponibilidad para toda la estancia
+     */
+    public void reserve(RoomType roomType, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        logger.debug("Reservando {} habitaciones del tipo ID: {} del {} al {}",
+                    rooms, roomType.getId(), checkIn, checkOut);
+
+        ensureNights(roomType, checkIn, checkOut);
+
+        long nights = nightsBetween(checkIn, checkOut);
+        int updated = roomInventoryRepository.reserveNights(roomType.getId(), checkIn, checkOut, rooms);
+        if (updated != nights) {
+            logger.debug("Reserva rechazada: {} de {} noches con cupo para tipo de habitación ID: {}",
+                        updated, nights, roomType.getId());
+            throw new IllegalArgumentException("No hay suficientes habitaciones disponibles para las fechas seleccionadas");
+        }
+        publishChange(roomType.getId(), checkIn, checkOut, rooms);
+    }
+
+    /**
+     * Libera las habitaciones de una estancia previamente reservada.
+     *
+     * Si alguna noche tiene menos habitaciones reservadas que las liberadas, la
+     * estancia ya se había liberado (o el ledger está descuadrado): en lugar de dejar
+     * el contador en 0 se lanza una excepción y la transacción del llamador se revierte.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @throws IllegalStateException si alguna noche quedaría con reservas negativas
+     */
+    public void release(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        logger.debug("Liberando {} habitaciones del tipo ID: {} del {} al {}",
+                    rooms, roomTypeId, checkIn, checkOut);
+        int released = roomInventoryRepository.releaseNights(roomTypeId, checkIn, checkOut, rooms);
+        long nights = roomInventoryRepository.countNights(roomTypeId, checkIn, checkOut);
+        if (released != nights) {
+            logger.error("Inventario descuadrado: {} de {} noches del tipo de habitación ID: {} ({} - {}) " +
+                         "tienen menos de {} habitaciones reservadas", nights - released, nights,
+                         roomTypeId, checkIn, checkOut, rooms);
+            throw new IllegalStateException("Se intentó liberar más habitaciones de las reservadas para el tipo de habitación "
+                    + roomTypeId + " entre " + checkIn + " y " + checkOut);
+        }
+        publishChange(roomTypeId, checkIn, checkOut, -rooms);
+    }
+
+    /**
+     * Verifica si hay cupo para una estancia sin reservar nada.
+     *
+     * @param roomType Tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones requeridas
+     * @return true si todas las noches tienen cupo suficiente
+     */
+    @Transactional(readOnly = true)
+    public boolean isAvailable(RoomType roomType, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        int totalRooms = roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0;
+        if (totalRooms < rooms) {
+            return false;
+        }
+        return roomInventoryRepository.findNights(roomType.getId(), checkIn, checkOut).stream()
+                .allMatch(night -> night.getRemainingRooms() >= rooms);
+    }
+
+    /**
+     * Cambia el total de habitaciones de un tipo para las noches futuras.
+     *
+     * El cambio solo se aplica a las noches cuyo número de reservas cabe en el nuevo
+     * total; si alguna noche queda fuera se lanza una excepción y la transacción se
+     * revierte, aunque la reserva que lo impide se haya confirmado después de la
+     * comprobación previa.
+     *
+     * @param roomType Tipo de habitación (con el total anterior)
+     * @param totalRooms Nuevo total de habitaciones
+     * @throws BusinessException si el nuevo total es menor que lo ya reservado en alguna noche
+     */
+    public void resize(RoomType roomType, int totalRooms) {
+        LocalDate today = LocalDate.now();
+        Integer maxBooked = roomInventoryRepository.findMaxBookedRoomsFrom(roomType.getId(), today);
+        if (maxBooked != null && maxBooked > totalRooms) {
+            throw new BusinessException(
+                    "No se puede reducir el inventario a " + totalRooms +
+                    " habitaciones: hay noches con " + maxBooked + " habitaciones reservadas",
+                    "ROOM_INVENTORY_BELOW_BOOKED");
+        }
+        // El UPDATE no toca las noches que una reserva concurrente dejó por encima del nuevo total
+        int updated = roomInventoryRepository.updateTotalRoomsFrom(roomType.getId(), today, totalRooms);
+        long nights = roomInventoryRepository.countNightsFrom(roomType.getId(), today);
+        if (updated != nights) {
+            throw new BusinessException(
+                    "No se puede reducir el inventario a " + totalRooms +
+                    " habitaciones: hay noches con más habitaciones reservadas",
+                    "ROOM_INVENTORY_BELOW_BOOKED");
+        }
+        logger.info("Inventario del tipo de habitación ID: {} ajustado a {} habitaciones ({} noches)",
+                   roomType.getId(), totalRooms, updated);
+    }
+
+    /**
+     * Calcula las habitaciones libres esta noche para un tipo de habitación.
+     *
+     * @param roomType Tipo de habitación
+     * @return Habitaciones disponibles hoy
+     */
+    @Transactional(readOnly = true)
+    public int availableTonight(RoomType roomType) {
+        return availableTonight(List.of(roomType)).getOrDefault(roomType.getId(), 0);
+    }
+
+    /**
+     * Calcula las habitaciones libres esta noche para varios tipos de habitación
+     * con una sola consulta.
+     *
+     * @param roomTypes Tipos de habitación
+     * @return Mapa ID de tipo de habitación → habitaciones disponibles hoy
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> availableTonight(Collection<RoomType> roomTypes) {
+        Map<Long, Integer> available = new HashMap<>();
+        if (roomTypes.isEmpty()) {
+            return available;
+        }
+
+        for (RoomType roomType : roomTypes) {
+            available.put(roomType.getId(), roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0);
+        }
+        roomInventoryRepository.findByRoomTypeIdInAndStayDate(available.keySet(), LocalDate.now())
+                .forEach(night -> available.put(night.getRoomTypeId(), night.getRemainingRooms()));
+        return available;
+    }
+
+    /**
+     * Publica el cambio de una estancia con el estado resultante de sus noches. Las
+     * filas siguen bloqueadas por la actualización hasta el commit, así que los valores
+     * leídos son los que quedarán confirmados.
+     */
+    private void publishChange(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int delta) {
+        List<RoomInventoryNightView> nights = roomInventoryRepository.findNightViews(roomTypeId, checkIn, checkOut);
+        eventPublisher.publishEvent(new RoomInventoryChangedEvent(roomTypeId, checkIn, checkOut, delta, nights));
+    }
+
+    /**
+     * Calcula el número de noches entre dos fechas.
+     *
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @return Número de noches
+     */
+    private long nightsBetween(LocalDate checkIn, LocalDate checkOut) {
+        return ChronoUnit.DAYS.between(checkIn, checkOut);
+    }
+}
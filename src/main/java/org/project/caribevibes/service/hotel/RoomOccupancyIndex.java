@@ -0,0 +1,547 @@
+package org.project.caribevibes.service.hotel;
+
+import io.micrometer.core.instrument.Timer;
+import org.project.caribevibes.dto.projection.RoomInventoryNightView;
+import org.project.caribevibes.dto.response.HotelAvailabilityResponseDTO;
+import org.project.caribevibes.dto.response.RoomTypeAvailabilityDTO;
+import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.project.caribevibes.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+/**
+ * Índice en memoria de la ocupación por noche de todos los tipos de habitación.
+ *
+ * Cada tipo de habitación tiene un array con las habitaciones reservadas por noche
+ * a partir de una fecha base, cargado al arrancar desde el ledger de inventario y
+ * actualizado de forma incremental cuando se confirma una transacción que reserva
+ * o libera habitaciones. Los hoteles se agrupan por destino, así que la búsqueda de
+ * disponibilidad de un destino recorre solo sus hoteles y no consulta la base de datos.
+ * Mientras el índice no termina de cargarse, o si la estancia queda fuera de su
+ * horizonte, cada búsqueda lee del ledger solo el destino y las noches pedidas.
+ *
+ * Cada cambio del ledger llega con el valor final y la revisión de sus noches, y una
+ * noche solo acepta revisiones iguales o mayores a la que tiene. Los cambios que se
+ * confirman mientras se reconstruye el índice se aplican también al nuevo antes de
+ * publicarlo; así no se pierde ninguno y los que la carga ya incluía no se duplican.
+ * La reconstrucción diaria que adelanta la fecha base se ejecuta en el planificador,
+ * nunca en una petición de búsqueda.
+ *
+ * Los eventos de cambio solo llegan a la instancia que modificó el ledger. Para ver
+ * las reservas y retenciones de las demás, cada instancia lee periódicamente las
+ * noches cuyo {@code updated_at} es posterior a su última sincronización, menos un
+ * margen que cubre las transacciones que tardan en confirmarse y la granularidad del
+ * reloj. Un cambio hecho en otra instancia aparece así en la búsqueda en, como mucho,
+ * el intervalo de sincronización ({@code app.hotel.occupancy-index-sync-interval-ms});
+ * solo una transacción que se confirme más tarde que el margen después de modificar
+ * el ledger queda pendiente hasta la reconstrucción diaria. Los cambios de hoteles y
+ * tipos de habitación hechos en otra instancia también esperan a esa reconstrucción.
+ *
+ * Los totales de cada estancia salen del {@link RoomRateCalendar}, también en memoria.
+ *
+ * El índice solo filtra resultados de búsqueda: la reserva definitiva sigue
+ * validándose contra el ledger con una actualización condicional, por lo que un
+ * desfase momentáneo nunca produce sobreventa.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class RoomOccupancyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+
+    /**
+     * Noches que cubre el índice desde su fecha base
+     */
+    static final int HORIZON_DAYS = 400;
+
+    /**
+     * Máxima antelación permitida para el check-out de una búsqueda
+     */
+    public static final int MAX_SEARCH_DAYS = 365;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    @Autowired
+    private Timer hotelSearchTimer;
+
+    @Value("${app.hotel.occupancy-index-sync-lookback-seconds:300}")
+    private long syncLookbackSeconds;
+
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now());
+
+    /**
+     * Indica si el índice ya se cargó completo desde la base de datos
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Protege la publicación de un índice nuevo frente a los cambios que llegan a la vez
+     */
+    private final Object updateLock = new Object();
+
+    /**
+     * Cambios recibidos durante la reconstrucción en curso (null si no hay ninguna)
+     */
+    private List<Consumer<Snapshot>> pendingUpdates;
+
+    /**
+     * Momento del cambio más reciente del ledger leído de la base de datos (null si
+     * todavía no se ha leído ninguno)
+     */
+    private LocalDateTime syncedThrough;
+
+    /**
+     * Carga el índice completo desde la base de datos al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el índice cada día para adelantar su fecha base.
+     */
+    @Scheduled(cron = "${app.hotel.occupancy-index-refresh-cron:0 5 0 * * *}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruye el índice tomando hoy como fecha base. Los cambios confirmados
+     * mientras tanto se aplican al índice nuevo antes de publicarlo.
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (updateLock) {
+            pendingUpdates = new ArrayList<>();
+        }
+        try {
+            LocalDate baseDate = LocalDate.now();
+            List<RoomType> roomTypes = roomTypeRepository.findAllActiveWithHotel();
+            List<RoomInventory> nights = roomInventoryRepository.findBookedNightsBetween(
+                    baseDate, baseDate.plusDays(HORIZON_DAYS));
+            Snapshot fresh = buildSnapshot(baseDate, roomTypes, nights);
+            LocalDateTime latestChange = latestChange(nights);
+
+            int replayed;
+            synchronized (updateLock) {
+                pendingUpdates.forEach(update -> update.accept(fresh));
+                replayed = pendingUpdates.size();
+                snapshot = fresh;
+                loaded = true;
+            }
+            if (latestChange != null && (syncedThrough == null || latestChange.isAfter(syncedThrough))) {
+                syncedThrough = latestChange;
+            }
+            logger.info("Índice de ocupación cargado: {} tipos de habitación, {} noches reservadas, " +
+                       "{} cambios durante la carga, en {} ms",
+                       fresh.roomTypes.size(), nights.size(), replayed, System.currentTimeMillis() - start);
+        } finally {
+            synchronized (updateLock) {
+                pendingUpdates = null;
+            }
+        }
+    }
+
+    /**
+     * Aplica las noches del ledger modificadas desde la última sincronización,
+     * incluidas las que cambiaron en otras instancias. Releer una noche ya aplicada
+     * no tiene efecto gracias a su revisión.
+     */
+    @Scheduled(fixedDelayString = "${app.hotel.occupancy-index-sync-interval-ms:30000}",
+               initialDelayString = "${app.hotel.occupancy-index-sync-interval-ms:30000}")
+    public synchronized void sync() {
+        if (!loaded) {
+            return;
+        }
+        LocalDate baseDate = snapshot.baseDate;
+        LocalDateTime since = syncedThrough != null ? syncedThrough.minusSeconds(syncLookbackSeconds)
+                                                    : LocalDateTime.of(1970, 1, 1, 0, 0);
+        List<RoomInventory> nights = roomInventoryRepository.findChangedSince(
+                baseDate, baseDate.plusDays(HORIZON_DAYS), since);
+        if (nights.isEmpty()) {
+            return;
+        }
+        update(current -> nights.forEach(current::applyNight));
+        LocalDateTime latestChange = latestChange(nights);
+        if (latestChange != null && (syncedThrough == null || latestChange.isAfter(syncedThrough))) {
+            syncedThrough = latestChange;
+        }
+        logger.debug("Índice de ocupación sincronizado: {} noches modificadas desde {}", nights.size(), since);
+    }
+
+    /**
+     * Busca hoteles de un destino con disponibilidad real para toda la estancia.
+     *
+     * @param destinationId ID del destino
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param guests Número de huéspedes
+     * @param rooms Número de habitaciones
+     * @return Hoteles con tipos de habitación disponibles, ordenados por precio
+     * @throws IllegalArgumentException si los parámetros de búsqueda no son válidos
+     */
+    public List<HotelAvailabilityResponseDTO> search(Long destinationId, LocalDate checkIn, LocalDate checkOut,
+                                                     int guests, int rooms) {
+        validateSearch(checkIn, checkOut, guests, rooms);
+        return hotelSearchTimer.record(() -> doSearch(destinationId, checkIn, checkOut, guests, rooms));
+    }
+
+    /**
+     * Aplica el estado de las noches de una estancia una vez confirmada la
+     * transacción que modificó el ledger.
+     *
+     * @param event Cambio de inventario
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(RoomInventoryChangedEvent event) {
+        update(current -> current.applyNights(event.roomTypeId(), event.nights()));
+    }
+
+    /**
+     * Actualiza los datos de un tipo de habitación (precio, capacidad, total,
+     * estado) conservando su ocupación. Se aplica al confirmarse la transacción.
+     *
+     * @param roomType Tipo de habitación con su hotel
+     */
+    public void refreshRoomType(RoomType roomType) {
+        Long roomTypeId = roomType.getId();
+        if (!Boolean.TRUE.equals(roomType.getIsActive())) {
+            TransactionUtils.afterCommit(() -> update(current -> current.removeRoomType(roomTypeId)));
+            return;
+        }
+        HotelEntry hotelEntry = HotelEntry.of(roomType.getHotel());
+        RoomTypeEntry roomTypeEntry = RoomTypeEntry.of(roomType);
+        TransactionUtils.afterCommit(() -> update(current -> {
+            current.putHotelIfAbsent(hotelEntry);
+            current.putRoomType(roomTypeEntry);
+        }));
+    }
+
+    /**
+     * Actualiza los datos de un hotel (nombre, destino, estado) usados en la
+     * búsqueda. Se aplica al confirmarse la transacción.
+     *
+     * @param hotel Hotel actualizado
+     */
+    public void refreshHotel(Hotel hotel) {
+        HotelEntry hotelEntry = HotelEntry.of(hotel);
+        TransactionUtils.afterCommit(() -> update(current -> current.putHotel(hotelEntry)));
+    }
+
+    /**
+     * Aplica un cambio al índice publicado y, si hay una reconstrucción en curso,
+     * lo guarda para aplicarlo también al índice nuevo.
+     */
+    private void update(Consumer<Snapshot> change) {
+        Snapshot current;
+        synchronized (updateLock) {
+            if (pendingUpdates != null) {
+                pendingUpdates.add(change);
+            }
+            current = snapshot;
+        }
+        change.accept(current);
+    }
+
+    /**
+     * Realiza la búsqueda sobre los hoteles del destino.
+     */
+    private List<HotelAvailabilityResponseDTO> doSearch(Long destinationId, LocalDate checkIn, LocalDate checkOut,
+                                                        int guests, int rooms) {
+        Snapshot current = snapshotFor(destinationId, checkIn, checkOut);
+        int first = current.offset(checkIn);
+        int last = current.offset(checkOut);
+        long nights = last - first;
+
+        List<HotelAvailabilityResponseDTO> results = new ArrayList<>();
+        for (Long hotelId : current.hotelsByDestination.getOrDefault(destinationId, Set.of())) {
+            HotelEntry hotel = current.hotels.get(hotelId);
+            if (hotel == null || !hotel.active || !hotel.destinationId.equals(destinationId)) {
+                continue;
+            }
+
+            List<RoomTypeAvailabilityDTO> roomTypes = new ArrayList<>();
+            for (Long roomTypeId : current.roomTypesByHotel.getOrDefault(hotelId, Set.of())) {
+                RoomTypeEntry roomType = current.roomTypes.get(roomTypeId);
+                if (roomType == null || !roomType.hotelId.equals(hotelId)) {
+                    continue;
+                }
+                if (roomType.totalRooms < rooms || roomType.capacity * rooms < guests) {
+                    continue;
+                }
+
+                int maxBooked = 0;
+                for (int i = first; i < last && roomType.totalRooms - maxBooked >= rooms; i++) {
+                    maxBooked = Math.max(maxBooked, roomType.occupancy.bookedRooms(i));
+                }
+                int available = roomType.totalRooms - maxBooked;
+                if (available < rooms) {
+                    continue;
+                }
+
+                BigDecimal totalPrice = roomRateCalendar.stayPrice(roomType.id, checkIn, checkOut, rooms);
+                roomTypes.add(new RoomTypeAvailabilityDTO(roomType.id, roomType.name, roomType.capacity,
+                        roomType.pricePerNight, available, totalPrice));
+            }
+            if (roomTypes.isEmpty()) {
+                continue;
+            }
+
+            roomTypes.sort(Comparator.comparing(RoomTypeAvailabilityDTO::getTotalPrice)
+                    .thenComparing(RoomTypeAvailabilityDTO::getRoomTypeId));
+            results.add(new HotelAvailabilityResponseDTO(hotel.id, hotel.name, hotel.address, hotel.stars,
+                    hotel.rating, hotel.imageUrl, nights, roomTypes.get(0).getTotalPrice(), roomTypes));
+        }
+        results.sort(Comparator.comparing(HotelAvailabilityResponseDTO::getLowestTotalPrice)
+                .thenComparing(HotelAvailabilityResponseDTO::getHotelId));
+        return results;
+    }
+
+    /**
+     * Devuelve el índice vigente si cubre la estancia buscada o, si aún no se ha
+     * cargado o la estancia queda fuera de su horizonte, uno parcial leído del ledger.
+     */
+    private Snapshot snapshotFor(Long destinationId, LocalDate checkIn, LocalDate checkOut) {
+        Snapshot current = snapshot;
+        if (loaded && current.covers(checkIn) && !checkOut.isAfter(current.horizonEnd())) {
+            return current;
+        }
+        logger.debug("Búsqueda del destino ID: {} resuelta desde el ledger (índice cargado: {})",
+                    destinationId, loaded);
+        return loadDestination(destinationId, checkIn, checkOut);
+    }
+
+    /**
+     * Construye un índice parcial con los tipos de habitación de un destino y
+     * las noches de la estancia.
+     */
+    private Snapshot loadDestination(Long destinationId, LocalDate checkIn, LocalDate checkOut) {
+        List<RoomType> roomTypes = roomTypeRepository.findActiveByDestinationWithHotel(destinationId);
+        List<RoomInventory> nights = roomTypes.isEmpty() ? List.of()
+                : roomInventoryRepository.findNightsForRoomTypes(
+                        roomTypes.stream().map(RoomType::getId).toList(), checkIn, checkOut);
+        return buildSnapshot(checkIn, roomTypes, nights);
+    }
+
+    /**
+     * Crea un índice con los tipos de habitación y las noches del ledger dadas.
+     */
+    private static Snapshot buildSnapshot(LocalDate baseDate, List<RoomType> roomTypes, List<RoomInventory> nights) {
+        Snapshot fresh = new Snapshot(baseDate);
+        for (RoomType roomType : roomTypes) {
+            fresh.putHotelIfAbsent(HotelEntry.of(roomType.getHotel()));
+            fresh.putRoomType(RoomTypeEntry.of(roomType));
+        }
+        nights.forEach(fresh::applyNight);
+        return fresh;
+    }
+
+    /**
+     * Devuelve el momento del cambio más reciente de unas filas del ledger.
+     */
+    private static LocalDateTime latestChange(List<RoomInventory> nights) {
+        return nights.stream()
+                .map(RoomInventory::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Valida los parámetros de una búsqueda.
+     */
+    private void validateSearch(LocalDate checkIn, LocalDate checkOut, int guests, int rooms) {
+        LocalDate today = LocalDate.now();
+        if (checkIn.isBefore(today)) {
+            throw new IllegalArgumentException("La fecha de check-in no puede ser anterior a hoy");
+        }
+        if (!checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
+        }
+        if (checkOut.isAfter(today.plusDays(MAX_SEARCH_DAYS))) {
+            throw new IllegalArgumentException("Solo se puede buscar disponibilidad hasta " + MAX_SEARCH_DAYS + " días");
+        }
+        if (guests < 1 || rooms < 1) {
+            throw new IllegalArgumentException("El número de huéspedes y de habitaciones debe ser al menos 1");
+        }
+    }
+
+    /**
+     * Estado completo del índice para una fecha base. Las búsquedas lo leen sin
+     * bloqueos; los cambios de hoteles y tipos de habitación se serializan.
+     */
+    private static final class Snapshot {
+        final LocalDate baseDate;
+        final Map<Long, HotelEntry> hotels = new ConcurrentHashMap<>();
+        final Map<Long, RoomTypeEntry> roomTypes = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> hotelsByDestination = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> roomTypesByHotel = new ConcurrentHashMap<>();
+
+        Snapshot(LocalDate baseDate) {
+            this.baseDate = baseDate;
+        }
+
+        LocalDate horizonEnd() {
+            return baseDate.plusDays(HORIZON_DAYS);
+        }
+
+        boolean covers(LocalDate night) {
+            return !night.isBefore(baseDate) && night.isBefore(horizonEnd());
+        }
+
+        int offset(LocalDate night) {
+            return (int) ChronoUnit.DAYS.between(baseDate, night);
+        }
+
+        synchronized void putHotel(HotelEntry hotel) {
+            HotelEntry previous = hotels.put(hotel.id, hotel);
+            if (previous != null && !previous.destinationId.equals(hotel.destinationId)) {
+                removeFrom(hotelsByDestination, previous.destinationId, hotel.id);
+            }
+            hotelsByDestination.computeIfAbsent(hotel.destinationId, id -> ConcurrentHashMap.newKeySet())
+                    .add(hotel.id);
+        }
+
+        synchronized void putHotelIfAbsent(HotelEntry hotel) {
+            if (!hotels.containsKey(hotel.id)) {
+                putHotel(hotel);
+            }
+        }
+
+        synchronized void putRoomType(RoomTypeEntry roomType) {
+            RoomTypeEntry previous = roomTypes.get(roomType.id);
+            roomTypes.put(roomType.id, roomType.withOccupancy(
+                    previous != null ? previous.occupancy : new Occupancy()));
+            if (previous != null && !previous.hotelId.equals(roomType.hotelId)) {
+                removeFrom(roomTypesByHotel, previous.hotelId, roomType.id);
+            }
+            roomTypesByHotel.computeIfAbsent(roomType.hotelId, id -> ConcurrentHashMap.newKeySet())
+                    .add(roomType.id);
+        }
+
+        synchronized void removeRoomType(Long roomTypeId) {
+            RoomTypeEntry previous = roomTypes.remove(roomTypeId);
+            if (previous != null) {
+                removeFrom(roomTypesByHotel, previous.hotelId, roomTypeId);
+            }
+        }
+
+        private static void removeFrom(Map<Long, Set<Long>> groups, Long key, Long id) {
+            Set<Long> group = groups.get(key);
+            if (group != null) {
+                group.remove(id);
+            }
+        }
+
+        void applyNight(RoomInventory night) {
+            RoomTypeEntry entry = roomTypes.get(night.getRoomTypeId());
+            if (entry != null && covers(night.getStayDate())) {
+                entry.occupancy.set(offset(night.getStayDate()), night.getBookedRooms(),
+                        night.getRevision() != null ? night.getRevision() : 0L);
+            }
+        }
+
+        void applyNights(Long roomTypeId, List<RoomInventoryNightView> nights) {
+            RoomTypeEntry entry = roomTypes.get(roomTypeId);
+            if (entry == null) {
+                return;
+            }
+            for (RoomInventoryNightView night : nights) {
+                if (covers(night.stayDate())) {
+                    entry.occupancy.set(offset(night.stayDate()), night.bookedRooms(), night.revision());
+                }
+            }
+        }
+    }
+
+    /**
+     * Habitaciones reservadas por noche de un tipo de habitación, con la revisión del
+     * ledger de la que sale cada valor.
+     */
+    private static final class Occupancy {
+        private final AtomicIntegerArray bookedRooms = new AtomicIntegerArray(HORIZON_DAYS);
+        private final long[] revisions = new long[HORIZON_DAYS];
+
+        int bookedRooms(int offset) {
+            return bookedRooms.get(offset);
+        }
+
+        /**
+         * Fija el valor de una noche salvo que ya tenga una revisión más reciente.
+         */
+        synchronized void set(int offset, int booked, long revision) {
+            if (revision >= revisions[offset]) {
+                revisions[offset] = revision;
+                bookedRooms.set(offset, booked);
+            }
+        }
+    }
+
+    /**
+     * Datos de un hotel necesarios para la búsqueda.
+     */
+    private record HotelEntry(Long id, Long destinationId, String name, String address, Integer stars,
+                              BigDecimal rating, String imageUrl, boolean active) {
+
+        static HotelEntry of(Hotel hotel) {
+            return new HotelEntry(hotel.getId(), hotel.getDestination().getId(), hotel.getName(),
+                    hotel.getAddress(), hotel.getStars(), hotel.getRating(), hotel.getImageUrl(),
+                    Boolean.TRUE.equals(hotel.getIsActive()));
+        }
+    }
+
+    /**
+     * Datos y ocupación por noche de un tipo de habitación.
+     */
+    private record RoomTypeEntry(Long id, Long hotelId, String name, int capacity, BigDecimal pricePerNight,
+                                 int totalRooms, Occupancy occupancy) {
+
+        static RoomTypeEntry of(RoomType roomType) {
+            return new RoomTypeEntry(roomType.getId(), roomType.getHotel().getId(), roomType.getName(),
+                    roomType.getCapacity() != null ? roomType.getCapacity() : 0,
+                    roomType.getPricePerNight(),
+                    roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0,
+                    null);
+        }
+
+        RoomTypeEntry withOccupancy(Occupancy occupancy) {
+            return new RoomTypeEntry(id, hotelId, name, capacity, pricePerNight, totalRooms, occupancy);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.project.caribevibes.service.hotel;
+
+import org.project.caribevibes.dto.response.QuoteResponseDTO;
+import org.project.caribevibes.entity.hotel.RoomRateRule;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.repository.hotel.RoomRateRuleRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.project.caribevibes.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Calendario de tarifas por noche precompilado en memoria para cada tipo de habitación.
+ *
+ * Las reglas de tarifa de un tipo de habitación se compilan en un array con el
+ * precio de cada noche a partir de hoy y en sus sumas acumuladas, de modo que el
+ * precio de cualquier estancia dentro del horizonte se obtiene sin consultar la
+ * base de datos y en tiempo constante. Los calendarios se cargan al arrancar y se
+ * recompilan al confirmarse un cambio de reglas o del precio base.
+ *
+ * Las estancias fuera del horizonte (por ejemplo, reservas pasadas o muy lejanas)
+ * se tarifican compilando las reglas solo para ese rango.
+ *
+ * Los calendarios solo se recompilan en el nodo que cambia las reglas, así que en
+ * los demás nodos pueden quedar desfasados hasta el siguiente arranque. Por eso se
+ * usan únicamente para cotizaciones y búsquedas; el precio de una reserva se calcula
+ * con {@link #currentStayPrice} a partir de las reglas leídas en la transacción.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class RoomRateCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomRateCalendar.class);
+
+    /**
+     * Noches que cubre cada calendario desde su fecha base
+     */
+    static final int HORIZON_DAYS = 400;
+
+    /**
+     * Máxima antelación permitida para el check-out de una cotización
+     */
+    public static final int MAX_QUOTE_DAYS = 365;
+
+    /**
+     * Orden de aplicación de las reglas: las que aparecen después prevalecen
+     */
+    private static final Comparator<RoomRateRule> RULE_ORDER =
+            Comparator.comparing(RoomRateRule::getRuleType)
+                      .thenComparing(RoomRateRule::getPriority)
+                      .thenComparing(RoomRateRule::getId);
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRateRuleRepository roomRateRuleRepository;
+
+    private final Map<Long, Rates> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Compila los calendarios de todos los tipos de habitación activos al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Map<Long, List<RoomRateRule>> rulesByRoomType = roomRateRuleRepository.findByIsActiveTrue().stream()
+                .collect(Collectors.groupingBy(RoomRateRule::getRoomTypeId));
+
+        for (RoomType roomType : roomTypeRepository.findAllActiveWithHotel()) {
+            calendars.put(roomType.getId(), compile(roomType,
+                    rulesByRoomType.getOrDefault(roomType.getId(), List.of()), today, HORIZON_DAYS));
+        }
+        logger.info("Calendarios de tarifas compilados: {} tipos de habitación en {} ms",
+                   calendars.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Recompila el calendario de un tipo de habitación al confirmarse la transacción
+     * en curso (tras cambiar sus reglas o su precio base).
+     *
+     * @param roomTypeId ID del tipo de habitación
+     */
+    public void refreshAfterCommit(Long roomTypeId) {
+        TransactionUtils.afterCommit(() -> refresh(roomTypeId));
+    }
+
+    /**
+     * Cotiza una estancia sin efectos secundarios.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @return Cotización con la tarifa de cada noche y el total
+     * @throws IllegalArgumentException si los parámetros no son válidos
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     */
+    public QuoteResponseDTO quote(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        LocalDate today = LocalDate.now();
+        if (checkIn.isBefore(today)) {
+            throw new IllegalArgumentException("La fecha de check-in no puede ser anterior a hoy");
+        }
+        if (!checkIn.isBefore(checkOut)) {
+            throw new IllegalArgumentException("La fecha de check-in debe ser anterior a la fecha de check-out");
+        }
+        if (checkOut.isAfter(today.plusDays(MAX_QUOTE_DAYS))) {
+            throw new IllegalArgumentException("Solo se puede cotizar hasta " + MAX_QUOTE_DAYS + " días");
+        }
+        if (rooms < 1) {
+            throw new IllegalArgumentException("El número de habitaciones debe ser al menos 1");
+        }
+
+        Rates rates = ratesFor(roomTypeId, checkIn, checkOut);
+        int first = rates.offset(checkIn);
+        int last = rates.offset(checkOut);
+        return new QuoteResponseDTO(roomTypeId, checkIn, checkOut, rooms, last - first,
+                Arrays.copyOfRange(rates.nightly, first, last), rates.total(first, last, rooms));
+    }
+
+    /**
+     * Calcula el precio del alojamiento de una estancia.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @return Suma de las tarifas de cada noche por el número de habitaciones
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     */
+    public BigDecimal stayPrice(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        Rates rates = ratesFor(roomTypeId, checkIn, checkOut);
+        return rates.total(rates.offset(checkIn), rates.offset(checkOut), rooms);
+    }
+
+    /**
+     * Calcula el precio del alojamiento de una estancia con las reglas vigentes en la
+     * base de datos, sin usar el calendario precompilado de este nodo. Es el precio
+     * que se cobra al crear o modificar una reserva.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param checkIn Fecha de check-in
+     * @param checkOut Fecha de check-out
+     * @param rooms Número de habitaciones
+     * @return Suma de las tarifas de cada noche por el número de habitaciones
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     */
+    public BigDecimal currentStayPrice(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        Rates rates = compileCurrent(roomTypeId, checkIn, checkOut);
+        return rates.total(0, rates.nightly.length, rooms);
+    }
+
+    /**
+     * Obtiene la tarifa de cada noche de un rango con las reglas vigentes en la base
+     * de datos, sin usar el calendario precompilado de este nodo.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Tarifa de una habitación por noche
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     */
+    public BigDecimal[] currentNightlyRates(Long roomTypeId, LocalDate from, LocalDate to) {
+        return compileCurrent(roomTypeId, from, to).nightly;
+    }
+
+    /**
+     * Devuelve un calendario que cubre el rango pedido: el precompilado si lo cubre,
+     * uno recompilado desde hoy si el rango cae en el horizonte, o uno compilado
+     * solo para el rango en otro caso.
+     */
+    private Rates ratesFor(Long roomTypeId, LocalDate from, LocalDate to) {
+        Rates rates = calendars.get(roomTypeId);
+        if (rates != null && rates.covers(from, to)) {
+            return rates;
+        }
+
+        LocalDate today = LocalDate.now();
+        if (!from.isBefore(today) && !to.isAfter(today.plusDays(HORIZON_DAYS))) {
+            rates = refresh(roomTypeId);
+            if (rates == null) {
+                throw new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId);
+            }
+            return rates;
+        }
+
+        RoomType roomType = roomTypeRepository.findById(roomTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId));
+        return compile(roomType, roomRateRuleRepository.findByRoomTypeIdAndIsActiveTrue(roomTypeId),
+                       from, (int) ChronoUnit.DAYS.between(from, to));
+    }
+
+    /**
+     * Compila solo para el rango pedido las reglas leídas de la base de datos.
+     */
+    private Rates compileCurrent(Long roomTypeId, LocalDate from, LocalDate to) {
+        RoomType roomType = roomTypeRepository.findById(roomTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId));
+        return compile(roomType, roomRateRuleRepository.findByRoomTypeIdAndIsActiveTrue(roomTypeId),
+                       from, (int) ChronoUnit.DAYS.between(from, to));
+    }
+
+    /**
+     * Recompila desde la base de datos el calendario de un tipo de habitación.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @return Calendario compilado o null si el tipo de habitación no está activo
+     */
+    private Rates refresh(Long roomTypeId) {
+        RoomType roomType = roomTypeRepository.findByIdAndIsActiveTrue(roomTypeId).orElse(null);
+        if (roomType == null) {
+            calendars.remove(roomTypeId);
+            return null;
+        }
+        Rates rates = compile(roomType, roomRateRuleRepository.findByRoomTypeIdAndIsActiveTrue(roomTypeId),
+                              LocalDate.now(), HORIZON_DAYS);
+        calendars.put(roomTypeId, rates);
+        logger.debug("Calendario de tarifas recompilado para tipo de habitación ID: {}", roomTypeId);
+        return rates;
+    }
+
+    /**
+     * Compila las reglas de un tipo de habitación en un calendario de tarifas.
+     *
+     * @param roomType Tipo de habitación con su precio base
+     * @param rules Reglas vigentes del tipo de habitación
+     * @param from Primera noche del calendario
+     * @param days Número de noches
+     * @return Calendario compilado
+     */
+    private Rates compile(RoomType roomType, List<RoomRateRule> rules, LocalDate from, int days) {
+        BigDecimal basePrice = roomType.getPricePerNight();
+        BigDecimal[] nightly = new BigDecimal[days];
+        Arrays.fill(nightly, basePrice);
+
+        // Aplicar las reglas en orden: cada una sobrescribe a las anteriores en sus noches
+        List<RoomRateRule> ordered = rules.stream().sorted(RULE_ORDER).toList();
+        for (RoomRateRule rule : ordered) {
+            BigDecimal price = rule.apply(basePrice);
+            for (int night = 0; night < days; night++) {
+                if (rule.covers(from.plusDays(night))) {
+                    nightly[night] = price;
+                }
+            }
+        }
+
+        BigDecimal[] prefixSums = new BigDecimal[days + 1];
+        prefixSums[0] = BigDecimal.ZERO;
+        for (int night = 0; night < days; night++) {
+            prefixSums[night + 1] = prefixSums[night].add(nightly[night]);
+        }
+        return new Rates(from, nightly, prefixSums);
+    }
+
+    /**
+     * Tarifas por noche desde una fecha base y sus sumas acumuladas.
+     */
+    private record Rates(LocalDate baseDate, BigDecimal[] nightly, BigDecimal[] prefixSums) {
+
+        boolean covers(LocalDate from, LocalDate to) {
+            return !from.isBefore(baseDate) && !to.isAfter(baseDate.plusDays(nightly.length));
+        }
+
+        int offset(LocalDate night) {
+            return (int) ChronoUnit.DAYS.between(baseDate, night);
+        }
+
+        BigDecimal total(int first, int last, int rooms) {
+            return prefixSums[last].subtract(prefixSums[first]).multiply(BigDecimal.valueOf(rooms));
+        }
+    }
+}
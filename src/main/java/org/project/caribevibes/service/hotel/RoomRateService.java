@@ -0,0 +1,124 @@
+package org.project.caribevibes.service.hotel;
+
+import org.project.caribevibes.dto.request.RoomRateRuleRequestDTO;
+import org.project.caribevibes.entity.hotel.RoomRateRule;
+import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.repository.hotel.RoomRateRuleRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio para la gestión de las reglas de tarifa de los tipos de habitación.
+ *
+ * Cada cambio de reglas recompila el calendario de tarifas en memoria del tipo de
+ * habitación e invalida su calendario de disponibilidad al confirmarse la transacción.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class RoomRateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomRateService.class);
+
+    @Autowired
+    private RoomRateRuleRepository roomRateRuleRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    @Autowired
+    private RoomTypeCalendarService roomTypeCalendarService;
+
+    /**
+     * Obtiene las reglas vigentes de un tipo de habitación.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @return Reglas vigentes
+     */
+    @Transactional(readOnly = true)
+    public List<RoomRateRule> findRules(Long roomTypeId) {
+        return roomRateRuleRepository.findByRoomTypeIdAndIsActiveTrue(roomTypeId);
+    }
+
+    /**
+     * Crea una regla de tarifa para un tipo de habitación.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param request Datos de la regla
+     * @return Regla creada
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     * @throws IllegalArgumentException si la regla no es válida
+     */
+    public RoomRateRule createRule(Long roomTypeId, RoomRateRuleRequestDTO request) {
+        logger.info("Creando regla de tarifa '{}' para tipo de habitación ID: {}", request.getName(), roomTypeId);
+
+        if (!roomTypeRepository.existsById(roomTypeId)) {
+            throw new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId);
+        }
+        if ((request.getPricePerNight() == null) == (request.getPriceMultiplier() == null)) {
+            throw new IllegalArgumentException("La regla debe indicar un precio por noche o un multiplicador, no ambos");
+        }
+        RoomRateRule.RuleType ruleType = RoomRateRule.RuleType.valueOf(request.getRuleType());
+        if (ruleType == RoomRateRule.RuleType.DATE_RANGE && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la fecha de inicio");
+        }
+
+        RoomRateRule rule = roomRateRuleRepository.save(RoomRateRule.builder()
+                .roomTypeId(roomTypeId)
+                .name(request.getName())
+                .ruleType(ruleType)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .pricePerNight(request.getPricePerNight())
+                .priceMultiplier(request.getPriceMultiplier())
+                .priority(request.getPriority() != null ? request.getPriority() : 0)
+                .isActive(true)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        ratesChanged(roomTypeId);
+        logger.info("Regla de tarifa creada con ID: {}", rule.getId());
+        return rule;
+    }
+
+    /**
+     * Elimina (lógicamente) una regla de tarifa.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param ruleId ID de la regla
+     * @return true si se eliminó, false si no existe
+     */
+    public boolean deleteRule(Long roomTypeId, Long ruleId) {
+        logger.info("Eliminando regla de tarifa ID: {} del tipo de habitación ID: {}", ruleId, roomTypeId);
+        return roomRateRuleRepository.findByIdAndRoomTypeIdAndIsActiveTrue(ruleId, roomTypeId)
+                .map(rule -> {
+                    rule.setIsActive(false);
+                    roomRateRuleRepository.save(rule);
+                    ratesChanged(roomTypeId);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Recompila las tarifas e invalida el calendario de disponibilidad tras el commit,
+     * en ese orden para que el calendario se reconstruya con las tarifas nuevas.
+     */
+    private void ratesChanged(Long roomTypeId) {
+        roomRateCalendar.refreshAfterCommit(roomTypeId);
+        roomTypeCalendarService.evictAfterCommit(roomTypeId);
+    }
+}
@@ -0,0 +1,171 @@
+package org.project.caribevibes.service.hotel;
+
+import org.project.caribevibes.dto.response.RoomTypeCalendarDTO;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.project.caribevibes.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Servicio para el calendario de disponibilidad y precio por noche de un tipo de habitación.
+ *
+ * El calendario de los próximos {@value #CALENDAR_DAYS} días se calcula con una sola
+ * consulta de las noches del ledger de inventario, que ya descuentan tanto las reservas
+ * como los bloqueos temporales de habitaciones, se cachea por tipo de habitación y se
+ * recorta al rango pedido.
+ * Los precios se compilan con las reglas de tarifa vigentes en la base de datos. La
+ * entrada cacheada se invalida cuando cambia el inventario, el tipo de habitación o
+ * sus reglas de tarifa, pero solo en la instancia que hace el cambio; en las demás la
+ * entrada expira a los 30 segundos de calcularse (ver {@code CacheConfig}), que es el
+ * desfase máximo de un calendario servido por otra instancia.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+public class RoomTypeCalendarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomTypeCalendarService.class);
+
+    /**
+     * Número de noches que cubre el calendario desde hoy
+     */
+    public static final int CALENDAR_DAYS = 365;
+
+    /**
+     * Nombre del cache de calendarios
+     */
+    public static final String CACHE_NAME = "roomTypeCalendars";
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RoomRateCalendar roomRateCalendar;
+
+    /**
+     * Obtiene el calendario de un tipo de habitación para un rango de noches.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive); por defecto hoy
+     * @param to Última noche (exclusive); por defecto el final del calendario
+     * @return Calendario con disponibilidad y precio por noche
+     * @throws ResourceNotFoundException si el tipo de habitación no existe
+     * @throws IllegalArgumentException si el rango está fuera del calendario
+     */
+    @Transactional(readOnly = true)
+    public RoomTypeCalendarDTO getCalendar(Long roomTypeId, LocalDate from, LocalDate to) {
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(CALENDAR_DAYS);
+        LocalDate rangeFrom = from != null ? from : today;
+        LocalDate rangeTo = to != null ? to : end;
+
+        if (rangeFrom.isBefore(today) || rangeTo.isAfter(end)) {
+            throw new IllegalArgumentException("El calendario solo cubre desde hoy hasta " + end);
+        }
+        if (!rangeFrom.isBefore(rangeTo)) {
+            throw new IllegalArgumentException("La fecha 'from' debe ser anterior a la fecha 'to'");
+        }
+
+        RoomTypeCalendarDTO calendar = calendarCache().get(cacheKey(roomTypeId, today),
+                () -> buildCalendar(roomTypeId, today, end));
+
+        int start = (int) ChronoUnit.DAYS.between(today, rangeFrom);
+        int stop = (int) ChronoUnit.DAYS.between(today, rangeTo);
+        return new RoomTypeCalendarDTO(roomTypeId, rangeFrom, rangeTo, calendar.getTotalRooms(),
+                Arrays.copyOfRange(calendar.getAvailableRooms(), start, stop),
+                Arrays.copyOfRange(calendar.getPrices(), start, stop));
+    }
+
+    /**
+     * Invalida el calendario cacheado de un tipo de habitación al confirmarse la
+     * transacción en curso (por ejemplo, tras cambiar su precio o su total).
+     *
+     * @param roomTypeId ID del tipo de habitación
+     */
+    public void evictAfterCommit(Long roomTypeId) {
+        TransactionUtils.afterCommit(() -> evict(roomTypeId));
+    }
+
+    /**
+     * Invalida el calendario cacheado cuando cambia el inventario de un tipo de habitación.
+     *
+     * @param event Cambio de inventario ya confirmado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(RoomInventoryChangedEvent event) {
+        evict(event.roomTypeId());
+    }
+
+    /**
+     * Calcula el calendario a partir de las noches del ledger de inventario. Las noches
+     * sin fila no tienen nada reservado y ofrecen el total del tipo de habitación.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     * @param from Primera noche (inclusive)
+     * @param to Última noche (exclusive)
+     * @return Calendario completo del rango
+     */
+    private RoomTypeCalendarDTO buildCalendar(Long roomTypeId, LocalDate from, LocalDate to) {
+        RoomType roomType = roomTypeRepository.findByIdAndIsActiveTrue(roomTypeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tipo de habitación", "id", roomTypeId));
+
+        int nights = (int) ChronoUnit.DAYS.between(from, to);
+        int totalRooms = roomType.getTotalRooms() != null ? roomType.getTotalRooms() : 0;
+
+        int[] availableRooms = new int[nights];
+        Arrays.fill(availableRooms, totalRooms);
+        List<RoomInventory> ledger = roomInventoryRepository.findNights(roomTypeId, from, to);
+        for (RoomInventory night : ledger) {
+            availableRooms[(int) ChronoUnit.DAYS.between(from, night.getStayDate())] = night.getRemainingRooms();
+        }
+        BigDecimal[] prices = roomRateCalendar.currentNightlyRates(roomTypeId, from, to);
+
+        logger.debug("Calendario calculado para tipo de habitación ID: {} ({} noches en el ledger, {} noches)",
+                    roomTypeId, ledger.size(), nights);
+        return new RoomTypeCalendarDTO(roomTypeId, from, to, totalRooms, availableRooms, prices);
+    }
+
+    /**
+     * Elimina del cache el calendario vigente de un tipo de habitación.
+     *
+     * @param roomTypeId ID del tipo de habitación
+     */
+    private void evict(Long roomTypeId) {
+        calendarCache().evict(cacheKey(roomTypeId, LocalDate.now()));
+    }
+
+    private Cache calendarCache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * La clave incluye el día para que el calendario avance con la fecha actual.
+     */
+    private String cacheKey(Long roomTypeId, LocalDate today) {
+        return roomTypeId + ":" + today;
+    }
+}
@@ -0,0 +1,14 @@
+package org.project.caribevibes.service.job;
+
+/**
+ * Evento publicado al encolar un trabajo, para despertar a los workers de su
+ * cola una vez confirmada la transacción.
+ *
+ * @param queue Cola del trabajo
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record BackgroundJobEnqueuedEvent(String queue) {
+}
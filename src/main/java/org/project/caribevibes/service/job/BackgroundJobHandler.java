@@ -0,0 +1,35 @@
+package org.project.caribevibes.service.job;
+
+/**
+ * Manejador de un tipo de trabajo de la cola persistente.
+ *
+ * Cada implementación registrada como bean procesa los trabajos de su
+ * {@link #type()}. La entrega es al menos una vez: si la instancia muere tras
+ * ejecutar el trabajo y antes de marcarlo como exitoso, el trabajo se repite, así
+ * que los manejadores deben ser idempotentes o tolerar repeticiones.
+ *
+ * @param <P> Tipo de los datos del trabajo (se serializan en JSON)
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public interface BackgroundJobHandler<P> {
+
+    /**
+     * @return Tipo de trabajo que procesa el manejador
+     */
+    String type();
+
+    /**
+     * @return Clase de los datos del trabajo
+     */
+    Class<P> payloadType();
+
+    /**
+     * Ejecuta un trabajo. Cualquier excepción cuenta como intento fallido.
+     *
+     * @param payload Datos del trabajo
+     * @throws Exception si el trabajo falla y debe reintentarse
+     */
+    void handle(P payload) throws Exception;
+}
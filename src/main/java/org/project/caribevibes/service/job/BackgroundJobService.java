@@ -0,0 +1,280 @@
+package org.project.caribevibes.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.project.caribevibes.dto.response.BackgroundJobResponseDTO;
+import org.project.caribevibes.entity.job.BackgroundJob;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.exception.ResourceNotFoundException;
+import org.project.caribevibes.repository.job.BackgroundJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servicio de la cola persistente de trabajos en segundo plano.
+ *
+ * Los trabajos se encolan dentro de la transacción de la escritura de negocio que
+ * los origina, así que solo existen si esa escritura se confirma. Las operaciones
+ * de los workers (tomar un trabajo y registrar su resultado) se confirman cada una
+ * en su propia transacción para no retener conexiones mientras el trabajo se ejecuta.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional
+public class BackgroundJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundJobService.class);
+
+    /**
+     * Longitud máxima del error guardado por trabajo
+     */
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * Número máximo de trabajos fallidos por consulta
+     */
+    public static final int MAX_DEAD_JOBS = 200;
+
+    @Autowired
+    private BackgroundJobRepository backgroundJobRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.jobs.max-attempts:8}")
+    private int defaultMaxAttempts;
+
+    /**
+     * Encola un trabajo en la transacción en curso con los intentos por defecto.
+     *
+     * @param queue Cola que lo procesará
+     * @param type Tipo de trabajo (ver {@link BackgroundJobHandler#type()})
+     * @param payload Datos del trabajo; se serializan en JSON
+     * @return Trabajo encolado
+     * @throws IllegalArgumentException si la cola, el tipo o los datos no son válidos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BackgroundJob enqueue(String queue, String type, Object payload) {
+        return enqueue(queue, type, payload, defaultMaxAttempts);
+    }
+
+    /**
+     * Encola un trabajo en la transacción en curso.
+     *
+     * @param queue Cola que lo procesará
+     * @param type Tipo de trabajo (ver {@link BackgroundJobHandler#type()})
+     * @param payload Datos del trabajo; se serializan en JSON
+     * @param maxAttempts Intentos antes de pasar a la cola de fallidos
+     * @return Trabajo encolado
+     * @throws IllegalArgumentException si la cola, el tipo o los datos no son válidos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BackgroundJob enqueue(String queue, String type, Object payload, int maxAttempts) {
+        if (queue == null || queue.isBlank() || type == null || type.isBlank()) {
+            throw new IllegalArgumentException("La cola y el tipo del trabajo son obligatorios");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("El trabajo debe permitir al menos un intento");
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudieron serializar los datos del trabajo " + type, e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BackgroundJob job = backgroundJobRepository.save(BackgroundJob.builder()
+                .queue(queue)
+                .type(type)
+                .payload(json)
+                .status(BackgroundJob.JobStatus.PENDING)
+                .attempts(0)
+                .maxAttempts(maxAttempts)
+                .runAt(now)
+                .createdAt(now)
+                .build());
+        eventPublisher.publishEvent(new BackgroundJobEnqueuedEvent(queue));
+
+        logger.debug("Trabajo {} encolado en '{}' con ID: {}", type, queue, job.getId());
+        return job;
+    }
+
+    /**
+     * Toma el siguiente trabajo listo de una cola.
+     *
+     * @param queue Cola
+     * @param worker Identificador del worker
+     * @return Trabajo tomado (con el intento ya contado), o vacío si no hay ninguno listo
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<BackgroundJob> claimNext(String queue, String worker) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BackgroundJob> ready = backgroundJobRepository.findReadyForUpdateSkipLocked(queue, now, Limit.of(1));
+        if (ready.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Sin SKIP LOCKED otro worker pudo tomar la misma fila mientras esta consulta esperaba
+        Long id = ready.get(0).getId();
+        if (backgroundJobRepository.claim(id, worker, now) == 0) {
+            return Optional.empty();
+        }
+        return backgroundJobRepository.findById(id);
+    }
+
+    /**
+     * Registra la ejecución exitosa de un trabajo.
+     *
+     * @param jobId ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @return false si el trabajo ya no pertenecía al worker
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markSucceeded(Long jobId, String worker) {
+        return backgroundJobRepository.markSucceeded(jobId, worker, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Registra un intento fallido y reprograma el trabajo.
+     *
+     * @param jobId ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @param delay Espera hasta el siguiente intento
+     * @param error Error del intento
+     * @return false si el trabajo ya no pertenecía al worker
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean reschedule(Long jobId, String worker, Duration delay, String error) {
+        return backgroundJobRepository.reschedule(jobId, worker, LocalDateTime.now().plus(delay),
+                                                  truncate(error)) == 1;
+    }
+
+    /**
+     * Pasa un trabajo que agotó sus intentos a la cola de fallidos.
+     *
+     * @param jobId ID del trabajo
+     * @param worker Worker que lo ejecutó
+     * @param error Error del último intento
+     * @return false si el trabajo ya no pertenecía al worker
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean markDead(Long jobId, String worker, String error) {
+        return backgroundJobRepository.markDead(jobId, worker, LocalDateTime.now(), truncate(error)) == 1;
+    }
+
+    /**
+     * Recupera los trabajos tomados por workers que dejaron de responder.
+     *
+     * @param staleAfter Tiempo tras el cual un trabajo en ejecución se da por abandonado
+     * @return Número de trabajos recuperados
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int recoverStaleJobs(Duration staleAfter) {
+        LocalDateTime now = LocalDateTime.now();
+        return backgroundJobRepository.recoverStale(now.minus(staleAfter), now);
+    }
+
+    /**
+     * Elimina los trabajos exitosos más antiguos que el periodo de retención.
+     *
+     * @param retention Periodo de retención
+     * @return Número de trabajos eliminados
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeSucceededJobs(Duration retention) {
+        return backgroundJobRepository.deleteSucceededBefore(LocalDateTime.now().minus(retention));
+    }
+
+    /**
+     * Obtiene los trabajos de la cola de fallidos, del más reciente al más antiguo.
+     *
+     * @param size Número máximo de trabajos (máximo {@value #MAX_DEAD_JOBS})
+     * @return Trabajos fallidos
+     * @throws IllegalArgumentException si el tamaño no es válido
+     */
+    @Transactional(readOnly = true)
+    public List<BackgroundJobResponseDTO> findDeadJobs(int size) {
+        if (size < 1 || size > MAX_DEAD_JOBS) {
+            throw new IllegalArgumentException("El tamaño debe estar entre 1 y " + MAX_DEAD_JOBS);
+        }
+        return backgroundJobRepository.findDead(Limit.of(size)).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Vuelve a encolar un trabajo de la cola de fallidos con sus intentos a cero.
+     *
+     * @param jobId ID del trabajo
+     * @return Trabajo reencolado
+     * @throws ResourceNotFoundException si el trabajo no existe
+     * @throws BusinessException si el trabajo no está en la cola de fallidos
+     */
+    public BackgroundJobResponseDTO requeueDeadJob(Long jobId) {
+        BackgroundJob job = backgroundJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trabajo", "id", jobId));
+        if (backgroundJobRepository.requeueDead(jobId, LocalDateTime.now()) == 0) {
+            throw new BusinessException("Solo se pueden reencolar trabajos fallidos", "JOB_NOT_DEAD");
+        }
+        eventPublisher.publishEvent(new BackgroundJobEnqueuedEvent(job.getQueue()));
+
+        logger.info("Trabajo fallido ID: {} ({}) reencolado en '{}'", jobId, job.getType(), job.getQueue());
+        return backgroundJobRepository.findById(jobId).map(this::toResponse).orElseThrow();
+    }
+
+    /**
+     * Resume las colas para las métricas: trabajos pendientes y fallidos por cola.
+     *
+     * @return Resumen por cola y estado
+     */
+    @Transactional(readOnly = true)
+    public List<QueueSummary> summarizeQueues() {
+        return backgroundJobRepository.summarizeByQueue(
+                        EnumSet.of(BackgroundJob.JobStatus.PENDING, BackgroundJob.JobStatus.DEAD)).stream()
+                .map(row -> new QueueSummary((String) row[0], (BackgroundJob.JobStatus) row[1],
+                                             ((Number) row[2]).longValue(), (LocalDateTime) row[3]))
+                .toList();
+    }
+
+    private BackgroundJobResponseDTO toResponse(BackgroundJob job) {
+        return new BackgroundJobResponseDTO(job.getId(), job.getQueue(), job.getType(), job.getStatus().name(),
+                job.getAttempts(), job.getMaxAttempts(), job.getRunAt(), job.getLastError(),
+                job.getCreatedAt(), job.getFinishedAt());
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    /**
+     * Trabajos de una cola en un estado.
+     *
+     * @param queue Cola
+     * @param status Estado
+     * @param count Número de trabajos
+     * @param oldestRunAt Momento de ejecución más antiguo
+     */
+    public record QueueSummary(String queue, BackgroundJob.JobStatus status, long count, LocalDateTime oldestRunAt) {
+    }
+}
@@ -0,0 +1,432 @@
+package org.project.caribevibes.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.project.caribevibes.entity.job.BackgroundJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Workers de la cola persistente de trabajos en segundo plano.
+ *
+ * Cada cola configurada en {@code app.jobs.workers} tiene su propio grupo de hilos,
+ * de modo que una cola lenta no retrasa a las demás. Cada worker toma un trabajo
+ * con {@code FOR UPDATE SKIP LOCKED}, lo ejecuta fuera de cualquier transacción y
+ * registra el resultado; los fallos se reintentan con espera exponencial y los
+ * trabajos que agotan sus intentos pasan a la cola de fallidos. Los workers sin
+ * trabajo esperan hasta el siguiente sondeo o hasta que se encole un trabajo en su
+ * cola en esta instancia.
+ *
+ * Al detenerse la aplicación se dejan de tomar trabajos y se espera a que terminen
+ * los que están en curso; los que no terminen a tiempo se recuperan como trabajos
+ * abandonados.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class BackgroundJobWorkers {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackgroundJobWorkers.class);
+
+    @Autowired
+    private BackgroundJobService backgroundJobService;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private List<BackgroundJobHandler<?>> handlerBeans = List.of();
+
+    @Value("${app.jobs.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jobs.workers:default=1}")
+    private String workersSpec;
+
+    @Value("${app.jobs.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${app.jobs.retry-base-seconds:10}")
+    private long retryBaseSeconds;
+
+    @Value("${app.jobs.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    @Value("${app.jobs.stale-after-seconds:600}")
+    private long staleAfterSeconds;
+
+    @Value("${app.jobs.retention-hours:168}")
+    private long retentionHours;
+
+    @Value("${app.jobs.drain-seconds:30}")
+    private long drainSeconds;
+
+    private final Map<String, BackgroundJobHandler<?>> handlers = new HashMap<>();
+
+    private final Map<String, WorkerQueue> queues = new LinkedHashMap<>();
+
+    private volatile boolean running;
+
+    /**
+     * Registra los manejadores, las colas configuradas y sus métricas.
+     */
+    @PostConstruct
+    public void init() {
+        for (BackgroundJobHandler<?> handler : handlerBeans) {
+            if (handlers.putIfAbsent(handler.type(), handler) != null) {
+                throw new IllegalStateException("Tipo de trabajo duplicado: " + handler.type());
+            }
+        }
+        parseWorkers(workersSpec).forEach((name, workers) -> queues.put(name, new WorkerQueue(name, workers)));
+        queues.values().forEach(this::registerGauges);
+    }
+
+    /**
+     * Arranca los workers de cada cola configurada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Workers de trabajos en segundo plano deshabilitados en esta instancia");
+            return;
+        }
+        running = true;
+        for (WorkerQueue queue : queues.values()) {
+            for (int i = 0; i < queue.workers; i++) {
+                queue.executor.execute(() -> work(queue));
+            }
+        }
+        logger.info("Workers de trabajos en segundo plano iniciados: {} ({} tipos de trabajo)",
+                   workersSpec, handlers.size());
+    }
+
+    /**
+     * Despierta a los workers de una cola cuando se confirma un trabajo nuevo.
+     *
+     * @param event Trabajo encolado
+     */
+    @TransactionalEventListener
+    public void onJobEnqueued(BackgroundJobEnqueuedEvent event) {
+        WorkerQueue queue = queues.get(event.queue());
+        if (queue != null) {
+            queue.signal();
+        } else if (running) {
+            logger.warn("Trabajo encolado en '{}', que no tiene workers en esta instancia", event.queue());
+        }
+    }
+
+    /**
+     * Actualiza las métricas de profundidad, antigüedad y fallidos de cada cola.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.metrics-interval-ms:15000}")
+    public void sampleQueues() {
+        if (queues.isEmpty()) {
+            return;
+        }
+        try {
+            List<BackgroundJobService.QueueSummary> summaries = backgroundJobService.summarizeQueues();
+            LocalDateTime now = LocalDateTime.now();
+            for (WorkerQueue queue : queues.values()) {
+                long depth = 0;
+                long dead = 0;
+                long ageSeconds = 0;
+                for (BackgroundJobService.QueueSummary summary : summaries) {
+                    if (!summary.queue().equals(queue.name)) {
+                        continue;
+                    }
+                    if (summary.status() == BackgroundJob.JobStatus.DEAD) {
+                        dead = summary.count();
+                    } else {
+                        depth = summary.count();
+                        ageSeconds = Math.max(0, Duration.between(summary.oldestRunAt(), now).getSeconds());
+                    }
+                }
+                queue.depth.set(depth);
+                queue.dead.set(dead);
+                queue.ageSeconds.set(ageSeconds);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("No se pudieron actualizar las métricas de las colas de trabajos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recupera los trabajos abandonados por workers que dejaron de responder y elimina
+     * los trabajos exitosos fuera del periodo de retención. Ambas operaciones son
+     * actualizaciones condicionadas, así que pueden ejecutarse en varias instancias.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.recovery-interval-ms:60000}")
+    public void recoverStaleJobs() {
+        try {
+            int recovered = backgroundJobService.recoverStaleJobs(Duration.ofSeconds(staleAfterSeconds));
+            if (recovered > 0) {
+                logger.warn("Recuperados {} trabajos en segundo plano abandonados", recovered);
+            }
+            int purged = backgroundJobService.purgeSucceededJobs(Duration.ofHours(retentionHours));
+            if (purged > 0) {
+                logger.debug("Eliminados {} trabajos en segundo plano exitosos", purged);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo recuperar trabajos en segundo plano abandonados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deja de tomar trabajos y espera a que terminen los que están en curso.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        queues.values().forEach(queue -> {
+            queue.signal();
+            queue.executor.shutdown();
+        });
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainSeconds);
+        for (WorkerQueue queue : queues.values()) {
+            try {
+                if (!queue.executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    logger.warn("Los workers de '{}' no terminaron en {} s; sus trabajos en curso se " +
+                               "recuperarán como abandonados", queue.name, drainSeconds);
+                    queue.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Bucle de un worker: toma y ejecuta trabajos hasta que se detiene la aplicación.
+     */
+    private void work(WorkerQueue queue) {
+        String worker = jobCoordinator.getNodeId() + "/" + Thread.currentThread().getName();
+        while (running) {
+            Optional<BackgroundJob> job;
+            try {
+                job = backgroundJobService.claimNext(queue.name, worker);
+            } catch (DataAccessException e) {
+                logger.warn("No se pudo tomar un trabajo de '{}': {}", queue.name, e.getMessage());
+                job = Optional.empty();
+            }
+
+            if (job.isPresent()) {
+                execute(queue, job.get(), worker);
+            } else {
+                queue.awaitWork(pollIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un trabajo tomado y registra su resultado.
+     */
+    private void execute(WorkerQueue queue, BackgroundJob job, String worker) {
+        long start = System.nanoTime();
+        Exception failure = null;
+        try {
+            run(job);
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        String outcome;
+        try {
+            if (failure == null) {
+                outcome = backgroundJobService.markSucceeded(job.getId(), worker) ? "succeeded" : "lost";
+            } else {
+                outcome = registerFailure(job, worker, failure);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo registrar el resultado del trabajo ID {}; se recuperará como abandonado: {}",
+                       job.getId(), e.getMessage());
+            outcome = "unrecorded";
+        }
+        if ("lost".equals(outcome)) {
+            logger.warn("El trabajo ID {} se recuperó como abandonado mientras se ejecutaba", job.getId());
+        }
+
+        Timer.builder("caribe_dreams.jobs.execution.duration")
+                .description("Duración de la ejecución de los trabajos en segundo plano")
+                .tag("queue", queue.name)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(BackgroundJob job) throws Exception {
+        BackgroundJobHandler<Object> handler = (BackgroundJobHandler<Object>) handlers.get(job.getType());
+        if (handler == null) {
+            // Puede existir en otra instancia con una versión más reciente: se reintenta
+            throw new IllegalStateException("No hay manejador para el tipo de trabajo '" + job.getType() + "'");
+        }
+        handler.handle(objectMapper.readValue(job.getPayload(), handler.payloadType()));
+    }
+
+    /**
+     * Reprograma un trabajo fallido o lo pasa a la cola de fallidos si agotó sus intentos.
+     *
+     * @return Resultado para las métricas
+     */
+    private String registerFailure(BackgroundJob job, String worker, Exception failure) {
+        String error = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        if (job.getAttempts() >= job.getMaxAttempts()) {
+            logger.error("Trabajo {} ID {} enviado a la cola de fallidos tras {} intentos: {}",
+                        job.getType(), job.getId(), job.getAttempts(), error, failure);
+            return backgroundJobService.markDead(job.getId(), worker, error) ? "dead" : "lost";
+        }
+
+        Duration delay = retryDelay(job.getAttempts());
+        logger.warn("Trabajo {} ID {} fallido (intento {}/{}), reintento en {} ms: {}",
+                   job.getType(), job.getId(), job.getAttempts(), job.getMaxAttempts(), delay.toMillis(), error);
+        return backgroundJobService.reschedule(job.getId(), worker, delay, error) ? "retried" : "lost";
+    }
+
+    /**
+     * Espera exponencial con jitter: entre la mitad y el total de base * 2^(intento - 1),
+     * acotada por el máximo configurado.
+     */
+    private Duration retryDelay(int attempts) {
+        long exponential = TimeUnit.SECONDS.toMillis(retryBaseSeconds) << Math.min(attempts - 1, 20);
+        long capped = Math.max(1, Math.min(TimeUnit.SECONDS.toMillis(retryMaxSeconds), exponential));
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped - capped / 2 + 1));
+    }
+
+    private void registerGauges(WorkerQueue queue) {
+        Gauge.builder("caribe_dreams.jobs.queue.depth", queue.depth, AtomicLong::get)
+                .description("Trabajos pendientes de la cola, incluidos los reintentos programados")
+                .tag("queue", queue.name)
+                .register(meterRegistry);
+        Gauge.builder("caribe_dreams.jobs.queue.age", queue.ageSeconds, AtomicLong::get)
+                .description("Retraso del trabajo listo más antiguo de la cola")
+                .baseUnit("seconds")
+                .tag("queue", queue.name)
+                .register(meterRegistry);
+        Gauge.builder("caribe_dreams.jobs.queue.dead", queue.dead, AtomicLong::get)
+                .description("Trabajos de la cola que agotaron sus intentos")
+                .tag("queue", queue.name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Interpreta la configuración de workers: {@code cola=hilos,cola=hilos}.
+     *
+     * @param spec Configuración de workers
+     * @return Número de hilos por cola
+     * @throws IllegalArgumentException si la configuración no es válida
+     */
+    static Map<String, Integer> parseWorkers(String spec) {
+        Map<String, Integer> workers = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=");
+            int threads = 0;
+            if (parts.length == 2 && !parts[0].isBlank()) {
+                try {
+                    threads = Integer.parseInt(parts[1].trim());
+                } catch (NumberFormatException e) {
+                    threads = 0;
+                }
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("Configuración de workers inválida: '" + entry +
+                                                   "' (formato esperado: cola=hilos)");
+            }
+            workers.put(parts[0].trim(), threads);
+        }
+        return workers;
+    }
+
+    /**
+     * Grupo de workers de una cola y sus métricas.
+     */
+    private static final class WorkerQueue {
+        final String name;
+        final int workers;
+        final ExecutorService executor;
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition workAvailable = lock.newCondition();
+        final AtomicLong depth = new AtomicLong();
+        final AtomicLong dead = new AtomicLong();
+        final AtomicLong ageSeconds = new AtomicLong();
+        boolean signalled;
+
+        WorkerQueue(String name, int workers) {
+            this.name = name;
+            this.workers = workers;
+            AtomicInteger sequence = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "job-" + name + "-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void signal() {
+            lock.lock();
+            try {
+                signalled = true;
+                workAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Espera hasta que se encole un trabajo o venza el intervalo de sondeo.
+         */
+        void awaitWork(long timeoutMillis) {
+            lock.lock();
+            try {
+                if (!signalled) {
+                    workAvailable.await(timeoutMillis, TimeUnit.MILLISECONDS);
+                }
+                signalled = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.project.caribevibes.service.job;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Coordina los trabajos programados entre las instancias de la aplicación.
+ *
+ * Todas las instancias disparan sus {@code @Scheduled}, pero solo la que adquiere el
+ * lease del trabajo lo ejecuta; las demás omiten esa ejecución. Mientras el trabajo
+ * corre, el lease se renueva en segundo plano cada tercio de su duración. Si la
+ * instancia muere, el lease vence y la siguiente ejecución la toma otra instancia.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class JobCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobCoordinator.class);
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${app.cluster.node-id:}")
+    private String nodeId;
+
+    @Value("${app.cluster.lease-seconds:120}")
+    private long leaseSeconds;
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Ejecuta un trabajo solo si esta instancia adquiere su lease.
+     *
+     * @param jobName Nombre del trabajo (clave del lease)
+     * @param job Trabajo a ejecutar; recibe el lease para comprobarlo en sus escrituras
+     * @return true si el trabajo se ejecutó en esta instancia
+     */
+    public boolean runExclusive(String jobName, Consumer<JobLeaseGrant> job) {
+        Duration duration = Duration.ofSeconds(leaseSeconds);
+        Optional<JobLeaseGrant> acquired;
+        try {
+            acquired = jobLeaseService.tryAcquire(jobName, getNodeId(), duration);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("El lease del trabajo '{}' lo creó otra instancia al mismo tiempo", jobName);
+            return false;
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo adquirir el lease del trabajo '{}': {}", jobName, e.getMessage());
+            return false;
+        }
+        if (acquired.isEmpty()) {
+            logger.debug("El trabajo '{}' se está ejecutando en otra instancia", jobName);
+            return false;
+        }
+
+        JobLeaseGrant grant = acquired.get();
+        long renewMillis = Math.max(1, duration.toMillis() / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(() -> renew(grant, duration),
+                renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            job.accept(grant);
+            return true;
+        } finally {
+            renewal.cancel(false);
+            try {
+                jobLeaseService.release(grant);
+            } catch (DataAccessException e) {
+                // El lease vencerá por sí solo
+                logger.warn("No se pudo liberar el lease {}: {}", grant, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return Identificador de esta instancia en los leases
+     */
+    public String getNodeId() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = defaultNodeId();
+        }
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+    }
+
+    private void renew(JobLeaseGrant grant, Duration duration) {
+        if (grant.isLost()) {
+            return;
+        }
+        try {
+            if (!jobLeaseService.renew(grant, duration)) {
+                grant.markLost();
+                logger.warn("Lease {} perdido: venció antes de renovarse", grant);
+            }
+        } catch (DataAccessException e) {
+            // Se reintenta en el siguiente latido mientras el lease no haya vencido
+            logger.warn("No se pudo renovar el lease {}: {}", grant, e.getMessage());
+        }
+    }
+
+    /**
+     * Nombre del host más un sufijo aleatorio, para distinguir reinicios en la misma máquina.
+     */
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,53 @@
+package org.project.caribevibes.service.job;
+
+/**
+ * Lease adquirido por esta instancia para ejecutar un trabajo.
+ *
+ * El token identifica la adquisición: las escrituras protegidas lo comprueban con
+ * {@link JobLeaseService#assertHeld(JobLeaseGrant)} dentro de su transacción.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public final class JobLeaseGrant {
+
+    private final String name;
+    private final String owner;
+    private final long fencingToken;
+    private volatile boolean lost;
+
+    JobLeaseGrant(String name, String owner, long fencingToken) {
+        this.name = name;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    /**
+     * @return true si no se pudo renovar el lease y el trabajo debe detenerse
+     */
+    public boolean isLost() {
+        return lost;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + fencingToken + "@" + owner;
+    }
+}
@@ -0,0 +1,106 @@
+package org.project.caribevibes.service.job;
+
+import org.project.caribevibes.entity.job.JobLease;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.repository.job.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Servicio de leases de trabajos programados respaldados por la base de datos.
+ *
+ * Adquirir, renovar y liberar se confirman cada uno en su propia transacción para
+ * que el estado del lease sea visible de inmediato para las demás instancias. Los
+ * vencimientos usan el reloj de cada instancia, por lo que la duración del lease
+ * debe ser holgada frente al desfase entre relojes.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Service
+@Transactional(propagation = Propagation.REQUIRES_NEW)
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    /**
+     * Intenta adquirir el lease de un trabajo, creándolo si todavía no existe.
+     *
+     * @param name Nombre del trabajo
+     * @param owner Instancia que lo adquiere
+     * @param duration Duración del lease
+     * @return Lease adquirido, o vacío si otra instancia lo posee
+     * @throws org.springframework.dao.DataIntegrityViolationException si otra instancia
+     *         creó el lease al mismo tiempo (la otra instancia lo posee)
+     */
+    public Optional<JobLeaseGrant> tryAcquire(String name, String owner, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(duration);
+
+        if (jobLeaseRepository.acquire(name, owner, now, expiresAt) == 1) {
+            long token = jobLeaseRepository.findById(name).map(JobLease::getFencingToken).orElseThrow();
+            logger.debug("Lease '{}' adquirido por {} con token {}", name, owner, token);
+            return Optional.of(new JobLeaseGrant(name, owner, token));
+        }
+        if (jobLeaseRepository.existsById(name)) {
+            return Optional.empty();
+        }
+
+        jobLeaseRepository.create(name, owner, now, expiresAt);
+        logger.info("Lease '{}' creado y adquirido por {}", name, owner);
+        return Optional.of(new JobLeaseGrant(name, owner, 1L));
+    }
+
+    /**
+     * Extiende un lease vigente.
+     *
+     * @param grant Lease adquirido
+     * @param duration Duración desde ahora
+     * @return false si el lease venció o lo adquirió otra instancia
+     */
+    public boolean renew(JobLeaseGrant grant, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobLeaseRepository.renew(grant.getName(), grant.getOwner(), grant.getFencingToken(),
+                                        now, now.plus(duration)) == 1;
+    }
+
+    /**
+     * Libera un lease para que otra instancia pueda adquirirlo sin esperar a que venza.
+     *
+     * @param grant Lease adquirido
+     */
+    public void release(JobLeaseGrant grant) {
+        if (jobLeaseRepository.release(grant.getName(), grant.getOwner(), grant.getFencingToken(),
+                                       LocalDateTime.now()) == 0) {
+            logger.debug("Lease {} ya no pertenecía a esta instancia al liberarlo", grant);
+        }
+    }
+
+    /**
+     * Comprueba, dentro de la transacción en curso, que el token del lease sigue
+     * vigente. Las escrituras de un trabajo que se confirmen tras esta comprobación
+     * no pueden solaparse con las de una instancia que haya adquirido el lease después.
+     *
+     * @param grant Lease adquirido
+     * @throws BusinessException si otra instancia adquirió el lease
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assertHeld(JobLeaseGrant grant) {
+        if (jobLeaseRepository.fence(grant.getName(), grant.getFencingToken(), LocalDateTime.now()) == 0) {
+            grant.markLost();
+            throw new BusinessException("El lease " + grant + " lo adquirió otra instancia", "JOB_LEASE_LOST");
+        }
+    }
+}
@@ -8,30 +8,32 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.layout.properties.VerticalAlignment;
 import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.commons.exceptions.ITextException;
+import io.micrometer.core.instrument.Timer;
 import org.project.caribevibes.entity.booking.Booking;
 import org.project.caribevibes.entity.booking.BookingActivity;
 import org.project.caribevibes.exception.BusinessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.UUID;
-import java.io.IOException;
-import java.time.format.DateTimeFormatter;
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.UUID;
 
 /**
@@ -39,6 +41,10 @@ import java.util.UUID;
  * 
  * Genera documentos PDF profesionales estilo caribeño que incluyen toda la información
  * relevante de las reservas con un diseño moderno y colores vibrantes.
+ * Las partes comunes a todos los vouchers (fuentes, encabezado, términos y pie) se
+ * preparan una sola vez en {@link VoucherTemplate}; aquí solo se maqueta lo propio
+ * de cada reserva. Los vouchers se escriben en streaming sobre el destino que se
+ * indique (respuesta HTTP, fichero), sin mantener el documento completo en memoria.
  * 
  * @author Sistema Caribe Vibes
  * @version 2.0
@@ -51,14 +57,25 @@ public class PdfService {
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    /**
+     * Versión del diseño del voucher; cambiarla invalida las huellas de todos los vouchers
+     */
+    private static final String LAYOUT_VERSION = "3";
     
     // Colores temáticos del Caribe
-    private static final Color CARIBBEAN_BLUE = new DeviceRgb(0, 123, 255);
-    private static final Color TROPICAL_GREEN = new DeviceRgb(40, 167, 69);
-    private static final Color SUNSET_ORANGE = new DeviceRgb(255, 193, 7);
-    private static final Color CORAL_RED = new DeviceRgb(220, 53, 69);
-    private static final Color BEACH_SAND = new DeviceRgb(248, 249, 250);
-    private static final Color OCEAN_DEEP = new DeviceRgb(23, 162, 184);
+    static final Color CARIBBEAN_BLUE = new DeviceRgb(0, 123, 255);
+    static final Color TROPICAL_GREEN = new DeviceRgb(40, 167, 69);
+    static final Color SUNSET_ORANGE = new DeviceRgb(255, 193, 7);
+    static final Color CORAL_RED = new DeviceRgb(220, 53, 69);
+    static final Color BEACH_SAND = new DeviceRgb(248, 249, 250);
+    static final Color OCEAN_DEEP = new DeviceRgb(23, 162, 184);
+
+    @Autowired
+    private VoucherTemplate voucherTemplate;
+
+    @Autowired
+    private Timer pdfGenerationTimer;
 
     /**
      * Genera un voucher PDF premium para una reserva específica.
@@ -68,110 +85,134 @@ public class PdfService {
      * @throws BusinessException Si ocurre un error durante la generación
      */
     public byte[] generateBookingVoucher(Booking booking) {
-        logger.info("Generando voucher PDF premium para reserva ID: {}", booking.getId());
-        
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(outputStream);
-            PdfDocument pdfDocument = new PdfDocument(writer);
-            Document document = new Document(pdfDocument);
-            
-            // Configurar márgenes para un diseño más elegante
-            document.setMargins(40, 40, 40, 40);
-
-            // Configurar fuentes
-            PdfFont boldFont = PdfFontFactory.createFont("Helvetica-Bold");
-            PdfFont regularFont = PdfFontFactory.createFont("Helvetica");
-            PdfFont lightFont = PdfFontFactory.createFont("Helvetica-Oblique");
-
-            // Generar contenido del documento con diseño premium
-            addPremiumHeader(document, booking, boldFont, regularFont);
-            addBookingBanner(document, booking, boldFont, regularFont);
-            addPremiumBookingInfo(document, booking, boldFont, regularFont);
-            addPremiumHotelInfo(document, booking, boldFont, regularFont);
-            addPremiumGuestInfo(document, booking, boldFont, regularFont);
-            
-            if (booking.getActivities() != null && !booking.getActivities().isEmpty()) {
-                addPremiumActivitiesInfo(document, booking, boldFont, regularFont);
-            }
-            
-            addPremiumTotalsInfo(document, booking, boldFont, regularFont);
-            addTermsAndConditions(document, lightFont);
-            addPremiumFooter(document, regularFont, lightFont);
-
-            document.close();
-            
-            logger.info("Voucher PDF premium generado exitosamente para reserva ID: {}", booking.getId());
-            return outputStream.toByteArray();
-            
+            writeBookingVoucher(booking, outputStream);
         } catch (IOException e) {
             logger.error("Error generando PDF premium para reserva ID {}: {}", booking.getId(), e.getMessage());
             throw new BusinessException("Error generando el voucher PDF: " + e.getMessage());
         }
+        return outputStream.toByteArray();
     }
 
     /**
-     * Añade un encabezado premium con gradiente y logo.
+     * Genera el voucher PDF de una reserva escribiéndolo a medida que se maqueta.
+     * El flujo de salida no se cierra.
+     * 
+     * @param booking Reserva para la cual generar el voucher
+     * @param out Destino del documento PDF
+     * @throws IOException si no se puede escribir en el destino
      */
-    private void addPremiumHeader(Document document, Booking booking, PdfFont boldFont, PdfFont regularFont) {
-        // Crear tabla principal del header
-        Table headerTable = new Table(UnitValue.createPercentArray(new float[]{2, 6, 2}));
-        headerTable.setWidth(UnitValue.createPercentValue(100));
-        headerTable.setMarginBottom(30);
-
-        // Logo o icono (simulado con texto estilizado)
-        Cell logoCell = new Cell()
-                .add(new Paragraph("🏝️")
-                        .setFontSize(40)
-                        .setTextAlignment(TextAlignment.CENTER))
-                .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 2))
-                .setBackgroundColor(BEACH_SAND)
-                .setPadding(10);
-
-        // Título principal
-        Cell titleCell = new Cell()
-                .add(new Paragraph("CARIBE VIBES")
-                        .setFont(boldFont)
-                        .setFontSize(28)
-                        .setFontColor(CARIBBEAN_BLUE)
-                        .setTextAlignment(TextAlignment.CENTER)
-                        .setMarginBottom(5))
-                .add(new Paragraph("Voucher de Reserva")
-                        .setFont(regularFont)
-                        .setFontSize(16)
-                        .setFontColor(OCEAN_DEEP)
-                        .setTextAlignment(TextAlignment.CENTER))
-                .add(new Paragraph("🌺 Tu aventura caribeña te espera 🌺")
-                        .setFont(regularFont)
-                        .setFontSize(12)
-                        .setFontColor(TROPICAL_GREEN)
-                        .setTextAlignment(TextAlignment.CENTER)
-                        .setMarginTop(5))
-                .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 2))
-                .setBackgroundColor(new DeviceRgb(240, 248, 255))
-                .setPadding(15);
+    public void writeBookingVoucher(Booking booking, OutputStream out) throws IOException {
+        logger.info("Generando voucher PDF premium para reserva ID: {}", booking.getId());
+        
+        Timer.Sample sample = Timer.start();
+        try {
+            renderVoucher(booking, out);
+        } finally {
+            sample.stop(pdfGenerationTimer);
+        }
+        
+        logger.info("Voucher PDF premium generado exitosamente para reserva ID: {}", booking.getId());
+    }
 
-        // Código QR simulado
-        Cell qrCell = new Cell()
-                .add(new Paragraph("📱")
-                        .setFontSize(30)
-                        .setTextAlignment(TextAlignment.CENTER))
-                .add(new Paragraph("QR CODE")
-                        .setFont(regularFont)
-                        .setFontSize(8)
-                        .setTextAlignment(TextAlignment.CENTER))
-                .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                .setBorder(new SolidBorder(OCEAN_DEEP, 2))
-                .setBackgroundColor(BEACH_SAND)
-                .setPadding(10);
+    /**
+     * Calcula la huella del contenido del voucher de una reserva: un hash de todos los
+     * datos que se imprimen en él. Dos reservas con la misma huella producen el mismo
+     * voucher (salvo el sello de generación), así que sirve como clave de cache y ETag.
+     * Debe actualizarse junto con las secciones del voucher.
+     *
+     * @param booking Reserva
+     * @return Huella en hexadecimal
+     */
+    public String voucherFingerprint(Booking booking) {
+        StringBuilder content = new StringBuilder(512)
+                .append(LAYOUT_VERSION)
+                .append('|').append(booking.getId())
+                .append('|').append(booking.getStatus())
+                .append('|').append(booking.getCheckInDate())
+                .append('|').append(booking.getCheckOutDate())
+                .append('|').append(booking.getNumberOfGuests())
+                .append('|').append(booking.getNumberOfRooms())
+                .append('|').append(booking.getBookingDate())
+                .append('|').append(booking.getSpecialRequests())
+                .append('|').append(booking.getAccommodationPrice())
+                .append('|').append(booking.getTotalPrice())
+                .append('|').append(booking.getHotel().getName())
+                .append('|').append(booking.getHotel().getAddress())
+                .append('|').append(booking.getHotel().getRating())
+                .append('|').append(booking.getRoomType().getName())
+                .append('|').append(booking.getRoomType().getDescription())
+                .append('|').append(booking.getRoomType().getPricePerNight())
+                .append('|').append(booking.getUser().getFirstName())
+                .append('|').append(booking.getUser().getLastName())
+                .append('|').append(booking.getUser().getEmail())
+                .append('|').append(booking.getUser().getUsername());
+        if (booking.getActivities() != null) {
+            for (BookingActivity bookingActivity : booking.getActivities()) {
+                content.append('|').append(bookingActivity.getActivity().getName())
+                        .append('|').append(bookingActivity.getActivity().getDescription())
+                        .append('|').append(bookingActivity.getQuantity())
+                        .append('|').append(bookingActivity.getPricePerPerson())
+                        .append('|').append(bookingActivity.getTotalPrice());
+            }
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
 
-        headerTable.addCell(logoCell);
-        headerTable.addCell(titleCell);
-        headerTable.addCell(qrCell);
+    /**
+     * Maqueta el voucher: copia las partes estáticas de la plantilla y añade las
+     * secciones propias de la reserva.
+     */
+    private void renderVoucher(Booking booking, OutputStream out) throws IOException {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        try {
+            PdfDocument pdfDocument = new PdfDocument(writer);
+            Document document = new Document(pdfDocument);
+            
+            // Configurar márgenes para un diseño más elegante
+            document.setMargins(VoucherTemplate.MARGIN, VoucherTemplate.MARGIN,
+                                VoucherTemplate.MARGIN, VoucherTemplate.MARGIN);
+
+            VoucherTemplate.Fonts fonts = voucherTemplate.fonts(pdfDocument);
+            PdfFont boldFont = fonts.bold();
+            PdfFont regularFont = fonts.regular();
+
+            try (VoucherTemplate.StaticParts staticParts = voucherTemplate.open(pdfDocument)) {
+                document.add(staticParts.get(VoucherTemplate.Part.HEADER));
+                addBookingBanner(document, booking, boldFont, regularFont);
+                addPremiumBookingInfo(document, booking, boldFont, regularFont);
+                addPremiumHotelInfo(document, booking, boldFont, regularFont);
+                addPremiumGuestInfo(document, booking, boldFont, regularFont);
+                
+                if (booking.getActivities() != null && !booking.getActivities().isEmpty()) {
+                    addPremiumActivitiesInfo(document, booking, boldFont, regularFont);
+                }
+                
+                addPremiumTotalsInfo(document, booking, boldFont, regularFont);
+                document.add(staticParts.get(VoucherTemplate.Part.TERMS));
+                document.add(staticParts.get(VoucherTemplate.Part.FOOTER));
+            }
+            addGenerationStamp(document, fonts.light());
 
-        document.add(headerTable);
+            document.close();
+        } catch (ITextException e) {
+            // iText envuelve los errores de escritura del destino en excepciones no comprobadas
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            throw e;
+        }
     }
 
     /**
@@ -232,7 +273,7 @@ public class PdfService {
                 CORAL_RED, boldFont, regularFont);
         
         addInfoCard(infoTable, "🌙 Noches", 
-                String.valueOf(booking.getCheckInDate().until(booking.getCheckOutDate()).getDays()),
+                String.valueOf(ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate())),
                 SUNSET_ORANGE, boldFont, regularFont);
 
         // Segunda fila
@@ -410,10 +451,11 @@ public class PdfService {
                 .setMarginTop(25);
         document.add(sectionTitle);
 
-        // Calcular desglose
-        BigDecimal roomTotal = booking.getRoomType().getPricePerNight()
-                .multiply(BigDecimal.valueOf(booking.getCheckInDate().until(booking.getCheckOutDate()).getDays()));
-        
+        // Desglose: el alojamiento ya incluye las tarifas por temporada y todas las habitaciones
+        long nights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
+        int rooms = booking.getNumberOfRooms() != null ? booking.getNumberOfRooms() : 1;
+        BigDecimal roomTotal = booking.getAccommodationPrice() != null ? booking.getAccommodationPrice() : BigDecimal.ZERO;
+
         BigDecimal activitiesTotal = booking.getActivities().stream()
                 .map(BookingActivity::getTotalPrice)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -422,8 +464,8 @@ public class PdfService {
         totalsTable.setWidth(UnitValue.createPercentValue(100));
 
         // Desglose
-        addTotalRow(totalsTable, "🏨 Alojamiento (" + 
-                booking.getCheckInDate().until(booking.getCheckOutDate()).getDays() + " noches)",
+        addTotalRow(totalsTable, "🏨 Alojamiento (" + nights + " noches" +
+                (rooms > 1 ? ", " + rooms + " habitaciones" : "") + ")",
                 "$" + roomTotal.toString(), regularFont);
         
         if (activitiesTotal.compareTo(BigDecimal.ZERO) > 0) {
@@ -464,93 +506,9 @@ public class PdfService {
     }
 
     /**
-     * Añade términos y condiciones.
-     */
-    private void addTermsAndConditions(Document document, PdfFont lightFont) {
-        Paragraph terms = new Paragraph("📋 TÉRMINOS Y CONDICIONES")
-                .setFont(lightFont)
-                .setFontSize(12)
-                .setFontColor(OCEAN_DEEP)
-                .setMarginTop(30)
-                .setMarginBottom(10);
-        
-        Paragraph termsText = new Paragraph(
-                "• Este voucher es válido únicamente para las fechas especificadas.\n" +
-                "• Presentar este documento al momento del check-in junto con identificación oficial.\n" +
-                "• Cancelaciones deben realizarse con al menos 48 horas de anticipación.\n" +
-                "• Las actividades están sujetas a disponibilidad y condiciones climáticas.\n" +
-                "• Para cambios o consultas, contactar a nuestro equipo de atención al cliente.")
-                .setFont(lightFont)
-                .setFontSize(10)
-                .setFontColor(new DeviceRgb(100, 100, 100))
-                .setFixedLeading(12);
-
-        document.add(terms);
-        document.add(termsText);
-    }
-
-    /**
-     * Añade un pie de página premium.
+     * Añade la fecha de generación y un identificador del voucher.
      */
-    private void addPremiumFooter(Document document, PdfFont regularFont, PdfFont lightFont) {
-        // Información de contacto
-        Table footerTable = new Table(UnitValue.createPercentArray(new float[]{1, 1, 1}));
-        footerTable.setWidth(UnitValue.createPercentValue(100));
-        footerTable.setMarginTop(30);
-
-        Cell contactCell = new Cell()
-                .add(new Paragraph("📞 CONTACTO")
-                        .setFont(regularFont)
-                        .setFontSize(12)
-                        .setFontColor(CARIBBEAN_BLUE))
-                .add(new Paragraph("📧 reservas@caribevibes.com\n📱 +57 1 234 5678\n🌐 www.caribevibes.com")
-                        .setFont(lightFont)
-                        .setFontSize(10)
-                        .setFixedLeading(12))
-                .setBackgroundColor(BEACH_SAND)
-                .setPadding(15)
-                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 1));
-
-        Cell emergencyCell = new Cell()
-                .add(new Paragraph("🚨 EMERGENCIAS")
-                        .setFont(regularFont)
-                        .setFontSize(12)
-                        .setFontColor(CORAL_RED))
-                .add(new Paragraph("24/7 Asistencia\n📱 +57 300 123 4567\n🏥 Servicios médicos")
-                        .setFont(lightFont)
-                        .setFontSize(10)
-                        .setFixedLeading(12))
-                .setBackgroundColor(new DeviceRgb(255, 245, 245))
-                .setPadding(15)
-                .setBorder(new SolidBorder(CORAL_RED, 1));
-
-        Cell socialCell = new Cell()
-                .add(new Paragraph("🌐 SÍGUENOS")
-                        .setFont(regularFont)
-                        .setFontSize(12)
-                        .setFontColor(TROPICAL_GREEN))
-                .add(new Paragraph("📘 Facebook: /CaribeVibes\n📷 Instagram: @caribevibes\n🐦 Twitter: @caribevibes")
-                        .setFont(lightFont)
-                        .setFontSize(10)
-                        .setFixedLeading(12))
-                .setBackgroundColor(new DeviceRgb(245, 255, 245))
-                .setPadding(15)
-                .setBorder(new SolidBorder(TROPICAL_GREEN, 1));
-
-        footerTable.addCell(contactCell);
-        footerTable.addCell(emergencyCell);
-        footerTable.addCell(socialCell);
-
-        document.add(footerTable);
-
-        // Mensaje final
-        Paragraph farewell = new Paragraph("🌴 ¡Gracias por elegir Caribe Vibes para tu aventura! 🌴")
-                .setFont(regularFont)
-                .setFontSize(14)
-                .setFontColor(CARIBBEAN_BLUE)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMarginTop(20);
-
+    private void addGenerationStamp(Document document, PdfFont lightFont) {
         Paragraph generated = new Paragraph("Voucher generado el " + 
                 LocalDateTime.now().format(DATETIME_FORMATTER) + " | ID: " + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
                 .setFont(lightFont)
@@ -559,7 +517,6 @@ public class PdfService {
                 .setTextAlignment(TextAlignment.CENTER)
                 .setMarginTop(10);
 
-        document.add(farewell);
         document.add(generated);
     }
 
@@ -0,0 +1,252 @@
+package org.project.caribevibes.service.pdf;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.repository.booking.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Genera en bloque los vouchers de las llegadas de un hotel y los entrega en un ZIP.
+ *
+ * Los vouchers se generan en paralelo en un pool propio de tamaño fijo (por defecto,
+ * uno por núcleo), separado de los hilos que atienden peticiones, y se escriben en el
+ * ZIP en el orden en que terminan. Cada descarga tiene como mucho el doble de vouchers
+ * en curso que hilos tiene el pool, y un semáforo compartido limita los vouchers
+ * pendientes entre todas las descargas: si el cliente lee despacio, la descarga deja de
+ * encargar vouchers hasta que se escriben los ya generados, así que la memoria ocupada
+ * no depende del número de reservas ni de descargas simultáneas. Una descarga solo
+ * espera al semáforo cuando no tiene vouchers propios pendientes, de modo que siempre
+ * hay alguna que avanza y libera huecos.
+ *
+ * Con la cache de vouchers activa se reutilizan los vouchers ya generados y los nuevos
+ * quedan guardados para las descargas individuales.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class VoucherBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoucherBatchService.class);
+
+    /**
+     * Nombre de la entrada del ZIP con los vouchers que no se pudieron generar
+     */
+    private static final String ERRORS_ENTRY = "errores.txt";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    private VoucherCache voucherCache;
+
+    @Value("${app.pdf.bulk.threads:0}")
+    private int threads;
+
+    @Value("${app.pdf.bulk.max-bookings:2000}")
+    private int maxBookings;
+
+    @Value("${app.pdf.bulk.max-days:31}")
+    private int maxDays;
+
+    private ExecutorService renderPool;
+
+    /**
+     * Vouchers encargados y aún no escritos, entre todas las descargas
+     */
+    private Semaphore slots;
+
+    /**
+     * Vouchers en curso por descarga
+     */
+    private int window;
+
+    @PostConstruct
+    public void start() {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        window = threads * 2;
+        slots = new Semaphore(threads * 4, true);
+
+        AtomicInteger sequence = new AtomicInteger();
+        renderPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "voucher-render-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Generación de vouchers en bloque con {} hilos", threads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Selecciona las reservas cuyos vouchers se incluyen en el ZIP: las activas y no
+     * canceladas del hotel con llegada entre las dos fechas.
+     *
+     * @param hotelId ID del hotel
+     * @param from Primera fecha de check-in
+     * @param to Última fecha de check-in (inclusive)
+     * @return IDs de las reservas, por fecha de llegada
+     * @throws IllegalArgumentException si el rango no es válido o hay demasiadas reservas
+     */
+    public List<Long> prepare(Long hotelId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la inicial");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new IllegalArgumentException("El rango de fechas no puede superar " + maxDays + " días");
+        }
+
+        List<Long> bookingIds = bookingRepository.findVoucherBookingIds(hotelId, from, to, Limit.of(maxBookings + 1));
+        if (bookingIds.size() > maxBookings) {
+            throw new IllegalArgumentException("El rango incluye más de " + maxBookings
+                    + " reservas; reduce el rango de fechas");
+        }
+        logger.info("Generando {} vouchers del hotel ID: {} ({} - {})", bookingIds.size(), hotelId, from, to);
+        return bookingIds;
+    }
+
+    /**
+     * Escribe un ZIP con los vouchers de las reservas a medida que se generan. Los
+     * vouchers que no se pueden generar se listan en {@value #ERRORS_ENTRY}.
+     *
+     * @param bookingIds IDs de las reservas (ver {@link #prepare})
+     * @param out Destino del ZIP (no se cierra)
+     * @throws IOException si falla la escritura o se interrumpe la descarga
+     */
+    public void writeZip(List<Long> bookingIds, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(renderPool);
+        Set<Future<Rendered>> pending = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        int next = 0;
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            while (next < bookingIds.size() || !pending.isEmpty()) {
+                while (next < bookingIds.size() && pending.size() < window) {
+                    // Solo se espera un hueco sin vouchers propios pendientes: quien tiene
+                    // vouchers en curso los escribe antes y así libera huecos para todos
+                    if (pending.isEmpty()) {
+                        slots.acquire();
+                    } else if (!slots.tryAcquire()) {
+                        break;
+                    }
+                    Long bookingId = bookingIds.get(next++);
+                    pending.add(completion.submit(() -> render(bookingId)));
+                }
+
+                Future<Rendered> done = completion.take();
+                pending.remove(done);
+                try {
+                    Rendered rendered = done.get();
+                    if (rendered.error() != null) {
+                        errors.add(rendered.bookingId() + ": " + rendered.error());
+                    } else {
+                        writeStored(zip, "voucher-reserva-" + rendered.bookingId() + ".pdf", rendered.pdf());
+                    }
+                } finally {
+                    slots.release();
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                String report = String.join("\n", errors) + "\n";
+                writeStored(zip, ERRORS_ENTRY, report.getBytes(StandardCharsets.UTF_8));
+            }
+            zip.finish();
+            zip.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Generación de vouchers interrumpida");
+        } catch (ExecutionException e) {
+            // render() no lanza excepciones: solo puede ser un error de la JVM
+            throw new IllegalStateException("Error generando vouchers", e.getCause());
+        } finally {
+            for (Future<Rendered> future : pending) {
+                future.cancel(true);
+                slots.release();
+            }
+        }
+
+        logger.info("{} vouchers escritos en {} ms ({} con error)", bookingIds.size() - errors.size(),
+                    (System.nanoTime() - start) / 1_000_000, errors.size());
+    }
+
+    /**
+     * Genera un voucher en un hilo del pool. Carga la reserva con todo lo que se imprime
+     * para no depender de la sesión de la petición.
+     */
+    private Rendered render(Long bookingId) {
+        try {
+            Booking booking = bookingRepository.findWithVoucherDetailsById(bookingId).orElse(null);
+            if (booking == null) {
+                return new Rendered(bookingId, null, "reserva no encontrada");
+            }
+            byte[] pdf = voucherCache.isEnabled()
+                    ? Files.readAllBytes(voucherCache.get(booking).file())
+                    : pdfService.generateBookingVoucher(booking);
+            return new Rendered(bookingId, pdf, null);
+        } catch (Exception e) {
+            logger.error("Error generando el voucher de la reserva ID: {}", bookingId, e);
+            return new Rendered(bookingId, null, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Añade una entrada sin comprimir: los PDF ya van comprimidos y volver a hacerlo
+     * solo gasta CPU.
+     */
+    private static void writeStored(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private record Rendered(Long bookingId, byte[] pdf, String error) {
+    }
+}
@@ -0,0 +1,306 @@
+package org.project.caribevibes.service.pdf;
+
+import jakarta.annotation.PostConstruct;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.booking.BookingActivity;
+import org.project.caribevibes.entity.destination.Activity;
+import org.project.caribevibes.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cache en disco de los vouchers PDF generados.
+ *
+ * Cada voucher se guarda en un fichero nombrado por la reserva y la huella de su
+ * contenido ({@link PdfService#voucherFingerprint}), que también es su ETag: si la
+ * reserva, su hotel, su usuario o sus actividades cambian, la huella cambia y el
+ * voucher se vuelve a generar. Solo se conserva el voucher vigente de cada reserva y
+ * el tamaño total está acotado ({@code app.pdf.voucher-cache.max-size-mb}); al
+ * superarlo se eliminan los vouchers usados hace más tiempo. Los cambios de reservas
+ * y actividades eliminan además sus vouchers al confirmarse, para no ocupar disco con
+ * vouchers que ya no se van a servir.
+ *
+ * Los vouchers se escriben directamente en disco mientras se generan y se entregan
+ * como ficheros, para poder enviarlos sin copiarlos a memoria. Por eso los ficheros
+ * retirados no se borran en el acto, sino pasado un minuto: una descarga que acaba
+ * de obtener su ruta todavía puede abrirlo.
+ *
+ * El índice vive en memoria, así que el directorio se vacía al arrancar.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class VoucherCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoucherCache.class);
+
+    private static final String SUFFIX = ".pdf";
+
+    /**
+     * Espera antes de borrar un fichero retirado del índice
+     */
+    private static final long RETIRED_GRACE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Value("${app.pdf.voucher-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.pdf.voucher-cache.path:${java.io.tmpdir}/caribe-vibes/vouchers}")
+    private String path;
+
+    @Value("${app.pdf.voucher-cache.max-size-mb:256}")
+    private long maxSizeMb;
+
+    private Path directory;
+
+    private long maxBytes;
+
+    /**
+     * Voucher vigente de cada reserva, del usado hace más tiempo al más reciente
+     */
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long totalBytes;
+
+    /**
+     * Entradas retiradas del índice pendientes de borrar, de la más antigua a la más reciente
+     */
+    private final ArrayDeque<Retired> retired = new ArrayDeque<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            logger.info("Cache de vouchers desactivada");
+            return;
+        }
+        directory = Paths.get(path).toAbsolutePath();
+        maxBytes = maxSizeMb * 1024 * 1024;
+        Files.createDirectories(directory);
+
+        // Sin índice no se puede saber a qué huella corresponde cada fichero
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+                removed++;
+            }
+        }
+        logger.info("Cache de vouchers en {} (máximo {} MB, {} vouchers anteriores eliminados)",
+                    directory, maxSizeMb, removed);
+    }
+
+    /**
+     * Calcula el ETag del voucher de una reserva sin generarlo.
+     *
+     * @param booking Reserva
+     * @return Huella del contenido del voucher
+     */
+    public String etag(Booking booking) {
+        return pdfService.voucherFingerprint(booking);
+    }
+
+    /**
+     * @return true si los vouchers se guardan en disco
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtiene el fichero del voucher de una reserva, generándolo solo si no está en
+     * cache o su contenido cambió. El fichero sigue disponible al menos un minuto
+     * aunque el voucher se invalide.
+     *
+     * @param booking Reserva
+     * @return Voucher con su ETag, fichero y tamaño
+     * @throws IOException si el voucher no se puede guardar
+     * @throws IllegalStateException si la cache está desactivada
+     */
+    public CachedVoucher get(Booking booking) throws IOException {
+        if (!enabled) {
+            throw new IllegalStateException("La cache de vouchers está desactivada");
+        }
+        String etag = etag(booking);
+        CachedVoucher cached = lookup(booking.getId(), etag);
+        if (cached != null) {
+            logger.debug("Voucher de la reserva ID: {} servido desde cache", booking.getId());
+            return cached;
+        }
+
+        Path temp = Files.createTempFile(directory, "voucher-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                pdfService.writeBookingVoucher(booking, out);
+            }
+            Entry entry = new Entry(booking.getId(), etag, directory.resolve(booking.getId() + "-" + etag + SUFFIX),
+                                    Files.size(temp), activityIds(booking));
+            store(entry, temp);
+            return new CachedVoucher(etag, entry.file(), entry.size());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Elimina los vouchers de unas reservas cuando se confirme la transacción en curso.
+     *
+     * @param bookingIds IDs de las reservas modificadas
+     */
+    public void evictBookingsAfterCommit(Collection<Long> bookingIds) {
+        if (enabled && !bookingIds.isEmpty()) {
+            TransactionUtils.afterCommit(() -> evictBookings(bookingIds));
+        }
+    }
+
+    /**
+     * Elimina los vouchers que incluyen una actividad cuando se confirme la transacción
+     * en curso.
+     *
+     * @param activityId ID de la actividad modificada
+     */
+    public void evictActivityAfterCommit(Long activityId) {
+        if (enabled) {
+            TransactionUtils.afterCommit(() -> evictActivity(activityId));
+        }
+    }
+
+    /**
+     * Busca el voucher en cache si su huella coincide.
+     */
+    private synchronized CachedVoucher lookup(Long bookingId, String etag) {
+        Entry entry = entries.get(bookingId);
+        if (entry == null || !entry.etag().equals(etag)) {
+            return null;
+        }
+        if (!Files.isRegularFile(entry.file())) {
+            logger.warn("Voucher en cache de la reserva ID: {} no encontrado en disco", bookingId);
+            retire(entries.remove(bookingId));
+            return null;
+        }
+        return new CachedVoucher(etag, entry.file(), entry.size());
+    }
+
+    /**
+     * Publica un voucher recién generado. El fichero se mueve dentro del bloqueo para
+     * que el borrado de los retirados no lo alcance si reutiliza el nombre de uno de ellos.
+     */
+    private synchronized void store(Entry entry, Path temp) throws IOException {
+        Files.move(temp, entry.file(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Entry previous = entries.put(entry.bookingId(), entry);
+        if (previous != null && !previous.file().equals(entry.file())) {
+            retire(previous);
+        } else if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += entry.size();
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            if (evicted != entry) {
+                eldest.remove();
+                retire(evicted);
+            }
+        }
+        purgeRetired();
+    }
+
+    private synchronized void evictBookings(Collection<Long> bookingIds) {
+        for (Long bookingId : bookingIds) {
+            retire(entries.remove(bookingId));
+        }
+        purgeRetired();
+    }
+
+    private synchronized void evictActivity(Long activityId) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.activityIds().contains(activityId)) {
+                iterator.remove();
+                retire(entry);
+            }
+        }
+        purgeRetired();
+    }
+
+    /**
+     * Descuenta una entrada ya retirada del índice y programa el borrado de su fichero.
+     */
+    private void retire(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        totalBytes -= entry.size();
+        retired.addLast(new Retired(entry, System.nanoTime()));
+    }
+
+    /**
+     * Borra los ficheros retirados hace más de {@link #RETIRED_GRACE_NANOS}, salvo los
+     * que vuelven a estar en el índice. Las descargas en curso conservan su fichero abierto.
+     */
+    private void purgeRetired() {
+        long now = System.nanoTime();
+        while (!retired.isEmpty() && now - retired.peekFirst().retiredAt() >= RETIRED_GRACE_NANOS) {
+            Entry entry = retired.pollFirst().entry();
+            Entry current = entries.get(entry.bookingId());
+            if (current != null && current.file().equals(entry.file())) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(entry.file());
+            } catch (IOException e) {
+                logger.warn("No se pudo eliminar el voucher {}: {}", entry.file(), e.getMessage());
+            }
+        }
+    }
+
+    private static Set<Long> activityIds(Booking booking) {
+        if (booking.getActivities() == null) {
+            return Set.of();
+        }
+        return booking.getActivities().stream()
+                .map(BookingActivity::getActivity)
+                .map(Activity::getId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Voucher listo para enviar.
+     *
+     * @param etag Huella del contenido
+     * @param file Fichero del voucher
+     * @param size Tamaño en bytes
+     */
+    public record CachedVoucher(String etag, Path file, long size) {
+    }
+
+    private record Entry(Long bookingId, String etag, Path file, long size, Set<Long> activityIds) {
+    }
+
+    private record Retired(Entry entry, long retiredAt) {
+    }
+}
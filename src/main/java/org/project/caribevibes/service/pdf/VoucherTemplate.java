@@ -0,0 +1,375 @@
+package org.project.caribevibes.service.pdf;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.IBlockElement;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import com.itextpdf.layout.renderer.IRenderer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+import static org.project.caribevibes.service.pdf.PdfService.BEACH_SAND;
+import static org.project.caribevibes.service.pdf.PdfService.CARIBBEAN_BLUE;
+import static org.project.caribevibes.service.pdf.PdfService.CORAL_RED;
+import static org.project.caribevibes.service.pdf.PdfService.OCEAN_DEEP;
+import static org.project.caribevibes.service.pdf.PdfService.TROPICAL_GREEN;
+
+/**
+ * Partes comunes de todos los vouchers PDF, preparadas una sola vez.
+ *
+ * Los programas de las fuentes se cargan al arrancar y cada voucher solo crea sobre
+ * ellos sus objetos de fuente. El encabezado, los términos y condiciones y el pie de
+ * página se maquetan al arrancar en un documento plantilla, una página por parte y
+ * del tamaño exacto de su contenido; cada voucher copia esas páginas como form
+ * XObjects ya maquetados en lugar de volver a maquetarlas. Las plantillas abiertas
+ * se reutilizan entre vouchers (una por voucher en curso) para no volver a leerlas.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+@Component
+public class VoucherTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoucherTemplate.class);
+
+    /**
+     * Márgenes de los vouchers
+     */
+    static final float MARGIN = 40;
+
+    /**
+     * Ancho disponible para el contenido de un voucher A4
+     */
+    private static final float CONTENT_WIDTH = PageSize.A4.getWidth() - 2 * MARGIN;
+
+    /**
+     * Partes estáticas, en el orden de sus páginas en la plantilla
+     */
+    public enum Part {
+        HEADER,
+        TERMS,
+        FOOTER
+    }
+
+    private FontProgram boldProgram;
+    private FontProgram regularProgram;
+    private FontProgram lightProgram;
+
+    /**
+     * Plantillas abiertas que se conservan para reutilizar
+     */
+    private static final int MAX_IDLE_TEMPLATES = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    private byte[] templatePdf;
+
+    private final BlockingQueue<PdfDocument> idleTemplates = new ArrayBlockingQueue<>(MAX_IDLE_TEMPLATES);
+
+    /**
+     * Carga los programas de las fuentes y maqueta las partes estáticas.
+     *
+     * @throws IOException si no se pueden cargar las fuentes
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        boldProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        regularProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        lightProgram = FontProgramFactory.createFont(StandardFonts.HELVETICA_OBLIQUE);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(output));
+             Document measuring = new Document(pdf)) {
+            Fonts fonts = fonts(pdf);
+            addPart(pdf, measuring, fonts, this::buildHeader);
+            addPart(pdf, measuring, fonts, this::buildTerms);
+            addPart(pdf, measuring, fonts, this::buildFooter);
+        }
+        templatePdf = output.toByteArray();
+        logger.info("Plantilla de vouchers preparada ({} bytes)", templatePdf.length);
+    }
+
+    /**
+     * Crea las fuentes de un documento a partir de los programas ya cargados.
+     *
+     * @param pdf Documento del voucher
+     * @return Fuentes del documento
+     */
+    public Fonts fonts(PdfDocument pdf) {
+        return new Fonts(PdfFontFactory.createFont(boldProgram, PdfEncodings.WINANSI),
+                         PdfFontFactory.createFont(regularProgram, PdfEncodings.WINANSI),
+                         PdfFontFactory.createFont(lightProgram, PdfEncodings.WINANSI));
+    }
+
+    /**
+     * Toma una plantilla abierta (o abre una nueva) para copiar sus partes en un
+     * voucher. Debe cerrarse antes de cerrar el voucher para devolverla.
+     *
+     * @param target Documento del voucher
+     * @return Partes estáticas listas para copiar
+     * @throws IOException si la plantilla no se puede leer
+     */
+    public StaticParts open(PdfDocument target) throws IOException {
+        PdfDocument template = idleTemplates.poll();
+        if (template == null) {
+            template = new PdfDocument(new PdfReader(new ByteArrayInputStream(templatePdf)));
+        }
+        return new StaticParts(template, target, this);
+    }
+
+    /**
+     * Devuelve una plantilla abierta; la copia de páginas no la modifica, así que
+     * puede servir a otro voucher.
+     */
+    private void release(PdfDocument template) {
+        if (!idleTemplates.offer(template)) {
+            template.close();
+        }
+    }
+
+    /**
+     * Maqueta una parte en una página nueva de la plantilla del tamaño de su contenido.
+     */
+    private void addPart(PdfDocument pdf, Document measuring, Fonts fonts, Function<Fonts, IBlockElement> builder) {
+        IRenderer renderer = builder.apply(fonts).createRendererSubTree().setParent(measuring.getRenderer());
+        LayoutResult result = renderer.layout(new LayoutContext(
+                new LayoutArea(1, new Rectangle(CONTENT_WIDTH, PageSize.A4.getHeight() * 4))));
+        float height = (float) Math.ceil(result.getOccupiedArea().getBBox().getHeight());
+
+        PdfPage page = pdf.addNewPage(new PageSize(CONTENT_WIDTH, height));
+        try (Canvas canvas = new Canvas(new PdfCanvas(page), page.getPageSize())) {
+            canvas.add(builder.apply(fonts));
+        }
+    }
+
+    /**
+     * Encabezado con el logo, el título y el código QR.
+     */
+    private IBlockElement buildHeader(Fonts fonts) {
+        Table headerTable = new Table(UnitValue.createPercentArray(new float[]{2, 6, 2}));
+        headerTable.setWidth(UnitValue.createPercentValue(100));
+        headerTable.setMarginBottom(30);
+
+        // Logo o icono (simulado con texto estilizado)
+        Cell logoCell = new Cell()
+                .add(new Paragraph("🏝️")
+                        .setFontSize(40)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 2))
+                .setBackgroundColor(BEACH_SAND)
+                .setPadding(10);
+
+        // Título principal
+        Cell titleCell = new Cell()
+                .add(new Paragraph("CARIBE VIBES")
+                        .setFont(fonts.bold())
+                        .setFontSize(28)
+                        .setFontColor(CARIBBEAN_BLUE)
+                        .setTextAlignment(TextAlignment.CENTER)
+                        .setMarginBottom(5))
+                .add(new Paragraph("Voucher de Reserva")
+                        .setFont(fonts.regular())
+                        .setFontSize(16)
+                        .setFontColor(OCEAN_DEEP)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .add(new Paragraph("🌺 Tu aventura caribeña te espera 🌺")
+                        .setFont(fonts.regular())
+                        .setFontSize(12)
+                        .setFontColor(TROPICAL_GREEN)
+                        .setTextAlignment(TextAlignment.CENTER)
+                        .setMarginTop(5))
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 2))
+                .setBackgroundColor(new DeviceRgb(240, 248, 255))
+                .setPadding(15);
+
+        // Código QR simulado
+        Cell qrCell = new Cell()
+                .add(new Paragraph("📱")
+                        .setFontSize(30)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .add(new Paragraph("QR CODE")
+                        .setFont(fonts.regular())
+                        .setFontSize(8)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setBorder(new SolidBorder(OCEAN_DEEP, 2))
+                .setBackgroundColor(BEACH_SAND)
+                .setPadding(10);
+
+        headerTable.addCell(logoCell);
+        headerTable.addCell(titleCell);
+        headerTable.addCell(qrCell);
+        return headerTable;
+    }
+
+    /**
+     * Términos y condiciones.
+     */
+    private IBlockElement buildTerms(Fonts fonts) {
+        Paragraph terms = new Paragraph("📋 TÉRMINOS Y CONDICIONES")
+                .setFont(fonts.light())
+                .setFontSize(12)
+                .setFontColor(OCEAN_DEEP)
+                .setMarginTop(30)
+                .setMarginBottom(10);
+
+        Paragraph termsText = new Paragraph(
+                "• Este voucher es válido únicamente para las fechas especificadas.\n" +
+                "• Presentar este documento al momento del check-in junto con identificación oficial.\n" +
+                "• Cancelaciones deben realizarse con al menos 48 horas de anticipación.\n" +
+                "• Las actividades están sujetas a disponibilidad y condiciones climáticas.\n" +
+                "• Para cambios o consultas, contactar a nuestro equipo de atención al cliente.")
+                .setFont(fonts.light())
+                .setFontSize(10)
+                .setFontColor(new DeviceRgb(100, 100, 100))
+                .setFixedLeading(12)
+                .setMarginBottom(0);
+
+        Table block = new Table(1).useAllAvailableWidth();
+        block.addCell(new Cell().add(terms).add(termsText).setBorder(Border.NO_BORDER).setPadding(0));
+        return block;
+    }
+
+    /**
+     * Pie de página con contacto, emergencias y redes, y el mensaje de despedida.
+     */
+    private IBlockElement buildFooter(Fonts fonts) {
+        Table footerTable = new Table(UnitValue.createPercentArray(new float[]{1, 1, 1}));
+        footerTable.setWidth(UnitValue.createPercentValue(100));
+        footerTable.setMarginTop(30);
+
+        Cell contactCell = new Cell()
+                .add(new Paragraph("📞 CONTACTO")
+                        .setFont(fonts.regular())
+                        .setFontSize(12)
+                        .setFontColor(CARIBBEAN_BLUE))
+                .add(new Paragraph("📧 reservas@caribevibes.com\n📱 +57 1 234 5678\n🌐 www.caribevibes.com")
+                        .setFont(fonts.light())
+                        .setFontSize(10)
+                        .setFixedLeading(12))
+                .setBackgroundColor(BEACH_SAND)
+                .setPadding(15)
+                .setBorder(new SolidBorder(CARIBBEAN_BLUE, 1));
+
+        Cell emergencyCell = new Cell()
+                .add(new Paragraph("🚨 EMERGENCIAS")
+                        .setFont(fonts.regular())
+                        .setFontSize(12)
+                        .setFontColor(CORAL_RED))
+                .add(new Paragraph("24/7 Asistencia\n📱 +57 300 123 4567\n🏥 Servicios médicos")
+                        .setFont(fonts.light())
+                        .setFontSize(10)
+                        .setFixedLeading(12))
+                .setBackgroundColor(new DeviceRgb(255, 245, 245))
+                .setPadding(15)
+                .setBorder(new SolidBorder(CORAL_RED, 1));
+
+        Cell socialCell = new Cell()
+                .add(new Paragraph("🌐 SÍGUENOS")
+                        .setFont(fonts.regular())
+                        .setFontSize(12)
+                        .setFontColor(TROPICAL_GREEN))
+                .add(new Paragraph("📘 Facebook: /CaribeVibes\n📷 Instagram: @caribevibes\n🐦 Twitter: @caribevibes")
+                        .setFont(fonts.light())
+                        .setFontSize(10)
+                        .setFixedLeading(12))
+                .setBackgroundColor(new DeviceRgb(245, 255, 245))
+                .setPadding(15)
+                .setBorder(new SolidBorder(TROPICAL_GREEN, 1));
+
+        footerTable.addCell(contactCell);
+        footerTable.addCell(emergencyCell);
+        footerTable.addCell(socialCell);
+
+        // Mensaje final
+        Paragraph farewell = new Paragraph("🌴 ¡Gracias por elegir Caribe Vibes para tu aventura! 🌴")
+                .setFont(fonts.regular())
+                .setFontSize(14)
+                .setFontColor(CARIBBEAN_BLUE)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setMarginTop(20)
+                .setMarginBottom(0);
+
+        Table block = new Table(1).useAllAvailableWidth();
+        block.addCell(new Cell().add(footerTable).add(farewell).setBorder(Border.NO_BORDER).setPadding(0));
+        return block;
+    }
+
+    /**
+     * Fuentes de un voucher.
+     *
+     * @param bold Fuente en negrita
+     * @param regular Fuente normal
+     * @param light Fuente en cursiva
+     */
+    public record Fonts(PdfFont bold, PdfFont regular, PdfFont light) {
+    }
+
+    /**
+     * Plantilla abierta para copiar sus partes en un voucher. No es segura para uso
+     * concurrente: pertenece al voucher que la tomó hasta que se cierra.
+     */
+    public static final class StaticParts implements AutoCloseable {
+
+        private final PdfDocument template;
+        private final PdfDocument target;
+        private final VoucherTemplate owner;
+
+        private StaticParts(PdfDocument template, PdfDocument target, VoucherTemplate owner) {
+            this.template = template;
+            this.target = target;
+            this.owner = owner;
+        }
+
+        /**
+         * Copia una parte en el voucher como form XObject.
+         *
+         * @param part Parte estática
+         * @return Elemento que dibuja la parte ya maquetada
+         * @throws IOException si la página de la plantilla no se puede copiar
+         */
+        public Image get(Part part) throws IOException {
+            return new Image(template.getPage(part.ordinal() + 1).copyAsFormXObject(target));
+        }
+
+        @Override
+        public void close() {
+            owner.release(template);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.project.caribevibes.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker para dependencias externas (por ejemplo, el servidor SMTP).
+ *
+ * Tras {@code failureThreshold} fallos consecutivos el circuito se abre y rechaza las
+ * llamadas durante {@code openMillis}. Pasado ese tiempo queda semiabierto y deja pasar
+ * una sola llamada de prueba: si tiene éxito el circuito se cierra y, si falla, vuelve
+ * a abrirse. La clase es segura para uso concurrente.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class CircuitBreaker {
+
+    /**
+     * Estados del circuito
+     */
+    public enum State {
+        CLOSED,     // Llamadas permitidas
+        OPEN,       // Llamadas rechazadas hasta que venza la espera
+        HALF_OPEN   // Una llamada de prueba en curso
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    /**
+     * Crea un circuito que usa el reloj del sistema.
+     *
+     * @param failureThreshold Fallos consecutivos que abren el circuito
+     * @param openMillis Tiempo que el circuito permanece abierto
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Crea un circuito con un reloj propio.
+     *
+     * @param failureThreshold Fallos consecutivos que abren el circuito
+     * @param openMillis Tiempo que el circuito permanece abierto
+     * @param clock Reloj en milisegundos
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        if (failureThreshold < 1 || openMillis < 0) {
+            throw new IllegalArgumentException("Configuración de circuit breaker inválida");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Indica si se puede realizar una llamada. Con el circuito abierto y la espera
+     * vencida, autoriza una única llamada de prueba.
+     *
+     * @return true si la llamada está permitida
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.getAsLong() - openedAt >= openMillis) {
+                        state = State.HALF_OPEN;
+                        return true;
+                    }
+                    return false;
+                default:
+                    // Ya hay una llamada de prueba en curso
+                    return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Indica, sin autorizar ninguna llamada, si el circuito está abierto y su espera
+     * todavía no ha vencido.
+     *
+     * @return true si las llamadas se rechazarían
+     */
+    public boolean isOpen() {
+        lock.lock();
+        try {
+            return state == State.OPEN && clock.getAsLong() - openedAt < openMillis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra una llamada exitosa y cierra el circuito.
+     */
+    public void recordSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra una llamada fallida; abre el circuito al alcanzar el umbral o si falla
+     * la llamada de prueba.
+     */
+    public void recordFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = clock.getAsLong();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Estado actual (un circuito abierto con la espera vencida se informa como abierto
+     *         hasta que se autorice la llamada de prueba)
+     */
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.project.caribevibes.util;
+
+/**
+ * Codificación de los códigos de confirmación de reserva.
+ *
+ * Un código es el prefijo {@value #PREFIX}, {@value #BODY_LENGTH} símbolos en base 32
+ * de Crockford (sin I, L, O ni U, para evitar confusiones al dictarlo) y un dígito
+ * de control Luhn mod 32, que detecta cualquier símbolo cambiado y casi todas las
+ * transposiciones de símbolos adyacentes.
+ *
+ * El valor de la secuencia se mezcla con una biyección sobre 35 bits antes de
+ * codificarse, de modo que códigos consecutivos no parezcan consecutivos; al ser
+ * biyectiva, valores distintos siempre dan códigos distintos.
+ *
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class ConfirmationCodes {
+
+    /**
+     * Prefijo de los códigos (Caribe Vibes)
+     */
+    public static final String PREFIX = "CV";
+
+    /**
+     * Símbolos del cuerpo del código, sin contar el dígito de control
+     */
+    public static final int BODY_LENGTH = 7;
+
+    /**
+     * Número de valores distintos que se pueden codificar (32^7)
+     */
+    public static final long CAPACITY = 1L << (5 * BODY_LENGTH);
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int BASE = ALPHABET.length();
+    private static final long MASK = CAPACITY - 1;
+
+    // El multiplicador debe ser impar para que la multiplicación módulo 2^35 sea invertible
+    private static final long MULTIPLIER = 0x5DEECE66DL & MASK;
+    private static final long XOR_KEY = 0x2A5F3C91BL & MASK;
+
+    private ConfirmationCodes() {
+    }
+
+    /**
+     * Codifica un valor de la secuencia.
+     *
+     * @param value Valor de la secuencia (0 &lt;= value &lt; {@link #CAPACITY})
+     * @return Código de confirmación
+     * @throws IllegalArgumentException si el valor está fuera del rango codificable
+     */
+    public static String encode(long value) {
+        if (value < 0 || value >= CAPACITY) {
+            throw new IllegalArgumentException("Valor de secuencia fuera de rango: " + value);
+        }
+
+        long scrambled = ((value * MULTIPLIER) & MASK) ^ XOR_KEY;
+        char[] code = new char[PREFIX.length() + BODY_LENGTH + 1];
+        PREFIX.getChars(0, PREFIX.length(), code, 0);
+
+        int[] digits = new int[BODY_LENGTH];
+        for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+            digits[i] = (int) (scrambled & (BASE - 1));
+            scrambled >>>= 5;
+        }
+        for (int i = 0; i < BODY_LENGTH; i++) {
+            code[PREFIX.length() + i] = ALPHABET.charAt(digits[i]);
+        }
+        code[code.length - 1] = ALPHABET.charAt(checkDigit(digits));
+        return new String(code);
+    }
+
+    /**
+     * Verifica el formato y el dígito de control de un código.
+     *
+     * @param code Código a verificar
+     * @return true si el código tiene el formato esperado y su dígito de control es correcto
+     */
+    public static boolean isValid(String code) {
+        if (code == null || code.length() != PREFIX.length() + BODY_LENGTH + 1 || !code.startsWith(PREFIX)) {
+            return false;
+        }
+
+        int[] digits = new int[BODY_LENGTH];
+        for (int i = 0; i < BODY_LENGTH; i++) {
+            digits[i] = ALPHABET.indexOf(code.charAt(PREFIX.length() + i));
+            if (digits[i] < 0) {
+                return false;
+            }
+        }
+        return ALPHABET.indexOf(code.charAt(code.length() - 1)) == checkDigit(digits);
+    }
+
+    /**
+     * Calcula el dígito de control Luhn mod 32: se duplica un símbolo de cada dos
+     * empezando por el de la derecha y se suman los dígitos en base 32.
+     */
+    private static int checkDigit(int[] digits) {
+        int sum = 0;
+        int factor = 2;
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int addend = factor * digits[i];
+            sum += addend / BASE + addend % BASE;
+            factor = factor == 2 ? 1 : 2;
+        }
+        return (BASE - sum % BASE) % BASE;
+    }
+}
@@ -0,0 +1,155 @@
+package org.project.caribevibes.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rueda de temporización jerárquica para vencimientos en memoria.
+ *
+ * El primer nivel tiene {@code wheelSize} ranuras de {@code tickMillis}; cada nivel
+ * superior tiene ranuras del tamaño de la vuelta completa del nivel anterior y se
+ * crea bajo demanda. Programar un elemento es O(1) y cada tick solo recorre la ranura
+ * que vence y, al completar una vuelta, la ranura del nivel superior cuyos elementos
+ * se redistribuyen hacia abajo.
+ *
+ * Los elementos se entregan en el primer tick posterior a su vencimiento (nunca antes).
+ * No admite cancelación: quien consuma los vencimientos debe ignorar los elementos
+ * que ya no estén vigentes. La clase es segura para uso concurrente.
+ *
+ * @param <T> Tipo de los elementos programados
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    /**
+     * Crea una rueda que empieza en el instante indicado.
+     *
+     * @param tickMillis Duración de un tick en milisegundos
+     * @param wheelSize Número de ranuras por nivel
+     * @param startMillis Instante inicial en milisegundos
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Configuración de rueda de temporización inválida");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - (startMillis % tickMillis);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /**
+     * Programa un elemento para un instante de vencimiento.
+     *
+     * @param item Elemento a programar
+     * @param expirationMillis Instante de vencimiento en milisegundos
+     * @return false si el elemento ya está vencido y no se programó
+     */
+    public synchronized boolean schedule(T item, long expirationMillis) {
+        if (expirationMillis < currentTime) {
+            return false;
+        }
+        place(new Entry<>(item, expirationMillis));
+        size++;
+        return true;
+    }
+
+    /**
+     * Avanza la rueda hasta el instante indicado.
+     *
+     * @param nowMillis Instante actual en milisegundos
+     * @return Elementos vencidos durante el avance
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= nowMillis) {
+            // La ranura que termina en este tick contiene solo elementos ya vencidos
+            List<Entry<T>> due = levels.get(0).drain(currentTime);
+            due.forEach(entry -> expired.add(entry.item));
+
+            currentTime += tickMillis;
+
+            // Al completar una vuelta de un nivel, redistribuir la ranura que empieza
+            // en el nivel superior (de arriba abajo para que bajen en el mismo tick)
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tickMillis == 0) {
+                    for (Entry<T> entry : level.drain(currentTime)) {
+                        place(entry);
+                    }
+                }
+            }
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * @return Número de elementos programados pendientes de vencer
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Coloca un elemento en el nivel más bajo cuyo rango lo cubra.
+     */
+    private void place(Entry<T> entry) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> top = levels.get(i - 1);
+                levels.add(new Level<>(top.tickMillis * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long levelStart = currentTime - (currentTime % level.tickMillis);
+            if (entry.expirationMillis < levelStart + level.intervalMillis) {
+                level.add(entry);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Nivel de la rueda con ranuras de tamaño fijo.
+     */
+    private static final class Level<T> {
+        final long tickMillis;
+        final long intervalMillis;
+        final List<List<Entry<T>>> buckets;
+
+        Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        void add(Entry<T> entry) {
+            buckets.get(indexOf(entry.expirationMillis)).add(entry);
+        }
+
+        List<Entry<T>> drain(long time) {
+            int index = indexOf(time);
+            List<Entry<T>> bucket = buckets.get(index);
+            buckets.set(index, new ArrayList<>());
+            return bucket;
+        }
+
+        private int indexOf(long time) {
+            return (int) ((time / tickMillis) % buckets.size());
+        }
+    }
+
+    private record Entry<T>(T item, long expirationMillis) {
+    }
+}
@@ -0,0 +1,55 @@
+package org.project.caribevibes.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de un listado paginado por clave (keyset) ordenado por fecha e ID descendentes.
+ *
+ * Se entrega al cliente como un token opaco; la página siguiente busca las filas
+ * estrictamente anteriores a la posición, de modo que el coste de una página no
+ * depende de cuántas se hayan recorrido antes.
+ *
+ * @param timestamp Fecha de la última fila entregada
+ * @param id ID de la última fila entregada (desempata filas con la misma fecha)
+ * @author Caribe Vibes Team
+ * @version 1.0
+ * @since 2025
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Codifica la posición como token opaco.
+     *
+     * @return Token seguro para URLs
+     */
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token de posición.
+     *
+     * @param token Token recibido del cliente
+     * @return Posición, o null si no se indicó token (primera página)
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- Migración para agregar las reglas de tarifa por noche
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Reglas de temporada y de rango de fechas por tipo de habitación,
+--              compiladas en memoria en un calendario de tarifas por noche
+
+CREATE TABLE room_rate_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_type_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    rule_type VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    price_per_night DECIMAL(10,2),
+    price_multiplier DECIMAL(5,3),
+    priority INT NOT NULL DEFAULT 0,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id) ON DELETE CASCADE,
+
+    INDEX idx_room_rate_rules_room_type (room_type_id, is_active)
+);
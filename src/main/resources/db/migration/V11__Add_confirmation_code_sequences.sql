@@ -0,0 +1,12 @@
+-- Migración para agregar la secuencia de códigos de confirmación
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Secuencia compartida de la que cada instancia reserva bloques de valores
+--              para generar códigos de confirmación sin colisiones entre nodos
+
+CREATE TABLE confirmation_code_sequences (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+INSERT INTO confirmation_code_sequences (name, next_value) VALUES ('booking', 1);
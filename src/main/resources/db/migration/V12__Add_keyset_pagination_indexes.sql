@@ -0,0 +1,11 @@
+-- Migración para agregar los índices de la paginación por cursor
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Índices compuestos en el orden de los listados paginados por cursor,
+--              para que cada página sea una búsqueda en el índice sin OFFSET
+
+CREATE INDEX idx_bookings_booking_date_id ON bookings (booking_date, id);
+
+CREATE INDEX idx_contacts_active_created_id ON contacts (active, created_at, id);
+
+CREATE INDEX idx_hotel_reviews_hotel_created_id ON hotel_reviews (hotel_id, created_at, id);
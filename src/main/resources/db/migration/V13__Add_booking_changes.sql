@@ -0,0 +1,19 @@
+-- Migración para agregar el registro de cambios de reservas
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Registro de solo inserción de los cambios de reservas, leído en orden de
+--              secuencia por los consumidores que se sincronizan de forma incremental
+
+CREATE TABLE booking_changes (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    hotel_id BIGINT,
+    confirmation_code VARCHAR(20),
+    change_type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_price DECIMAL(12,2),
+    changed_at TIMESTAMP NOT NULL,
+
+    INDEX idx_booking_changes_booking (booking_id),
+    INDEX idx_booking_changes_hotel_seq (hotel_id, id)
+);
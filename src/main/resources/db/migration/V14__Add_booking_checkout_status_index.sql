@@ -0,0 +1,7 @@
+-- Migración para agregar el índice del autocompletado de reservas
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Índice por estado y fecha de check-out para localizar las reservas
+--              con el check-out vencido que el autocompletado recorre por bloques
+
+CREATE INDEX idx_bookings_status_checkout ON bookings (status, check_out_date);
@@ -0,0 +1,14 @@
+-- Migración para agregar los leases de trabajos programados
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Leases con token de fencing para que cada trabajo programado se ejecute
+--              en una sola instancia a la vez
+
+CREATE TABLE job_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100),
+    fencing_token BIGINT NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP NULL,
+    fenced_at TIMESTAMP NULL
+);
@@ -0,0 +1,25 @@
+-- Migración para agregar la cola persistente de trabajos en segundo plano
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Trabajos encolados en la misma transacción que la escritura de negocio y
+--              tomados por los workers con SELECT ... FOR UPDATE SKIP LOCKED
+
+CREATE TABLE background_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    queue VARCHAR(50) NOT NULL,
+    type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL,
+    run_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(150),
+    locked_at TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NULL,
+
+    INDEX idx_background_jobs_claim (queue, status, run_at),
+    INDEX idx_background_jobs_status_locked (status, locked_at),
+    INDEX idx_background_jobs_status_finished (status, finished_at)
+);
@@ -0,0 +1,12 @@
+-- Migración para agregar el resumen de contactos al administrador
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Momento en que cada contacto se notificó al administrador, de forma
+--              individual o dentro de un resumen; los pendientes tienen el valor nulo
+
+ALTER TABLE contacts ADD COLUMN admin_notified_at TIMESTAMP NULL;
+
+-- Los contactos existentes no entran en el primer resumen
+UPDATE contacts SET admin_notified_at = created_at;
+
+CREATE INDEX idx_contacts_admin_notified_id ON contacts (admin_notified_at, id);
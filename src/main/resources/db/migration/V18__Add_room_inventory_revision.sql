@@ -0,0 +1,7 @@
+-- Migración para versionar las noches del ledger de inventario
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Contador de cambios de booked_rooms por noche, para que el índice de
+--              ocupación en memoria aplique cada cambio una sola vez y en orden
+
+ALTER TABLE room_inventory ADD COLUMN revision BIGINT NOT NULL DEFAULT 0;
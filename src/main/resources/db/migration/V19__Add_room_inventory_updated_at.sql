@@ -0,0 +1,9 @@
+-- Migración para sincronizar entre instancias el índice de ocupación
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Momento del último cambio de booked_rooms por noche, para que cada
+--              instancia lea periódicamente solo las noches modificadas por las demás
+
+ALTER TABLE room_inventory ADD COLUMN updated_at DATETIME NULL;
+
+CREATE INDEX idx_room_inventory_updated_at ON room_inventory (updated_at);
@@ -0,0 +1,14 @@
+-- Migración para numerar el registro de cambios de reservas tras la confirmación
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Número de secuencia del registro de cambios, asignado solo a los cambios
+--              ya confirmados para que ninguno aparezca por detrás del cursor de un
+--              consumidor. Los cambios existentes conservan su ID como secuencia.
+
+ALTER TABLE booking_changes ADD COLUMN feed_sequence BIGINT NULL;
+
+UPDATE booking_changes SET feed_sequence = id;
+
+CREATE UNIQUE INDEX uk_booking_changes_feed_sequence ON booking_changes (feed_sequence);
+CREATE INDEX idx_booking_changes_hotel_feed_sequence ON booking_changes (hotel_id, feed_sequence);
+DROP INDEX idx_booking_changes_hotel_seq ON booking_changes;
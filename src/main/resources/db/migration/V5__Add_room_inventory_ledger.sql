@@ -0,0 +1,35 @@
+-- Migración para agregar el ledger de inventario por noche
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Una fila por tipo de habitación y noche con habitaciones totales y reservadas,
+--              para verificar disponibilidad sin contar reservas solapadas
+
+CREATE TABLE room_inventory (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_type_id BIGINT NOT NULL,
+    stay_date DATE NOT NULL,
+    total_rooms INT NOT NULL,
+    booked_rooms INT NOT NULL DEFAULT 0,
+
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id) ON DELETE CASCADE,
+
+    -- Una fila por tipo de habitación y noche
+    UNIQUE KEY uk_room_inventory_night (room_type_id, stay_date)
+);
+
+-- Poblar el ledger con las noches futuras de las reservas que ocupan inventario
+INSERT INTO room_inventory (room_type_id, stay_date, total_rooms, booked_rooms)
+WITH RECURSIVE nights (room_type_id, stay_date, check_out_date, number_of_rooms) AS (
+    SELECT b.room_type_id, GREATEST(b.check_in_date, CURRENT_DATE), b.check_out_date, COALESCE(b.number_of_rooms, 1)
+    FROM bookings b
+    WHERE b.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+      AND b.check_out_date > CURRENT_DATE
+    UNION ALL
+    SELECT n.room_type_id, DATE_ADD(n.stay_date, INTERVAL 1 DAY), n.check_out_date, n.number_of_rooms
+    FROM nights n
+    WHERE DATE_ADD(n.stay_date, INTERVAL 1 DAY) < n.check_out_date
+)
+SELECT n.room_type_id, n.stay_date, rt.total_rooms, SUM(n.number_of_rooms)
+FROM nights n
+JOIN room_types rt ON rt.id = n.room_type_id
+GROUP BY n.room_type_id, n.stay_date, rt.total_rooms;
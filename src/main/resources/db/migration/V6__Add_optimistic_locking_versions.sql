@@ -0,0 +1,7 @@
+-- Migración para agregar control de concurrencia optimista
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Columnas de versión para reservas y tipos de habitación (@Version)
+
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE room_types ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
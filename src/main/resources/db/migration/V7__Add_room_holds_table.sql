@@ -0,0 +1,23 @@
+-- Migración para agregar retenciones temporales de habitaciones
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Retenciones de inventario con vencimiento durante el proceso de checkout
+
+CREATE TABLE room_holds (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hold_token VARCHAR(36) NOT NULL,
+    user_id BIGINT NOT NULL,
+    room_type_id BIGINT NOT NULL,
+    check_in_date DATE NOT NULL,
+    check_out_date DATE NOT NULL,
+    number_of_rooms INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id) ON DELETE CASCADE,
+
+    UNIQUE KEY uk_room_holds_token (hold_token),
+    INDEX idx_room_holds_status (status, expires_at)
+);
@@ -0,0 +1,16 @@
+-- Migración para completar los subtotales desnormalizados de las reservas
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Calcula activities_price y accommodation_price de las reservas existentes,
+--              que ahora se mantienen por deltas al agregar o eliminar actividades
+
+UPDATE bookings b
+SET b.activities_price = (
+    SELECT COALESCE(SUM(ba.total_price), 0)
+    FROM booking_activities ba
+    WHERE ba.booking_id = b.id AND ba.is_active = TRUE
+);
+
+UPDATE bookings
+SET accommodation_price = total_price - activities_price
+WHERE accommodation_price IS NULL;
@@ -0,0 +1,28 @@
+-- Migración para agregar los cupos por fecha de las actividades
+-- Autor: Sistema Caribe Vibes
+-- Fecha: 2025-08-01
+-- Descripción: Una fila por actividad y fecha con capacidad y participantes reservados,
+--              para verificar el cupo sin sumar las actividades de reserva
+
+CREATE TABLE activity_slots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    activity_id BIGINT NOT NULL,
+    slot_date DATE NOT NULL,
+    capacity INT,
+    booked_participants INT NOT NULL DEFAULT 0,
+
+    FOREIGN KEY (activity_id) REFERENCES activities(id) ON DELETE CASCADE,
+
+    -- Una fila por actividad y fecha
+    UNIQUE KEY uk_activity_slots_date (activity_id, slot_date)
+);
+
+-- Poblar los cupos con los participantes de las actividades programadas futuras
+INSERT INTO activity_slots (activity_id, slot_date, capacity, booked_participants)
+SELECT ba.activity_id, ba.scheduled_date, a.max_capacity, SUM(ba.quantity)
+FROM booking_activities ba
+JOIN activities a ON a.id = ba.activity_id
+WHERE ba.is_active = TRUE
+  AND ba.status = 'SCHEDULED'
+  AND ba.scheduled_date >= CURRENT_DATE
+GROUP BY ba.activity_id, ba.scheduled_date, a.max_capacity;
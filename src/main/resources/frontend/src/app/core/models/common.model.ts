@@ -156,6 +156,8 @@ export interface EmailReplyResponse {
   success: boolean;
   /** @property {string} message - Mensaje de respuesta */
   message: string;
-  /** @property {boolean} [adminCopySent] - Si se envió copia al admin */
-  adminCopySent?: boolean;
+  /** @property {boolean} [emailQueued] - Si el email quedó encolado para enviarse en segundo plano */
+  emailQueued?: boolean;
+  /** @property {boolean} [adminCopyQueued] - Si se encoló también la copia al admin */
+  adminCopyQueued?: boolean;
 }
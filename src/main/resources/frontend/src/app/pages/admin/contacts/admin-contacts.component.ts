@@ -378,13 +378,13 @@ export class AdminContactsComponent implements OnInit, OnDestroy {
           this.sendCopyToAdmin = false;
           this.isLoadingAction = false;
 
-          let successMessage = 'La respuesta ha sido enviada por email exitosamente.';
-          if (response.adminCopySent) {
-            successMessage += ' Se envió una copia al administrador.';
+          let successMessage = 'La respuesta se ha registrado y el email se enviará en unos instantes.';
+          if (response.adminCopyQueued) {
+            successMessage += ' También se enviará una copia al administrador.';
           }
 
           Swal.fire({
-            title: 'Email enviado',
+            title: 'Respuesta registrada',
             text: successMessage,
             icon: 'success'
           });
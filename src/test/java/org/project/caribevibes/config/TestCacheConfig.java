@@ -0,0 +1,22 @@
+package org.project.caribevibes.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuración compartida por las pruebas de integración.
+ *
+ * {@link CacheConfig} no se carga con el perfil de pruebas, pero algunos servicios
+ * usan el {@link CacheManager} directamente; este no guarda nada para que las pruebas
+ * siempre lean de la base de datos.
+ */
+@TestConfiguration
+public class TestCacheConfig {
+
+    @Bean
+    CacheManager cacheManager() {
+        return new NoOpCacheManager();
+    }
+}
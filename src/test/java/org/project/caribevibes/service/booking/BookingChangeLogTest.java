@@ -0,0 +1,124 @@
+package org.project.caribevibes.service.booking;
+
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.dto.response.BookingChangeFeedDTO;
+import org.project.caribevibes.dto.response.BookingChangeResponseDTO;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.booking.BookingChange;
+import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.repository.booking.BookingChangeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del orden de entrega del registro de cambios de reservas.
+ *
+ * Un cambio insertado antes que otro pero confirmado después, cuando el consumidor ya
+ * avanzó su cursor más allá del segundo, debe entregarse en el siguiente lote y no
+ * quedar por detrás del cursor.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class BookingChangeLogTest {
+
+    private static final long HOTEL_ID = 9_001L;
+
+    @Autowired
+    private BookingChangeLog bookingChangeLog;
+
+    @Autowired
+    private BookingChangeSequencingJob bookingChangeSequencingJob;
+
+    @Autowired
+    private BookingChangeRepository bookingChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void lateCommittedChangeIsDeliveredAfterCursor() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Transacción larga: inserta su cambio primero (ID menor) y se confirma al final
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookingChangeLog.record(booking(1_001L), BookingChange.ChangeType.CREATED);
+                inserted.countDown();
+                try {
+                    assertTrue(commit.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(inserted.await(30, TimeUnit.SECONDS));
+
+            transactionTemplate.executeWithoutResult(
+                    status -> bookingChangeLog.record(booking(1_002L), BookingChange.ChangeType.CREATED));
+            awaitSequenced(1_002L);
+
+            BookingChangeFeedDTO first = bookingChangeLog.findChanges(0, BookingChangeLog.MAX_BATCH_SIZE, HOTEL_ID);
+            assertEquals(List.of(1_002L), bookingIds(first));
+
+            commit.countDown();
+            slow.get(30, TimeUnit.SECONDS);
+            awaitSequenced(1_001L);
+
+            BookingChangeFeedDTO next = bookingChangeLog.findChanges(first.getNextSince(),
+                    BookingChangeLog.MAX_BATCH_SIZE, HOTEL_ID);
+            assertEquals(List.of(1_001L), bookingIds(next));
+            assertTrue(next.getNextSince() > first.getNextSince());
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta la numeración hasta que los cambios de la reserva tienen número (el
+     * trabajo programado puede estar numerando a la vez).
+     */
+    private void awaitSequenced(Long bookingId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            bookingChangeSequencingJob.assignSequences();
+            boolean sequenced = bookingChangeRepository.findAll().stream()
+                    .filter(change -> change.getBookingId().equals(bookingId))
+                    .allMatch(change -> change.getFeedSequence() != null);
+            if (sequenced) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Los cambios de la reserva " + bookingId + " no se numeraron");
+    }
+
+    private static Booking booking(Long id) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setHotel(Hotel.builder().id(HOTEL_ID).build());
+        booking.setConfirmationCode("CV-" + id);
+        booking.setTotalPrice(new BigDecimal("100.00"));
+        return booking;
+    }
+
+    private static List<Long> bookingIds(BookingChangeFeedDTO feed) {
+        return feed.getChanges().stream().map(BookingChangeResponseDTO::getBookingId).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package org.project.caribevibes.service.booking;
+
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.entity.destination.Country;
+import org.project.caribevibes.entity.destination.Destination;
+import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.entity.user.User;
+import org.project.caribevibes.exception.BusinessException;
+import org.project.caribevibes.repository.booking.BookingRepository;
+import org.project.caribevibes.repository.destination.CountryRepository;
+import org.project.caribevibes.repository.destination.DestinationRepository;
+import org.project.caribevibes.repository.hotel.HotelRepository;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.project.caribevibes.repository.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de estrés de la creación concurrente de reservas.
+ *
+ * Cientos de clientes en hilos virtuales reservan a la vez el mismo tipo de
+ * habitación y las mismas noches; se verifica que nunca se reservan más
+ * habitaciones que el inventario y que los reintentos absorben los conflictos. El
+ * throughput obtenido queda en el log; no se exige un mínimo porque depende de la
+ * carga de la máquina.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class BookingConcurrencyStressTest {
+
+    private static final int TOTAL_ROOMS = 25;
+    private static final int CLIENTS = 400;
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingConcurrencyStressTest.class);
+
+    /**
+     * Espera máxima de cada petición antes de dar la prueba por bloqueada
+     */
+    private static final Duration MAX_ELAPSED = Duration.ofSeconds(60);
+
+    @Autowired
+    private BookingReservationService bookingReservationService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private DestinationRepository destinationRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookingsNeverOverbookRoomType() throws Exception {
+        User user = userRepository.save(User.builder()
+                .username("stress-client")
+                .email("stress-client@caribevibes.test")
+                .password("not-used")
+                .firstName("Stress")
+                .lastName("Client")
+                .build());
+        Country country = countryRepository.save(Country.builder()
+                .name("Stresslandia").code("STR").continent("América").build());
+        Destination destination = destinationRepository.save(Destination.builder()
+                .country(country).slug("stress-destination").name("Stress Destination").build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .destination(destination).name("Stress Hotel").stars(4).build());
+        RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel).name("Doble").capacity(2)
+                .pricePerNight(new BigDecimal("100.00"))
+                .totalRooms(TOTAL_ROOMS).availableRooms(TOTAL_ROOMS).build());
+
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        LocalDate checkOut = checkIn.plusDays(3);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long elapsedNanos;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    Booking booking = new Booking();
+                    booking.setUser(user);
+                    booking.setHotel(hotel);
+                    booking.setDestination(destination);
+                    booking.setRoomType(roomType);
+                    booking.setCheckInDate(checkIn);
+                    booking.setCheckOutDate(checkOut);
+                    booking.setNumGuests(2);
+                    booking.setNumRooms(1);
+                    try {
+                        bookingReservationService.createBooking(booking);
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (BusinessException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(MAX_ELAPSED.toSeconds(), TimeUnit.SECONDS);
+            }
+            elapsedNanos = System.nanoTime() - startedAt;
+        }
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double requestsPerSecond = CLIENTS / seconds;
+        logger.info("Reservas concurrentes: {} clientes, {} aceptadas, {} sin cupo, {} conflictos en {} ms ({} peticiones/s)",
+                    CLIENTS, accepted.get(), rejected.get(), conflicts.get(),
+                    Duration.ofNanos(elapsedNanos).toMillis(), Math.round(requestsPerSecond));
+
+        assertEquals(CLIENTS, accepted.get() + rejected.get() + conflicts.get());
+        assertTrue(accepted.get() <= TOTAL_ROOMS, "Se aceptaron más reservas que habitaciones");
+        assertEquals(TOTAL_ROOMS, accepted.get(), "Debe venderse todo el inventario");
+        assertEquals(0, conflicts.get(), "Los reintentos deben absorber los conflictos de concurrencia");
+
+        long persisted = bookingRepository.findAll().stream()
+                .filter(b -> b.getRoomType().getId().equals(roomType.getId()))
+                .count();
+        assertEquals(accepted.get(), persisted);
+
+        List<RoomInventory> nights = roomInventoryRepository.findNights(roomType.getId(), checkIn, checkOut);
+        assertEquals(3, nights.size());
+        for (RoomInventory night : nights) {
+            assertEquals(accepted.get(), night.getBookedRooms());
+            assertTrue(night.getBookedRooms() <= night.getTotalRooms());
+        }
+    }
+}
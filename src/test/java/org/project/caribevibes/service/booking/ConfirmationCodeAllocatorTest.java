@@ -0,0 +1,157 @@
+package org.project.caribevibes.service.booking;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.repository.booking.ConfirmationCodeSequenceRepository;
+import org.project.caribevibes.util.ConfirmationCodes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de unicidad y throughput de los códigos de confirmación.
+ *
+ * Dos asignadores (el del contexto y uno creado aparte, como si fuera otra
+ * instancia de la aplicación) generan códigos a la vez desde cientos de hilos
+ * virtuales; se verifica que no se repite ningún código, que todos tienen un
+ * dígito de control válido y que la secuencia solo se consultó una vez por bloque.
+ * El mínimo de throughput se comprueba aparte, en la etiqueta {@code benchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class ConfirmationCodeAllocatorTest {
+
+    private static final int GENERATORS = 200;
+    private static final int CODES_PER_GENERATOR = 1_000;
+
+    /**
+     * Códigos por segundo por debajo de los cuales la prueba falla (holgado para
+     * máquinas lentas: sin bloques, cada código costaría una consulta a la secuencia)
+     */
+    private static final double MIN_CODES_PER_SECOND = 10_000;
+
+    @Autowired
+    private ConfirmationCodeAllocator confirmationCodeAllocator;
+
+    @Autowired
+    private ConfirmationCodeSequenceRepository confirmationCodeSequenceRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.booking.confirmation-code-block-size:1000}")
+    private int blockSize;
+
+    @Test
+    void concurrentGeneratorsOnTwoNodesNeverRepeatCodes() throws Exception {
+        long sequenceBefore = nextSequenceValue();
+        Generation generation = generateOnTwoNodes();
+
+        int total = GENERATORS * CODES_PER_GENERATOR;
+        long consumed = nextSequenceValue() - sequenceBefore;
+        Set<String> codes = generation.codes();
+
+        assertEquals(total, codes.size(), "Se repitieron códigos de confirmación");
+        assertTrue(codes.stream().allMatch(ConfirmationCodes::isValid), "Hay códigos con dígito de control inválido");
+        assertTrue(codes.stream().allMatch(code -> code.length() <= 20), "Los códigos no caben en la columna");
+
+        // Cada nodo puede dejar a medias su bloque actual y uno reservado por adelantado
+        assertTrue(consumed >= total - 4L * blockSize, "La secuencia avanzó menos que los códigos generados");
+        assertTrue(consumed <= total + 4L * blockSize, "La secuencia se consultó más de una vez por bloque");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void concurrentGeneratorsKeepMinimumThroughput() throws Exception {
+        Generation generation = generateOnTwoNodes();
+
+        int total = GENERATORS * CODES_PER_GENERATOR;
+        double codesPerSecond = total / (generation.elapsedNanos() / 1_000_000_000.0);
+        assertEquals(total, generation.codes().size(), "Se repitieron códigos de confirmación");
+        assertTrue(codesPerSecond >= MIN_CODES_PER_SECOND,
+                   "Throughput de " + Math.round(codesPerSecond) + " códigos/s, por debajo de " + MIN_CODES_PER_SECOND);
+    }
+
+    /**
+     * Genera los códigos desde todos los hilos repartidos entre el asignador del
+     * contexto y otro que simula una segunda instancia.
+     */
+    private Generation generateOnTwoNodes() throws Exception {
+        ConfirmationCodeAllocator otherNode = applicationContext.getAutowireCapableBeanFactory()
+                .createBean(ConfirmationCodeAllocator.class);
+
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long elapsedNanos;
+        try (ExecutorService generators = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < GENERATORS; i++) {
+                ConfirmationCodeAllocator allocator = i % 2 == 0 ? confirmationCodeAllocator : otherNode;
+                futures.add(generators.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < CODES_PER_GENERATOR; j++) {
+                        codes.add(allocator.nextCode());
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            elapsedNanos = System.nanoTime() - startedAt;
+        } finally {
+            applicationContext.getAutowireCapableBeanFactory().destroyBean(otherNode);
+        }
+        return new Generation(codes, elapsedNanos);
+    }
+
+    @Test
+    void checkDigitDetectsAnySingleSymbolChange() {
+        String alphabet = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+        for (long value : new long[]{0, 1, 999, 123_456_789, ConfirmationCodes.CAPACITY - 1}) {
+            String code = ConfirmationCodes.encode(value);
+            assertTrue(ConfirmationCodes.isValid(code));
+
+            for (int position = ConfirmationCodes.PREFIX.length(); position < code.length(); position++) {
+                for (char symbol : alphabet.toCharArray()) {
+                    if (symbol == code.charAt(position)) {
+                        continue;
+                    }
+                    String altered = code.substring(0, position) + symbol + code.substring(position + 1);
+                    assertFalse(ConfirmationCodes.isValid(altered), "No se detectó el cambio en " + altered);
+                }
+            }
+        }
+        assertFalse(ConfirmationCodes.isValid("CB12345678"));
+        assertFalse(ConfirmationCodes.isValid(null));
+    }
+
+    private long nextSequenceValue() {
+        Long value = confirmationCodeSequenceRepository.findNextValue(ConfirmationCodeAllocator.SEQUENCE_NAME);
+        return value != null ? value : 1L;
+    }
+
+    private record Generation(Set<String> codes, long elapsedNanos) {
+    }
+}
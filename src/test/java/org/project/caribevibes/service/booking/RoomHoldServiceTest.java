@@ -0,0 +1,136 @@
+package org.project.caribevibes.service.booking;
+
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.entity.booking.RoomHold;
+import org.project.caribevibes.entity.destination.Country;
+import org.project.caribevibes.entity.destination.Destination;
+import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.repository.booking.RoomHoldRepository;
+import org.project.caribevibes.repository.destination.CountryRepository;
+import org.project.caribevibes.repository.destination.DestinationRepository;
+import org.project.caribevibes.repository.hotel.HotelRepository;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Pruebas de la carrera entre el vencimiento y la conversión de retenciones.
+ *
+ * Para cada retención, un hilo la vence y otro la convierte en reserva a la vez;
+ * solo uno de los dos debe tener efecto, y el ledger debe quedar con exactamente las
+ * habitaciones de las retenciones convertidas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class RoomHoldServiceTest {
+
+    private static final int HOLDS = 40;
+    private static final int TOTAL_ROOMS = HOLDS;
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private RoomHoldService roomHoldService;
+
+    @Autowired
+    private RoomHoldRepository roomHoldRepository;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private DestinationRepository destinationRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Test
+    void concurrentExpiryAndConversionTakeEffectOnce() throws Exception {
+        Country country = countryRepository.save(Country.builder()
+                .name("Holdlandia").code("HLD").continent("América").build());
+        Destination destination = destinationRepository.save(Destination.builder()
+                .country(country).slug("hold-destination").name("Hold Destination").build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .destination(destination).name("Hold Hotel").stars(4).build());
+        RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel).name("Doble").capacity(2)
+                .pricePerNight(new BigDecimal("100.00"))
+                .totalRooms(TOTAL_ROOMS).availableRooms(TOTAL_ROOMS).build());
+
+        LocalDate checkIn = LocalDate.now().plusDays(15);
+        LocalDate checkOut = checkIn.plusDays(2);
+        List<RoomHold> holds = new ArrayList<>();
+        for (int i = 0; i < HOLDS; i++) {
+            holds.add(roomHoldService.placeHold(USER_ID, roomType.getId(), checkIn, checkOut, 1));
+        }
+
+        int converted = 0;
+        int expired = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (RoomHold hold : holds) {
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<Boolean> expiry = executor.submit(() -> {
+                    barrier.await();
+                    return roomHoldService.expireHold(hold.getId());
+                });
+                Future<Boolean> conversion = executor.submit(() -> {
+                    barrier.await();
+                    try {
+                        roomHoldService.convertHold(hold.getHoldToken(), USER_ID, roomType.getId(),
+                                                    checkIn, checkOut, 1);
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                });
+
+                boolean expiredNow = expiry.get(30, TimeUnit.SECONDS);
+                boolean convertedNow = conversion.get(30, TimeUnit.SECONDS);
+                assertNotEquals(expiredNow, convertedNow, "La retención " + hold.getId() + " debe vencer o convertirse, no ambas");
+
+                RoomHold.HoldStatus status = roomHoldRepository.findById(hold.getId()).orElseThrow().getStatus();
+                assertEquals(convertedNow ? RoomHold.HoldStatus.CONVERTED : RoomHold.HoldStatus.EXPIRED, status);
+                if (convertedNow) {
+                    converted++;
+                } else {
+                    expired++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(HOLDS, converted + expired);
+        List<RoomInventory> nights = roomInventoryRepository.findNights(roomType.getId(), checkIn, checkOut);
+        assertEquals(2, nights.size());
+        for (RoomInventory night : nights) {
+            assertEquals(converted, night.getBookedRooms(), "Las retenciones vencidas deben devolver sus habitaciones");
+        }
+    }
+}
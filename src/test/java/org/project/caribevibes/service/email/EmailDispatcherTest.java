@@ -0,0 +1,121 @@
+package org.project.caribevibes.service.email;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.util.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.MailException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del canal de envío de emails contra un servidor SMTP local.
+ *
+ * Comprueba que los envíos se encolan, se agrupan sobre conexiones reutilizadas y
+ * que, durante una caída del servidor, el circuito se abre, rechaza los envíos sin
+ * esperar y se cierra de nuevo cuando el servidor vuelve.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class EmailDispatcherTest {
+
+    private static final int SENDERS = 2;
+
+    private static final LocalSmtpServer smtpServer = startServer();
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtpServer::getPort);
+        registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+        registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+        registry.add("app.email.dispatch.senders", () -> SENDERS);
+        registry.add("app.email.dispatch.retry-base-ms", () -> 10);
+        registry.add("app.email.dispatch.breaker-failures", () -> 3);
+        registry.add("app.email.dispatch.breaker-open-seconds", () -> 1);
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @AfterAll
+    static void stopServer() {
+        smtpServer.close();
+    }
+
+    @Test
+    void sendsQueuedEmailsOverReusedConnections() throws Exception {
+        int messagesBefore = smtpServer.getMessages().size();
+        long connectionsBefore = emailDispatcher.getConnectionsOpened();
+
+        List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            results.add(emailService.sendHtmlEmail("cliente" + i + "@caribevibes.test",
+                    "Reserva " + i, "<p>Detalle de la reserva " + i + "</p>"));
+        }
+        for (CompletableFuture<Boolean> result : results) {
+            assertTrue(result.get(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(messagesBefore + 100, smtpServer.getMessages().size());
+        // Cada hilo de envío abre como mucho una conexión para todo el lote
+        assertTrue(emailDispatcher.getConnectionsOpened() - connectionsBefore <= SENDERS);
+        assertTrue(smtpServer.getMessages().stream().anyMatch(message -> message.contains("Reserva 42")));
+    }
+
+    @Test
+    void opensCircuitDuringOutageAndRecovers() throws Exception {
+        smtpServer.setAvailable(false);
+        try {
+            // Los fallos de conexión consecutivos abren el circuito
+            for (int i = 0; i < 3 && emailDispatcher.getCircuitState() != CircuitBreaker.State.OPEN; i++) {
+                assertFalse(emailService.sendHtmlEmail("caida@caribevibes.test", "Caída", "<p>x</p>")
+                        .get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(CircuitBreaker.State.OPEN, emailDispatcher.getCircuitState());
+
+            // Con el circuito abierto se rechaza sin llegar a encolar
+            CompletableFuture<Boolean> rejected = emailService.sendHtmlEmail("caida@caribevibes.test", "Caída", "<p>x</p>");
+            assertTrue(rejected.isDone());
+            assertFalse(rejected.get());
+            RuntimeException failure = assertThrows(RuntimeException.class,
+                    () -> emailService.deliverAdminNotification("Caída", "x"));
+            assertTrue(failure.getCause() instanceof MailException);
+        } finally {
+            smtpServer.setAvailable(true);
+        }
+
+        // Pasada la espera, la llamada de prueba cierra el circuito
+        Thread.sleep(1100);
+        assertTrue(emailService.sendHtmlEmail("vuelta@caribevibes.test", "Vuelta", "<p>ok</p>")
+                .get(30, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, emailDispatcher.getCircuitState());
+    }
+
+    private static LocalSmtpServer startServer() {
+        try {
+            return new LocalSmtpServer();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo arrancar el servidor SMTP local", e);
+        }
+    }
+}
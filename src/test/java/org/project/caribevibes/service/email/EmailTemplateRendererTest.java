@@ -0,0 +1,87 @@
+package org.project.caribevibes.service.email;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de las plantillas de email.
+ *
+ * Comprueba que los valores introducidos por los usuarios se escapan y, en la
+ * etiqueta {@code benchmark}, que la plantilla precompilada genera emails de
+ * respuesta por encima de un mínimo por segundo.
+ */
+class EmailTemplateRendererTest {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+
+    /**
+     * Emails por segundo por debajo de los cuales la prueba falla (holgado para
+     * máquinas lentas: el envío SMTP es varios órdenes de magnitud más lento)
+     */
+    private static final double MIN_EMAILS_PER_SECOND = 1_000;
+
+    private static EmailTemplateRenderer renderer;
+
+    @BeforeAll
+    static void setUp() {
+        renderer = new EmailTemplateRenderer();
+        renderer.precompile();
+    }
+
+    @Test
+    void escapesUserContentAndKeepsLineBreaks() {
+        String html = renderer.render(EmailTemplateRenderer.CONTACT_REPLY, replyVariables(
+                "<script>alert('x')</script>", "Primera línea\nSegunda & última"));
+
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("&lt;script&gt;"));
+        assertTrue(html.contains("Primera línea<br>Segunda &amp; última"));
+        assertTrue(html.contains("Tu Puerta al Paraíso Caribeño"));
+        assertTrue(html.contains("Este es un email automático"));
+
+        StringWriter out = new StringWriter();
+        renderer.render(EmailTemplateRenderer.CONTACT_REPLY, replyVariables("Ana", "Hola"), out);
+        assertEquals(renderer.render(EmailTemplateRenderer.CONTACT_REPLY, replyVariables("Ana", "Hola")), out.toString());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void templateKeepsMinimumThroughput() {
+        String reply = "Gracias por tu interés en nuestros paquetes.\n".repeat(20);
+        Map<String, Object> variables = replyVariables("Ana María", reply);
+
+        long chars = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            chars += renderer.render(EmailTemplateRenderer.CONTACT_REPLY, variables).length();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            chars += renderer.render(EmailTemplateRenderer.CONTACT_REPLY, variables).length();
+        }
+        double emailsPerSecond = MEASURED_ITERATIONS / ((System.nanoTime() - start) / 1e9);
+
+        assertTrue(chars > 0);
+        assertTrue(emailsPerSecond >= MIN_EMAILS_PER_SECOND,
+                   "La plantilla genera " + Math.round(emailsPerSecond) + " emails/s, por debajo de " + MIN_EMAILS_PER_SECOND);
+    }
+
+    private static Map<String, Object> replyVariables(String contactName, String replyMessage) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("contactName", contactName);
+        variables.put("originalSubject", "Paquete Cartagena");
+        variables.put("replyLines", EmailTemplateRenderer.lines(replyMessage));
+        variables.put("adminName", "Carlos");
+        return variables;
+    }
+}
@@ -0,0 +1,147 @@
+package org.project.caribevibes.service.email;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en memoria para las pruebas de envío de emails.
+ *
+ * Acepta conexiones en un puerto libre de loopback, implementa el diálogo básico
+ * (EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT) sin autenticación ni TLS y guarda
+ * el contenido de cada mensaje. Puede simular una caída: cierra las conexiones
+ * abiertas y responde 421 a las nuevas hasta que vuelve a estar disponible.
+ */
+class LocalSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean available = true;
+
+    LocalSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return Contenido (cabeceras y cuerpo) de los mensajes recibidos
+     */
+    List<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * @return Conexiones aceptadas desde el arranque (sin contar las rechazadas)
+     */
+    int getConnectionCount() {
+        return connections.get();
+    }
+
+    /**
+     * Simula la caída o la recuperación del servidor.
+     */
+    void setAvailable(boolean available) {
+        this.available = available;
+        if (!available) {
+            clients.forEach(LocalSmtpServer::closeQuietly);
+            clients.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(serverSocket);
+        clients.forEach(LocalSmtpServer::closeQuietly);
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (!available) {
+                    socket.getOutputStream().write("421 localhost Service not available\r\n".getBytes(StandardCharsets.US_ASCII));
+                    closeQuietly(socket);
+                    continue;
+                }
+                connections.incrementAndGet();
+                clients.add(socket);
+                executor.execute(() -> session(socket));
+            } catch (IOException e) {
+                // Servidor cerrado
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1))) {
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 localhost ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append("\r\n");
+                        }
+                        messages.add(data.toString());
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Conexión cerrada por el cliente o por una caída simulada
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // Ignorado
+        }
+    }
+}
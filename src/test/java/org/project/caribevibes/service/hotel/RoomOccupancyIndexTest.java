@@ -0,0 +1,228 @@
+package org.project.caribevibes.service.hotel;
+
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.dto.response.HotelAvailabilityResponseDTO;
+import org.project.caribevibes.dto.response.RoomTypeAvailabilityDTO;
+import org.project.caribevibes.entity.destination.Country;
+import org.project.caribevibes.entity.destination.Destination;
+import org.project.caribevibes.entity.hotel.Hotel;
+import org.project.caribevibes.entity.hotel.RoomInventory;
+import org.project.caribevibes.entity.hotel.RoomType;
+import org.project.caribevibes.repository.destination.CountryRepository;
+import org.project.caribevibes.repository.destination.DestinationRepository;
+import org.project.caribevibes.repository.hotel.HotelRepository;
+import org.project.caribevibes.repository.hotel.RoomInventoryRepository;
+import org.project.caribevibes.repository.hotel.RoomTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del índice de ocupación sobre la base de datos de pruebas.
+ *
+ * Varios hilos reservan y liberan habitaciones mientras otro reconstruye el índice
+ * sin parar; al terminar, la disponibilidad que devuelve la búsqueda para cada noche
+ * debe coincidir con la del ledger, sin cambios perdidos ni aplicados dos veces.
+ * También se comprueba que la sincronización periódica recoge los cambios hechos
+ * en el ledger por otras instancias, de los que no llega ningún evento.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class RoomOccupancyIndexTest {
+
+    private static final int TOTAL_ROOMS = 60;
+    private static final int ROOM_TYPES = 3;
+    private static final int WINDOW_NIGHTS = 10;
+    private static final int WRITERS = 6;
+    private static final int OPERATIONS_PER_WRITER = 60;
+
+    @Autowired
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Autowired
+    private RoomInventoryService roomInventoryService;
+
+    @Autowired
+    private RoomInventoryRepository roomInventoryRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private DestinationRepository destinationRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void searchMatchesLedgerAfterChangesDuringRebuilds() throws Exception {
+        Country country = countryRepository.save(Country.builder()
+                .name("Indexlandia").code("IDX").continent("América").build());
+        Destination destination = destinationRepository.save(Destination.builder()
+                .country(country).slug("index-destination").name("Index Destination").build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .destination(destination).name("Index Hotel").stars(4).build());
+        List<RoomType> roomTypes = new ArrayList<>();
+        for (int i = 0; i < ROOM_TYPES; i++) {
+            roomTypes.add(roomTypeRepository.save(RoomType.builder()
+                    .hotel(hotel).name("Tipo " + i).capacity(2)
+                    .pricePerNight(new BigDecimal("100.00"))
+                    .totalRooms(TOTAL_ROOMS).availableRooms(TOTAL_ROOMS).build()));
+        }
+
+        LocalDate firstNight = LocalDate.now().plusDays(20);
+        LocalDate lastNight = firstNight.plusDays(WINDOW_NIGHTS);
+        transactionTemplate.executeWithoutResult(status -> roomTypes.forEach(
+                roomType -> roomInventoryService.ensureNights(roomType, firstNight, lastNight)));
+        roomOccupancyIndex.rebuild();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger rebuilds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        try {
+            Future<?> rebuilder = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    roomOccupancyIndex.rebuild();
+                    rebuilds.incrementAndGet();
+                }
+                return null;
+            });
+
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Deque<Stay> held = new ArrayDeque<>();
+                    for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                        if (held.size() >= 3 || (!held.isEmpty() && random.nextBoolean())) {
+                            Stay stay = held.poll();
+                            transactionTemplate.executeWithoutResult(status -> roomInventoryService.release(
+                                    stay.roomType().getId(), stay.checkIn(), stay.checkOut(), stay.rooms()));
+                        } else {
+                            LocalDate checkIn = firstNight.plusDays(random.nextInt(WINDOW_NIGHTS - 1));
+                            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(3));
+                            Stay stay = new Stay(roomTypes.get(random.nextInt(ROOM_TYPES)), checkIn,
+                                    checkOut.isAfter(lastNight) ? lastNight : checkOut, 1 + random.nextInt(2));
+                            transactionTemplate.executeWithoutResult(status -> roomInventoryService.reserve(
+                                    stay.roomType(), stay.checkIn(), stay.checkOut(), stay.rooms()));
+                            held.add(stay);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            rebuilder.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(rebuilds.get() > 0, "El índice no se reconstruyó durante los cambios");
+
+        for (LocalDate night = firstNight; night.isBefore(lastNight); night = night.plusDays(1)) {
+            Map<Long, Integer> indexed = new HashMap<>();
+            for (HotelAvailabilityResponseDTO result : roomOccupancyIndex.search(
+                    destination.getId(), night, night.plusDays(1), 1, 1)) {
+                for (RoomTypeAvailabilityDTO roomType : result.getRoomTypes()) {
+                    indexed.put(roomType.getRoomTypeId(), roomType.getAvailableRooms());
+                }
+            }
+
+            for (RoomType roomType : roomTypes) {
+                List<RoomInventory> ledger = roomInventoryRepository.findNights(
+                        roomType.getId(), night, night.plusDays(1));
+                int expected = ledger.isEmpty() ? TOTAL_ROOMS : ledger.get(0).getRemainingRooms();
+                assertEquals(expected, indexed.getOrDefault(roomType.getId(), 0),
+                        "Disponibilidad del tipo " + roomType.getName() + " la noche " + night);
+            }
+        }
+    }
+
+    @Test
+    void syncPicksUpLedgerChangesFromOtherNodes() {
+        Country country = countryRepository.save(Country.builder()
+                .name("Synclandia").code("SYN").continent("América").build());
+        Destination destination = destinationRepository.save(Destination.builder()
+                .country(country).slug("sync-destination").name("Sync Destination").build());
+        Hotel hotel = hotelRepository.save(Hotel.builder()
+                .destination(destination).name("Sync Hotel").stars(4).build());
+        RoomType roomType = roomTypeRepository.save(RoomType.builder()
+                .hotel(hotel).name("Doble").capacity(2)
+                .pricePerNight(new BigDecimal("100.00"))
+                .totalRooms(TOTAL_ROOMS).availableRooms(TOTAL_ROOMS).build());
+
+        LocalDate checkIn = LocalDate.now().plusDays(40);
+        LocalDate checkOut = checkIn.plusDays(3);
+        transactionTemplate.executeWithoutResult(
+                status -> roomInventoryService.ensureNights(roomType, checkIn, checkOut));
+        roomOccupancyIndex.rebuild();
+        assertEquals(TOTAL_ROOMS, availableRooms(destination, roomType, checkIn, checkOut));
+
+        // Otra instancia modifica el ledger: en esta no se publica ningún evento
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(3, roomInventoryRepository.reserveNights(roomType.getId(), checkIn, checkOut, 7));
+            assertEquals(1, roomInventoryRepository.releaseNights(roomType.getId(), checkIn, checkIn.plusDays(1), 2));
+        });
+
+        roomOccupancyIndex.sync();
+        assertEquals(TOTAL_ROOMS - 7, availableRooms(destination, roomType, checkIn.plusDays(1), checkOut));
+        assertEquals(TOTAL_ROOMS - 5, availableRooms(destination, roomType, checkIn, checkIn.plusDays(1)));
+
+        // Volver a sincronizar relee las mismas noches sin aplicarlas dos veces
+        roomOccupancyIndex.sync();
+        assertEquals(TOTAL_ROOMS - 7, availableRooms(destination, roomType, checkIn, checkOut));
+    }
+
+    private int availableRooms(Destination destination, RoomType roomType, LocalDate checkIn, LocalDate checkOut) {
+        for (HotelAvailabilityResponseDTO result : roomOccupancyIndex.search(
+                destination.getId(), checkIn, checkOut, 1, 1)) {
+            for (RoomTypeAvailabilityDTO available : result.getRoomTypes()) {
+                if (available.getRoomTypeId().equals(roomType.getId())) {
+                    return available.getAvailableRooms();
+                }
+            }
+        }
+        return 0;
+    }
+
+    private record Stay(RoomType roomType, LocalDate checkIn, LocalDate checkOut, int rooms) {
+    }
+}
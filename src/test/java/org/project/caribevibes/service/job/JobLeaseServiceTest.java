@@ -0,0 +1,121 @@
+package org.project.caribevibes.service.job;
+
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.config.TestCacheConfig;
+import org.project.caribevibes.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de los leases de trabajos programados sobre la base de datos de pruebas.
+ *
+ * Se simulan varias instancias con distintos identificadores: solo una obtiene el
+ * lease, otra lo toma cuando vence con un token mayor, y el poseedor desplazado ya
+ * no puede renovarlo ni confirmar escrituras protegidas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestCacheConfig.class)
+class JobLeaseServiceTest {
+
+    private static final Duration SHORT_LEASE = Duration.ofMillis(300);
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired
+    private JobCoordinator jobCoordinator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void expiredLeaseFailsOverWithHigherFencingToken() throws Exception {
+        JobLeaseGrant first = jobLeaseService.tryAcquire("failover-job", "node-a", SHORT_LEASE).orElseThrow();
+        assertTrue(jobLeaseService.tryAcquire("failover-job", "node-b", SHORT_LEASE).isEmpty());
+        assertTrue(jobLeaseService.renew(first, SHORT_LEASE));
+
+        // node-a deja de renovar (se cae o se pausa) y el lease vence
+        Thread.sleep(SHORT_LEASE.toMillis() + 100);
+        JobLeaseGrant second = jobLeaseService.tryAcquire("failover-job", "node-b", SHORT_LEASE).orElseThrow();
+        assertTrue(second.getFencingToken() > first.getFencingToken());
+
+        assertFalse(jobLeaseService.renew(first, SHORT_LEASE));
+        assertThrows(BusinessException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> jobLeaseService.assertHeld(first)));
+        assertTrue(first.isLost());
+        transactionTemplate.executeWithoutResult(status -> jobLeaseService.assertHeld(second));
+
+        // Liberar permite adquirirlo de inmediato; la liberación del desplazado no tiene efecto
+        jobLeaseService.release(first);
+        assertTrue(jobLeaseService.tryAcquire("failover-job", "node-a", SHORT_LEASE).isEmpty());
+        jobLeaseService.release(second);
+        Optional<JobLeaseGrant> third = jobLeaseService.tryAcquire("failover-job", "node-a", SHORT_LEASE);
+        assertTrue(third.isPresent());
+        assertTrue(third.get().getFencingToken() > second.getFencingToken());
+    }
+
+    @Test
+    void concurrentTriggersRunTheJobOnlyOnce() throws Exception {
+        int triggers = 8;
+        AtomicInteger runs = new AtomicInteger();
+        AtomicBoolean othersFinished = new AtomicBoolean();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(triggers - 1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        try (ExecutorService nodes = Executors.newFixedThreadPool(triggers)) {
+            for (int i = 0; i < triggers; i++) {
+                results.add(nodes.submit(() -> {
+                    start.await();
+                    boolean ran = jobCoordinator.runExclusive("exclusive-job", lease -> {
+                        runs.incrementAndGet();
+                        try {
+                            // Mantener el lease hasta que las demás instancias lo hayan intentado
+                            othersFinished.set(finished.await(30, TimeUnit.SECONDS));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                    if (!ran) {
+                        finished.countDown();
+                    }
+                    return ran;
+                }));
+            }
+            start.countDown();
+
+            int executed = 0;
+            for (Future<Boolean> result : results) {
+                executed += result.get(60, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, executed);
+            assertTrue(othersFinished.get());
+        }
+        assertEquals(1, runs.get());
+
+        // Al terminar, el lease queda liberado para la siguiente ejecución
+        assertTrue(jobCoordinator.runExclusive("exclusive-job", lease -> runs.incrementAndGet()));
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,122 @@
+package org.project.caribevibes.service.pdf;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.project.caribevibes.entity.booking.Booking;
+import org.project.caribevibes.repository.booking.BookingRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de la generación de ZIPs de vouchers con varias descargas simultáneas.
+ *
+ * Con un pool de dos hilos, más descargas que hilos compiten por los huecos
+ * compartidos del semáforo; todas deben terminar con sus vouchers completos.
+ */
+class VoucherBatchServiceTest {
+
+    private static final int DOWNLOADS = 6;
+    private static final int VOUCHERS_PER_DOWNLOAD = 40;
+
+    private VoucherBatchService voucherBatchService;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findWithVoucherDetailsById(anyLong())).thenAnswer(invocation -> {
+            Booking booking = new Booking();
+            booking.setId(invocation.getArgument(0));
+            return Optional.of(booking);
+        });
+
+        PdfService pdfService = mock(PdfService.class);
+        when(pdfService.generateBookingVoucher(any(Booking.class))).thenAnswer(invocation -> {
+            Thread.sleep(2);
+            Booking booking = invocation.getArgument(0);
+            return ("voucher " + booking.getId()).getBytes(StandardCharsets.UTF_8);
+        });
+
+        VoucherCache voucherCache = mock(VoucherCache.class);
+        when(voucherCache.isEnabled()).thenReturn(false);
+
+        voucherBatchService = new VoucherBatchService();
+        ReflectionTestUtils.setField(voucherBatchService, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(voucherBatchService, "pdfService", pdfService);
+        ReflectionTestUtils.setField(voucherBatchService, "voucherCache", voucherCache);
+        ReflectionTestUtils.setField(voucherBatchService, "threads", 2);
+        voucherBatchService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        voucherBatchService.stop();
+    }
+
+    @Test
+    void concurrentDownloadsOnSmallPoolAllComplete() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Set<String>>> futures = new ArrayList<>();
+
+        ExecutorService downloads = Executors.newFixedThreadPool(DOWNLOADS);
+        try {
+            for (int d = 0; d < DOWNLOADS; d++) {
+                long firstId = (long) d * VOUCHERS_PER_DOWNLOAD + 1;
+                List<Long> bookingIds = LongStream.range(firstId, firstId + VOUCHERS_PER_DOWNLOAD).boxed().toList();
+                futures.add(downloads.submit(() -> {
+                    start.await();
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    voucherBatchService.writeZip(bookingIds, out);
+                    return entryNames(out.toByteArray());
+                }));
+            }
+            start.countDown();
+
+            for (int d = 0; d < DOWNLOADS; d++) {
+                // Un bloqueo entre descargas se manifiesta aquí como TimeoutException
+                Set<String> names = futures.get(d).get(30, TimeUnit.SECONDS);
+                assertEquals(VOUCHERS_PER_DOWNLOAD, names.size());
+                long firstId = (long) d * VOUCHERS_PER_DOWNLOAD + 1;
+                for (long id = firstId; id < firstId + VOUCHERS_PER_DOWNLOAD; id++) {
+                    assertTrue(names.contains("voucher-reserva-" + id + ".pdf"), "Falta el voucher " + id);
+                }
+            }
+        } finally {
+            downloads.shutdownNow();
+        }
+    }
+
+    private static Set<String> entryNames(byte[] zipBytes) throws Exception {
+        Set<String> names = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
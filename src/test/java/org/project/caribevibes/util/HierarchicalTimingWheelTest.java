@@ -0,0 +1,84 @@
+package org.project.caribevibes.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la rueda de temporización jerárquica.
+ *
+ * Con una rueda pequeña los vencimientos lejanos pasan por varios niveles; cada
+ * elemento debe entregarse exactamente en el primer tick posterior a su vencimiento,
+ * tanto avanzando tick a tick como con saltos grandes.
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+    private static final long START = 1_000_005;
+
+    @Test
+    void deliversEachItemOnFirstTickAfterExpiration() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        long origin = START - (START % TICK);
+
+        // Cubre el primer nivel (80 ms), el segundo (640 ms), el tercero (5120 ms) y un cuarto creado bajo demanda
+        Random random = new Random(42);
+        Map<Integer, Long> expirations = new HashMap<>();
+        for (int item = 0; item < 500; item++) {
+            long expiration = origin + random.nextInt(20_000);
+            expirations.put(item, expiration);
+            assertTrue(wheel.schedule(item, expiration));
+        }
+        assertEquals(expirations.size(), wheel.size());
+
+        Map<Integer, Long> deliveries = new HashMap<>();
+        for (long now = origin; now <= origin + 20_000 + TICK; now += TICK) {
+            for (Integer item : wheel.advance(now)) {
+                deliveries.put(item, now);
+            }
+        }
+
+        assertEquals(expirations.size(), deliveries.size());
+        expirations.forEach((item, expiration) -> {
+            long firstTickAfter = (expiration / TICK + 1) * TICK;
+            assertEquals(firstTickAfter, deliveries.get(item), "Entrega del elemento con vencimiento " + expiration);
+        });
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void largeAdvanceDeliversOnlyExpiredItems() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+
+        wheel.schedule("pronto", START + 15);
+        wheel.schedule("segundo-nivel", START + 300);
+        wheel.schedule("tercer-nivel", START + 3_000);
+        wheel.schedule("lejano", START + 50_000);
+
+        List<String> expired = new ArrayList<>(wheel.advance(START + 4_000));
+        assertEquals(List.of("pronto", "segundo-nivel", "tercer-nivel"), expired);
+        assertEquals(1, wheel.size());
+
+        assertTrue(wheel.advance(START + 49_980).isEmpty());
+        assertEquals(List.of("lejano"), wheel.advance(START + 50_010));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsItemsAlreadyExpired() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+        wheel.advance(START + 100);
+
+        assertFalse(wheel.schedule("vencido", START - 50));
+        assertEquals(0, wheel.size());
+    }
+}